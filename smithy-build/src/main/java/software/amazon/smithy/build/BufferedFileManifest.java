@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import software.amazon.smithy.utils.CodeWriter;
+
+/**
+ * A {@link FileManifest} that buffers the contents of each file and writes
+ * them to the file system in the background.
+ *
+ * <p>Writes are submitted to the given {@link Executor}, and
+ * {@link #flush()} waits for every pending write to complete. Writes to
+ * the same file are applied in the order they were made. Directories are
+ * created at most once per manifest, and files that already exist with the
+ * same contents are not rewritten.
+ *
+ * @see FileManifest#createBuffered
+ */
+final class BufferedFileManifest implements FileManifest {
+    private final Set<Path> files = new ConcurrentSkipListSet<>(Comparator.comparing(Path::toString));
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    private final Set<Path> unchangedFiles = ConcurrentHashMap.newKeySet();
+    private final Map<Path, CompletableFuture<Void>> pendingWrites = new ConcurrentHashMap<>();
+    private final Queue<SmithyBuildException> failures = new ConcurrentLinkedQueue<>();
+    private final Path baseDir;
+    private final Executor executor;
+
+    BufferedFileManifest(Path baseDir, Executor executor) {
+        this.baseDir = baseDir;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    @Override
+    public Set<Path> getFiles() {
+        return new LinkedHashSet<>(files);
+    }
+
+    @Override
+    public Path addFile(Path path) {
+        Objects.requireNonNull(path);
+        if (!path.startsWith(baseDir) || !path.isAbsolute()) {
+            path = resolvePath(path);
+        }
+
+        Path parent = path.getParent();
+        if (parent != null && !directories.contains(parent)) {
+            try {
+                Files.createDirectories(parent);
+            } catch (IOException e) {
+                throw new SmithyBuildException(String.format(
+                        "Error create directory `%s`: %s", parent, e.getMessage()));
+            }
+            directories.add(parent);
+        }
+
+        files.add(path);
+        return path;
+    }
+
+    @Override
+    public Set<Path> getUnchangedFiles() {
+        return new LinkedHashSet<>(unchangedFiles);
+    }
+
+    @Override
+    public Path writeFile(Path path, Reader fileContentsReader) {
+        return writeFile(path, DefaultFileManifest.readUtf8Bytes(path, fileContentsReader));
+    }
+
+    @Override
+    public Path writeFile(Path path, InputStream fileContentsInputStream) {
+        return writeFile(path, DefaultFileManifest.readBytes(path, fileContentsInputStream));
+    }
+
+    @Override
+    public Path writeFile(Path path, String fileContentsText) {
+        return writeFile(path, fileContentsText.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Path writeFile(Path path, CodeWriter codeWriter) {
+        return writeFile(path, DefaultFileManifest.toUtf8Bytes(path, codeWriter));
+    }
+
+    /**
+     * Waits for every pending write to complete.
+     *
+     * @throws SmithyBuildException if any file could not be written.
+     */
+    @Override
+    public void flush() {
+        List<CompletableFuture<Void>> writes = new ArrayList<>(pendingWrites.values());
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+        pendingWrites.values().removeAll(writes);
+
+        SmithyBuildException failure = failures.poll();
+        if (failure != null) {
+            for (SmithyBuildException suppressed = failures.poll(); suppressed != null; suppressed = failures.poll()) {
+                failure.addSuppressed(suppressed);
+            }
+            throw failure;
+        }
+    }
+
+    private Path writeFile(Path path, byte[] contents) {
+        Path resolved = addFile(path);
+
+        // Writes to the same file are chained so that the last write wins.
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        CompletableFuture<Void> previous = pendingWrites.put(resolved, written);
+        CompletableFuture<Void> ready = previous == null ? CompletableFuture.completedFuture(null) : previous;
+        ready.thenRunAsync(() -> write(resolved, contents), executor).whenComplete((result, error) -> {
+            // Writes record their own failures, so this only fails if the executor rejected the write.
+            if (error != null) {
+                failures.add(new SmithyBuildException(
+                        "Unable to write contents of file `" + resolved + "`: " + error.getMessage(), error));
+            }
+            written.complete(null);
+        });
+
+        return resolved;
+    }
+
+    private void write(Path path, byte[] contents) {
+        try {
+            if (DefaultFileManifest.hasContents(path, contents)) {
+                unchangedFiles.add(path);
+            } else {
+                Files.write(path, contents);
+                unchangedFiles.remove(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.add(new SmithyBuildException(
+                    "Unable to write contents of file `" + path + "`: " + e.getMessage(), e));
+        }
+    }
+}
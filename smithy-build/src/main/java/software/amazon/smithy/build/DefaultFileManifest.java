@@ -17,27 +17,63 @@ package software.amazon.smithy.build;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import software.amazon.smithy.utils.CodeWriter;
+import software.amazon.smithy.utils.IoUtils;
 
 /**
  * @see FileManifest#create
  */
 final class DefaultFileManifest implements FileManifest {
+    // CodeWriter subclasses that add contents in toString() without also
+    // overriding writeTo() (e.g., CodegenWriters that add imports) are
+    // written using toString() so that those contents aren't lost.
+    private static final ClassValue<Boolean> STREAMABLE_WRITERS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                Class<?> toStringOwner = type.getMethod("toString").getDeclaringClass();
+                Class<?> writeToOwner = type.getMethod("writeTo", Writer.class).getDeclaringClass();
+                return toStringOwner.isAssignableFrom(writeToOwner);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     private final Set<Path> files = new ConcurrentSkipListSet<>(Comparator.comparing(Path::toString));
+    private final Set<Path> unchangedFiles = ConcurrentHashMap.newKeySet();
     private final Path baseDir;
+    private final boolean skipUnchangedFiles;
 
     DefaultFileManifest(Path baseDir) {
+        this(baseDir, false);
+    }
+
+    DefaultFileManifest(Path baseDir, boolean skipUnchangedFiles) {
         this.baseDir = baseDir;
+        this.skipUnchangedFiles = skipUnchangedFiles;
     }
 
     @Override
@@ -71,8 +107,27 @@ final class DefaultFileManifest implements FileManifest {
         return path;
     }
 
+    @Override
+    public Set<Path> getUnchangedFiles() {
+        return new LinkedHashSet<>(unchangedFiles);
+    }
+
     @Override
     public Path writeFile(Path path, Reader fileContentsReader) {
+        if (skipUnchangedFiles) {
+            return writeIfChanged(path, out -> {
+                try (Reader reader = fileContentsReader) {
+                    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                    int len;
+                    char[] buffer = new char[4096];
+                    while ((len = reader.read(buffer)) != -1) {
+                        writer.write(buffer, 0, len);
+                    }
+                    writer.flush();
+                }
+            });
+        }
+
         path = addFile(path);
 
         try (BufferedReader bufferedReader = new BufferedReader(fileContentsReader);
@@ -88,8 +143,38 @@ final class DefaultFileManifest implements FileManifest {
         }
     }
 
+    @Override
+    public Path writeFile(Path path, CodeWriter codeWriter) {
+        if (skipUnchangedFiles) {
+            return writeIfChanged(path, out -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writeCode(codeWriter, writer);
+                writer.flush();
+            });
+        }
+
+        path = addFile(path);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writeCode(codeWriter, writer);
+            return path;
+        } catch (IOException | UncheckedIOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Path writeFile(Path path, InputStream fileContentsInputStream) {
+        if (skipUnchangedFiles) {
+            return writeIfChanged(path, out -> {
+                int len;
+                byte[] buffer = new byte[4096];
+                while ((len = fileContentsInputStream.read(buffer)) != -1) {
+                    out.write(buffer, 0, len);
+                }
+            });
+        }
+
         path = addFile(path);
 
         try {
@@ -99,4 +184,159 @@ final class DefaultFileManifest implements FileManifest {
             throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
         }
     }
+
+    // Contents are compared with the existing file while they're written,
+    // so the contents of a file are never held in memory all at once.
+    private Path writeIfChanged(Path path, ContentsWriter contentsWriter) {
+        path = addFile(path);
+
+        try (ChangedContentsOutputStream out = new ChangedContentsOutputStream(path)) {
+            contentsWriter.write(out);
+            if (out.isChanged()) {
+                unchangedFiles.remove(path);
+            } else {
+                unchangedFiles.add(path);
+            }
+            return path;
+        } catch (IOException | UncheckedIOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    static boolean hasContents(Path path, byte[] contents) throws IOException {
+        // Only read the existing file when the sizes match.
+        return Files.isRegularFile(path)
+               && Files.size(path) == contents.length
+               && Arrays.equals(Files.readAllBytes(path), contents);
+    }
+
+    static byte[] readUtf8Bytes(Path path, Reader fileContentsReader) {
+        try (Reader reader = fileContentsReader) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+            int len;
+            char[] buffer = new char[4096];
+            while ((len = reader.read(buffer)) != -1) {
+                writer.write(buffer, 0, len);
+            }
+            writer.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    static byte[] readBytes(Path path, InputStream fileContentsInputStream) {
+        try {
+            return IoUtils.toByteArray(fileContentsInputStream);
+        } catch (UncheckedIOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    static void writeCode(CodeWriter codeWriter, Writer writer) throws IOException {
+        if (STREAMABLE_WRITERS.get(codeWriter.getClass())) {
+            codeWriter.writeTo(writer);
+        } else {
+            writer.write(codeWriter.toString());
+        }
+    }
+
+    static byte[] toUtf8Bytes(Path path, CodeWriter codeWriter) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+            writeCode(codeWriter, writer);
+            writer.flush();
+            return bytes.toByteArray();
+        } catch (IOException | UncheckedIOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ContentsWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Compares the bytes written to it with the existing contents of a file,
+     * and only starts writing to the file at the first byte that differs.
+     *
+     * <p>When closed, the file is truncated if fewer bytes were written
+     * than the file previously contained.
+     */
+    private static final class ChangedContentsOutputStream extends OutputStream {
+        private final FileChannel channel;
+        private final long existingSize;
+        private final ByteBuffer existing = ByteBuffer.allocate(8192);
+        private long position;
+        private boolean changed;
+
+        ChangedContentsOutputStream(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                       StandardOpenOption.WRITE);
+            existingSize = channel.size();
+            existing.limit(0);
+        }
+
+        boolean isChanged() {
+            return changed || position != existingSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!changed) {
+                int matched = match(b, off, len);
+                position += matched;
+                if (matched == len) {
+                    return;
+                }
+                // Rewrite the file starting from the first byte that differs.
+                changed = true;
+                channel.position(position);
+                off += matched;
+                len -= matched;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            position += len;
+        }
+
+        private int match(byte[] b, int off, int len) throws IOException {
+            for (int i = 0; i < len; i++) {
+                if (!existing.hasRemaining()) {
+                    existing.clear();
+                    int read = channel.read(existing);
+                    existing.flip();
+                    if (read <= 0) {
+                        return i;
+                    }
+                }
+                if (existing.get() != b[off + i]) {
+                    return i;
+                }
+            }
+            return len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (position < existingSize) {
+                    channel.truncate(position);
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
 }
@@ -21,10 +21,13 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.utils.CodeWriter;
 
 /**
  * Creates and tracks the files generated by a {@link SmithyBuildPlugin}.
@@ -43,6 +46,43 @@ public interface FileManifest {
         return new DefaultFileManifest(basePath);
     }
 
+    /**
+     * Create a default file manifest for the given base path that can
+     * leave files untouched when their contents are unchanged.
+     *
+     * <p>When {@code skipUnchangedFiles} is true, the contents of each file
+     * are compared against the existing file (first by size, then by
+     * contents), and files that already have the same contents are not
+     * rewritten. This preserves their modification time so that downstream
+     * incremental builds don't see them as changed. These files are
+     * returned from {@link #getUnchangedFiles()}.
+     *
+     * @param basePath Base path where files are written.
+     * @param skipUnchangedFiles Set to true to not rewrite unchanged files.
+     * @return Returns the created manifest.
+     */
+    static FileManifest create(Path basePath, boolean skipUnchangedFiles) {
+        return new DefaultFileManifest(basePath, skipUnchangedFiles);
+    }
+
+    /**
+     * Create a file manifest for the given base path that writes files in
+     * the background using the given executor.
+     *
+     * <p>The contents of each file are buffered in memory until they are
+     * written. Directories are only created once, and files that already
+     * exist with the same contents are left untouched and returned from
+     * {@link #getUnchangedFiles()}. Call {@link #flush()} to wait for every
+     * pending write to complete.
+     *
+     * @param basePath Base path where files are written.
+     * @param executor Executor used to write files.
+     * @return Returns the created manifest.
+     */
+    static FileManifest createBuffered(Path basePath, Executor executor) {
+        return new BufferedFileManifest(basePath, executor);
+    }
+
     /**
      * Gets the base directory of the manifest.
      *
@@ -59,6 +99,21 @@ public interface FileManifest {
      */
     Set<Path> getFiles();
 
+    /**
+     * Gets the files in the result that were not rewritten because they
+     * already existed with the same contents.
+     *
+     * <p>Manifests that always write files return an empty set, which is
+     * the default behavior. Manifests that write files in the background
+     * only report the files that were unchanged once flushed.
+     *
+     * @return Returns the unchanged files in the manifest.
+     * @see #create(Path, boolean)
+     */
+    default Set<Path> getUnchangedFiles() {
+        return Collections.emptySet();
+    }
+
     /**
      * Adds a path to the manifest.
      *
@@ -70,6 +125,16 @@ public interface FileManifest {
     @SuppressWarnings("unused")
     Path addFile(Path path);
 
+    /**
+     * Waits for every file written to the manifest to be persisted.
+     *
+     * <p>Manifests that write files as they are added have nothing to
+     * flush, which is the default behavior.
+     *
+     * @throws SmithyBuildException if any file could not be written.
+     */
+    default void flush() {}
+
     /**
      * Adds the files from another FileManifest into this FileManifest.
      *
@@ -184,6 +249,37 @@ public interface FileManifest {
         return writeFile(Paths.get(path), fileContentsText);
     }
 
+    /**
+     * Adds a UTF-8 encoded file to the result using the contents of a
+     * {@link CodeWriter}.
+     *
+     * <p>This method will write the same contents to the file that are
+     * returned from {@link CodeWriter#toString()}. Implementations that
+     * write to the file system should override this method to stream the
+     * contents using {@link CodeWriter#writeTo} rather than creating a
+     * string of the entire file.
+     *
+     * @param path Relative path to the file to create.
+     * @param codeWriter CodeWriter that contains the contents of the file.
+     * @return Returns the resolved path.
+     */
+    default Path writeFile(Path path, CodeWriter codeWriter) {
+        return writeFile(path, codeWriter.toString());
+    }
+
+    /**
+     * Adds a UTF-8 encoded file to the result using the contents of a
+     * {@link CodeWriter}.
+     *
+     * @param path Relative path to the file to create.
+     * @param codeWriter CodeWriter that contains the contents of the file.
+     * @return Returns the resolved path.
+     * @see #writeFile(Path, CodeWriter)
+     */
+    default Path writeFile(String path, CodeWriter codeWriter) {
+        return writeFile(Paths.get(path), codeWriter);
+    }
+
     /**
      * Adds a file to the result using the contents of a {@link Reader}.
      *
@@ -0,0 +1,493 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.build;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.BinaryModelDeserializer;
+import software.amazon.smithy.model.shapes.BinaryModelSerializer;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Caches assembled and validated models on disk so that a model whose
+ * sources have not changed can be loaded without parsing and validating
+ * those sources again.
+ *
+ * <p>Cached models are stored by {@link Key}. A key is computed from the
+ * contents of every model source, the class path used to find traits,
+ * validators, and discovered models, the version of Smithy in use, and any
+ * other options that affect how a model is assembled. A cached model is
+ * only used if every part of its key is unchanged.
+ *
+ * <p>Each cached model is stored in a single file in the cache directory
+ * using {@link BinaryModelSerializer}, along with the validation events
+ * that were emitted when it was assembled.
+ * Cached files that cannot be read are ignored and replaced the next time
+ * the model is stored. Only the most recently used models are kept; older
+ * cached files are deleted each time a model is stored.
+ */
+@SmithyUnstableApi
+public final class ModelCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ModelCache.class.getName());
+
+    // The format version must be changed any time the contents of a cached
+    // model file change in an incompatible way.
+    private static final String FORMAT_VERSION = "2.0";
+    private static final String FILE_EXTENSION = ".bin";
+    private static final int DEFAULT_MAX_ENTRIES = 8;
+
+    // The version of Smithy in use, taken from the JAR manifest when available.
+    private static final String SMITHY_VERSION = Optional.ofNullable(Model.class.getPackage())
+            .map(Package::getImplementationVersion)
+            .orElse("unknown");
+
+    private final Path directory;
+    private final int maxEntries;
+
+    /**
+     * @param directory Directory used to store cached models.
+     */
+    public ModelCache(Path directory) {
+        this(directory, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param directory Directory used to store cached models.
+     * @param maxEntries Maximum number of cached models to keep.
+     */
+    public ModelCache(Path directory, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0: " + maxEntries);
+        }
+
+        this.directory = Objects.requireNonNull(directory);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Gets the directory used to store cached models.
+     *
+     * @return Returns the cache directory.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Creates a builder used to compute a cache key.
+     *
+     * @return Returns the created builder.
+     */
+    public static Key.Builder keyBuilder() {
+        return new Key.Builder();
+    }
+
+    /**
+     * Loads a cached model.
+     *
+     * <p>The model is deserialized from the cached file without being
+     * validated again. The validation events that were emitted when the
+     * model was stored are returned with the loaded model.
+     *
+     * @param key Key of the model to load.
+     * @param traitFactory Trait factory used to create the traits of the
+     *   model. This must be the same trait factory that was used to
+     *   assemble the model when it was stored.
+     * @return Returns the cached result, or an empty value if the model isn't cached.
+     */
+    public Optional<ValidatedResult<Model>> load(Key key, TraitFactory traitFactory) {
+        Path file = resolveFile(key);
+
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (!in.readUTF().equals(FORMAT_VERSION) || !in.readUTF().equals(key.getValue())) {
+                return Optional.empty();
+            }
+
+            byte[] eventBytes = new byte[in.readInt()];
+            in.readFully(eventBytes);
+            List<ValidationEvent> events = Node.parse(new String(eventBytes, StandardCharsets.UTF_8), file.toString())
+                    .expectArrayNode()
+                    .getElements()
+                    .stream()
+                    .map(ValidationEvent::fromNode)
+                    .collect(Collectors.toList());
+
+            Model model = BinaryModelDeserializer.builder().traitFactory(traitFactory).build().deserialize(in);
+            // Mark the file as recently used so that it isn't pruned.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            LOGGER.fine(() -> "Loaded cached model: " + file);
+            return Optional.of(new ValidatedResult<>(model, events));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(() -> "Ignoring cached model that could not be read: " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a model in the cache.
+     *
+     * <p>Results that do not contain a model are not stored.
+     *
+     * @param key Key of the model to store.
+     * @param result Result that contains the model and the validation
+     *   events that were emitted when the model was assembled.
+     */
+    public void store(Key key, ValidatedResult<Model> result) {
+        if (!result.getResult().isPresent()) {
+            return;
+        }
+
+        byte[] events = Node.printJson(result.getValidationEvents().stream()
+                .map(ValidationEvent::toNode)
+                .collect(ArrayNode.collect())).getBytes(StandardCharsets.UTF_8);
+
+        Path file = resolveFile(key);
+        try {
+            Files.createDirectories(directory);
+            // Write to a temporary file first so that a partially written
+            // file is never read from the cache.
+            Path temp = Files.createTempFile(directory, key.getValue(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeUTF(FORMAT_VERSION);
+                    out.writeUTF(key.getValue());
+                    out.writeInt(events.length);
+                    out.write(events);
+                    new BinaryModelSerializer().serialize(result.getResult().get(), out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LOGGER.fine(() -> "Stored cached model: " + file);
+            prune(file);
+        } catch (IOException | UncheckedIOException e) {
+            // Failing to cache a model is not fatal.
+            LOGGER.warning(() -> "Unable to store cached model " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Deletes the least recently used cached files, other than the file that
+    // was just stored, once the cache holds more than the maximum entries.
+    private void prune(Path stored) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(file -> file.toString().endsWith(FILE_EXTENSION) && !file.equals(stored))
+                    .collect(Collectors.toList());
+        }
+
+        if (files.size() < maxEntries) {
+            return;
+        }
+
+        Map<Path, Long> lastUsed = new HashMap<>();
+        for (Path file : files) {
+            lastUsed.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+
+        files.sort(Comparator.comparing((Path file) -> lastUsed.get(file)).reversed());
+        for (Path file : files.subList(maxEntries - 1, files.size())) {
+            Files.deleteIfExists(file);
+            LOGGER.fine(() -> "Pruned cached model: " + file);
+        }
+    }
+
+    private Path resolveFile(Key key) {
+        return directory.resolve(key.getValue() + FILE_EXTENSION);
+    }
+
+    /**
+     * A key that identifies a cached model.
+     */
+    public static final class Key {
+
+        private final String value;
+
+        private Key(String value) {
+            this.value = value;
+        }
+
+        /**
+         * Gets the value of the key as a hex-encoded SHA-256 hash.
+         *
+         * @return Returns the key value.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && value.equals(((Key) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        /**
+         * Builds a cache key.
+         *
+         * <p>Keys always account for the version of Smithy that is in use.
+         */
+        public static final class Builder {
+
+            private final TreeSet<Path> sources = new TreeSet<>();
+            private final List<Path> excludedPaths = new ArrayList<>();
+            private final TreeSet<String> classPath = new TreeSet<>();
+            private final Map<String, String> options = new HashMap<>();
+
+            private Builder() {
+                addClassPathEntry(Model.class);
+                addClassPathEntry(ModelCache.class);
+            }
+
+            /**
+             * Adds a model source file or directory to the key.
+             *
+             * <p>The contents of the file, or of every file in the
+             * directory, are part of the key.
+             *
+             * @param source Source file or directory to add.
+             * @return Returns the builder.
+             */
+            public Builder addSource(Path source) {
+                sources.add(source.toAbsolutePath().normalize());
+                return this;
+            }
+
+            /**
+             * Excludes a file or directory from the sources of the key.
+             *
+             * <p>Use this to exclude directories that are written to by the
+             * build, like the build output directory or the cache directory,
+             * when they are inside of a source directory.
+             *
+             * @param path File or directory to exclude.
+             * @return Returns the builder.
+             */
+            public Builder excludePath(Path path) {
+                excludedPaths.add(path.toAbsolutePath().normalize());
+                return this;
+            }
+
+            /**
+             * Adds the class path of a class loader and its parents to the key.
+             *
+             * <p>The size and last modified time of every JAR and file on the
+             * class path are part of the key.
+             *
+             * @param classLoader Class loader to add.
+             * @return Returns the builder.
+             */
+            public Builder addClassLoader(ClassLoader classLoader) {
+                for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+                    if (current instanceof URLClassLoader) {
+                        for (URL url : ((URLClassLoader) current).getURLs()) {
+                            addClassPathEntry(url);
+                        }
+                    }
+                }
+
+                // The application class loader is not a URLClassLoader on newer JVMs.
+                for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                    if (!entry.isEmpty()) {
+                        addClassPathEntry(Paths.get(entry));
+                    }
+                }
+
+                return this;
+            }
+
+            /**
+             * Adds a class path entry to the key.
+             *
+             * @param entry Path to a JAR or directory to add.
+             * @return Returns the builder.
+             */
+            public Builder addClassPathEntry(Path entry) {
+                classPath.add(entry.toAbsolutePath().normalize().toString());
+                return this;
+            }
+
+            /**
+             * Adds an option that affects how a model is assembled to the key.
+             *
+             * @param name Name of the option.
+             * @param value Value of the option.
+             * @return Returns the builder.
+             */
+            public Builder putOption(String name, String value) {
+                options.put(name, value);
+                return this;
+            }
+
+            /**
+             * Computes the key.
+             *
+             * @return Returns the computed key.
+             * @throws UncheckedIOException if a source or class path entry can't be read.
+             */
+            public Key build() {
+                MessageDigest digest = createDigest();
+                update(digest, "version", FORMAT_VERSION);
+                update(digest, "smithyVersion", SMITHY_VERSION);
+
+                try {
+                    for (Path source : sources) {
+                        for (Path file : listFiles(source)) {
+                            if (isExcluded(file)) {
+                                continue;
+                            }
+                            update(digest, "source", file.toString());
+                            digest.update(createDigest().digest(Files.readAllBytes(file)));
+                        }
+                    }
+
+                    for (String entry : classPath) {
+                        update(digest, "classPath", entry);
+                        Path path = Paths.get(entry);
+                        for (Path file : listFiles(path)) {
+                            update(digest, "file", path.relativize(file).toString());
+                            update(digest, "size", String.valueOf(Files.size(file)));
+                            update(digest, "modified", String.valueOf(Files.getLastModifiedTime(file).toMillis()));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                options.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                    update(digest, "option", entry.getKey());
+                    update(digest, "value", entry.getValue());
+                });
+
+                StringBuilder result = new StringBuilder();
+                for (byte b : digest.digest()) {
+                    result.append(String.format("%02x", b));
+                }
+
+                return new Key(result.toString());
+            }
+
+            private boolean isExcluded(Path file) {
+                for (Path excluded : excludedPaths) {
+                    if (file.startsWith(excluded)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            private void addClassPathEntry(Class<?> type) {
+                CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+                if (codeSource != null && codeSource.getLocation() != null) {
+                    addClassPathEntry(codeSource.getLocation());
+                }
+            }
+
+            private void addClassPathEntry(URL url) {
+                if (url.getProtocol().equals("file")) {
+                    try {
+                        addClassPathEntry(Paths.get(url.toURI()));
+                        return;
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        // Fall through to use the URL itself.
+                    }
+                }
+
+                classPath.add(url.toExternalForm());
+            }
+
+            // Returns a file, or every regular file in a directory, in a
+            // consistent order. Paths that don't exist return no files.
+            private static List<Path> listFiles(Path path) throws IOException {
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> files = Files.walk(path)) {
+                        return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                    }
+                } else if (Files.isRegularFile(path)) {
+                    List<Path> result = new ArrayList<>(1);
+                    result.add(path);
+                    return result;
+                } else {
+                    return new ArrayList<>(0);
+                }
+            }
+
+            private static void update(MessageDigest digest, String label, String value) {
+                digest.update(label.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+
+            private static MessageDigest createDigest() {
+                try {
+                    return MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                    // Every Java platform is required to support SHA-256.
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
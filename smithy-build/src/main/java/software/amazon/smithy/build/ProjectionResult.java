@@ -15,9 +15,11 @@
 
 package software.amazon.smithy.build;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,12 +39,18 @@ public final class ProjectionResult {
     private final Model model;
     private final Map<String, FileManifest> pluginManifests;
     private final List<ValidationEvent> events;
+    private final Duration transformDuration;
+    private final Duration validationDuration;
+    private final Map<String, Duration> pluginDurations;
 
     private ProjectionResult(Builder builder) {
         this.projectionName = SmithyBuilder.requiredState("projectionName", builder.projectionName);
         this.model = SmithyBuilder.requiredState("model", builder.model);
         this.events = ListUtils.copyOf(builder.events);
         this.pluginManifests = MapUtils.copyOf(builder.pluginManifests);
+        this.transformDuration = builder.transformDuration;
+        this.validationDuration = builder.validationDuration;
+        this.pluginDurations = MapUtils.orderedCopyOf(builder.pluginDurations);
     }
 
     /**
@@ -109,6 +117,68 @@ public final class ProjectionResult {
         return Optional.ofNullable(pluginManifests.get(pluginName));
     }
 
+    /**
+     * Gets the number of files written by the plugins of the projection.
+     *
+     * <p>Files that already existed with the same contents and were not
+     * rewritten are not counted.
+     *
+     * @return Returns the number of written files.
+     * @see FileManifest#getUnchangedFiles()
+     */
+    public int getWrittenFileCount() {
+        int count = 0;
+        for (FileManifest manifest : pluginManifests.values()) {
+            count += manifest.getFiles().size() - manifest.getUnchangedFiles().size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of files created by the plugins of the projection
+     * that were not rewritten because their contents were unchanged.
+     *
+     * @return Returns the number of unchanged files.
+     * @see FileManifest#getUnchangedFiles()
+     */
+    public int getUnchangedFileCount() {
+        int count = 0;
+        for (FileManifest manifest : pluginManifests.values()) {
+            count += manifest.getUnchangedFiles().size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the amount of time spent applying the transforms of the projection.
+     *
+     * @return Returns the time spent transforming the model.
+     */
+    public Duration getTransformDuration() {
+        return transformDuration;
+    }
+
+    /**
+     * Gets the amount of time spent validating the projected model.
+     *
+     * <p>Projections that don't change the model reuse the validation
+     * results of the base model, so most of them take no time at all.
+     *
+     * @return Returns the time spent validating the model.
+     */
+    public Duration getValidationDuration() {
+        return validationDuration;
+    }
+
+    /**
+     * Gets the amount of time spent executing each plugin.
+     *
+     * @return Returns a map of plugin names to the time spent in the plugin, in execution order.
+     */
+    public Map<String, Duration> getPluginDurations() {
+        return pluginDurations;
+    }
+
     /**
      * Builds up a {@link ProjectionResult}.
      */
@@ -117,6 +187,9 @@ public final class ProjectionResult {
         private Model model;
         private final Map<String, FileManifest> pluginManifests = new HashMap<>();
         private final Collection<ValidationEvent> events = new ArrayList<>();
+        private final Map<String, Duration> pluginDurations = new LinkedHashMap<>();
+        private Duration transformDuration = Duration.ZERO;
+        private Duration validationDuration = Duration.ZERO;
 
         @Override
         public ProjectionResult build() {
@@ -179,5 +252,39 @@ public final class ProjectionResult {
             events.forEach(this::addEvent);
             return this;
         }
+
+        /**
+         * Sets the amount of time spent applying the transforms of the projection.
+         *
+         * @param transformDuration Time spent transforming the model.
+         * @return Returns the builder.
+         */
+        public Builder transformDuration(Duration transformDuration) {
+            this.transformDuration = Objects.requireNonNull(transformDuration);
+            return this;
+        }
+
+        /**
+         * Sets the amount of time spent validating the projected model.
+         *
+         * @param validationDuration Time spent validating the model.
+         * @return Returns the builder.
+         */
+        public Builder validationDuration(Duration validationDuration) {
+            this.validationDuration = Objects.requireNonNull(validationDuration);
+            return this;
+        }
+
+        /**
+         * Adds the amount of time spent executing a plugin.
+         *
+         * @param pluginName Name of the plugin.
+         * @param duration Time spent executing the plugin.
+         * @return Returns the builder.
+         */
+        public Builder addPluginDuration(String pluginName, Duration duration) {
+            pluginDurations.put(pluginName, Objects.requireNonNull(duration));
+            return this;
+        }
     }
 }
@@ -47,6 +47,7 @@ public final class SmithyBuild {
     Function<String, Optional<ProjectionTransformer>> transformFactory;
     Function<String, Optional<SmithyBuildPlugin>> pluginFactory;
     Function<Path, FileManifest> fileManifestFactory;
+    boolean bufferFileWrites;
     Supplier<ModelAssembler> modelAssemblerSupplier;
     ModelTransformer modelTransformer;
     Model model;
@@ -243,8 +244,9 @@ public final class SmithyBuild {
      * Sets a factory function that's used to create {@link FileManifest}
      * objects when writing {@link SmithyBuildPlugin} artifacts.
      *
-     * <p>A default implementation of {@link FileManifest#create} will be
-     * used if a custom factory is not provided.
+     * <p>A default implementation of {@link FileManifest#create} that
+     * doesn't rewrite unchanged files will be used if a custom factory is
+     * not provided.
      *
      * @param fileManifestFactory Factory that accepts a base path and
      *  returns a {@link FileManifest}.
@@ -255,6 +257,24 @@ public final class SmithyBuild {
         return this;
     }
 
+    /**
+     * Sets whether plugin artifacts are written to the file system in the
+     * background when no custom {@link #fileManifestFactory} is set.
+     *
+     * <p>When enabled, files are buffered in memory and written by a small
+     * pool of background threads using {@link FileManifest#createBuffered}.
+     * The files written by a plugin are flushed to disk after the plugin
+     * completes and before the next plugin of the projection runs.
+     * Disabled by default.
+     *
+     * @param bufferFileWrites Set to true to write files in the background.
+     * @return Returns the builder.
+     */
+    public SmithyBuild bufferFileWrites(boolean bufferFileWrites) {
+        this.bufferFileWrites = bufferFileWrites;
+        return this;
+    }
+
     /**
      * Called to create {@link ModelAssembler} to load the original
      * model and to load each projected model.
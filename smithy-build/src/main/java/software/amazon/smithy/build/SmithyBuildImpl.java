@@ -17,6 +17,7 @@ package software.amazon.smithy.build;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,11 +27,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -43,6 +47,7 @@ import software.amazon.smithy.build.model.SmithyBuildConfig;
 import software.amazon.smithy.build.model.TransformConfig;
 import software.amazon.smithy.build.transforms.Apply;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.IncrementalValidationCache;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.transform.ModelTransformer;
@@ -53,9 +58,12 @@ import software.amazon.smithy.utils.SmithyBuilder;
 final class SmithyBuildImpl {
     private static final Logger LOGGER = Logger.getLogger(SmithyBuild.class.getName());
     private static final Pattern PATTERN = Pattern.compile("^[A-Za-z0-9\\-_.]+$");
+    private static final int MAX_FILE_WRITER_THREADS = 4;
+    private static final int MAX_PENDING_FILE_WRITES = 256;
 
     private final SmithyBuildConfig config;
     private final Function<Path, FileManifest> fileManifestFactory;
+    private final ExecutorService fileWriterPool;
     private final Supplier<ModelAssembler> modelAssemblerSupplier;
     private final Path outputDirectory;
     private final Map<String, List<Pair<ObjectNode, ProjectionTransformer>>> transformers = new HashMap<>();
@@ -68,12 +76,26 @@ final class SmithyBuildImpl {
     private final Predicate<String> projectionFilter;
     private final Predicate<String> pluginFilter;
 
+    /** The validated result of the base model, lazily created and shared by projections. */
+    private volatile ValidatedResult<Model> baseModelResult;
+
+    /** Validation state of the base model that is copied to incrementally validate each projected model. */
+    private final IncrementalValidationCache baseValidationCache = new IncrementalValidationCache();
+
     SmithyBuildImpl(SmithyBuild builder) {
         config = prepareConfig(SmithyBuilder.requiredState("config", builder.config));
         sources = builder.sources;
-        fileManifestFactory = builder.fileManifestFactory != null
-                ? builder.fileManifestFactory
-                : FileManifest::create;
+        if (builder.fileManifestFactory != null) {
+            fileWriterPool = null;
+            fileManifestFactory = builder.fileManifestFactory;
+        } else if (builder.bufferFileWrites) {
+            ExecutorService pool = createFileWriterPool();
+            fileWriterPool = pool;
+            fileManifestFactory = path -> FileManifest.createBuffered(path, pool);
+        } else {
+            fileWriterPool = null;
+            fileManifestFactory = path -> FileManifest.create(path, true);
+        }
         modelAssemblerSupplier = builder.modelAssemblerSupplier != null
                 ? builder.modelAssemblerSupplier
                 : Model::assembler;
@@ -153,9 +175,40 @@ final class SmithyBuildImpl {
         }
     }
 
+    // Files are written by a small, bounded pool. When the queue of pending
+    // writes is full, or the pool was shut down, the thread that wrote the
+    // file writes it instead.
+    private static ExecutorService createFileWriterPool() {
+        int threads = Math.min(MAX_FILE_WRITER_THREADS, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 1, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_FILE_WRITES),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "smithy-build-file-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> runnable.run());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     void applyAllProjections(
             Consumer<ProjectionResult> projectionResultConsumer,
             BiConsumer<String, Throwable> projectionExceptionConsumer
+    ) {
+        try {
+            applyProjections(projectionResultConsumer, projectionExceptionConsumer);
+        } finally {
+            if (fileWriterPool != null) {
+                fileWriterPool.shutdown();
+            }
+        }
+    }
+
+    private void applyProjections(
+            Consumer<ProjectionResult> projectionResultConsumer,
+            BiConsumer<String, Throwable> projectionExceptionConsumer
     ) {
         Model resolvedModel = createBaseModel();
 
@@ -268,8 +321,9 @@ final class SmithyBuildImpl {
         return resolvedModel;
     }
 
-    private ProjectionResult applyProjection(String projectionName, ProjectionConfig projection, Model resolvedModel) {
+    private ProjectionResult applyProjection(String projectionName, ProjectionConfig projection, Model baseModel) {
         LOGGER.fine(() -> String.format("Creating the `%s` projection", projectionName));
+        Model resolvedModel = baseModel;
 
         // Resolve imports.
         if (!projection.getImports().isEmpty()) {
@@ -298,15 +352,21 @@ final class SmithyBuildImpl {
         Path baseProjectionDir = outputDirectory.resolve(projectionName);
 
         // Transform the model and collect the results.
+        long start = System.nanoTime();
         Model projectedModel = applyProjectionTransforms(
                 resolvedModel, resolvedModel, projectionName, Collections.emptySet());
+        Duration transformDuration = Duration.ofNanos(System.nanoTime() - start);
 
-        ValidatedResult<Model> modelResult = modelAssemblerSupplier.get().addModel(projectedModel).assemble();
+        start = System.nanoTime();
+        ValidatedResult<Model> modelResult = validateProjectedModel(baseModel, projectedModel);
+        Duration validationDuration = Duration.ofNanos(System.nanoTime() - start);
 
         ProjectionResult.Builder resultBuilder = ProjectionResult.builder()
                 .projectionName(projectionName)
                 .model(projectedModel)
-                .events(modelResult.getValidationEvents());
+                .events(modelResult.getValidationEvents())
+                .transformDuration(transformDuration)
+                .validationDuration(validationDuration);
 
         for (Map.Entry<String, ObjectNode> entry : resolvePlugins(projection).entrySet()) {
             if (pluginFilter.test(entry.getKey())) {
@@ -315,7 +375,54 @@ final class SmithyBuildImpl {
             }
         }
 
-        return resultBuilder.build();
+        ProjectionResult result = resultBuilder.build();
+        LOGGER.fine(() -> String.format(
+                "Created the `%s` projection (transforms: %dms, validation: %dms, plugins: %s)",
+                projectionName, result.getTransformDuration().toMillis(),
+                result.getValidationDuration().toMillis(), result.getPluginDurations()));
+        return result;
+    }
+
+    // Projections that don't change the base model (for example, the source
+    // projection) share a single validation of the base model rather than
+    // each validating an identical model. Projections without transforms
+    // return the base model itself, and transforms keep unchanged shapes, so
+    // the equality check is usually an identity check per shape.
+    //
+    // Projections that do change the model are validated incrementally from
+    // the base model's validation: validators that only look at a shape and
+    // the shapes it targets revalidate just the shapes affected by the
+    // projection's changes, and every other validator runs on the entire
+    // projected model.
+    private ValidatedResult<Model> validateProjectedModel(Model baseModel, Model projectedModel) {
+        ValidatedResult<Model> baseResult = validateBaseModel(baseModel);
+
+        if (projectedModel.equals(baseModel)) {
+            return baseResult;
+        }
+
+        return modelAssemblerSupplier.get()
+                .addModel(projectedModel)
+                .validationCache(baseValidationCache.copy())
+                .assemble();
+    }
+
+    private ValidatedResult<Model> validateBaseModel(Model baseModel) {
+        ValidatedResult<Model> result = baseModelResult;
+        if (result == null) {
+            synchronized (this) {
+                result = baseModelResult;
+                if (result == null) {
+                    result = modelAssemblerSupplier.get()
+                            .addModel(baseModel)
+                            .validationCache(baseValidationCache)
+                            .assemble();
+                    baseModelResult = result;
+                }
+            }
+        }
+
+        return result;
     }
 
     private Model applyProjectionTransforms(
@@ -373,6 +480,7 @@ final class SmithyBuildImpl {
             LOGGER.info(() -> String.format(
                     "Applying `%s` plugin to `%s` projection",
                     pluginName, projectionName));
+            long start = System.nanoTime();
             resolved.execute(PluginContext.builder()
                     .model(projectedModel)
                     .originalModel(resolvedModel)
@@ -383,7 +491,11 @@ final class SmithyBuildImpl {
                     .pluginClassLoader(pluginClassLoader)
                     .sources(sources)
                     .build());
+            // Wait for the plugin's files to be written so that they're on
+            // disk before the next plugin runs.
+            manifest.flush();
             resultBuilder.addPluginManifest(pluginName, manifest);
+            resultBuilder.addPluginDuration(pluginName, Duration.ofNanos(System.nanoTime() - start));
         }
     }
 
@@ -16,6 +16,7 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -177,11 +178,23 @@ public final class FlattenNamespaces extends ConfigurableProjectionTransformer<F
     }
 
     private Set<ShapeId> getTaggedShapesToInclude(Set<String> tags, Model model) {
-        return model.shapes()
-                .filter(FunctionalUtils.not(Prelude::isPreludeShape))
-                .filter(shape -> isTagged(tags, shape))
-                .map(Shape::getId)
-                .collect(Collectors.toSet());
+        Set<ShapeId> result = new HashSet<>();
+        if (tags.isEmpty()) {
+            return result;
+        }
+
+        // Prelude shapes are never included, so skip their namespace entirely.
+        for (String namespace : model.getNamespaces()) {
+            if (!namespace.equals(Prelude.NAMESPACE)) {
+                for (Shape shape : model.getShapesInNamespace(namespace)) {
+                    if (isTagged(tags, shape)) {
+                        result.add(shape.getId());
+                    }
+                }
+            }
+        }
+
+        return result;
     }
 
     private boolean isTagged(Set<String> tags, Shape shape) {
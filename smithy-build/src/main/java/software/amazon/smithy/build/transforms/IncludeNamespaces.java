@@ -16,10 +16,12 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import software.amazon.smithy.build.TransformContext;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.transform.ModelTransformer;
 
 /**
@@ -73,8 +75,20 @@ public final class IncludeNamespaces extends BackwardCompatHelper<IncludeNamespa
         Set<String> namespaces = config.getNamespaces();
         Model model = context.getModel();
         ModelTransformer transformer = context.getTransformer();
-        return transformer.filterShapes(model, shape -> {
-            return Prelude.isPreludeShape(shape) || namespaces.contains(shape.getId().getNamespace());
-        });
+
+        // Only the shapes of excluded namespaces need to be looked at. Members are
+        // removed along with their containers, which share the same namespace.
+        Set<Shape> toRemove = new HashSet<>();
+        for (String namespace : model.getNamespaces()) {
+            if (!namespace.equals(Prelude.NAMESPACE) && !namespaces.contains(namespace)) {
+                for (Shape shape : model.getShapesInNamespace(namespace)) {
+                    if (!shape.isMemberShape()) {
+                        toRemove.add(shape);
+                    }
+                }
+            }
+        }
+
+        return transformer.removeShapes(model, toRemove);
     }
 }
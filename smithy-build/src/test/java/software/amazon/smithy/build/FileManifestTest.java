@@ -18,6 +18,7 @@ package software.amazon.smithy.build;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 
@@ -28,12 +29,16 @@ import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.utils.CodeWriter;
 
 public class FileManifestTest {
     private Path outputDirectory;
@@ -111,6 +116,18 @@ public class FileManifestTest {
         assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.txt"))), equalTo("The contents"));
     }
 
+    @Test
+    public void writesFromCodeWriter() throws IOException {
+        FileManifest a = FileManifest.create(outputDirectory);
+        CodeWriter writer = new CodeWriter().trimBlankLines().insertTrailingNewline();
+        writer.openBlock("class Foo {", "}", () -> writer.write("\n\n\nint bar;"));
+        a.writeFile("foo/Foo.java", writer);
+
+        assertThat(Files.isRegularFile(outputDirectory.resolve("foo/Foo.java")), is(true));
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/Foo.java"))),
+                   equalTo(writer.toString()));
+    }
+
     @Test
     public void writesClassResources() {
         FileManifest a = FileManifest.create(outputDirectory);
@@ -118,4 +135,108 @@ public class FileManifestTest {
 
         assertThat(Files.isRegularFile(outputDirectory.resolve("test.txt")), is(true));
     }
+
+    @Test
+    public void writesBufferedFilesWhenFlushed() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        FileManifest a = FileManifest.createBuffered(outputDirectory, executor);
+        for (int i = 0; i < 100; i++) {
+            a.writeFile("foo/file" + i + ".txt", "Contents " + i);
+        }
+        a.writeFile("foo/file0.txt", "Rewritten");
+        a.flush();
+        executor.shutdown();
+
+        assertThat(a.getFiles().size(), equalTo(100));
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file0.txt"))), equalTo("Rewritten"));
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file99.txt"))), equalTo("Contents 99"));
+    }
+
+    @Test
+    public void doesNotRewriteUnchangedBufferedFiles() throws IOException {
+        Path file = outputDirectory.resolve("foo/file.txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "Same".getBytes());
+        FileTime modified = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file, modified);
+
+        FileManifest a = FileManifest.createBuffered(outputDirectory, Runnable::run);
+        a.writeFile("foo/file.txt", "Same");
+        a.flush();
+
+        assertThat(Files.getLastModifiedTime(file), equalTo(modified));
+        assertThat(a.getUnchangedFiles(), contains(file));
+
+        a.writeFile("foo/file.txt", "Different");
+        a.flush();
+
+        assertThat(new String(Files.readAllBytes(file)), equalTo("Different"));
+        assertThat(a.getUnchangedFiles(), empty());
+    }
+
+    @Test
+    public void canSkipUnchangedFiles() throws IOException {
+        Path file = outputDirectory.resolve("foo/file.txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "Same".getBytes());
+        FileTime modified = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file, modified);
+
+        FileManifest a = FileManifest.create(outputDirectory, true);
+        a.writeFile("foo/file.txt", new StringReader("Same"));
+        a.writeFile("foo/other.txt", new ByteArrayInputStream("Other".getBytes()));
+
+        assertThat(Files.getLastModifiedTime(file), equalTo(modified));
+        assertThat(a.getUnchangedFiles(), contains(file));
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/other.txt"))), equalTo("Other"));
+    }
+
+    @Test
+    public void comparesSkippedCodeWritersWhileStreaming() throws IOException {
+        Path file = outputDirectory.resolve("foo/file.txt");
+        FileManifest a = FileManifest.create(outputDirectory, true);
+        a.writeFile(file, createLines(2000, -1));
+        FileTime modified = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file, modified);
+
+        a.writeFile(file, createLines(2000, -1));
+
+        assertThat(Files.getLastModifiedTime(file), equalTo(modified));
+        assertThat(a.getUnchangedFiles(), contains(file));
+
+        // Changed in the middle, longer, and shorter contents are all rewritten.
+        CodeWriter[] writers = {createLines(2000, 1500), createLines(2500, -1), createLines(10, -1)};
+        for (CodeWriter writer : writers) {
+            a.writeFile(file, writer);
+
+            assertThat(new String(Files.readAllBytes(file)), equalTo(writer.toString()));
+            assertThat(a.getUnchangedFiles(), empty());
+        }
+    }
+
+    private static CodeWriter createLines(int count, int changedLine) {
+        CodeWriter writer = new CodeWriter();
+        for (int i = 0; i < count; i++) {
+            writer.write(i == changedLine ? "Changed line" : "Line " + i);
+        }
+        return writer;
+    }
+
+    @Test
+    public void rewritesUnchangedFilesByDefault() throws IOException {
+        FileManifest a = FileManifest.create(outputDirectory);
+        a.writeFile("foo/file.txt", "Same");
+        a.writeFile("foo/file.txt", "Same");
+
+        assertThat(a.getUnchangedFiles(), empty());
+    }
+
+    @Test
+    public void reportsBufferedWriteFailuresWhenFlushed() throws IOException {
+        Files.createDirectories(outputDirectory.resolve("foo/dir/nested"));
+        FileManifest a = FileManifest.createBuffered(outputDirectory, Runnable::run);
+        a.writeFile("foo/dir", "Cannot write to a directory");
+
+        Assertions.assertThrows(SmithyBuildException.class, a::flush);
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package software.amazon.smithy.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidatedResult;
+
+public class ModelCacheTest {
+
+    private static final String MODEL = "metadata foo = {bar: \"baz\"}\n"
+            + "metadata validators = [{\n"
+            + "    name: \"EmitEachSelector\", severity: \"WARNING\", configuration: {selector: \"string\"}\n"
+            + "}]\n"
+            + "namespace smithy.example\n"
+            + "@deprecated\n"
+            + "string Old\n"
+            + "@documentation(\"Hello\")\n"
+            + "structure Foo {\n"
+            + "    @required\n"
+            + "    old: Old,\n"
+            + "    list: StringList,\n"
+            + "    map: StringMap\n"
+            + "}\n"
+            + "list StringList { member: String }\n"
+            + "map StringMap { key: String, value: Old }\n";
+
+    private Path directory;
+    private Path sources;
+    private ModelCache cache;
+
+    @BeforeEach
+    public void before() throws IOException {
+        directory = Files.createTempDirectory(getClass().getName());
+        sources = directory.resolve("model");
+        Files.createDirectories(sources);
+        Files.write(sources.resolve("main.smithy"), MODEL.getBytes(StandardCharsets.UTF_8));
+        cache = new ModelCache(directory.resolve("cache"));
+    }
+
+    @AfterEach
+    public void after() throws IOException {
+        Files.walk(directory).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void storesAndLoadsModels() {
+        ValidatedResult<Model> result = Model.assembler().addImport(sources).assemble();
+        ModelCache.Key key = createKey();
+        cache.store(key, result);
+
+        ValidatedResult<Model> cached = cache.load(key, TraitFactory.createServiceFactory()).get();
+        Model model = result.unwrap();
+        Model cachedModel = cached.unwrap();
+
+        assertThat(cachedModel, equalTo(model));
+        assertThat(cached.getValidationEvents(), equalTo(result.getValidationEvents()));
+        assertFalse(cached.getValidationEvents(Severity.WARNING).isEmpty());
+        assertThat(cachedModel.getMetadataProperty("foo").get().getSourceLocation(),
+                   equalTo(model.getMetadataProperty("foo").get().getSourceLocation()));
+
+        for (Shape shape : model.toSet()) {
+            Shape cachedShape = cachedModel.expectShape(shape.getId());
+            assertThat(cachedShape.getSourceLocation(), equalTo(shape.getSourceLocation()));
+            for (Trait trait : shape.getAllTraits().values()) {
+                assertThat(cachedShape.findTrait(trait.toShapeId()).get().getSourceLocation(),
+                           equalTo(trait.getSourceLocation()));
+            }
+        }
+    }
+
+    @Test
+    public void missesWhenNotCached() {
+        assertFalse(cache.load(createKey(), TraitFactory.createServiceFactory()).isPresent());
+    }
+
+    @Test
+    public void keyChangesWhenSourcesChange() throws IOException {
+        ModelCache.Key key = createKey();
+        assertThat(createKey(), equalTo(key));
+
+        Files.write(sources.resolve("main.smithy"), (MODEL + "string Other\n").getBytes(StandardCharsets.UTF_8));
+        assertThat(createKey(), not(equalTo(key)));
+    }
+
+    @Test
+    public void keyIgnoresExcludedPaths() throws IOException {
+        Path output = sources.resolve("build");
+        ModelCache.Key key = ModelCache.keyBuilder().addSource(sources).excludePath(output).build();
+
+        Files.createDirectories(output);
+        Files.write(output.resolve("artifact.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        assertThat(ModelCache.keyBuilder().addSource(sources).excludePath(output).build(), equalTo(key));
+        assertThat(ModelCache.keyBuilder().addSource(sources).build(), not(equalTo(key)));
+    }
+
+    @Test
+    public void prunesLeastRecentlyUsedModels() throws IOException {
+        ModelCache smallCache = new ModelCache(directory.resolve("small"), 2);
+        ValidatedResult<Model> result = Model.assembler().addImport(sources).assemble();
+        ModelCache.Key a = ModelCache.keyBuilder().putOption("a", "a").build();
+        ModelCache.Key b = ModelCache.keyBuilder().putOption("b", "b").build();
+        ModelCache.Key c = ModelCache.keyBuilder().putOption("c", "c").build();
+        smallCache.store(a, result);
+        smallCache.store(b, result);
+        Files.setLastModifiedTime(smallCache.getDirectory().resolve(a.getValue() + ".bin"), FileTime.fromMillis(1));
+        Files.setLastModifiedTime(smallCache.getDirectory().resolve(b.getValue() + ".bin"), FileTime.fromMillis(2));
+        // Loading a model marks it as recently used.
+        assertTrue(smallCache.load(a, TraitFactory.createServiceFactory()).isPresent());
+        smallCache.store(c, result);
+
+        assertTrue(smallCache.load(a, TraitFactory.createServiceFactory()).isPresent());
+        assertFalse(smallCache.load(b, TraitFactory.createServiceFactory()).isPresent());
+        assertTrue(smallCache.load(c, TraitFactory.createServiceFactory()).isPresent());
+    }
+
+    @Test
+    public void keyChangesWhenOptionsChange() {
+        assertThat(ModelCache.keyBuilder().putOption("a", "true").build(),
+                   not(equalTo(ModelCache.keyBuilder().putOption("a", "false").build())));
+    }
+
+    @Test
+    public void ignoresInvalidCachedFiles() throws IOException {
+        ModelCache.Key key = createKey();
+        Files.createDirectories(cache.getDirectory());
+        Files.write(cache.getDirectory().resolve(key.getValue() + ".bin"), "{".getBytes(StandardCharsets.UTF_8));
+
+        Optional<ValidatedResult<Model>> cached = cache.load(key, TraitFactory.createServiceFactory());
+
+        assertFalse(cached.isPresent());
+    }
+
+    @Test
+    public void doesNotStoreResultsWithoutModels() {
+        ModelCache.Key key = createKey();
+        cache.store(key, ValidatedResult.empty());
+
+        assertFalse(cache.load(key, TraitFactory.createServiceFactory()).isPresent());
+        assertTrue(Files.notExists(cache.getDirectory()));
+    }
+
+    private ModelCache.Key createKey() {
+        return ModelCache.keyBuilder()
+                .addSource(sources)
+                .addClassLoader(getClass().getClassLoader())
+                .build();
+    }
+}
@@ -16,9 +16,11 @@
 package software.amazon.smithy.build;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -31,11 +33,14 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
@@ -108,6 +113,70 @@ public class SmithyBuildTest {
         assertThat(resultB.getShape(ShapeId.from("ns.foo#String3")), not(Optional.empty()));
     }
 
+    @Test
+    public void doesNotRewriteUnchangedArtifacts() throws Exception {
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .load(Paths.get(getClass().getResource("simple-config.json").toURI()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        ProjectionResult first = new SmithyBuild().config(config).model(model).build()
+                .getProjectionResult("source").get();
+        ProjectionResult second = new SmithyBuild().config(config).model(model).build()
+                .getProjectionResult("source").get();
+
+        assertThat(first.getWrittenFileCount(), greaterThan(0));
+        assertThat(second.getWrittenFileCount(), equalTo(0));
+        assertThat(second.getUnchangedFileCount(), equalTo(first.getWrittenFileCount()));
+    }
+
+    @Test
+    public void buffersFileWritesWhenEnabled() throws Exception {
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .version(SmithyBuild.VERSION)
+                .outputDirectory(outputDirectory.toString())
+                .plugins(MapUtils.of("a", Node.objectNode(), "b", Node.objectNode()))
+                .build();
+        Path written = outputDirectory.resolve("source/a/a.txt");
+        List<Boolean> seenByNextPlugin = new ArrayList<>();
+        Map<String, SmithyBuildPlugin> plugins = MapUtils.of(
+                "a", new SmithyBuildPlugin() {
+                    @Override
+                    public String getName() {
+                        return "a";
+                    }
+
+                    @Override
+                    public void execute(PluginContext context) {
+                        context.getFileManifest().writeFile("a.txt", "hello");
+                    }
+                },
+                "b", new SmithyBuildPlugin() {
+                    @Override
+                    public String getName() {
+                        return "b";
+                    }
+
+                    @Override
+                    public void execute(PluginContext context) {
+                        seenByNextPlugin.add(Files.isRegularFile(written));
+                    }
+                });
+        new SmithyBuild()
+                .config(config)
+                .model(Model.assembler().assemble().unwrap())
+                .bufferFileWrites(true)
+                .pluginFactory(name -> Optional.ofNullable(plugins.get(name)))
+                .build();
+
+        // Files written by a plugin are on disk before the next plugin runs.
+        assertThat(seenByNextPlugin, contains(true));
+        assertThat(IoUtils.readUtf8File(written), equalTo("hello"));
+    }
+
     @Test
     public void buildsModels() throws Exception {
         SmithyBuildConfig config = SmithyBuildConfig.builder()
@@ -200,6 +269,47 @@ public class SmithyBuildTest {
         builder.build();
     }
 
+    @Test
+    public void projectionsThatDoNotChangeTheModelShareValidation() throws Exception {
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .version(SmithyBuild.VERSION)
+                .projections(MapUtils.of(
+                        "x", ProjectionConfig.builder().build(),
+                        "y", ProjectionConfig.builder()
+                                .transforms(ListUtils.of(TransformConfig.builder()
+                                        .name("excludeTraits")
+                                        .args(Node.objectNode().withMember("traits", Node.fromStrings("length")))
+                                        .build()))
+                                .build()))
+                .build();
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        AtomicInteger assemblies = new AtomicInteger();
+        SmithyBuildResult results = new SmithyBuild()
+                .config(config)
+                .model(model)
+                .fileManifestFactory(MockManifest::new)
+                .modelAssemblerSupplier(() -> {
+                    assemblies.incrementAndGet();
+                    return Model.assembler();
+                })
+                .build();
+
+        // The "source" and "x" projections share one validation, while "y" changes the model.
+        assertThat(assemblies.get(), equalTo(2));
+        assertThat(results.getProjectionResult("source").get().getEvents(),
+                   equalTo(results.getProjectionResult("x").get().getEvents()));
+        assertThat(results.getProjectionResult("y").get().getPluginDurations().keySet(),
+                   containsInAnyOrder("build-info", "model", "sources"));
+
+        // "y" is validated incrementally and must match a full validation of its model.
+        ProjectionResult y = results.getProjectionResult("y").get();
+        assertThat(new HashSet<>(y.getEvents()),
+                   equalTo(new HashSet<>(Model.assembler().addModel(y.getModel()).assemble().getValidationEvents())));
+    }
+
     @Test
     public void cannotSetFiltersOrMappersOnSourceProjection() {
         Throwable thrown = Assertions.assertThrows(SmithyBuildException.class, () -> {
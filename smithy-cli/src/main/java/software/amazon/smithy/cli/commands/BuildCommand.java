@@ -71,6 +71,8 @@ public final class BuildCommand implements Command {
                 .parameter(SmithyCli.SEVERITY, "Sets a minimum validation event severity to display. "
                                                + "Defaults to NOTE. Can be set to SUPPRESSED, NOTE, WARNING, "
                                                + "DANGER, ERROR.")
+                .parameter(SmithyCli.CACHE_DIR, "Caches the validated model in the given directory and reuses it "
+                                                + "when the models and classpath are unchanged")
                 .positional("<MODELS>", "Path to Smithy models or directories")
                 .build();
     }
@@ -109,11 +111,20 @@ public final class BuildCommand implements Command {
         SmithyBuildConfig smithyBuildConfig = configBuilder.build();
 
         // Build the model and fail if there are errors. Prints errors to stdout.
-        Model model = CommandUtils.buildModel(arguments, classLoader, SetUtils.of(Validator.Feature.STDOUT));
+        Path cacheDirectory = arguments.has(SmithyCli.CACHE_DIR)
+                ? Paths.get(arguments.parameter(SmithyCli.CACHE_DIR))
+                : null;
+        // Artifacts written to the output directory must not change the cache key.
+        Path outputDirectory = smithyBuildConfig.getOutputDirectory()
+                .map(Paths::get)
+                .orElseGet(() -> Paths.get("build", "smithy"));
+        Model model = CommandUtils.buildModel(
+                arguments, classLoader, SetUtils.of(Validator.Feature.STDOUT), cacheDirectory, outputDirectory);
 
         SmithyBuild smithyBuild = SmithyBuild.create(classLoader)
                 .config(smithyBuildConfig)
-                .model(model);
+                .model(model)
+                .bufferFileWrites(true);
 
         if (arguments.has("--plugin")) {
             smithyBuild.pluginFilter(name -> name.equals(arguments.parameter("--plugin")));
@@ -134,10 +145,11 @@ public final class BuildCommand implements Command {
                 ? Colors.BRIGHT_BOLD_GREEN
                 : Colors.BRIGHT_BOLD_YELLOW;
         color.out(String.format(
-                "Smithy built %s projection(s), %s plugin(s), and %s artifacts",
+                "Smithy built %s projection(s), %s plugin(s), and %s artifacts (%s unchanged)",
                 resultConsumer.projectionCount,
                 resultConsumer.pluginCount,
-                resultConsumer.artifactCount));
+                resultConsumer.artifactCount,
+                resultConsumer.unchangedArtifactCount));
 
         // Throw an exception if any errors occurred.
         if (!resultConsumer.failedProjections.isEmpty()) {
@@ -152,6 +164,7 @@ public final class BuildCommand implements Command {
     private static final class ResultConsumer implements Consumer<ProjectionResult>, BiConsumer<String, Throwable> {
         List<String> failedProjections = Collections.synchronizedList(new ArrayList<>());
         AtomicInteger artifactCount = new AtomicInteger();
+        AtomicInteger unchangedArtifactCount = new AtomicInteger();
         AtomicInteger pluginCount = new AtomicInteger();
         AtomicInteger projectionCount = new AtomicInteger();
 
@@ -201,6 +214,7 @@ public final class BuildCommand implements Command {
             for (FileManifest manifest : result.getPluginManifests().values()) {
                 artifactCount.addAndGet(manifest.getFiles().size());
             }
+            unchangedArtifactCount.addAndGet(result.getUnchangedFileCount());
         }
     }
 }
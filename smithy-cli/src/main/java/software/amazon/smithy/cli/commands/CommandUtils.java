@@ -18,14 +18,18 @@ package software.amazon.smithy.cli.commands;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
+import software.amazon.smithy.build.ModelCache;
 import software.amazon.smithy.cli.Arguments;
 import software.amazon.smithy.cli.Cli;
 import software.amazon.smithy.cli.CliError;
@@ -33,9 +37,11 @@ import software.amazon.smithy.cli.Colors;
 import software.amazon.smithy.cli.SmithyCli;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.model.validation.ContextualValidationEventFormatter;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
 
 final class CommandUtils {
 
@@ -44,6 +50,16 @@ final class CommandUtils {
     private CommandUtils() {}
 
     static Model buildModel(Arguments arguments, ClassLoader classLoader, Set<Validator.Feature> features) {
+        return buildModel(arguments, classLoader, features, null);
+    }
+
+    static Model buildModel(
+            Arguments arguments,
+            ClassLoader classLoader,
+            Set<Validator.Feature> features,
+            Path cacheDirectory,
+            Path... excludedPaths
+    ) {
         List<String> models = arguments.positionalArguments();
         ModelAssembler assembler = CommandUtils.createModelAssembler(classLoader);
 
@@ -57,7 +73,7 @@ final class CommandUtils {
                 ? parseSeverity(arguments.parameter(SmithyCli.SEVERITY))
                 : Severity.NOTE;
 
-        assembler.validationEventListener(event -> {
+        Consumer<ValidationEvent> listener = event -> {
             // Only log events that are >= --severity.
             if (event.getSeverity().ordinal() >= minSeverity.ordinal()) {
                 if (event.getSeverity() == Severity.WARNING && !quiet) {
@@ -70,12 +86,45 @@ final class CommandUtils {
                     writer.accept(formatter.format(event) + System.lineSeparator());
                 }
             }
-        });
+        };
+
+        ModelCache cache = cacheDirectory == null ? null : new ModelCache(cacheDirectory);
+        ModelCache.Key cacheKey = null;
+        if (cache != null) {
+            ModelCache.Key.Builder keyBuilder = createCacheKeyBuilder(arguments, classLoader)
+                    .excludePath(cacheDirectory);
+            for (Path excluded : excludedPaths) {
+                keyBuilder.excludePath(excluded);
+            }
+            cacheKey = keyBuilder.build();
+        }
+        ValidatedResult<Model> result = null;
+
+        if (cache != null) {
+            result = cache.load(cacheKey, TraitFactory.createServiceFactory(classLoader)).orElse(null);
+            if (result != null) {
+                LOGGER.fine(() -> "Loaded cached model from " + cacheDirectory);
+                result.getValidationEvents().forEach(listener);
+            }
+        }
+
+        if (result == null) {
+            // Cache events in the order they were emitted so that a cached
+            // model reports its events in the same order.
+            List<ValidationEvent> emitted = Collections.synchronizedList(new ArrayList<>());
+            assembler.validationEventListener(event -> {
+                emitted.add(event);
+                listener.accept(event);
+            });
+            CommandUtils.handleModelDiscovery(arguments, assembler, classLoader);
+            CommandUtils.handleUnknownTraitsOption(arguments, assembler);
+            models.forEach(assembler::addImport);
+            result = assembler.assemble();
+            if (cache != null && result.getResult().isPresent()) {
+                cache.store(cacheKey, new ValidatedResult<>(result.getResult().get(), emitted));
+            }
+        }
 
-        CommandUtils.handleModelDiscovery(arguments, assembler, classLoader);
-        CommandUtils.handleUnknownTraitsOption(arguments, assembler);
-        models.forEach(assembler::addImport);
-        ValidatedResult<Model> result = assembler.assemble();
         Validator.validate(result, features);
         return result.getResult().orElseThrow(() -> new RuntimeException("Expected Validator to throw"));
     }
@@ -89,6 +138,27 @@ final class CommandUtils {
         return Model.assembler(classLoader).putProperty(ModelAssembler.DISABLE_JAR_CACHE, true);
     }
 
+    // The key accounts for everything that affects the assembled model: the
+    // contents of each model, the class path used to find traits, validators,
+    // and discovered models, and the options used to assemble the model.
+    private static ModelCache.Key.Builder createCacheKeyBuilder(Arguments arguments, ClassLoader classLoader) {
+        ModelCache.Key.Builder builder = ModelCache.keyBuilder().addClassLoader(classLoader);
+        for (String option : new String[]{SmithyCli.ALLOW_UNKNOWN_TRAITS, SmithyCli.DISCOVER}) {
+            builder.putOption(option, String.valueOf(arguments.has(option)));
+        }
+
+        if (arguments.has(SmithyCli.DISCOVER_CLASSPATH)) {
+            String rawClasspath = arguments.parameter(SmithyCli.DISCOVER_CLASSPATH);
+            builder.putOption(SmithyCli.DISCOVER_CLASSPATH, rawClasspath);
+            for (String entry : rawClasspath.split(System.getProperty("path.separator"))) {
+                builder.addClassPathEntry(Paths.get(entry));
+            }
+        }
+
+        arguments.positionalArguments().forEach(model -> builder.addSource(Paths.get(model)));
+        return builder;
+    }
+
     private static void handleUnknownTraitsOption(Arguments arguments, ModelAssembler assembler) {
         if (arguments.has(SmithyCli.ALLOW_UNKNOWN_TRAITS)) {
             LOGGER.fine("Ignoring unknown traits");
@@ -15,6 +15,8 @@
 
 package software.amazon.smithy.cli.commands;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import software.amazon.smithy.cli.Arguments;
 import software.amazon.smithy.cli.Colors;
@@ -45,6 +47,8 @@ public final class ValidateCommand implements Command {
                 .parameter(SmithyCli.SEVERITY, "Sets a minimum validation event severity to display. "
                                                + "Defaults to NOTE. Can be set to SUPPRESSED, NOTE, WARNING, "
                                                + "DANGER, ERROR.")
+                .parameter(SmithyCli.CACHE_DIR, "Caches the validated model in the given directory and reuses it "
+                                                + "when the models and classpath are unchanged")
                 .positional("<MODELS>", "Path to Smithy models or directories")
                 .build();
     }
@@ -53,7 +57,10 @@ public final class ValidateCommand implements Command {
     public void execute(Arguments arguments, ClassLoader classLoader) {
         List<String> models = arguments.positionalArguments();
         Colors.BRIGHT_WHITE.out(String.format("Validating Smithy model sources: %s", models));
-        CommandUtils.buildModel(arguments, classLoader, SetUtils.of());
+        Path cacheDirectory = arguments.has(SmithyCli.CACHE_DIR)
+                ? Paths.get(arguments.parameter(SmithyCli.CACHE_DIR))
+                : null;
+        CommandUtils.buildModel(arguments, classLoader, SetUtils.of(), cacheDirectory);
         Colors.BRIGHT_BOLD_GREEN.out("Smithy validation complete");
     }
 }
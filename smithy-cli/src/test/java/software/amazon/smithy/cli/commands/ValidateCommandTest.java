@@ -17,13 +17,21 @@ package software.amazon.smithy.cli.commands;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.cli.CliError;
@@ -131,7 +139,29 @@ public class ValidateCommandTest {
         assertThat(result, containsString("TraitTarget"));
     }
 
-    private String runValidationEventsTest(Severity severity) throws Exception {
+    @Test
+    public void reusesCachedModels() throws Exception {
+        Path cacheDir = Files.createTempDirectory(getClass().getName());
+        try {
+            String uncached = runValidationEventsTest(Severity.NOTE, "--cache-dir", cacheDir.toString());
+
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                assertThat(files.count(), equalTo(1L));
+            }
+
+            String cached = runValidationEventsTest(Severity.NOTE, "--cache-dir", cacheDir.toString());
+
+            for (String expected : new String[]{"EmitNotes", "EmitWarnings", "EmitDangers", "TraitTarget",
+                                                "1 ERROR(s), 1 DANGER(s), 1 WARNING(s), 1 NOTE(s)"}) {
+                assertThat(uncached, containsString(expected));
+                assertThat(cached, containsString(expected));
+            }
+        } finally {
+            Files.walk(cacheDir).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private String runValidationEventsTest(Severity severity, String... args) throws Exception {
         PrintStream err = System.err;
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         PrintStream printStream = new PrintStream(outputStream);
@@ -139,7 +169,10 @@ public class ValidateCommandTest {
 
         Path validationEventsModel = Paths.get(getClass().getResource("validation-events.smithy").toURI());
         try {
-            SmithyCli.create().run("validate", "--severity", severity.toString(), validationEventsModel.toString());
+            List<String> arguments = new ArrayList<>(Arrays.asList(args));
+            arguments.add(0, "validate");
+            arguments.addAll(Arrays.asList("--severity", severity.toString(), validationEventsModel.toString()));
+            SmithyCli.create().run(arguments);
         } catch (RuntimeException e) {
             // ignore the error since everything we need was captured via stderr.
         }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.codegen.core.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.codegen.core.TopologicalIndex;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class TopologicalIndexes {
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        @Param({"1000", "10000", "50000"})
+        public int shapeCount;
+
+        // "cycle" creates a single cycle through every structure. "mesh"
+        // creates structures that each refer to several random structures
+        // and lists, like a highly interconnected document model.
+        @Param({"cycle", "mesh"})
+        public String topology;
+
+        public Model model;
+
+        @Setup
+        public void prepare() {
+            model = createModel(shapeCount, topology.equals("mesh"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CycleState {
+
+        @Param({"1000", "10000", "50000"})
+        public int shapeCount;
+
+        public Model model;
+
+        @Setup
+        public void prepare() {
+            model = createModel(shapeCount, false);
+        }
+    }
+
+    // Computes the ordered shapes and which shapes are recursive.
+    @Benchmark
+    public TopologicalIndex createIndex(GraphState state) {
+        return new TopologicalIndex(state.model);
+    }
+
+    // Paths are only enumerated for a cycle since the number of paths
+    // through a mesh grows exponentially.
+    @Benchmark
+    public int getRecursiveClosure(CycleState state) {
+        return new TopologicalIndex(state.model).getRecursiveClosure(structureId(0)).size();
+    }
+
+    private static Model createModel(int shapeCount, boolean mesh) {
+        Random random = new Random(0);
+        Model.Builder builder = Model.builder();
+        ShapeId leaf = ShapeId.from("smithy.example#Leaf");
+        builder.addShape(StringShape.builder().id(leaf).build());
+
+        for (int i = 0; i < shapeCount; i++) {
+            StructureShape.Builder structure = StructureShape.builder()
+                    .id(structureId(i))
+                    .addMember("leaf", leaf);
+            if (!mesh) {
+                structure.addMember("next", structureId((i + 1) % shapeCount));
+            } else {
+                for (int j = 0; j < 3; j++) {
+                    structure.addMember("s" + j, structureId(random.nextInt(shapeCount)));
+                }
+                ShapeId list = ShapeId.from("smithy.example#L" + i);
+                ShapeId target = structureId(random.nextInt(shapeCount));
+                builder.addShape(ListShape.builder().id(list).member(target).build());
+                structure.addMember("list", list);
+            }
+            builder.addShape(structure.build());
+        }
+
+        return builder.build();
+    }
+
+    private static ShapeId structureId(int i) {
+        return ShapeId.from("smithy.example#S" + i);
+    }
+}
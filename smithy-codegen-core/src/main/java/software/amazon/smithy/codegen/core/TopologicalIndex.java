@@ -16,14 +16,17 @@
 package software.amazon.smithy.codegen.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
@@ -33,7 +36,6 @@ import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipDirection;
 import software.amazon.smithy.model.selector.PathFinder;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ToShapeId;
 
 /**
@@ -53,83 +55,60 @@ import software.amazon.smithy.model.shapes.ToShapeId;
  * paths from the shape back to itself. This list can be useful for code
  * generation to generate different code based on if a recursive path
  * passes through particular types of shapes.
+ *
+ * <p>The ordered shapes and which shapes are recursive are computed in
+ * linear time using Tarjan's strongly connected components algorithm. A
+ * shape is recursive if it is part of a cycle or can reach a cycle.
+ * Because the number of recursive closures of a shape can grow
+ * exponentially with the number of shapes in a cycle, closures are only
+ * computed when they are requested, either directly or by iterating over
+ * the recursive shapes in order of their degree of recursion.
  */
 public final class TopologicalIndex implements KnowledgeIndex {
 
+    private static final int[] NO_EDGES = new int[0];
+    private static final Relationship[] NO_RELATIONSHIPS = new Relationship[0];
+
+    private final NeighborProvider provider;
+    private final List<Shape> nodes = new ArrayList<>();
+    private final Map<Shape, Integer> nodeIndexes = new IdentityHashMap<>();
+    private final List<int[]> edges = new ArrayList<>();
+    private final List<Relationship[]> relationships = new ArrayList<>();
     private final Set<Shape> shapes = new LinkedHashSet<>();
-    private final Map<Shape, Set<PathFinder.Path>> recursiveShapes = new LinkedHashMap<>();
+    private final Map<String, Integer> recursiveNodes = new HashMap<>();
+    private final Map<String, Set<PathFinder.Path>> closures = new ConcurrentHashMap<>();
+    private int[] rootNodes;
+    private volatile Set<Shape> recursiveShapes;
+    private boolean[] recursive;
 
     public TopologicalIndex(Model model) {
+        provider = NeighborProviderIndex.of(model).getProvider();
+
         // Explore sorted shapes not in the prelude for a stable result order.
-        Set<Shape> shapes = new TreeSet<>();
+        List<RootShape> roots = new ArrayList<>();
         for (Shape shape : model.toSet()) {
             if (!Prelude.isPreludeShape(shape)) {
-                shapes.add(shape);
-            }
-        }
-
-        // This map ensures that more recursive shapes come after less recursive shapes.
-        Map<Integer, Map<Shape, Set<PathFinder.Path>>> frequencyMap = new TreeMap<>();
-        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
-
-        for (Shape shape : shapes) {
-            Set<PathFinder.Path> paths = explore(shape, Collections.emptyList(), Collections.emptySet(), provider);
-            if (!paths.isEmpty()) {
-                int edges = 0;
-                for (PathFinder.Path path : paths) {
-                    edges += path.size();
-                }
-                frequencyMap.computeIfAbsent(edges, e -> new LinkedHashMap<>()).put(shape, paths);
+                roots.add(new RootShape(shape, nodes.size()));
             }
+            nodeIndexes.put(shape, nodes.size());
+            nodes.add(shape);
+            edges.add(null);
+            relationships.add(null);
         }
 
-        // Flatten the ordered frequency map into the collection of all recursive values.
-        for (Map.Entry<Integer, Map<Shape, Set<PathFinder.Path>>> entry : frequencyMap.entrySet()) {
-            recursiveShapes.putAll(entry.getValue());
-        }
-    }
-
-    private Set<PathFinder.Path> explore(
-            Shape shape,
-            List<Relationship> path,
-            Set<Shape> visited,
-            NeighborProvider provider
-    ) {
-        if (visited.contains(shape)) {
-            return Collections.singleton(new PathFinder.Path(path));
+        Collections.sort(roots);
+        rootNodes = new int[roots.size()];
+        for (int i = 0; i < rootNodes.length; i++) {
+            rootNodes[i] = roots.get(i).node;
         }
 
-        Set<Shape> newVisited = new LinkedHashSet<>(visited);
-        newVisited.add(shape);
+        findComponents();
 
-        // Sort edges alphabetically by shape to make the order predictable.
-        Map<Shape, Relationship> shapeRelationshipMap = new TreeMap<>();
-        for (Relationship rel : provider.getNeighbors(shape)) {
-            if (rel.getRelationshipType().getDirection() == RelationshipDirection.DIRECTED) {
-                if (!rel.getNeighborShapeId().equals(shape.getId()) && rel.getNeighborShape().isPresent()) {
-                    shapeRelationshipMap.put(rel.getNeighborShape().get(), rel);
-                }
+        for (RootShape root : roots) {
+            if (recursive[root.node]) {
+                recursiveNodes.put(root.id, root.node);
             }
         }
-
-        if (shapeRelationshipMap.isEmpty()) {
-            shapes.add(shape);
-            return Collections.emptySet();
-        }
-
-        Set<PathFinder.Path> recursivePaths = new LinkedHashSet<>();
-        for (Map.Entry<Shape, Relationship> entry : shapeRelationshipMap.entrySet()) {
-            List<Relationship> newPath = new ArrayList<>(path.size() + 1);
-            newPath.addAll(path);
-            newPath.add(entry.getValue());
-            recursivePaths.addAll(explore(entry.getKey(), newPath, newVisited, provider));
-        }
-
-        if (recursivePaths.isEmpty()) {
-            shapes.add(shape);
-        }
-
-        return recursivePaths;
     }
 
     /**
@@ -164,10 +143,24 @@ public final class TopologicalIndex implements KnowledgeIndex {
      * alphabetically by shape ID when there are multiple entries with
      * the same number of edges.
      *
+     * <p>Ordering the shapes requires computing the recursive closures of
+     * every recursive shape, so the result is computed the first time it
+     * is requested.
+     *
      * @return All shapes that are part of a recursive closure.
      */
     public Set<Shape> getRecursiveShapes() {
-        return Collections.unmodifiableSet(recursiveShapes.keySet());
+        Set<Shape> result = recursiveShapes;
+        if (result == null) {
+            synchronized (this) {
+                result = recursiveShapes;
+                if (result == null) {
+                    result = Collections.unmodifiableSet(orderRecursiveShapes());
+                    recursiveShapes = result;
+                }
+            }
+        }
+        return result;
     }
 
     /**
@@ -177,7 +170,7 @@ public final class TopologicalIndex implements KnowledgeIndex {
      * @return True if the shape has recursive edges.
      */
     public boolean isRecursive(ToShapeId shape) {
-        return !getRecursiveClosure(shape).isEmpty();
+        return recursiveNodes.containsKey(shape.toShapeId().toString());
     }
 
     /**
@@ -193,18 +186,249 @@ public final class TopologicalIndex implements KnowledgeIndex {
      * @return The closures of the shape, or an empty {@code Set} if the shape is not recursive.
      */
     public Set<PathFinder.Path> getRecursiveClosure(ToShapeId shape) {
-        if (shape instanceof Shape) {
-            return Collections.unmodifiableSet(recursiveShapes.getOrDefault(shape, Collections.emptySet()));
+        Integer node = recursiveNodes.get(shape.toShapeId().toString());
+        if (node == null) {
+            return Collections.emptySet();
+        }
+
+        return closures.computeIfAbsent(nodes.get(node).getId().toString(), id -> {
+            Set<PathFinder.Path> result = new LinkedHashSet<>();
+            new ClosureFinder().find(node, result);
+            return Collections.unmodifiableSet(result);
+        });
+    }
+
+    // Finds strongly connected components using an iterative version of
+    // Tarjan's algorithm so that deep models don't overflow the stack.
+    // Components are completed in reverse-topological order, so whether a
+    // component can reach a cycle is known when it is completed, and
+    // non-recursive shapes are added to the ordered shapes in the same
+    // depth-first post-order that exploring each path would produce.
+    private void findComponents() {
+        int[] index = new int[nodes.size()];
+        int[] low = new int[nodes.size()];
+        boolean[] onStack = new boolean[nodes.size()];
+        Arrays.fill(index, -1);
+        recursive = new boolean[nodes.size()];
+
+        int counter = 0;
+        int[] componentStack = new int[nodes.size()];
+        int componentSize = 0;
+        int[] callStack = new int[nodes.size()];
+        int[] edgeStack = new int[nodes.size()];
+
+        for (int rootNode : rootNodes) {
+            if (index[rootNode] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            callStack[depth] = rootNode;
+            edgeStack[depth++] = 0;
+            index[rootNode] = counter;
+            low[rootNode] = counter++;
+            componentStack[componentSize++] = rootNode;
+            onStack[rootNode] = true;
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                int[] targets = getEdges(node);
+                int edge = edgeStack[depth - 1];
+
+                if (edge < targets.length) {
+                    edgeStack[depth - 1]++;
+                    int target = targets[edge];
+                    if (index[target] == -1) {
+                        callStack[depth] = target;
+                        edgeStack[depth++] = 0;
+                        index[target] = counter;
+                        low[target] = counter++;
+                        componentStack[componentSize++] = target;
+                        onStack[target] = true;
+                    } else if (onStack[target]) {
+                        low[node] = Math.min(low[node], index[target]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[node]);
+                }
+
+                if (low[node] == index[node]) {
+                    if (componentStack[componentSize - 1] == node) {
+                        // A component with a single shape is only recursive
+                        // if it can reach a recursive shape.
+                        componentSize--;
+                        onStack[node] = false;
+                        for (int target : targets) {
+                            if (recursive[target]) {
+                                recursive[node] = true;
+                                break;
+                            }
+                        }
+                        if (!recursive[node]) {
+                            shapes.add(nodes.get(node));
+                        }
+                    } else {
+                        // Every shape in a component with more than one
+                        // shape is part of a cycle.
+                        int member;
+                        do {
+                            member = componentStack[--componentSize];
+                            onStack[member] = false;
+                            recursive[member] = true;
+                        } while (member != node);
+                    }
+                }
+            }
+        }
+    }
+
+    // Edges are computed when a shape is first visited, and are sorted by
+    // the shape they target to make the order predictable.
+    private int[] getEdges(int node) {
+        int[] result = edges.get(node);
+        if (result != null) {
+            return result;
+        }
+
+        Shape shape = nodes.get(node);
+        Map<Shape, Relationship> shapeRelationshipMap = new TreeMap<>();
+        for (Relationship rel : provider.getNeighbors(shape)) {
+            if (rel.getRelationshipType().getDirection() == RelationshipDirection.DIRECTED) {
+                if (!rel.getNeighborShapeId().equals(shape.getId()) && rel.getNeighborShape().isPresent()) {
+                    shapeRelationshipMap.put(rel.getNeighborShape().get(), rel);
+                }
+            }
+        }
+
+        if (shapeRelationshipMap.isEmpty()) {
+            result = NO_EDGES;
+            relationships.set(node, NO_RELATIONSHIPS);
+        } else {
+            result = new int[shapeRelationshipMap.size()];
+            Relationship[] rels = new Relationship[result.length];
+            int i = 0;
+            for (Map.Entry<Shape, Relationship> entry : shapeRelationshipMap.entrySet()) {
+                result[i] = nodeIndexes.get(entry.getKey());
+                rels[i++] = entry.getValue();
+            }
+            relationships.set(node, rels);
         }
 
-        // If given an ID, we need to scan the recursive shapes to look for a matching ID.
-        ShapeId id = shape.toShapeId();
-        for (Map.Entry<Shape, Set<PathFinder.Path>> entry : recursiveShapes.entrySet()) {
-            if (entry.getKey().getId().equals(id)) {
-                return Collections.unmodifiableSet(entry.getValue());
+        edges.set(node, result);
+        return result;
+    }
+
+    private Set<Shape> orderRecursiveShapes() {
+        // This map ensures that more recursive shapes come after less recursive shapes.
+        Map<Integer, List<Shape>> frequencyMap = new TreeMap<>();
+        ClosureFinder finder = new ClosureFinder();
+
+        for (int node : rootNodes) {
+            if (recursive[node]) {
+                // Only the number of edges is needed, so paths aren't created.
+                int edgeCount = finder.find(node, null);
+                frequencyMap.computeIfAbsent(edgeCount, e -> new ArrayList<>()).add(nodes.get(node));
             }
         }
 
-        return Collections.emptySet();
+        // Flatten the ordered frequency map into the collection of all recursive values.
+        Set<Shape> result = new LinkedHashSet<>();
+        for (List<Shape> values : frequencyMap.values()) {
+            result.addAll(values);
+        }
+        return result;
+    }
+
+    // Enumerates every path from a shape that ends at the first shape that
+    // is encountered a second time. Paths are only followed through
+    // recursive shapes since a non-recursive shape can't reach a shape
+    // that is already in the path. Paths are added to the given result if
+    // it isn't null, and the total number of edges in the paths is returned.
+    private final class ClosureFinder {
+
+        private final boolean[] inPath = new boolean[nodes.size()];
+        private int[] nodeStack = new int[16];
+        private int[] edgeStack = new int[16];
+        private Relationship[] path = new Relationship[16];
+
+        int find(int start, Set<PathFinder.Path> result) {
+            int edgeCount = 0;
+            int depth = 1;
+            nodeStack[0] = start;
+            edgeStack[0] = 0;
+            inPath[start] = true;
+
+            while (depth > 0) {
+                int node = nodeStack[depth - 1];
+                int edge = edgeStack[depth - 1];
+                // Edges of recursive shapes were all computed when finding components.
+                int[] targets = edges.get(node);
+
+                if (edge == targets.length) {
+                    inPath[node] = false;
+                    depth--;
+                    continue;
+                }
+
+                edgeStack[depth - 1]++;
+                int target = targets[edge];
+                if (!recursive[target]) {
+                    continue;
+                }
+
+                Relationship rel = relationships.get(node)[edge];
+                if (inPath[target]) {
+                    edgeCount += depth;
+                    if (result != null) {
+                        List<Relationship> relationshipPath = new ArrayList<>(depth);
+                        relationshipPath.addAll(Arrays.asList(path).subList(0, depth - 1));
+                        relationshipPath.add(rel);
+                        result.add(new PathFinder.Path(relationshipPath));
+                    }
+                    continue;
+                }
+
+                if (depth == nodeStack.length) {
+                    nodeStack = Arrays.copyOf(nodeStack, depth * 2);
+                    edgeStack = Arrays.copyOf(edgeStack, depth * 2);
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+
+                path[depth - 1] = rel;
+                nodeStack[depth] = target;
+                edgeStack[depth++] = 0;
+                inPath[target] = true;
+            }
+
+            return edgeCount;
+        }
+    }
+
+    // Sorts shapes in the same order as Shape#compareTo, which compares
+    // shape IDs case-insensitively and then case-sensitively. Shape IDs only
+    // contain ASCII characters, so comparing lowercase IDs is equivalent, and
+    // computing them once avoids case-insensitive comparisons while sorting.
+    private static final class RootShape implements Comparable<RootShape> {
+
+        private final int node;
+        private final String id;
+        private final String lowercaseId;
+
+        RootShape(Shape shape, int node) {
+            this.node = node;
+            id = shape.getId().toString();
+            lowercaseId = id.toLowerCase(Locale.ENGLISH);
+        }
+
+        @Override
+        public int compareTo(RootShape other) {
+            int outcome = lowercaseId.compareTo(other.lowercaseId);
+            return outcome != 0 ? outcome : id.compareTo(other.id);
+        }
     }
 }
@@ -51,8 +51,14 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  *     }
  *
  *     \@Override
- *     public String toString() {
- *         return getImportContainer().toString() + "\n\n" + super.toString();
+ *     public void writeTo(Writer writer) {
+ *         try {
+ *             writer.write(getImportContainer().toString());
+ *             writer.write("\n\n");
+ *         } catch (IOException e) {
+ *             throw new UncheckedIOException(e);
+ *         }
+ *         super.writeTo(writer);
  *     }
  *
  *     public MyWriter someCustomMethod() {
@@ -88,9 +94,11 @@ public class CodegenWriter<T extends CodegenWriter<T, U>, U extends ImportContai
     /**
      * Gets the import container associated with the writer.
      *
-     * <p>The {@link #toString()} method of the {@code CodegenWriter} should
-     * be overridden so that it includes the import container's contents in
-     * the output as appropriate.
+     * <p>The {@link #writeTo(java.io.Writer)} method of the
+     * {@code CodegenWriter} should be overridden so that it includes the
+     * import container's contents in the output as appropriate.
+     * {@link #toString()} delegates to {@code writeTo}, so it includes the
+     * same contents.
      *
      * @return Returns the import container.
      */
@@ -17,17 +17,28 @@ package software.amazon.smithy.codegen.core.writer;
 
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolDependency;
 import software.amazon.smithy.codegen.core.SymbolProvider;
 import software.amazon.smithy.codegen.core.SymbolReference;
+import software.amazon.smithy.codegen.core.TopologicalIndex;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.utils.SmithyUnstableApi;
 
@@ -51,7 +62,17 @@ import software.amazon.smithy.utils.SmithyUnstableApi;
  * delegator are eventually written to the provided {@link FileManifest} when
  * the {@link #flushWriters()} method is called.
  *
- * <p>This class is not thread-safe.
+ * <h2>Thread safety</h2>
+ *
+ * <p>Writers can be used from multiple threads at the same time. Each
+ * {@code CodegenWriter} is owned by a single thread while it is in use by
+ * {@link #useFileWriter} or {@link #useShapeWriter}, so work that targets
+ * different files runs concurrently while work that targets the same file
+ * is serialized. {@link #useShapeWritersInParallel} uses this to generate
+ * the files of a model in parallel while producing exactly the same
+ * contents as generating each shape one at a time. The configuration
+ * methods of the delegator and {@link #flushWriters()} must not be called
+ * while writers are in use by other threads.
  *
  * <h2>Extending {@code CodegenWriterDelegator}</h2>
  *
@@ -69,7 +90,8 @@ public class CodegenWriterDelegator<T extends CodegenWriter<T, ?>> {
 
     private final FileManifest fileManifest;
     private final SymbolProvider symbolProvider;
-    private final Map<String, T> writers = new TreeMap<>();
+    private final Map<String, T> writers = new ConcurrentSkipListMap<>();
+    private final Set<String> usedFiles = ConcurrentHashMap.newKeySet();
     private final CodegenWriterFactory<T> codegenWriterFactory;
     private String automaticSeparator = "\n";
     private UseShapeWriterObserver<T> useShaperWriterObserver = (shape, symbol, symbolProvider1, writer) -> { };
@@ -115,6 +137,9 @@ public class CodegenWriterDelegator<T extends CodegenWriter<T, ?>> {
      * <p>The {@code toString} method is called on each writer to generate
      * the code to write to the manifest.
      *
+     * <p>Writers are always flushed in the order of their filenames, making
+     * the order deterministic even when writers were created concurrently.
+     *
      * <p>This method clears out the managed {@code CodegenWriter}s, meaning a
      * subsequent call to {@link #getWriters()} will return an empty map.
      *
@@ -126,6 +151,7 @@ public class CodegenWriterDelegator<T extends CodegenWriter<T, ?>> {
         }
 
         writers.clear();
+        usedFiles.clear();
     }
 
     /**
@@ -168,7 +194,13 @@ public class CodegenWriterDelegator<T extends CodegenWriter<T, ?>> {
      * @param writerConsumer Consumer that is expected to write to the {@code CodegenWriter}.
      */
     public final void useFileWriter(String filename, String namespace, Consumer<T> writerConsumer) {
-        writerConsumer.accept(checkoutWriter(filename, namespace));
+        String formattedFilename = formatFilename(filename);
+        T writer = checkoutWriter(formattedFilename, namespace);
+
+        synchronized (writer) {
+            writeSeparatorIfNeeded(formattedFilename, writer);
+            writerConsumer.accept(writer);
+        }
     }
 
     /**
@@ -190,18 +222,78 @@ public class CodegenWriterDelegator<T extends CodegenWriter<T, ?>> {
      * @param writerConsumer Consumer that is expected to write to the {@code CodegenWriter}.
      */
     public final void useShapeWriter(Shape shape, Consumer<T> writerConsumer) {
-        // Checkout/create the appropriate writer for the shape.
-        Symbol symbol = symbolProvider.toSymbol(shape);
-        T writer = checkoutWriter(symbol.getDefinitionFile(), symbol.getNamespace());
+        useShapeWriter(shape, symbolProvider.toSymbol(shape), writerConsumer);
+    }
+
+    /**
+     * Uses the writers of many {@link Shape}s in parallel using the common
+     * {@link ForkJoinPool}.
+     *
+     * @param model Model that contains the shapes.
+     * @param shapes Shapes to create writers for.
+     * @param writerConsumer Consumer that is expected to write a shape to its {@code CodegenWriter}.
+     * @see #useShapeWritersInParallel(Model, Collection, ForkJoinPool, BiConsumer)
+     */
+    public final void useShapeWritersInParallel(
+            Model model,
+            Collection<? extends Shape> shapes,
+            BiConsumer<Shape, T> writerConsumer
+    ) {
+        useShapeWritersInParallel(model, shapes, ForkJoinPool.commonPool(), writerConsumer);
+    }
+
+    /**
+     * Uses the writers of many {@link Shape}s in parallel using the given
+     * {@link ForkJoinPool}.
+     *
+     * <p>This method behaves like calling {@link #useShapeWriter} for each
+     * shape in the order defined by the {@link TopologicalIndex} of the
+     * model, meaning shapes are written after the shapes they depend on.
+     * Shapes are grouped by the file they are defined in. Each group is
+     * written by a single task in topological order, and different files are
+     * written concurrently. As a result, the generated files are identical to
+     * the files that are created when each shape is written one at a time.
+     * Shapes that are not part of the model are written last, in the order
+     * in which they were given.
+     *
+     * <p>Because the consumer and the {@link SymbolProvider} of the delegator
+     * are invoked from multiple threads, they must be thread-safe (for
+     * example, see {@link SymbolProvider#cache}). The consumer should only
+     * write to the writer it is given; using another writer of the delegator
+     * from the consumer can deadlock.
+     *
+     * <p>This method returns when every shape has been written. If a consumer
+     * throws an exception, the exception is rethrown by this method.
+     *
+     * @param model Model that contains the shapes.
+     * @param shapes Shapes to create writers for.
+     * @param pool Fork/join pool used to write files concurrently.
+     * @param writerConsumer Consumer that is expected to write a shape to its {@code CodegenWriter}.
+     */
+    public final void useShapeWritersInParallel(
+            Model model,
+            Collection<? extends Shape> shapes,
+            ForkJoinPool pool,
+            BiConsumer<Shape, T> writerConsumer
+    ) {
+        // Group the shapes by file so that each file is written by a single task.
+        Map<String, Map<Shape, Symbol>> files = new LinkedHashMap<>();
+        for (Shape shape : sortTopologically(model, shapes)) {
+            Symbol symbol = symbolProvider.toSymbol(shape);
+            String filename = formatFilename(symbol.getDefinitionFile());
+            files.computeIfAbsent(filename, f -> new LinkedHashMap<>()).put(shape, symbol);
+        }
 
-        // Add any needed DECLARE symbols.
-        writer.addImportReferences(symbol, SymbolReference.ContextOption.DECLARE);
-        symbol.getDependencies().forEach(writer::addDependency);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(files.size());
+        for (Map<Shape, Symbol> fileShapes : files.values()) {
+            tasks.add(ForkJoinTask.adapt(() -> fileShapes.forEach((shape, symbol) -> {
+                useShapeWriter(shape, symbol, writer -> writerConsumer.accept(shape, writer));
+            })));
+        }
 
-        writer.pushState();
-        useShaperWriterObserver.observe(shape, symbol, symbolProvider, writer);
-        writerConsumer.accept(writer);
-        writer.popState();
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+        }));
     }
 
     /**
@@ -231,17 +323,65 @@ public class CodegenWriterDelegator<T extends CodegenWriter<T, ?>> {
         this.useShaperWriterObserver = Objects.requireNonNull(useShaperWriterObserver);
     }
 
-    private T checkoutWriter(String filename, String namespace) {
-        String formattedFilename = Paths.get(filename).normalize().toString();
-        boolean needsNewline = writers.containsKey(formattedFilename);
+    private void useShapeWriter(Shape shape, Symbol symbol, Consumer<T> writerConsumer) {
+        // Checkout/create the appropriate writer for the shape.
+        String formattedFilename = formatFilename(symbol.getDefinitionFile());
+        T writer = checkoutWriter(formattedFilename, symbol.getNamespace());
 
-        T writer = writers.computeIfAbsent(formattedFilename, file -> codegenWriterFactory.apply(file, namespace));
+        synchronized (writer) {
+            writeSeparatorIfNeeded(formattedFilename, writer);
 
-        // Add newlines/separators between types in the same file.
-        if (needsNewline) {
-            writer.writeInline(automaticSeparator);
+            // Add any needed DECLARE symbols.
+            writer.addImportReferences(symbol, SymbolReference.ContextOption.DECLARE);
+            symbol.getDependencies().forEach(writer::addDependency);
+
+            writer.pushState();
+            useShaperWriterObserver.observe(shape, symbol, symbolProvider, writer);
+            writerConsumer.accept(writer);
+            writer.popState();
+        }
+    }
+
+    private static String formatFilename(String filename) {
+        return Paths.get(filename).normalize().toString();
+    }
+
+    private T checkoutWriter(String formattedFilename, String namespace) {
+        T writer = writers.get(formattedFilename);
+
+        if (writer == null) {
+            // Writers are created while holding a lock so that the factory is
+            // only ever called once for each file.
+            synchronized (writers) {
+                writer = writers.computeIfAbsent(formattedFilename, f -> codegenWriterFactory.apply(f, namespace));
+            }
         }
 
         return writer;
     }
+
+    private void writeSeparatorIfNeeded(String formattedFilename, T writer) {
+        // Add newlines/separators between types in the same file. This is
+        // tracked while the writer is owned by the caller so that separators
+        // are written in the same order as the contents they separate.
+        if (!usedFiles.add(formattedFilename)) {
+            writer.writeInline(automaticSeparator);
+        }
+    }
+
+    private static List<Shape> sortTopologically(Model model, Collection<? extends Shape> shapes) {
+        TopologicalIndex index = TopologicalIndex.of(model);
+        Map<Shape, Integer> positions = new HashMap<>();
+        for (Shape shape : index.getOrderedShapes()) {
+            positions.put(shape, positions.size());
+        }
+        for (Shape shape : index.getRecursiveShapes()) {
+            positions.put(shape, positions.size());
+        }
+
+        // The sort is stable, so shapes that aren't in the index retain their order.
+        List<Shape> sorted = new ArrayList<>(shapes);
+        sorted.sort(Comparator.comparingInt(shape -> positions.getOrDefault(shape, Integer.MAX_VALUE)));
+        return sorted;
+    }
 }
@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 
@@ -17,8 +18,11 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.selector.PathFinder;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.utils.FunctionalUtils;
 
 public class TopologicalIndexTest {
@@ -164,4 +168,34 @@ public class TopologicalIndexTest {
             assertThat(index.getRecursiveClosure(id), not(empty()));
         }
     }
+
+    @Test
+    public void handlesLongRecursiveCycles() {
+        // A cycle of structures long enough to overflow the stack if
+        // shapes were explored recursively.
+        int count = 5000;
+        Model.Builder builder = Model.builder();
+        for (int i = 0; i < count; i++) {
+            builder.addShape(StructureShape.builder()
+                    .id("smithy.example#S" + i)
+                    .addMember("next", ShapeId.from("smithy.example#S" + ((i + 1) % count)))
+                    .addMember("leaf", ShapeId.from("smithy.example#Leaf"))
+                    .build());
+        }
+        builder.addShape(StringShape.builder().id("smithy.example#Leaf").build());
+        Model cycle = builder.build();
+        TopologicalIndex index = TopologicalIndex.of(cycle);
+
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#S5")), is(true));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#S5$next")), is(true));
+        assertThat(index.isRecursive(ShapeId.from("smithy.example#S5$leaf")), is(false));
+        assertThat(index.getOrderedShapes().iterator().next().getId(),
+                   equalTo(ShapeId.from("smithy.example#Leaf")));
+        assertThat(index.getOrderedShapes(), hasSize(count + 1));
+        assertThat(index.getRecursiveShapes(), hasSize(count * 2));
+
+        Set<PathFinder.Path> closure = index.getRecursiveClosure(ShapeId.from("smithy.example#S0"));
+        assertThat(closure, hasSize(1));
+        assertThat(closure.iterator().next(), hasSize(count * 2));
+    }
 }
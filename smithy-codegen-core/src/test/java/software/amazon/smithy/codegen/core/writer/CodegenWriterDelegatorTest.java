@@ -20,16 +20,24 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.build.MockManifest;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolDependency;
 import software.amazon.smithy.codegen.core.SymbolProvider;
+import software.amazon.smithy.codegen.core.TopologicalIndex;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
 
 public class CodegenWriterDelegatorTest {
 
@@ -158,4 +166,77 @@ public class CodegenWriterDelegatorTest {
 
         assertThat(mockManifest.getFileString("com/foo/Baz.bam"), equalTo(Optional.of("Hi!\n")));
     }
+
+    @Test
+    public void writesShapesInParallelInTopologicalOrder() {
+        Model model = createModel(200);
+        SymbolProvider provider = SymbolProvider.cache(shape -> Symbol.builder()
+                .namespace("com.foo", ".")
+                .name(shape.getId().getName())
+                .definitionFile("com/foo/File" + (shape.getId().getName().hashCode() & 7) + ".bam")
+                .build());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        MockManifest parallelManifest = new MockManifest();
+        CodegenWriterDelegator<MyWriter> parallel = new CodegenWriterDelegator<>(
+                parallelManifest, provider, (f, n) -> new MyWriter(n));
+        parallel.setOnShaperWriterUseObserver(new MyWriter.MyObserver());
+        parallel.useShapeWritersInParallel(model, model.getStructureShapes(), pool, (shape, writer) -> {
+            writer.write("Writing $L", shape.getId().getName());
+        });
+        parallel.flushWriters();
+        pool.shutdown();
+
+        MockManifest sequentialManifest = new MockManifest();
+        CodegenWriterDelegator<MyWriter> sequential = new CodegenWriterDelegator<>(
+                sequentialManifest, provider, (f, n) -> new MyWriter(n));
+        sequential.setOnShaperWriterUseObserver(new MyWriter.MyObserver());
+        for (Shape shape : TopologicalIndex.of(model).getOrderedShapes()) {
+            if (shape.isStructureShape()) {
+                sequential.useShapeWriter(shape, writer -> writer.write("Writing $L", shape.getId().getName()));
+            }
+        }
+        sequential.flushWriters();
+
+        assertThat(parallelManifest.getFiles(), equalTo(sequentialManifest.getFiles()));
+        for (Path file : sequentialManifest.getFiles()) {
+            assertThat(parallelManifest.getFileString(file), equalTo(sequentialManifest.getFileString(file)));
+        }
+
+        // Dependencies are written before the shapes that target them.
+        String contents = parallelManifest.getFileString("com/foo/File" + ("Shape0".hashCode() & 7) + ".bam").get();
+        assertThat(contents, startsWith("/// Writing com.foo#Shape0\nWriting Shape0\n"));
+    }
+
+    @Test
+    public void rethrowsExceptionsFromParallelWriters() {
+        Model model = createModel(10);
+        SymbolProvider provider = shape -> Symbol.builder()
+                .namespace("com.foo", ".")
+                .name(shape.getId().getName())
+                .definitionFile("com/foo/" + shape.getId().getName() + ".bam")
+                .build();
+        CodegenWriterDelegator<MyWriter> delegator = new CodegenWriterDelegator<>(
+                new MockManifest(), provider, (f, n) -> new MyWriter(n));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            delegator.useShapeWritersInParallel(model, model.getStructureShapes(), (shape, writer) -> {
+                if (shape.getId().getName().equals("Shape5")) {
+                    throw new IllegalStateException("Oops");
+                }
+            });
+        });
+    }
+
+    // Each shape targets the shape created before it.
+    private static Model createModel(int shapeCount) {
+        Model.Builder builder = Model.builder();
+        for (int i = 0; i < shapeCount; i++) {
+            StructureShape.Builder shape = StructureShape.builder().id("com.foo#Shape" + i);
+            if (i > 0) {
+                shape.addMember("previous", ShapeId.from("com.foo#Shape" + (i - 1)));
+            }
+            builder.addShape(shape.build());
+        }
+        return builder.build();
+    }
 }
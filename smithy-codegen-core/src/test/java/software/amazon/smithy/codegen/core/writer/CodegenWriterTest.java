@@ -21,10 +21,20 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.not;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
 import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.codegen.core.Symbol;
 import software.amazon.smithy.codegen.core.SymbolDependency;
 import software.amazon.smithy.codegen.core.SymbolReference;
+import software.amazon.smithy.utils.IoUtils;
 
 public class CodegenWriterTest {
 
@@ -113,4 +123,51 @@ public class CodegenWriterTest {
         assertThat(writer.getImportContainer().imports, hasKey("MyString"));
         assertThat(writer.getImportContainer().imports.get("MyString"), equalTo("java.lang.String"));
     }
+
+    @Test
+    public void writesImportsToFileManifests() throws IOException {
+        Path outputDirectory = Files.createTempDirectory(getClass().getName());
+        try {
+            FileManifest manifest = FileManifest.create(outputDirectory);
+            ToStringImportsWriter toStringWriter = new ToStringImportsWriter();
+            toStringWriter.write("class A {}");
+            WriteToImportsWriter writeToWriter = new WriteToImportsWriter();
+            writeToWriter.write("class B {}");
+            manifest.writeFile(Paths.get("A.txt"), toStringWriter);
+            manifest.writeFile(Paths.get("B.txt"), writeToWriter);
+
+            assertThat(IoUtils.readUtf8File(outputDirectory.resolve("A.txt")), equalTo("import foo;\n\nclass A {}\n"));
+            assertThat(IoUtils.readUtf8File(outputDirectory.resolve("B.txt")), equalTo("import bar;\n\nclass B {}\n"));
+            assertThat(writeToWriter.toString(), equalTo("import bar;\n\nclass B {}\n"));
+        } finally {
+            Files.walk(outputDirectory).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static final class ToStringImportsWriter extends CodegenWriter<ToStringImportsWriter, ImportContainer> {
+        ToStringImportsWriter() {
+            super((writer, runnable) -> runnable.run(), (symbol, alias) -> { });
+        }
+
+        @Override
+        public String toString() {
+            return "import foo;\n\n" + super.toString();
+        }
+    }
+
+    private static final class WriteToImportsWriter extends CodegenWriter<WriteToImportsWriter, ImportContainer> {
+        WriteToImportsWriter() {
+            super((writer, runnable) -> runnable.run(), (symbol, alias) -> { });
+        }
+
+        @Override
+        public void writeTo(Writer writer) {
+            try {
+                writer.write("import bar;\n\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            super.writeTo(writer);
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.jmespath.CompiledExpression;
+import software.amazon.smithy.jmespath.JavaValueRuntime;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.jmespath.ast.LiteralExpression;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class Evaluation {
+
+    @State(Scope.Thread)
+    public static class EvaluationState {
+
+        // Expressions modeled after common waiter acceptor paths.
+        @Param({
+                "Table.TableStatus",
+                "length(Reservations[].Instances[]) > `0`",
+                "Reservations[].Instances[].State.Name",
+                "Items[?Status == 'FAILED'] | length(@) > `0`",
+                "contains(Items[].Status, 'FAILED')"
+        })
+        public String path;
+
+        public Object data;
+        public JmespathExpression expression;
+        public CompiledExpression<Object> compiled;
+
+        @Setup
+        public void prepare() {
+            StringBuilder json = new StringBuilder("{\"Table\": {\"TableStatus\": \"ACTIVE\"}, \"Reservations\": [");
+            for (int i = 0; i < 20; i++) {
+                json.append(i == 0 ? "" : ",").append("{\"Instances\": [");
+                for (int j = 0; j < 5; j++) {
+                    json.append(j == 0 ? "" : ",").append("{\"State\": {\"Name\": \"running\"}}");
+                }
+                json.append("]}");
+            }
+            json.append("], \"Items\": [");
+            for (int i = 0; i < 100; i++) {
+                json.append(i == 0 ? "" : ",").append("{\"Status\": \"").append(i == 99 ? "FAILED" : "OK").append("\"}");
+            }
+            json.append("]}");
+
+            data = ((LiteralExpression) JmespathExpression.parse("`" + json + "`")).getValue();
+            expression = JmespathExpression.parse(path);
+            compiled = expression.compile(JavaValueRuntime.INSTANCE);
+        }
+    }
+
+    @Benchmark
+    public Object parseAndInterpret(EvaluationState state) {
+        return JmespathExpression.parse(state.path).evaluate(state.data);
+    }
+
+    @Benchmark
+    public Object interpret(EvaluationState state) {
+        return state.expression.evaluate(state.data);
+    }
+
+    @Benchmark
+    public Object evaluateCompiled(EvaluationState state) {
+        return state.compiled.evaluate(state.data);
+    }
+}
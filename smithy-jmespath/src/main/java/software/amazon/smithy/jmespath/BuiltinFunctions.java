@@ -0,0 +1,582 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implements the built-in JMESPath functions for any {@link JmespathRuntime}.
+ */
+final class BuiltinFunctions {
+
+    private static final Set<String> NAMES = new HashSet<>(Arrays.asList(
+            "abs", "avg", "ceil", "contains", "ends_with", "floor", "join", "keys", "length", "map", "max",
+            "max_by", "merge", "min", "min_by", "not_null", "reverse", "sort", "sort_by", "starts_with", "sum",
+            "to_array", "to_number", "to_string", "type", "values"));
+
+    private BuiltinFunctions() {}
+
+    /**
+     * Provides access to the arguments of a function call.
+     *
+     * <p>This allows functions to be applied to both interpreted
+     * and compiled expressions.
+     *
+     * @param <T> Type of value being evaluated.
+     */
+    interface Arguments<T> {
+        /**
+         * Gets the number of arguments provided to the function.
+         *
+         * @return Returns the number of arguments.
+         */
+        int size();
+
+        /**
+         * Evaluates an argument against the current node.
+         *
+         * @param index Argument to evaluate.
+         * @param current Current node.
+         * @return Returns the evaluated argument.
+         */
+        T evaluate(int index, T current);
+
+        /**
+         * Applies an expression reference argument to a value.
+         *
+         * @param index Argument that must be an expression reference.
+         * @param value Value to apply the referenced expression to.
+         * @return Returns the result of the referenced expression.
+         * @throws JmespathException if the argument is not an expression reference.
+         */
+        T applyReference(int index, T value);
+    }
+
+    static boolean isBuiltin(String name) {
+        return NAMES.contains(name);
+    }
+
+    static <T> T apply(String name, JmespathRuntime<T> runtime, Arguments<T> args, T current) {
+        switch (name) {
+            case "abs":
+                return abs(runtime, number(runtime, name, evaluateOne(name, args, current)));
+            case "avg":
+                return avg(runtime, numberArray(runtime, name, evaluateOne(name, args, current)));
+            case "ceil":
+                return runtime.createNumber(Math.ceil(runtime.asNumber(
+                        number(runtime, name, evaluateOne(name, args, current))).doubleValue()));
+            case "contains":
+                arity(name, args, 2);
+                return contains(runtime, args.evaluate(0, current), args.evaluate(1, current));
+            case "ends_with":
+                arity(name, args, 2);
+                return runtime.createBoolean(string(runtime, name, args.evaluate(0, current))
+                                                     .endsWith(string(runtime, name, args.evaluate(1, current))));
+            case "floor":
+                return runtime.createNumber(Math.floor(runtime.asNumber(
+                        number(runtime, name, evaluateOne(name, args, current))).doubleValue()));
+            case "join":
+                arity(name, args, 2);
+                return join(runtime, string(runtime, name, args.evaluate(0, current)), args.evaluate(1, current));
+            case "keys":
+                return keys(runtime, object(runtime, name, evaluateOne(name, args, current)));
+            case "length":
+                return length(runtime, evaluateOne(name, args, current));
+            case "map":
+                arity(name, args, 2);
+                return map(runtime, args, array(runtime, name, args.evaluate(1, current)));
+            case "max":
+                return extreme(runtime, name, evaluateOne(name, args, current), true);
+            case "max_by":
+                arity(name, args, 2);
+                return extremeBy(runtime, name, args, args.evaluate(0, current), true);
+            case "merge":
+                return merge(runtime, args, current);
+            case "min":
+                return extreme(runtime, name, evaluateOne(name, args, current), false);
+            case "min_by":
+                arity(name, args, 2);
+                return extremeBy(runtime, name, args, args.evaluate(0, current), false);
+            case "not_null":
+                return notNull(runtime, args, current);
+            case "reverse":
+                return reverse(runtime, evaluateOne(name, args, current));
+            case "sort":
+                return sort(runtime, name, evaluateOne(name, args, current));
+            case "sort_by":
+                arity(name, args, 2);
+                return sortBy(runtime, name, args, args.evaluate(0, current));
+            case "starts_with":
+                arity(name, args, 2);
+                return runtime.createBoolean(string(runtime, name, args.evaluate(0, current))
+                                                     .startsWith(string(runtime, name, args.evaluate(1, current))));
+            case "sum":
+                return sum(runtime, numberArray(runtime, name, evaluateOne(name, args, current)));
+            case "to_array":
+                return toArray(runtime, evaluateOne(name, args, current));
+            case "to_number":
+                return toNumber(runtime, evaluateOne(name, args, current));
+            case "to_string":
+                return toStringValue(runtime, evaluateOne(name, args, current));
+            case "type":
+                return runtime.createString(runtime.typeOf(evaluateOne(name, args, current)).toString());
+            case "values":
+                return values(runtime, object(runtime, name, evaluateOne(name, args, current)));
+            default:
+                throw new JmespathException("unknown-function: " + name);
+        }
+    }
+
+    private static void arity(String name, Arguments<?> args, int expected) {
+        if (args.size() != expected) {
+            throw new JmespathException(String.format(
+                    "invalid-arity: %s function expected %d arguments, but was given %d",
+                    name, expected, args.size()));
+        }
+    }
+
+    private static <T> T evaluateOne(String name, Arguments<T> args, T current) {
+        arity(name, args, 1);
+        return args.evaluate(0, current);
+    }
+
+    static JmespathException notAReference(String function) {
+        return invalidType(function, "expression", "a value");
+    }
+
+    private static JmespathException invalidType(String function, Object expected, Object actual) {
+        return new JmespathException(String.format(
+                "invalid-type: %s function expected %s, but found %s", function, expected, actual));
+    }
+
+    private static <T> T expect(JmespathRuntime<T> runtime, String function, T value, RuntimeType type) {
+        RuntimeType actual = runtime.typeOf(value);
+        if (actual != type) {
+            throw invalidType(function, type, actual);
+        }
+        return value;
+    }
+
+    private static <T> T number(JmespathRuntime<T> runtime, String function, T value) {
+        return expect(runtime, function, value, RuntimeType.NUMBER);
+    }
+
+    private static <T> String string(JmespathRuntime<T> runtime, String function, T value) {
+        return runtime.asString(expect(runtime, function, value, RuntimeType.STRING));
+    }
+
+    private static <T> T array(JmespathRuntime<T> runtime, String function, T value) {
+        return expect(runtime, function, value, RuntimeType.ARRAY);
+    }
+
+    private static <T> T object(JmespathRuntime<T> runtime, String function, T value) {
+        return expect(runtime, function, value, RuntimeType.OBJECT);
+    }
+
+    private static <T> T numberArray(JmespathRuntime<T> runtime, String function, T value) {
+        for (T element : runtime.elements(array(runtime, function, value))) {
+            number(runtime, function, element);
+        }
+        return value;
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer
+               || number instanceof Long
+               || number instanceof Short
+               || number instanceof Byte
+               || number instanceof BigInteger;
+    }
+
+    private static <T> T abs(JmespathRuntime<T> runtime, T value) {
+        Number number = runtime.asNumber(value);
+        if (number instanceof BigDecimal) {
+            return runtime.createNumber(((BigDecimal) number).abs());
+        } else if (number instanceof BigInteger) {
+            return runtime.createNumber(((BigInteger) number).abs());
+        } else if (isIntegral(number)) {
+            return runtime.createNumber(Math.abs(number.longValue()));
+        } else {
+            return runtime.createNumber(Math.abs(number.doubleValue()));
+        }
+    }
+
+    private static <T> T avg(JmespathRuntime<T> runtime, T array) {
+        int length = runtime.length(array);
+        if (length == 0) {
+            return runtime.createNull();
+        }
+        double total = 0;
+        for (T element : runtime.elements(array)) {
+            total += runtime.asNumber(element).doubleValue();
+        }
+        return runtime.createNumber(total / length);
+    }
+
+    private static <T> T sum(JmespathRuntime<T> runtime, T array) {
+        long integralTotal = 0;
+        double total = 0;
+        boolean integral = true;
+        for (T element : runtime.elements(array)) {
+            Number number = runtime.asNumber(element);
+            integral = integral && isIntegral(number) && !(number instanceof BigInteger);
+            integralTotal += number.longValue();
+            total += number.doubleValue();
+        }
+        return integral ? runtime.createNumber(integralTotal) : runtime.createNumber(total);
+    }
+
+    private static <T> T contains(JmespathRuntime<T> runtime, T subject, T search) {
+        switch (runtime.typeOf(subject)) {
+            case ARRAY:
+                for (T element : runtime.elements(subject)) {
+                    if (runtime.isEqual(element, search)) {
+                        return runtime.createBoolean(true);
+                    }
+                }
+                return runtime.createBoolean(false);
+            case STRING:
+                return runtime.createBoolean(runtime.typeOf(search) == RuntimeType.STRING
+                                             && runtime.asString(subject).contains(runtime.asString(search)));
+            default:
+                throw invalidType("contains", "array or string", runtime.typeOf(subject));
+        }
+    }
+
+    private static <T> T join(JmespathRuntime<T> runtime, String glue, T array) {
+        StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (T element : runtime.elements(array(runtime, "join", array))) {
+            if (!first) {
+                result.append(glue);
+            }
+            result.append(string(runtime, "join", element));
+            first = false;
+        }
+        return runtime.createString(result.toString());
+    }
+
+    private static <T> T keys(JmespathRuntime<T> runtime, T object) {
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (String key : runtime.keys(object)) {
+            result.add(runtime.createString(key));
+        }
+        return result.build();
+    }
+
+    private static <T> T values(JmespathRuntime<T> runtime, T object) {
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (String key : runtime.keys(object)) {
+            result.add(runtime.value(object, key));
+        }
+        return result.build();
+    }
+
+    private static <T> T length(JmespathRuntime<T> runtime, T value) {
+        switch (runtime.typeOf(value)) {
+            case STRING:
+                String string = runtime.asString(value);
+                return runtime.createNumber(string.codePointCount(0, string.length()));
+            case ARRAY:
+            case OBJECT:
+                return runtime.createNumber(runtime.length(value));
+            default:
+                throw invalidType("length", "string, array, or object", runtime.typeOf(value));
+        }
+    }
+
+    private static <T> T map(JmespathRuntime<T> runtime, Arguments<T> args, T array) {
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (T element : runtime.elements(array)) {
+            result.add(args.applyReference(0, element));
+        }
+        return result.build();
+    }
+
+    private static <T> T merge(JmespathRuntime<T> runtime, Arguments<T> args, T current) {
+        JmespathRuntime.ObjectBuilder<T> result = runtime.objectBuilder();
+        for (int i = 0; i < args.size(); i++) {
+            T value = object(runtime, "merge", args.evaluate(i, current));
+            for (String key : runtime.keys(value)) {
+                result.put(key, runtime.value(value, key));
+            }
+        }
+        return result.build();
+    }
+
+    private static <T> T notNull(JmespathRuntime<T> runtime, Arguments<T> args, T current) {
+        if (args.size() == 0) {
+            throw new JmespathException("invalid-arity: not_null function expected at least 1 argument");
+        }
+        for (int i = 0; i < args.size(); i++) {
+            T value = args.evaluate(i, current);
+            if (runtime.typeOf(value) != RuntimeType.NULL) {
+                return value;
+            }
+        }
+        return runtime.createNull();
+    }
+
+    private static <T> T reverse(JmespathRuntime<T> runtime, T value) {
+        switch (runtime.typeOf(value)) {
+            case STRING:
+                return runtime.createString(new StringBuilder(runtime.asString(value)).reverse().toString());
+            case ARRAY:
+                JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+                for (int i = runtime.length(value) - 1; i >= 0; i--) {
+                    result.add(runtime.element(value, i));
+                }
+                return result.build();
+            default:
+                throw invalidType("reverse", "string or array", runtime.typeOf(value));
+        }
+    }
+
+    private static <T> T toArray(JmespathRuntime<T> runtime, T value) {
+        if (runtime.typeOf(value) == RuntimeType.ARRAY) {
+            return value;
+        }
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        result.add(value);
+        return result.build();
+    }
+
+    private static <T> T toNumber(JmespathRuntime<T> runtime, T value) {
+        switch (runtime.typeOf(value)) {
+            case NUMBER:
+                return value;
+            case STRING:
+                String string = runtime.asString(value);
+                try {
+                    if (string.contains(".") || string.contains("e") || string.contains("E")) {
+                        return runtime.createNumber(Double.parseDouble(string));
+                    } else {
+                        return runtime.createNumber(Long.parseLong(string));
+                    }
+                } catch (NumberFormatException e) {
+                    return runtime.createNull();
+                }
+            default:
+                return runtime.createNull();
+        }
+    }
+
+    private static <T> T toStringValue(JmespathRuntime<T> runtime, T value) {
+        if (runtime.typeOf(value) == RuntimeType.STRING) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder();
+        writeJson(runtime, value, result);
+        return runtime.createString(result.toString());
+    }
+
+    private static <T> void writeJson(JmespathRuntime<T> runtime, T value, StringBuilder result) {
+        switch (runtime.typeOf(value)) {
+            case NULL:
+                result.append("null");
+                break;
+            case BOOLEAN:
+                result.append(runtime.asBoolean(value));
+                break;
+            case NUMBER:
+                Number number = runtime.asNumber(value);
+                double doubleValue = number.doubleValue();
+                // Write integral floating point values like 10.0 as 10 to match JSON text.
+                if (!isIntegral(number) && doubleValue == Math.rint(doubleValue) && !Double.isInfinite(doubleValue)
+                        && Math.abs(doubleValue) < Long.MAX_VALUE) {
+                    result.append((long) doubleValue);
+                } else {
+                    result.append(number);
+                }
+                break;
+            case STRING:
+                writeJsonString(runtime.asString(value), result);
+                break;
+            case ARRAY:
+                result.append('[');
+                boolean firstElement = true;
+                for (T element : runtime.elements(value)) {
+                    if (!firstElement) {
+                        result.append(',');
+                    }
+                    writeJson(runtime, element, result);
+                    firstElement = false;
+                }
+                result.append(']');
+                break;
+            case OBJECT:
+                result.append('{');
+                boolean firstKey = true;
+                for (String key : runtime.keys(value)) {
+                    if (!firstKey) {
+                        result.append(',');
+                    }
+                    writeJsonString(key, result);
+                    result.append(':');
+                    writeJson(runtime, runtime.value(value, key), result);
+                    firstKey = false;
+                }
+                result.append('}');
+                break;
+            default:
+                throw new JmespathException("Unable to serialize value of type " + runtime.typeOf(value));
+        }
+    }
+
+    private static void writeJsonString(String value, StringBuilder result) {
+        result.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        result.append('"');
+    }
+
+    // Sorting and min/max are only defined over arrays of all numbers or all strings.
+    private static <T> RuntimeType sortableType(JmespathRuntime<T> runtime, String function, List<T> values) {
+        RuntimeType type = null;
+        for (T value : values) {
+            RuntimeType valueType = runtime.typeOf(value);
+            if ((valueType != RuntimeType.NUMBER && valueType != RuntimeType.STRING)
+                    || (type != null && type != valueType)) {
+                throw invalidType(function, "an array of numbers or an array of strings", valueType);
+            }
+            type = valueType;
+        }
+        return type;
+    }
+
+    private static <T> Comparator<T> comparator(JmespathRuntime<T> runtime, RuntimeType type) {
+        if (type == RuntimeType.STRING) {
+            return Comparator.comparing(runtime::asString);
+        } else {
+            return Comparator.comparingDouble(value -> runtime.asNumber(value).doubleValue());
+        }
+    }
+
+    private static <T> List<T> toList(JmespathRuntime<T> runtime, T array) {
+        List<T> result = new ArrayList<>(runtime.length(array));
+        for (T element : runtime.elements(array)) {
+            result.add(element);
+        }
+        return result;
+    }
+
+    private static <T> T extreme(JmespathRuntime<T> runtime, String function, T array, boolean max) {
+        List<T> values = toList(runtime, array(runtime, function, array));
+        if (values.isEmpty()) {
+            return runtime.createNull();
+        }
+        Comparator<T> comparator = comparator(runtime, sortableType(runtime, function, values));
+        T result = values.get(0);
+        for (T value : values) {
+            int comparison = comparator.compare(value, result);
+            if (max ? comparison > 0 : comparison < 0) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    private static <T> T extremeBy(
+            JmespathRuntime<T> runtime,
+            String function,
+            Arguments<T> args,
+            T array,
+            boolean max
+    ) {
+        List<T> values = toList(runtime, array(runtime, function, array));
+        if (values.isEmpty()) {
+            return runtime.createNull();
+        }
+        List<T> keys = new ArrayList<>(values.size());
+        for (T value : values) {
+            keys.add(args.applyReference(1, value));
+        }
+        Comparator<T> comparator = comparator(runtime, sortableType(runtime, function, keys));
+        int result = 0;
+        for (int i = 1; i < keys.size(); i++) {
+            int comparison = comparator.compare(keys.get(i), keys.get(result));
+            if (max ? comparison > 0 : comparison < 0) {
+                result = i;
+            }
+        }
+        return values.get(result);
+    }
+
+    private static <T> T sort(JmespathRuntime<T> runtime, String function, T array) {
+        List<T> values = toList(runtime, array(runtime, function, array));
+        if (!values.isEmpty()) {
+            values.sort(comparator(runtime, sortableType(runtime, function, values)));
+        }
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (T value : values) {
+            result.add(value);
+        }
+        return result.build();
+    }
+
+    private static <T> T sortBy(JmespathRuntime<T> runtime, String function, Arguments<T> args, T array) {
+        List<T> values = toList(runtime, array(runtime, function, array));
+        List<T> keys = new ArrayList<>(values.size());
+        for (T value : values) {
+            keys.add(args.applyReference(1, value));
+        }
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        if (!values.isEmpty()) {
+            Comparator<T> keyComparator = comparator(runtime, sortableType(runtime, function, keys));
+            // Sort positions rather than values so that the sort is stable and keys are computed once.
+            List<Integer> positions = new ArrayList<>(values.size());
+            for (int i = 0; i < values.size(); i++) {
+                positions.add(i);
+            }
+            positions.sort((a, b) -> keyComparator.compare(keys.get(a), keys.get(b)));
+            for (int position : positions) {
+                result.add(values.get(position));
+            }
+        }
+        return result.build();
+    }
+}
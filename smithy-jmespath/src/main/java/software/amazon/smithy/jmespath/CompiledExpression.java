@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+/**
+ * A JMESPath expression that has been compiled for a specific
+ * {@link JmespathRuntime}.
+ *
+ * <p>Compilation resolves the expression tree into a tree of
+ * pre-bound operations once: literals are converted to runtime values,
+ * functions are resolved, chains of field accesses are collapsed into a
+ * single lookup loop, and flattening projections are fused so they do
+ * not build intermediate arrays. Evaluating a compiled expression does
+ * not perform visitor dispatch over the AST.
+ *
+ * <p>Compiled expressions are immutable and thread-safe if the runtime
+ * is thread-safe, so they are intended to be created once and evaluated
+ * many times.
+ *
+ * @param <T> Type of value the expression is evaluated against.
+ */
+public final class CompiledExpression<T> {
+
+    /**
+     * An operation of a compiled expression that is applied to the current node.
+     *
+     * @param <T> Type of value being evaluated.
+     */
+    @FunctionalInterface
+    interface Operation<T> {
+        T apply(T current);
+    }
+
+    private final JmespathExpression expression;
+    private final JmespathRuntime<T> runtime;
+    private final Operation<T> operation;
+
+    private CompiledExpression(JmespathExpression expression, JmespathRuntime<T> runtime, Operation<T> operation) {
+        this.expression = expression;
+        this.runtime = runtime;
+        this.operation = operation;
+    }
+
+    /**
+     * Compiles an expression for the given runtime.
+     *
+     * @param expression Expression to compile.
+     * @param runtime Runtime used to evaluate the expression.
+     * @param <T> Type of value the expression is evaluated against.
+     * @return Returns the compiled expression.
+     * @throws JmespathException if the expression calls an unknown function.
+     */
+    public static <T> CompiledExpression<T> compile(JmespathExpression expression, JmespathRuntime<T> runtime) {
+        Operation<T> operation = expression.accept(new ExpressionCompiler<>(runtime));
+        return new CompiledExpression<>(expression, runtime, operation);
+    }
+
+    /**
+     * Evaluates the compiled expression against a value.
+     *
+     * @param currentNode The value to set as the current node.
+     * @return Returns the result of evaluating the expression.
+     * @throws JmespathException if a runtime error occurs while evaluating.
+     */
+    public T evaluate(T currentNode) {
+        return operation.apply(currentNode);
+    }
+
+    /**
+     * Gets the expression that was compiled.
+     *
+     * @return Returns the source expression.
+     */
+    public JmespathExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Gets the runtime the expression was compiled for.
+     *
+     * @return Returns the runtime.
+     */
+    public JmespathRuntime<T> getRuntime() {
+        return runtime;
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.jmespath.ast.AndExpression;
+import software.amazon.smithy.jmespath.ast.ComparatorExpression;
+import software.amazon.smithy.jmespath.ast.CurrentExpression;
+import software.amazon.smithy.jmespath.ast.ExpressionTypeExpression;
+import software.amazon.smithy.jmespath.ast.FieldExpression;
+import software.amazon.smithy.jmespath.ast.FilterProjectionExpression;
+import software.amazon.smithy.jmespath.ast.FlattenExpression;
+import software.amazon.smithy.jmespath.ast.FunctionExpression;
+import software.amazon.smithy.jmespath.ast.IndexExpression;
+import software.amazon.smithy.jmespath.ast.LiteralExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectHashExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectListExpression;
+import software.amazon.smithy.jmespath.ast.NotExpression;
+import software.amazon.smithy.jmespath.ast.ObjectProjectionExpression;
+import software.amazon.smithy.jmespath.ast.OrExpression;
+import software.amazon.smithy.jmespath.ast.ProjectionExpression;
+import software.amazon.smithy.jmespath.ast.SliceExpression;
+import software.amazon.smithy.jmespath.ast.Subexpression;
+
+/**
+ * Evaluates an expression against a value using a {@link JmespathRuntime}.
+ *
+ * <p>A single evaluator is reused for the entire expression tree. The
+ * current node is swapped in and out as child expressions are evaluated
+ * rather than creating a new visitor for each nested scope.
+ *
+ * @param <T> Type of value being evaluated.
+ */
+final class Evaluator<T> implements ExpressionVisitor<T> {
+
+    private final JmespathRuntime<T> runtime;
+    private T current;
+
+    Evaluator(JmespathRuntime<T> runtime) {
+        this.runtime = runtime;
+    }
+
+    T evaluate(JmespathExpression expression, T value) {
+        T previous = current;
+        current = value;
+        try {
+            return expression.accept(this);
+        } finally {
+            current = previous;
+        }
+    }
+
+    @Override
+    public T visitComparator(ComparatorExpression expression) {
+        T left = expression.getLeft().accept(this);
+        T right = expression.getRight().accept(this);
+
+        switch (expression.getComparator()) {
+            case EQUAL:
+                return runtime.createBoolean(runtime.isEqual(left, right));
+            case NOT_EQUAL:
+                return runtime.createBoolean(!runtime.isEqual(left, right));
+            default:
+                // Ordering comparisons are only defined for numbers.
+                if (runtime.typeOf(left) != RuntimeType.NUMBER || runtime.typeOf(right) != RuntimeType.NUMBER) {
+                    return runtime.createNull();
+                }
+                double l = runtime.asNumber(left).doubleValue();
+                double r = runtime.asNumber(right).doubleValue();
+                switch (expression.getComparator()) {
+                    case LESS_THAN:
+                        return runtime.createBoolean(l < r);
+                    case LESS_THAN_EQUAL:
+                        return runtime.createBoolean(l <= r);
+                    case GREATER_THAN:
+                        return runtime.createBoolean(l > r);
+                    case GREATER_THAN_EQUAL:
+                        return runtime.createBoolean(l >= r);
+                    default:
+                        throw new JmespathException("Unreachable comparator " + expression.getComparator());
+                }
+        }
+    }
+
+    @Override
+    public T visitCurrentNode(CurrentExpression expression) {
+        return current;
+    }
+
+    @Override
+    public T visitExpressionType(ExpressionTypeExpression expression) {
+        // Expression references are only meaningful as function arguments,
+        // where they are handled by the function implementation directly.
+        return runtime.createNull();
+    }
+
+    @Override
+    public T visitFlatten(FlattenExpression expression) {
+        T value = expression.getExpression().accept(this);
+
+        if (runtime.typeOf(value) != RuntimeType.ARRAY) {
+            return runtime.createNull();
+        }
+
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (T element : runtime.elements(value)) {
+            if (runtime.typeOf(element) == RuntimeType.ARRAY) {
+                for (T inner : runtime.elements(element)) {
+                    result.add(inner);
+                }
+            } else {
+                result.add(element);
+            }
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public T visitFunction(FunctionExpression expression) {
+        String name = expression.getName();
+        List<JmespathExpression> arguments = expression.getArguments();
+
+        return BuiltinFunctions.apply(name, runtime, new BuiltinFunctions.Arguments<T>() {
+            @Override
+            public int size() {
+                return arguments.size();
+            }
+
+            @Override
+            public T evaluate(int index, T value) {
+                return Evaluator.this.evaluate(arguments.get(index), value);
+            }
+
+            @Override
+            public T applyReference(int index, T value) {
+                JmespathExpression argument = arguments.get(index);
+                if (!(argument instanceof ExpressionTypeExpression)) {
+                    throw BuiltinFunctions.notAReference(name);
+                }
+                return Evaluator.this.evaluate(((ExpressionTypeExpression) argument).getExpression(), value);
+            }
+        }, current);
+    }
+
+    @Override
+    public T visitField(FieldExpression expression) {
+        if (runtime.typeOf(current) == RuntimeType.OBJECT) {
+            return runtime.value(current, expression.getName());
+        }
+
+        return runtime.createNull();
+    }
+
+    @Override
+    public T visitIndex(IndexExpression expression) {
+        if (runtime.typeOf(current) != RuntimeType.ARRAY) {
+            return runtime.createNull();
+        }
+
+        int length = runtime.length(current);
+        int index = expression.getIndex();
+
+        if (index < 0) {
+            index = length + index;
+        }
+
+        return index >= 0 && index < length ? runtime.element(current, index) : runtime.createNull();
+    }
+
+    @Override
+    public T visitLiteral(LiteralExpression expression) {
+        return runtime.createLiteral(expression.getValue());
+    }
+
+    @Override
+    public T visitMultiSelectList(MultiSelectListExpression expression) {
+        if (runtime.typeOf(current) == RuntimeType.NULL) {
+            return current;
+        }
+
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (JmespathExpression e : expression.getExpressions()) {
+            result.add(e.accept(this));
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public T visitMultiSelectHash(MultiSelectHashExpression expression) {
+        if (runtime.typeOf(current) == RuntimeType.NULL) {
+            return current;
+        }
+
+        JmespathRuntime.ObjectBuilder<T> result = runtime.objectBuilder();
+        for (Map.Entry<String, JmespathExpression> entry : expression.getExpressions().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().accept(this));
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public T visitAnd(AndExpression expression) {
+        T left = expression.getLeft().accept(this);
+        return runtime.isTruthy(left) ? expression.getRight().accept(this) : left;
+    }
+
+    @Override
+    public T visitOr(OrExpression expression) {
+        T left = expression.getLeft().accept(this);
+        return runtime.isTruthy(left) ? left : expression.getRight().accept(this);
+    }
+
+    @Override
+    public T visitNot(NotExpression expression) {
+        T value = expression.getExpression().accept(this);
+        return runtime.createBoolean(!runtime.isTruthy(value));
+    }
+
+    @Override
+    public T visitProjection(ProjectionExpression expression) {
+        T left = expression.getLeft().accept(this);
+
+        if (runtime.typeOf(left) != RuntimeType.ARRAY) {
+            return runtime.createNull();
+        }
+
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (T element : runtime.elements(left)) {
+            addIfNotNull(result, evaluate(expression.getRight(), element));
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public T visitFilterProjection(FilterProjectionExpression expression) {
+        T left = expression.getLeft().accept(this);
+
+        if (runtime.typeOf(left) != RuntimeType.ARRAY) {
+            return runtime.createNull();
+        }
+
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (T element : runtime.elements(left)) {
+            if (runtime.isTruthy(evaluate(expression.getComparison(), element))) {
+                addIfNotNull(result, evaluate(expression.getRight(), element));
+            }
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public T visitObjectProjection(ObjectProjectionExpression expression) {
+        T left = expression.getLeft().accept(this);
+
+        if (runtime.typeOf(left) != RuntimeType.OBJECT) {
+            return runtime.createNull();
+        }
+
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        for (String key : runtime.keys(left)) {
+            addIfNotNull(result, evaluate(expression.getRight(), runtime.value(left, key)));
+        }
+
+        return result.build();
+    }
+
+    @Override
+    public T visitSlice(SliceExpression expression) {
+        return slice(runtime, expression, current);
+    }
+
+    static <T> T slice(JmespathRuntime<T> runtime, SliceExpression expression, T current) {
+        if (runtime.typeOf(current) != RuntimeType.ARRAY) {
+            return runtime.createNull();
+        }
+
+        int step = expression.getStep();
+        if (step == 0) {
+            throw new JmespathException("invalid-value: slice step cannot be 0");
+        }
+
+        int length = runtime.length(current);
+        int start;
+        int stop;
+
+        if (step > 0) {
+            start = expression.getStart().isPresent() ? clampSlice(expression.getStart().getAsInt(), length, 0) : 0;
+            stop = expression.getStop().isPresent()
+                   ? clampSlice(expression.getStop().getAsInt(), length, 0)
+                   : length;
+        } else {
+            start = expression.getStart().isPresent()
+                    ? clampSlice(expression.getStart().getAsInt(), length, -1)
+                    : length - 1;
+            stop = expression.getStop().isPresent() ? clampSlice(expression.getStop().getAsInt(), length, -1) : -1;
+        }
+
+        JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+        if (step > 0) {
+            for (int i = start; i < stop; i += step) {
+                result.add(runtime.element(current, i));
+            }
+        } else {
+            for (int i = start; i > stop; i += step) {
+                result.add(runtime.element(current, i));
+            }
+        }
+
+        return result.build();
+    }
+
+    // Adjusts a slice bound to the array length. Positive steps clamp to
+    // [0, length], while negative steps clamp to [-1, length - 1].
+    private static int clampSlice(int value, int length, int lowerBound) {
+        if (value < 0) {
+            value += length;
+            return value < 0 ? lowerBound : value;
+        }
+
+        return lowerBound < 0 ? Math.min(value, length - 1) : Math.min(value, length);
+    }
+
+    @Override
+    public T visitSubexpression(Subexpression expression) {
+        T left = expression.getLeft().accept(this);
+        return evaluate(expression.getRight(), left);
+    }
+
+    private void addIfNotNull(JmespathRuntime.ArrayBuilder<T> builder, T value) {
+        if (runtime.typeOf(value) != RuntimeType.NULL) {
+            builder.add(value);
+        }
+    }
+}
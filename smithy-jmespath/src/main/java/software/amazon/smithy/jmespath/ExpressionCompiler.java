@@ -0,0 +1,434 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.jmespath.CompiledExpression.Operation;
+import software.amazon.smithy.jmespath.ast.AndExpression;
+import software.amazon.smithy.jmespath.ast.ComparatorExpression;
+import software.amazon.smithy.jmespath.ast.ComparatorType;
+import software.amazon.smithy.jmespath.ast.CurrentExpression;
+import software.amazon.smithy.jmespath.ast.ExpressionTypeExpression;
+import software.amazon.smithy.jmespath.ast.FieldExpression;
+import software.amazon.smithy.jmespath.ast.FilterProjectionExpression;
+import software.amazon.smithy.jmespath.ast.FlattenExpression;
+import software.amazon.smithy.jmespath.ast.FunctionExpression;
+import software.amazon.smithy.jmespath.ast.IndexExpression;
+import software.amazon.smithy.jmespath.ast.LiteralExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectHashExpression;
+import software.amazon.smithy.jmespath.ast.MultiSelectListExpression;
+import software.amazon.smithy.jmespath.ast.NotExpression;
+import software.amazon.smithy.jmespath.ast.ObjectProjectionExpression;
+import software.amazon.smithy.jmespath.ast.OrExpression;
+import software.amazon.smithy.jmespath.ast.ProjectionExpression;
+import software.amazon.smithy.jmespath.ast.SliceExpression;
+import software.amazon.smithy.jmespath.ast.Subexpression;
+
+/**
+ * Compiles an expression tree into a tree of {@link Operation}s.
+ *
+ * <p>Each visit method returns an operation that captures everything
+ * that can be computed ahead of time so that evaluation only does the
+ * work that depends on the current node. The semantics of every
+ * operation must match {@link Evaluator}.
+ *
+ * @param <T> Type of value being evaluated.
+ */
+final class ExpressionCompiler<T> implements ExpressionVisitor<Operation<T>> {
+
+    private final JmespathRuntime<T> runtime;
+
+    ExpressionCompiler(JmespathRuntime<T> runtime) {
+        this.runtime = runtime;
+    }
+
+    private Operation<T> compile(JmespathExpression expression) {
+        return expression.accept(this);
+    }
+
+    @Override
+    public Operation<T> visitComparator(ComparatorExpression expression) {
+        Operation<T> left = compile(expression.getLeft());
+        ComparatorType comparator = expression.getComparator();
+
+        // Comparisons against literals are very common in filters and waiters
+        // (e.g., foo[?state == 'ready']), so convert the literal once.
+        if (expression.getRight() instanceof LiteralExpression) {
+            T literal = runtime.createLiteral(((LiteralExpression) expression.getRight()).getValue());
+            switch (comparator) {
+                case EQUAL:
+                    return current -> runtime.createBoolean(runtime.isEqual(left.apply(current), literal));
+                case NOT_EQUAL:
+                    return current -> runtime.createBoolean(!runtime.isEqual(left.apply(current), literal));
+                default:
+                    if (runtime.typeOf(literal) != RuntimeType.NUMBER) {
+                        // Ordering comparisons with non-numbers are always null.
+                        T nullValue = runtime.createNull();
+                        return current -> {
+                            left.apply(current);
+                            return nullValue;
+                        };
+                    }
+                    double right = runtime.asNumber(literal).doubleValue();
+                    return current -> compareNumbers(comparator, left.apply(current), right);
+            }
+        }
+
+        Operation<T> right = compile(expression.getRight());
+
+        switch (comparator) {
+            case EQUAL:
+                return current -> runtime.createBoolean(runtime.isEqual(left.apply(current), right.apply(current)));
+            case NOT_EQUAL:
+                return current -> runtime.createBoolean(!runtime.isEqual(left.apply(current), right.apply(current)));
+            default:
+                return current -> {
+                    T leftValue = left.apply(current);
+                    T rightValue = right.apply(current);
+                    if (runtime.typeOf(rightValue) != RuntimeType.NUMBER) {
+                        return runtime.createNull();
+                    }
+                    return compareNumbers(comparator, leftValue, runtime.asNumber(rightValue).doubleValue());
+                };
+        }
+    }
+
+    private T compareNumbers(ComparatorType comparator, T left, double right) {
+        if (runtime.typeOf(left) != RuntimeType.NUMBER) {
+            return runtime.createNull();
+        }
+
+        double value = runtime.asNumber(left).doubleValue();
+        switch (comparator) {
+            case LESS_THAN:
+                return runtime.createBoolean(value < right);
+            case LESS_THAN_EQUAL:
+                return runtime.createBoolean(value <= right);
+            case GREATER_THAN:
+                return runtime.createBoolean(value > right);
+            case GREATER_THAN_EQUAL:
+                return runtime.createBoolean(value >= right);
+            default:
+                throw new JmespathException("Unreachable comparator " + comparator);
+        }
+    }
+
+    @Override
+    public Operation<T> visitCurrentNode(CurrentExpression expression) {
+        return current -> current;
+    }
+
+    @Override
+    public Operation<T> visitExpressionType(ExpressionTypeExpression expression) {
+        T nullValue = runtime.createNull();
+        return current -> nullValue;
+    }
+
+    @Override
+    public Operation<T> visitFlatten(FlattenExpression expression) {
+        Operation<T> inner = compile(expression.getExpression());
+        return current -> {
+            T value = inner.apply(current);
+            if (runtime.typeOf(value) != RuntimeType.ARRAY) {
+                return runtime.createNull();
+            }
+            JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+            for (T element : runtime.elements(value)) {
+                if (runtime.typeOf(element) == RuntimeType.ARRAY) {
+                    for (T nested : runtime.elements(element)) {
+                        result.add(nested);
+                    }
+                } else {
+                    result.add(element);
+                }
+            }
+            return result.build();
+        };
+    }
+
+    @Override
+    public Operation<T> visitFunction(FunctionExpression expression) {
+        String name = expression.getName();
+
+        if (!BuiltinFunctions.isBuiltin(name)) {
+            throw new JmespathException("unknown-function: " + name);
+        }
+
+        int size = expression.getArguments().size();
+        List<Operation<T>> arguments = new ArrayList<>(size);
+        List<Operation<T>> references = new ArrayList<>(size);
+        for (JmespathExpression argument : expression.getArguments()) {
+            arguments.add(compile(argument));
+            references.add(argument instanceof ExpressionTypeExpression
+                           ? compile(((ExpressionTypeExpression) argument).getExpression())
+                           : null);
+        }
+
+        // The arguments hold no per-call state, so they're created once and shared.
+        BuiltinFunctions.Arguments<T> args = new BuiltinFunctions.Arguments<T>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public T evaluate(int index, T current) {
+                return arguments.get(index).apply(current);
+            }
+
+            @Override
+            public T applyReference(int index, T value) {
+                Operation<T> reference = references.get(index);
+                if (reference == null) {
+                    throw BuiltinFunctions.notAReference(name);
+                }
+                return reference.apply(value);
+            }
+        };
+
+        return current -> BuiltinFunctions.apply(name, runtime, args, current);
+    }
+
+    @Override
+    public Operation<T> visitField(FieldExpression expression) {
+        String name = expression.getName();
+        return current -> runtime.typeOf(current) == RuntimeType.OBJECT
+                          ? runtime.value(current, name)
+                          : runtime.createNull();
+    }
+
+    @Override
+    public Operation<T> visitIndex(IndexExpression expression) {
+        int index = expression.getIndex();
+        return current -> {
+            if (runtime.typeOf(current) != RuntimeType.ARRAY) {
+                return runtime.createNull();
+            }
+            int length = runtime.length(current);
+            int resolved = index < 0 ? length + index : index;
+            return resolved >= 0 && resolved < length ? runtime.element(current, resolved) : runtime.createNull();
+        };
+    }
+
+    @Override
+    public Operation<T> visitLiteral(LiteralExpression expression) {
+        T value = runtime.createLiteral(expression.getValue());
+        return current -> value;
+    }
+
+    @Override
+    public Operation<T> visitMultiSelectList(MultiSelectListExpression expression) {
+        List<Operation<T>> operations = new ArrayList<>();
+        for (JmespathExpression e : expression.getExpressions()) {
+            operations.add(compile(e));
+        }
+
+        return current -> {
+            if (runtime.typeOf(current) == RuntimeType.NULL) {
+                return current;
+            }
+            JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+            for (Operation<T> operation : operations) {
+                result.add(operation.apply(current));
+            }
+            return result.build();
+        };
+    }
+
+    @Override
+    public Operation<T> visitMultiSelectHash(MultiSelectHashExpression expression) {
+        int size = expression.getExpressions().size();
+        String[] keys = new String[size];
+        List<Operation<T>> operations = new ArrayList<>(size);
+        int i = 0;
+        for (Map.Entry<String, JmespathExpression> entry : expression.getExpressions().entrySet()) {
+            keys[i++] = entry.getKey();
+            operations.add(compile(entry.getValue()));
+        }
+
+        return current -> {
+            if (runtime.typeOf(current) == RuntimeType.NULL) {
+                return current;
+            }
+            JmespathRuntime.ObjectBuilder<T> result = runtime.objectBuilder();
+            for (int j = 0; j < keys.length; j++) {
+                result.put(keys[j], operations.get(j).apply(current));
+            }
+            return result.build();
+        };
+    }
+
+    @Override
+    public Operation<T> visitAnd(AndExpression expression) {
+        Operation<T> left = compile(expression.getLeft());
+        Operation<T> right = compile(expression.getRight());
+        return current -> {
+            T leftValue = left.apply(current);
+            return runtime.isTruthy(leftValue) ? right.apply(current) : leftValue;
+        };
+    }
+
+    @Override
+    public Operation<T> visitOr(OrExpression expression) {
+        Operation<T> left = compile(expression.getLeft());
+        Operation<T> right = compile(expression.getRight());
+        return current -> {
+            T leftValue = left.apply(current);
+            return runtime.isTruthy(leftValue) ? leftValue : right.apply(current);
+        };
+    }
+
+    @Override
+    public Operation<T> visitNot(NotExpression expression) {
+        Operation<T> inner = compile(expression.getExpression());
+        return current -> runtime.createBoolean(!runtime.isTruthy(inner.apply(current)));
+    }
+
+    @Override
+    public Operation<T> visitProjection(ProjectionExpression expression) {
+        Operation<T> right = isCurrent(expression.getRight()) ? null : compile(expression.getRight());
+
+        // foo[].bar projects over the flattened elements directly rather than
+        // first building the flattened array and then iterating over it.
+        if (expression.getLeft() instanceof FlattenExpression) {
+            Operation<T> flattened = compile(((FlattenExpression) expression.getLeft()).getExpression());
+            return current -> {
+                T value = flattened.apply(current);
+                if (runtime.typeOf(value) != RuntimeType.ARRAY) {
+                    return runtime.createNull();
+                }
+                JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+                for (T element : runtime.elements(value)) {
+                    if (runtime.typeOf(element) == RuntimeType.ARRAY) {
+                        for (T nested : runtime.elements(element)) {
+                            project(result, right, nested);
+                        }
+                    } else {
+                        project(result, right, element);
+                    }
+                }
+                return result.build();
+            };
+        }
+
+        Operation<T> left = compile(expression.getLeft());
+        return current -> {
+            T value = left.apply(current);
+            if (runtime.typeOf(value) != RuntimeType.ARRAY) {
+                return runtime.createNull();
+            }
+            JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+            for (T element : runtime.elements(value)) {
+                project(result, right, element);
+            }
+            return result.build();
+        };
+    }
+
+    @Override
+    public Operation<T> visitFilterProjection(FilterProjectionExpression expression) {
+        Operation<T> left = compile(expression.getLeft());
+        Operation<T> comparison = compile(expression.getComparison());
+        Operation<T> right = isCurrent(expression.getRight()) ? null : compile(expression.getRight());
+
+        return current -> {
+            T value = left.apply(current);
+            if (runtime.typeOf(value) != RuntimeType.ARRAY) {
+                return runtime.createNull();
+            }
+            JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+            for (T element : runtime.elements(value)) {
+                if (runtime.isTruthy(comparison.apply(element))) {
+                    project(result, right, element);
+                }
+            }
+            return result.build();
+        };
+    }
+
+    @Override
+    public Operation<T> visitObjectProjection(ObjectProjectionExpression expression) {
+        Operation<T> left = compile(expression.getLeft());
+        Operation<T> right = isCurrent(expression.getRight()) ? null : compile(expression.getRight());
+
+        return current -> {
+            T value = left.apply(current);
+            if (runtime.typeOf(value) != RuntimeType.OBJECT) {
+                return runtime.createNull();
+            }
+            JmespathRuntime.ArrayBuilder<T> result = runtime.arrayBuilder();
+            for (String key : runtime.keys(value)) {
+                project(result, right, runtime.value(value, key));
+            }
+            return result.build();
+        };
+    }
+
+    @Override
+    public Operation<T> visitSlice(SliceExpression expression) {
+        return current -> Evaluator.slice(runtime, expression, current);
+    }
+
+    @Override
+    public Operation<T> visitSubexpression(Subexpression expression) {
+        // Collapse chains of field accesses like a.b.c into a single loop.
+        List<String> fields = new ArrayList<>();
+        if (collectFields(expression, fields)) {
+            String[] path = fields.toArray(new String[0]);
+            return current -> {
+                T value = current;
+                for (String field : path) {
+                    if (runtime.typeOf(value) != RuntimeType.OBJECT) {
+                        return runtime.createNull();
+                    }
+                    value = runtime.value(value, field);
+                }
+                return value;
+            };
+        }
+
+        Operation<T> left = compile(expression.getLeft());
+        Operation<T> right = compile(expression.getRight());
+        return current -> right.apply(left.apply(current));
+    }
+
+    private static boolean collectFields(JmespathExpression expression, List<String> fields) {
+        if (expression instanceof FieldExpression) {
+            fields.add(((FieldExpression) expression).getName());
+            return true;
+        } else if (expression instanceof Subexpression) {
+            Subexpression subexpression = (Subexpression) expression;
+            return collectFields(subexpression.getLeft(), fields) && collectFields(subexpression.getRight(), fields);
+        } else {
+            return false;
+        }
+    }
+
+    private static boolean isCurrent(JmespathExpression expression) {
+        return expression instanceof CurrentExpression;
+    }
+
+    // Applies the right side of a projection, where a null operation is the
+    // identity, and adds non-null results to the projected array.
+    private void project(JmespathRuntime.ArrayBuilder<T> result, Operation<T> right, T element) {
+        T value = right == null ? element : right.apply(element);
+        if (runtime.typeOf(value) != RuntimeType.NULL) {
+            result.add(value);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link JmespathRuntime} that operates on plain Java values.
+ *
+ * <p>Arrays are represented using {@link List}, objects using
+ * {@link Map} with string keys, and scalars using {@link String},
+ * {@link Number}, {@link Boolean}, and {@code null}. This is the same
+ * representation used by {@link software.amazon.smithy.jmespath.ast.LiteralExpression}.
+ */
+public final class JavaValueRuntime implements JmespathRuntime<Object> {
+
+    /** Shared instance of the runtime. */
+    public static final JavaValueRuntime INSTANCE = new JavaValueRuntime();
+
+    private JavaValueRuntime() {}
+
+    @Override
+    public RuntimeType typeOf(Object value) {
+        if (value == null) {
+            return RuntimeType.NULL;
+        } else if (value instanceof String) {
+            return RuntimeType.STRING;
+        } else if (value instanceof Number) {
+            return RuntimeType.NUMBER;
+        } else if (value instanceof Boolean) {
+            return RuntimeType.BOOLEAN;
+        } else if (value instanceof List) {
+            return RuntimeType.ARRAY;
+        } else if (value instanceof Map) {
+            return RuntimeType.OBJECT;
+        } else {
+            throw new JmespathException("Unsupported JMESPath value: " + value.getClass().getName());
+        }
+    }
+
+    @Override
+    public Object createNull() {
+        return null;
+    }
+
+    @Override
+    public Object createBoolean(boolean value) {
+        return value;
+    }
+
+    @Override
+    public boolean asBoolean(Object value) {
+        return (Boolean) value;
+    }
+
+    @Override
+    public Object createString(String value) {
+        return value;
+    }
+
+    @Override
+    public String asString(Object value) {
+        return (String) value;
+    }
+
+    @Override
+    public Object createNumber(Number value) {
+        return value;
+    }
+
+    @Override
+    public Number asNumber(Object value) {
+        return (Number) value;
+    }
+
+    @Override
+    public int length(Object value) {
+        return value instanceof List ? ((List<?>) value).size() : ((Map<?, ?>) value).size();
+    }
+
+    @Override
+    public Object element(Object array, int index) {
+        return ((List<?>) array).get(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterable<?> elements(Object array) {
+        return (List<Object>) array;
+    }
+
+    @Override
+    public Object value(Object object, String key) {
+        return ((Map<?, ?>) object).get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterable<String> keys(Object object) {
+        return ((Map<String, ?>) object).keySet();
+    }
+
+    @Override
+    public Object createLiteral(Object value) {
+        // Literal values already use this runtime's representation.
+        return value;
+    }
+
+    @Override
+    public ArrayBuilder<Object> arrayBuilder() {
+        return new ArrayBuilder<Object>() {
+            private final List<Object> values = new ArrayList<>();
+
+            @Override
+            public void add(Object value) {
+                values.add(value);
+            }
+
+            @Override
+            public Object build() {
+                return Collections.unmodifiableList(values);
+            }
+        };
+    }
+
+    @Override
+    public ObjectBuilder<Object> objectBuilder() {
+        return new ObjectBuilder<Object>() {
+            private final Map<String, Object> values = new LinkedHashMap<>();
+
+            @Override
+            public void put(String key, Object value) {
+                values.put(key, value);
+            }
+
+            @Override
+            public Object build() {
+                return Collections.unmodifiableMap(values);
+            }
+        };
+    }
+}
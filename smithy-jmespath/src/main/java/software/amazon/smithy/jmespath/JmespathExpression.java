@@ -92,4 +92,49 @@ public abstract class JmespathExpression {
         LiteralExpression result = this.accept(typeChecker);
         return new LinterResult(result.getType(), problems);
     }
+
+    /**
+     * Evaluates the expression against a plain Java value.
+     *
+     * <p>Arrays are represented as {@link java.util.List}, objects as
+     * {@link java.util.Map}, and scalars as {@link String}, {@link Number},
+     * {@link Boolean}, or {@code null}.
+     *
+     * @param currentNode The value to set as the current node.
+     * @return Returns the result of evaluating the expression.
+     * @throws JmespathException if a runtime error occurs while evaluating.
+     * @see JavaValueRuntime
+     */
+    public Object evaluate(Object currentNode) {
+        return evaluate(currentNode, JavaValueRuntime.INSTANCE);
+    }
+
+    /**
+     * Evaluates the expression against a value using the given runtime.
+     *
+     * <p>The expression is evaluated directly from the parsed AST, so a
+     * parsed expression can be cached and evaluated any number of times.
+     *
+     * @param currentNode The value to set as the current node.
+     * @param runtime Runtime used to access and create values.
+     * @param <T> Type of value to evaluate.
+     * @return Returns the result of evaluating the expression.
+     * @throws JmespathException if a runtime error occurs while evaluating.
+     */
+    public <T> T evaluate(T currentNode, JmespathRuntime<T> runtime) {
+        return new Evaluator<>(runtime).evaluate(this, currentNode);
+    }
+
+    /**
+     * Compiles the expression for repeated evaluation using the given runtime.
+     *
+     * @param runtime Runtime used to evaluate the expression.
+     * @param <T> Type of value to evaluate.
+     * @return Returns the compiled expression.
+     * @throws JmespathException if the expression calls an unknown function.
+     * @see CompiledExpression
+     */
+    public <T> CompiledExpression<T> compile(JmespathRuntime<T> runtime) {
+        return CompiledExpression.compile(this, runtime);
+    }
 }
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adapts a data representation so that JMESPath expressions can be
+ * evaluated against it.
+ *
+ * <p>Implementations are expected to be stateless and thread-safe so
+ * that a single runtime can be shared across evaluations.
+ *
+ * @param <T> Type of value the runtime operates on.
+ * @see JmespathExpression#evaluate(Object, JmespathRuntime)
+ * @see JavaValueRuntime
+ */
+public interface JmespathRuntime<T> {
+
+    /**
+     * Gets the JMESPath type of a value.
+     *
+     * @param value Value to check.
+     * @return Returns the type of the value.
+     */
+    RuntimeType typeOf(T value);
+
+    /**
+     * Creates a null value.
+     *
+     * @return Returns the null value.
+     */
+    T createNull();
+
+    /**
+     * Creates a boolean value.
+     *
+     * @param value Value to wrap.
+     * @return Returns the created value.
+     */
+    T createBoolean(boolean value);
+
+    /**
+     * Gets a value that is known to be a boolean as a Java boolean.
+     *
+     * @param value Value to convert.
+     * @return Returns the boolean value.
+     */
+    boolean asBoolean(T value);
+
+    /**
+     * Creates a string value.
+     *
+     * @param value Value to wrap.
+     * @return Returns the created value.
+     */
+    T createString(String value);
+
+    /**
+     * Gets a value that is known to be a string as a Java string.
+     *
+     * @param value Value to convert.
+     * @return Returns the string value.
+     */
+    String asString(T value);
+
+    /**
+     * Creates a number value.
+     *
+     * @param value Value to wrap.
+     * @return Returns the created value.
+     */
+    T createNumber(Number value);
+
+    /**
+     * Gets a value that is known to be a number as a Java number.
+     *
+     * @param value Value to convert.
+     * @return Returns the number value.
+     */
+    Number asNumber(T value);
+
+    /**
+     * Gets the number of elements in an array or the number of entries
+     * in an object.
+     *
+     * @param value Array or object value.
+     * @return Returns the length of the value.
+     */
+    int length(T value);
+
+    /**
+     * Gets an element from an array by a zero-based, non-negative index.
+     *
+     * @param array Array to access.
+     * @param index Index to retrieve that is less than the array length.
+     * @return Returns the element.
+     */
+    T element(T array, int index);
+
+    /**
+     * Iterates over the elements of an array.
+     *
+     * @param array Array to iterate.
+     * @return Returns the elements of the array.
+     */
+    Iterable<? extends T> elements(T array);
+
+    /**
+     * Gets the value of an object member, or a null value if the
+     * object has no such member.
+     *
+     * @param object Object to access.
+     * @param key Member to retrieve.
+     * @return Returns the member value or null value.
+     */
+    T value(T object, String key);
+
+    /**
+     * Gets the member names of an object in iteration order.
+     *
+     * @param object Object to access.
+     * @return Returns the member names.
+     */
+    Iterable<String> keys(T object);
+
+    /**
+     * Creates a builder used to create array values.
+     *
+     * @return Returns the created builder.
+     */
+    ArrayBuilder<T> arrayBuilder();
+
+    /**
+     * Creates a builder used to create object values.
+     *
+     * @return Returns the created builder.
+     */
+    ObjectBuilder<T> objectBuilder();
+
+    /**
+     * Returns true if the value is truthy according to JMESPath.
+     *
+     * @param value Value to check.
+     * @return Returns true if the value is truthy.
+     */
+    default boolean isTruthy(T value) {
+        switch (typeOf(value)) {
+            case BOOLEAN:
+                return asBoolean(value);
+            case STRING:
+                return !asString(value).isEmpty();
+            case ARRAY:
+            case OBJECT:
+                return length(value) > 0;
+            case NULL:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Compares two values for structural equality according to JMESPath.
+     *
+     * <p>Numbers are compared by their numeric value regardless of the
+     * Java type used to represent them.
+     *
+     * @param left Left value to compare.
+     * @param right Right value to compare.
+     * @return Returns true if the values are equal.
+     */
+    default boolean isEqual(T left, T right) {
+        RuntimeType type = typeOf(left);
+
+        if (type != typeOf(right)) {
+            return false;
+        }
+
+        switch (type) {
+            case NULL:
+                return true;
+            case BOOLEAN:
+                return asBoolean(left) == asBoolean(right);
+            case STRING:
+                return asString(left).equals(asString(right));
+            case NUMBER:
+                return Double.compare(asNumber(left).doubleValue(), asNumber(right).doubleValue()) == 0;
+            case ARRAY:
+                if (length(left) != length(right)) {
+                    return false;
+                }
+                Iterator<? extends T> rightElements = elements(right).iterator();
+                for (T element : elements(left)) {
+                    if (!isEqual(element, rightElements.next())) {
+                        return false;
+                    }
+                }
+                return true;
+            case OBJECT:
+                if (length(left) != length(right)) {
+                    return false;
+                }
+                // A missing member isn't equal to a member that is set to null.
+                Set<String> rightKeys = new HashSet<>();
+                for (String key : keys(right)) {
+                    rightKeys.add(key);
+                }
+                for (String key : keys(left)) {
+                    if (!rightKeys.contains(key) || !isEqual(value(left, key), value(right, key))) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return left.equals(right);
+        }
+    }
+
+    /**
+     * Converts a plain Java value like those contained in a
+     * {@link software.amazon.smithy.jmespath.ast.LiteralExpression}
+     * into a value of this runtime.
+     *
+     * @param value Value to convert (a List, Map, String, Number, Boolean, or null).
+     * @return Returns the converted value.
+     * @throws JmespathException if the value cannot be converted.
+     */
+    @SuppressWarnings("unchecked")
+    default T createLiteral(Object value) {
+        if (value == null) {
+            return createNull();
+        } else if (value instanceof String) {
+            return createString((String) value);
+        } else if (value instanceof Number) {
+            return createNumber((Number) value);
+        } else if (value instanceof Boolean) {
+            return createBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            ArrayBuilder<T> builder = arrayBuilder();
+            for (Object element : (List<Object>) value) {
+                builder.add(createLiteral(element));
+            }
+            return builder.build();
+        } else if (value instanceof Map) {
+            ObjectBuilder<T> builder = objectBuilder();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                builder.put(entry.getKey(), createLiteral(entry.getValue()));
+            }
+            return builder.build();
+        }
+
+        throw new JmespathException("Unable to convert literal value: " + value);
+    }
+
+    /**
+     * Builds up array values.
+     *
+     * @param <T> Type of value to build.
+     */
+    interface ArrayBuilder<T> {
+        /**
+         * Adds a value to the end of the array.
+         *
+         * @param value Value to add.
+         */
+        void add(T value);
+
+        /**
+         * Creates the array value.
+         *
+         * @return Returns the created array.
+         */
+        T build();
+    }
+
+    /**
+     * Builds up object values.
+     *
+     * @param <T> Type of value to build.
+     */
+    interface ObjectBuilder<T> {
+        /**
+         * Sets an object member.
+         *
+         * @param key Name of the member to set.
+         * @param value Value to set.
+         */
+        void put(String key, T value);
+
+        /**
+         * Creates the object value.
+         *
+         * @return Returns the created object.
+         */
+        T build();
+    }
+}
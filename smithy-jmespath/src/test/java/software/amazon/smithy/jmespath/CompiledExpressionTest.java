@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CompiledExpressionTest {
+
+    private static final String DATA = "{"
+            + "\"a\": {\"b\": {\"c\": \"d\"}},"
+            + "\"nested\": [[{\"x\": 1}, {\"x\": 2}], {\"x\": 3}, [{\"y\": 4}]],"
+            + "\"items\": [{\"v\": 1, \"s\": \"on\"}, {\"v\": 5, \"s\": \"off\"}, {\"v\": 10, \"s\": \"on\"}],"
+            + "\"mixed\": [1, null, 2]"
+            + "}";
+
+    @ParameterizedTest
+    @MethodSource("expressions")
+    public void compiledExpressionsMatchInterpretedResults(String expression, String expected) {
+        Object data = literal(DATA);
+        JmespathExpression parsed = JmespathExpression.parse(expression);
+        Object interpreted = parsed.evaluate(data);
+        Object compiled = parsed.compile(JavaValueRuntime.INSTANCE).evaluate(data);
+
+        assertThat(expression, JavaValueRuntime.INSTANCE.isEqual(compiled, interpreted), equalTo(true));
+        assertThat(expression, JavaValueRuntime.INSTANCE.isEqual(compiled, literal(expected)), equalTo(true));
+    }
+
+    public static Stream<Arguments> expressions() {
+        return Stream.of(
+                Arguments.of("a.b.c", "\"d\""),
+                Arguments.of("a.b.c.d", "null"),
+                Arguments.of("a.missing.c", "null"),
+                Arguments.of("nested[].x", "[1, 2, 3]"),
+                Arguments.of("nested[]", "[{\"x\": 1}, {\"x\": 2}, {\"x\": 3}, {\"y\": 4}]"),
+                Arguments.of("mixed[*]", "[1, 2]"),
+                Arguments.of("items[?s == 'on'].v", "[1, 10]"),
+                Arguments.of("items[?v > `4`].v", "[5, 10]"),
+                Arguments.of("items[?v > 'x'].v", "[]"),
+                Arguments.of("items[?v >= `5`]", "[{\"v\": 5, \"s\": \"off\"}, {\"v\": 10, \"s\": \"on\"}]"),
+                Arguments.of("items[?v != s].s", "[\"on\", \"off\", \"on\"]"),
+                Arguments.of("length(items[?s == 'on']) == `2`", "true"),
+                Arguments.of("sort_by(items, &v)[-1].v", "10"),
+                Arguments.of("map(&v, items)", "[1, 5, 10]"),
+                Arguments.of("a.*.c", "[\"d\"]"),
+                Arguments.of("[a.b.c, mixed[0]]", "[\"d\", 1]"),
+                Arguments.of("{first: items[0].v, last: items[-1].v}", "{\"first\": 1, \"last\": 10}"),
+                Arguments.of("items[1:].v", "[5, 10]"),
+                Arguments.of("!items", "false"),
+                Arguments.of("missing || a.b", "{\"c\": \"d\"}")
+        );
+    }
+
+    @Test
+    public void missingMembersAreNotEqualToNullMembers() {
+        JavaValueRuntime runtime = JavaValueRuntime.INSTANCE;
+
+        assertThat(runtime.isEqual(literal("{\"a\": null}"), literal("{\"b\": null}")), equalTo(false));
+        assertThat(runtime.isEqual(literal("{\"b\": null}"), literal("{\"a\": null}")), equalTo(false));
+        assertThat(runtime.isEqual(literal("{\"a\": null}"), literal("{\"a\": null}")), equalTo(true));
+    }
+
+    @Test
+    public void exposesSourceExpressionAndRuntime() {
+        JmespathExpression expression = JmespathExpression.parse("a.b");
+        CompiledExpression<Object> compiled = expression.compile(JavaValueRuntime.INSTANCE);
+
+        assertThat(compiled.getExpression(), sameInstance(expression));
+        assertThat(compiled.getRuntime(), sameInstance(JavaValueRuntime.INSTANCE));
+    }
+
+    @Test
+    public void failsToCompileUnknownFunctions() {
+        JmespathExpression expression = JmespathExpression.parse("nope(a)");
+
+        Assertions.assertThrows(JmespathException.class, () -> expression.compile(JavaValueRuntime.INSTANCE));
+    }
+
+    private static Object literal(String json) {
+        return Lexer.tokenize("`" + json + "`").next().value.getValue();
+    }
+}
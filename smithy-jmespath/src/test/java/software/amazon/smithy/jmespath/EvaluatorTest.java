@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jmespath;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class EvaluatorTest {
+
+    private static final String DATA = "{"
+            + "\"foo\": {\"bar\": \"baz\", \"num\": 10},"
+            + "\"list\": [1, 2, 3, 4, 5],"
+            + "\"nested\": [[1, 2], 3, [4, [5]]],"
+            + "\"people\": ["
+            + "    {\"name\": \"a\", \"age\": 30, \"state\": \"ok\"},"
+            + "    {\"name\": \"b\", \"age\": 20, \"state\": \"ok\"},"
+            + "    {\"name\": \"c\", \"age\": 40, \"state\": \"failed\"}"
+            + "],"
+            + "\"empty\": [],"
+            + "\"str\": \"hello\","
+            + "\"t\": true,"
+            + "\"f\": false,"
+            + "\"n\": null"
+            + "}";
+
+    @ParameterizedTest
+    @MethodSource("expressions")
+    public void evaluatesExpressions(String expression, String expected) {
+        Object data = literal(DATA);
+        Object result = JmespathExpression.parse(expression).evaluate(data);
+
+        assertThat(expression, JavaValueRuntime.INSTANCE.isEqual(result, literal(expected)), equalTo(true));
+    }
+
+    public static Stream<Arguments> expressions() {
+        return Stream.of(
+                // Fields, indexes, and slices.
+                Arguments.of("foo.bar", "\"baz\""),
+                Arguments.of("foo.missing", "null"),
+                Arguments.of("str.missing", "null"),
+                Arguments.of("list[0]", "1"),
+                Arguments.of("list[-1]", "5"),
+                Arguments.of("list[10]", "null"),
+                Arguments.of("list[1:3]", "[2, 3]"),
+                Arguments.of("list[::2]", "[1, 3, 5]"),
+                Arguments.of("list[::-1]", "[5, 4, 3, 2, 1]"),
+                Arguments.of("list[-2:]", "[4, 5]"),
+                Arguments.of("foo[0:1]", "null"),
+
+                // Projections and flattening.
+                Arguments.of("people[*].name", "[\"a\", \"b\", \"c\"]"),
+                Arguments.of("people[*].missing", "[]"),
+                Arguments.of("foo[*]", "null"),
+                Arguments.of("foo.*", "[\"baz\", 10]"),
+                Arguments.of("nested[]", "[1, 2, 3, 4, [5]]"),
+                Arguments.of("nested[][]", "[1, 2, 3, 4, 5]"),
+                Arguments.of("people[?age > `25`].name", "[\"a\", \"c\"]"),
+                Arguments.of("people[?state == 'ok'].name", "[\"a\", \"b\"]"),
+                Arguments.of("people[?state != 'ok'] | [0].name", "\"c\""),
+
+                // Comparators and boolean logic.
+                Arguments.of("foo.num == `10`", "true"),
+                Arguments.of("foo.num == `10.0`", "true"),
+                Arguments.of("foo.num < `5`", "false"),
+                Arguments.of("foo.bar < `5`", "null"),
+                Arguments.of("list == `[1, 2, 3, 4, 5]`", "true"),
+                Arguments.of("t && f", "false"),
+                Arguments.of("empty && t", "[]"),
+                Arguments.of("n || str", "\"hello\""),
+                Arguments.of("!empty", "true"),
+
+                // Multi-select.
+                Arguments.of("[foo.bar, str]", "[\"baz\", \"hello\"]"),
+                Arguments.of("{a: foo.bar, b: t}", "{\"a\": \"baz\", \"b\": true}"),
+                Arguments.of("n.[a, b]", "null"),
+
+                // Functions.
+                Arguments.of("abs(`-1`)", "1"),
+                Arguments.of("avg(list)", "3"),
+                Arguments.of("ceil(`1.2`)", "2"),
+                Arguments.of("contains(list, `3`)", "true"),
+                Arguments.of("contains(str, 'ell')", "true"),
+                Arguments.of("ends_with(str, 'lo')", "true"),
+                Arguments.of("floor(`1.8`)", "1"),
+                Arguments.of("join('-', people[*].name)", "\"a-b-c\""),
+                Arguments.of("keys(foo)", "[\"bar\", \"num\"]"),
+                Arguments.of("length(str)", "5"),
+                Arguments.of("length(people)", "3"),
+                Arguments.of("map(&age, people)", "[30, 20, 40]"),
+                Arguments.of("max(list)", "5"),
+                Arguments.of("max_by(people, &age).name", "\"c\""),
+                Arguments.of("merge(foo, `{\"bar\": 1}`)", "{\"bar\": 1, \"num\": 10}"),
+                Arguments.of("min(people[*].name)", "\"a\""),
+                Arguments.of("min_by(people, &age).name", "\"b\""),
+                Arguments.of("not_null(n, foo.missing, str)", "\"hello\""),
+                Arguments.of("reverse(str)", "\"olleh\""),
+                Arguments.of("sort(`[3, 1, 2]`)", "[1, 2, 3]"),
+                Arguments.of("sort_by(people, &age)[*].name", "[\"b\", \"a\", \"c\"]"),
+                Arguments.of("starts_with(str, 'he')", "true"),
+                Arguments.of("sum(list)", "15"),
+                Arguments.of("to_array(str)", "[\"hello\"]"),
+                Arguments.of("to_number('12')", "12"),
+                Arguments.of("to_number('abc')", "null"),
+                Arguments.of("to_string(foo)", "\"{\\\"bar\\\":\\\"baz\\\",\\\"num\\\":10}\""),
+                Arguments.of("type(t)", "\"boolean\""),
+                Arguments.of("values(foo)", "[\"baz\", 10]")
+        );
+    }
+
+    @Test
+    public void reusesParsedExpressions() {
+        JmespathExpression expression = JmespathExpression.parse("people[?age > `25`].name");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(expression.evaluate(literal(DATA)), equalTo(literal("[\"a\", \"c\"]")));
+        }
+    }
+
+    @Test
+    public void throwsOnUnknownFunctions() {
+        Assertions.assertThrows(JmespathException.class,
+                                () -> JmespathExpression.parse("nope(foo)").evaluate(literal(DATA)));
+    }
+
+    @Test
+    public void throwsOnInvalidFunctionArguments() {
+        Assertions.assertThrows(JmespathException.class,
+                                () -> JmespathExpression.parse("abs(str)").evaluate(literal(DATA)));
+        Assertions.assertThrows(JmespathException.class,
+                                () -> JmespathExpression.parse("abs(list, str)").evaluate(literal(DATA)));
+    }
+
+    private static Object literal(String json) {
+        return Lexer.tokenize("`" + json + "`").next().value.getValue();
+    }
+}
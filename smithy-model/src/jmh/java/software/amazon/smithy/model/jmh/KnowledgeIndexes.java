@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.BottomUpIndex;
+import software.amazon.smithy.model.knowledge.EventStreamIndex;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.IdentifierBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.PaginatedIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class KnowledgeIndexes {
+
+    @State(Scope.Benchmark)
+    public static class KnowledgeState {
+
+        public Model model;
+        public List<Function<Model, KnowledgeIndex>> indexes = new ArrayList<>();
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .addImport(KnowledgeIndexes.class.getResource("http-model.smithy"))
+                    .assemble()
+                    .getResult()
+                    .get();
+
+            indexes.add(BottomUpIndex::of);
+            indexes.add(EventStreamIndex::of);
+            indexes.add(HttpBindingIndex::of);
+            indexes.add(IdentifierBindingIndex::of);
+            indexes.add(NeighborProviderIndex::of);
+            indexes.add(OperationIndex::of);
+            indexes.add(PaginatedIndex::of);
+            indexes.add(TopDownIndex::of);
+        }
+    }
+
+    // Measures lookups of an index that has already been computed while
+    // other threads are doing the same.
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TopDownIndex getComputedIndexContended(KnowledgeState state) {
+        return TopDownIndex.of(state.model);
+    }
+
+    // Computes every index of a fresh copy of the model from multiple
+    // threads, like validators do at the start of validation.
+    @Benchmark
+    public List<KnowledgeIndex> computeIndexesInParallel(KnowledgeState state) {
+        Model model = state.model.toBuilder().build();
+        return state.indexes.parallelStream().map(index -> index.apply(model)).collect(Collectors.toList());
+    }
+
+    // The sequential baseline of computeIndexesInParallel.
+    @Benchmark
+    public List<KnowledgeIndex> computeIndexesSequentially(KnowledgeState state) {
+        Model model = state.model.toBuilder().build();
+        return state.indexes.stream().map(index -> index.apply(model)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.JsonValueValidator;
+import software.amazon.smithy.model.validation.NodeValidationVisitor;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class PayloadValidation {
+
+    @State(Scope.Thread)
+    public static class PayloadState {
+
+        public Shape shape;
+        public String payload;
+        public NodeValidationVisitor visitor;
+        public JsonValueValidator validator;
+
+        @Setup
+        public void prepare() {
+            Model model = Model.assembler()
+                    .addImport(PayloadValidation.class.getResource("payload-model.smithy"))
+                    .assemble()
+                    .unwrap();
+            shape = model.expectShape(ShapeId.from("smithy.example#CreateOrderInput"));
+
+            StringBuilder items = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                if (i > 0) {
+                    items.append(',');
+                }
+                items.append("{\"sku\": \"SKU-").append(i).append("\", \"quantity\": ").append(i % 10 + 1)
+                        .append(", \"price\": ").append(i).append(".99, \"gift\": false}");
+            }
+            payload = "{\"orderId\": \"order-1234\","
+                      + "\"customer\": {\"name\": \"Jane Doe\", \"email\": \"jane@example.com\","
+                      + "\"address\": {\"street\": \"1 Main St\", \"city\": \"Seattle\", \"country\": \"US\"}},"
+                      + "\"items\": [" + items + "],"
+                      + "\"status\": \"PENDING\","
+                      + "\"tags\": {\"channel\": \"web\", \"priority\": \"high\"}}";
+
+            visitor = NodeValidationVisitor.builder().model(model).value(Node.nullNode()).build();
+            validator = JsonValueValidator.builder().model(model).shape(shape).build();
+        }
+    }
+
+    // Parses the payload into a Node and validates it with a reused visitor.
+    @Benchmark
+    public List<ValidationEvent> validateParsedNode(PayloadState state) {
+        state.visitor.setValue(Node.parse(state.payload));
+        return state.shape.accept(state.visitor);
+    }
+
+    // Validates the payload while it's parsed without creating a Node.
+    @Benchmark
+    public List<ValidationEvent> validateJsonText(PayloadState state) {
+        return state.validator.validate(state.payload);
+    }
+}
@@ -15,6 +15,10 @@
 
 package software.amazon.smithy.model.jmh;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -31,6 +35,7 @@ import org.openjdk.jmh.annotations.Warmup;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
@@ -68,6 +73,19 @@ public class Selectors {
                                   + ":not([trait|http])");
         }
 
+        public List<Selector> validatorSelectors = Arrays.asList(
+                Selector.parse("structure > member"),
+                Selector.parse("structure > member [trait|required]"),
+                Selector.parse("string :not([trait|enum])"),
+                Selector.parse("simpleType [trait|documentation]"),
+                Selector.parse("[trait|http]"),
+                Selector.parse("[trait|deprecated]"),
+                Selector.parse("operation -[input]-> structure > member"),
+                Selector.parse("operation -[output]-> structure"),
+                Selector.parse("service"),
+                Selector.parse("member :not([trait|documentation])"));
+        public SelectorBatch validatorSelectorBatch = SelectorBatch.of(validatorSelectors);
+
         private Selector createHttpBindingIncompatibilitySelector() {
             return Selector.parse("service\n"
                                   + "$operations(~> operation)\n"
@@ -139,4 +157,20 @@ public class Selectors {
         })
         .collect(Collectors.toSet());
     }
+
+    // Evaluates a set of validator-like selectors one after the other.
+    @Benchmark
+    public Map<Selector, Set<Shape>> evaluateSelectorsIndividually(SelectorState state) {
+        Map<Selector, Set<Shape>> result = new HashMap<>();
+        for (Selector selector : state.validatorSelectors) {
+            result.put(selector, selector.select(state.model));
+        }
+        return result;
+    }
+
+    // Evaluates the same selectors as evaluateSelectorsIndividually in a single traversal.
+    @Benchmark
+    public Map<Selector, Set<Shape>> evaluateSelectorBatch(SelectorState state) {
+        return state.validatorSelectorBatch.select(state.model);
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.BinaryModelDeserializer;
+import software.amazon.smithy.model.shapes.BinaryModelSerializer;
+import software.amazon.smithy.model.shapes.ModelSerializer;
+import software.amazon.smithy.utils.IoUtils;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class Serialization {
+
+    @State(Scope.Benchmark)
+    public static class SerializationState {
+
+        public Model model;
+        public String json;
+        public byte[] binary;
+        public ModelSerializer jsonSerializer = ModelSerializer.builder().build();
+        public BinaryModelSerializer binarySerializer = new BinaryModelSerializer();
+        public BinaryModelDeserializer binaryDeserializer = BinaryModelDeserializer.builder().build();
+
+        @Setup
+        public void prepare() {
+            json = IoUtils.readUtf8Resource(Serialization.class, "test-model.json");
+            model = Model.assembler()
+                    .addUnparsedModel("test-model.json", json)
+                    .assemble()
+                    .unwrap();
+            binary = binarySerializer.serialize(model);
+        }
+    }
+
+    @Benchmark
+    public Model loadJsonAst(SerializationState state) {
+        return Model.assembler()
+                .addUnparsedModel("test-model.json", state.json)
+                .disableValidation()
+                .assemble()
+                .unwrap();
+    }
+
+    @Benchmark
+    public Model loadBinary(SerializationState state) {
+        return state.binaryDeserializer.deserialize(state.binary);
+    }
+
+    @Benchmark
+    public String serializeJsonAst(SerializationState state) {
+        return Node.printJson(state.jsonSerializer.serialize(state.model));
+    }
+
+    @Benchmark
+    public byte[] serializeBinary(SerializationState state) {
+        return state.binarySerializer.serialize(state.model);
+    }
+}
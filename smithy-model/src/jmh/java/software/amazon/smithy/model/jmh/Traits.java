@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.traits.BoxTrait;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.EventHeaderTrait;
+import software.amazon.smithy.model.traits.EventPayloadTrait;
+import software.amazon.smithy.model.traits.HostLabelTrait;
+import software.amazon.smithy.model.traits.HttpHeaderTrait;
+import software.amazon.smithy.model.traits.HttpLabelTrait;
+import software.amazon.smithy.model.traits.HttpPayloadTrait;
+import software.amazon.smithy.model.traits.HttpQueryTrait;
+import software.amazon.smithy.model.traits.IdempotencyTokenTrait;
+import software.amazon.smithy.model.traits.JsonNameTrait;
+import software.amazon.smithy.model.traits.MediaTypeTrait;
+import software.amazon.smithy.model.traits.PatternTrait;
+import software.amazon.smithy.model.traits.PrivateTrait;
+import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.model.traits.RequiresLengthTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.model.traits.SparseTrait;
+import software.amazon.smithy.model.traits.StreamingTrait;
+import software.amazon.smithy.model.traits.TimestampFormatTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.UnstableTrait;
+import software.amazon.smithy.model.traits.XmlAttributeTrait;
+import software.amazon.smithy.model.traits.XmlFlattenedTrait;
+import software.amazon.smithy.model.traits.XmlNameTrait;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class Traits {
+
+    @State(Scope.Benchmark)
+    public static class TraitState {
+
+        @Param({"1", "10", "24"})
+        public int traitCount;
+
+        public Shape shape;
+
+        @Setup
+        public void prepare() {
+            List<Trait> traits = new ArrayList<>();
+            traits.add(new DocumentationTrait("docs"));
+            traits.add(new RequiredTrait());
+            traits.add(new BoxTrait());
+            traits.add(new PrivateTrait());
+            traits.add(new UnstableTrait());
+            traits.add(new XmlNameTrait("foo"));
+            traits.add(new XmlAttributeTrait());
+            traits.add(new XmlFlattenedTrait());
+            traits.add(new JsonNameTrait("foo"));
+            traits.add(new MediaTypeTrait("text/plain"));
+            traits.add(new PatternTrait("^[a-z]+$"));
+            traits.add(new TimestampFormatTrait("epoch-seconds"));
+            traits.add(new HttpHeaderTrait("X-Foo"));
+            traits.add(new HttpQueryTrait("foo"));
+            traits.add(new HttpLabelTrait());
+            traits.add(new HttpPayloadTrait());
+            traits.add(new IdempotencyTokenTrait());
+            traits.add(new EventHeaderTrait());
+            traits.add(new EventPayloadTrait());
+            traits.add(new HostLabelTrait());
+            traits.add(new StreamingTrait());
+            traits.add(new RequiresLengthTrait());
+            traits.add(new SparseTrait());
+            // Sensitive is always the last trait so that a linear scan
+            // has to check every other trait before finding it.
+            traits.add(new SensitiveTrait());
+
+            StringShape.Builder builder = StringShape.builder().id("smithy.example#Foo");
+            for (Trait trait : traits.subList(traits.size() - traitCount, traits.size())) {
+                builder.addTrait(trait);
+            }
+            shape = builder.build();
+        }
+    }
+
+    @Benchmark
+    public Optional<SensitiveTrait> getTraitPresent(TraitState state) {
+        return state.shape.getTrait(SensitiveTrait.class);
+    }
+
+    @Benchmark
+    public Optional<PatternTrait> getTraitMissing(TraitState state) {
+        return state.shape.getTrait(PatternTrait.class);
+    }
+
+    @Benchmark
+    public boolean hasTrait(TraitState state) {
+        return state.shape.hasTrait(SensitiveTrait.class);
+    }
+
+    // The linear scan getTrait used to perform, kept as a baseline.
+    @Benchmark
+    public Optional<SensitiveTrait> scanAllTraits(TraitState state) {
+        for (Trait trait : state.shape.getAllTraits().values()) {
+            if (trait instanceof SensitiveTrait) {
+                return Optional.of((SensitiveTrait) trait);
+            }
+        }
+        return Optional.empty();
+    }
+}
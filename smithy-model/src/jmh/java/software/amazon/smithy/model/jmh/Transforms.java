@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.TraitDefinition;
+import software.amazon.smithy.model.transform.ModelTransformer;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class Transforms {
+
+    @State(Scope.Benchmark)
+    public static class TransformState {
+
+        @Param({"10000", "50000"})
+        public int shapeCount;
+
+        public Model model;
+        public ModelTransformer transformer = ModelTransformer.create();
+
+        @Setup
+        public void prepare() {
+            model = createModel(shapeCount);
+        }
+    }
+
+    @Benchmark
+    public Model removeUnreferencedShapes(TransformState state) {
+        return state.transformer.removeUnreferencedShapes(state.model);
+    }
+
+    @Benchmark
+    public Model scrubTraitDefinitions(TransformState state) {
+        return state.transformer.scrubTraitDefinitions(state.model);
+    }
+
+    // Creates three equally sized chains of structures: one connected to a
+    // service, one only connected to a trait definition, and one that isn't
+    // referenced at all. Long chains are the worst case for removals that
+    // free up shapes one reference at a time.
+    private static Model createModel(int shapeCount) {
+        int chainLength = shapeCount / 3;
+        Model.Builder builder = Model.builder();
+
+        builder.addShape(ServiceShape.builder()
+                .id("smithy.example#Service")
+                .version("2021-01-01")
+                .addOperation("smithy.example#Operation")
+                .build());
+        builder.addShape(OperationShape.builder()
+                .id("smithy.example#Operation")
+                .input(structureId("Service", 0))
+                .build());
+        builder.addShape(StructureShape.builder()
+                .id("smithy.example#trait")
+                .addTrait(TraitDefinition.builder().build())
+                .addMember("next", structureId("Trait", 0))
+                .build());
+
+        for (String chain : new String[]{"Service", "Trait", "Unreferenced"}) {
+            for (int i = 0; i < chainLength; i++) {
+                StructureShape.Builder shape = StructureShape.builder()
+                        .id(structureId(chain, i))
+                        .addMember("value", ShapeId.from("smithy.api#String"));
+                if (i < chainLength - 1) {
+                    shape.addMember("next", structureId(chain, i + 1));
+                }
+                builder.addShape(shape.build());
+            }
+        }
+
+        return Model.assembler().disableValidation().addModel(builder.build()).assemble().unwrap();
+    }
+
+    private static ShapeId structureId(String chain, int index) {
+        return ShapeId.from("smithy.example#" + chain + index);
+    }
+}
@@ -16,16 +16,19 @@
 package software.amazon.smithy.model;
 
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -86,12 +89,14 @@ public final class Model implements ToSmithyBuilder<Model> {
     private final Map<Class<? extends Shape>, Set<? extends Shape>> cachedTypes = new ConcurrentHashMap<>();
 
     /** Cache of computed {@link KnowledgeIndex} instances. */
-    private final Map<Class<? extends KnowledgeIndex>, KnowledgeIndex> blackboard
-            = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<Class<? extends KnowledgeIndex>, KnowledgeHolder> blackboard = new ConcurrentHashMap<>();
 
     /** Lazily computed trait mappings. */
     private volatile TraitCache traitCache;
 
+    /** Lazily computed namespace and sorted shape ID mappings. */
+    private volatile ShapeIdCache shapeIdCache;
+
     /** Lazily computed hashcode. */
     private int hash;
 
@@ -213,6 +218,55 @@ public final class Model implements ToSmithyBuilder<Model> {
         return Collections.unmodifiableSet(mappings.getOrDefault(trait, Collections.emptySet()));
     }
 
+    /**
+     * Gets an immutable, sorted set of the namespaces of every shape in the model.
+     *
+     * @return Returns the namespaces of the model.
+     */
+    public Set<String> getNamespaces() {
+        return Collections.unmodifiableSet(getShapeIdCache().namespacesToShapes.keySet());
+    }
+
+    /**
+     * Gets an immutable set of all shapes, including members, in a namespace.
+     *
+     * @param namespace Namespace to get the shapes of.
+     * @return Returns the shapes in the namespace.
+     */
+    public Set<Shape> getShapesInNamespace(String namespace) {
+        Map<String, Set<Shape>> mappings = getShapeIdCache().namespacesToShapes;
+        return Collections.unmodifiableSet(mappings.getOrDefault(namespace, Collections.emptySet()));
+    }
+
+    /**
+     * Gets an immutable list of the shapes with an absolute shape ID that
+     * starts with the given prefix, sorted by shape ID.
+     *
+     * <p>For example, the prefix {@code smithy.example#Foo} finds the shape
+     * {@code smithy.example#Foo}, its members, and shapes like
+     * {@code smithy.example#FooBar}. The prefix {@code smithy.example.}
+     * finds the shapes of every namespace nested under {@code smithy.example}.
+     *
+     * @param prefix Prefix of the shape IDs to find.
+     * @return Returns the matching shapes.
+     */
+    public List<Shape> getShapesWithIdPrefix(String prefix) {
+        return getShapeIdCache().getShapesWithIdPrefix(prefix);
+    }
+
+    private ShapeIdCache getShapeIdCache() {
+        ShapeIdCache cache = shapeIdCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = shapeIdCache;
+                if (cache == null) {
+                    shapeIdCache = cache = new ShapeIdCache(this.shapeMap.values());
+                }
+            }
+        }
+        return cache;
+    }
+
     /**
      * Gets an immutable set of all bigDecimals in the Model.
      *
@@ -839,7 +893,20 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     @SuppressWarnings("unchecked")
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type, Function<Model, T> constructor) {
-        return (T) blackboard.computeIfAbsent(type, t -> constructor.apply(this));
+        // The holder is created without invoking the constructor so that the
+        // map is never locked while an index is computed. Indexes often create
+        // other indexes while being computed, and indexes of different types
+        // can be computed concurrently.
+        KnowledgeHolder holder = blackboard.get(type);
+        if (holder == null) {
+            KnowledgeHolder created = new KnowledgeHolder();
+            holder = blackboard.putIfAbsent(type, created);
+            if (holder == null) {
+                holder = created;
+            }
+        }
+
+        return (T) holder.get(this, constructor);
     }
 
     /**
@@ -972,4 +1039,59 @@ public final class Model implements ToSmithyBuilder<Model> {
             }
         }
     }
+
+    private static final class ShapeIdCache {
+        private final Map<String, Set<Shape>> namespacesToShapes = new TreeMap<>();
+        private final List<Shape> sortedShapes;
+        private final String[] sortedIds;
+
+        ShapeIdCache(Collection<Shape> shapes) {
+            Shape[] sorted = shapes.toArray(new Shape[0]);
+            Arrays.sort(sorted, Comparator.comparing(shape -> shape.getId().toString()));
+            sortedShapes = Arrays.asList(sorted);
+            sortedIds = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ShapeId id = sorted[i].getId();
+                sortedIds[i] = id.toString();
+                namespacesToShapes.computeIfAbsent(id.getNamespace(), ns -> new HashSet<>()).add(sorted[i]);
+            }
+        }
+
+        List<Shape> getShapesWithIdPrefix(String prefix) {
+            int from = findFirstIndex(prefix);
+            int to = from;
+            while (to < sortedIds.length && sortedIds[to].startsWith(prefix)) {
+                to++;
+            }
+            return Collections.unmodifiableList(sortedShapes.subList(from, to));
+        }
+
+        // Finds the index of the first ID that is greater than or equal to the given ID.
+        private int findFirstIndex(String id) {
+            int index = Arrays.binarySearch(sortedIds, id);
+            return index >= 0 ? index : -(index + 1);
+        }
+    }
+
+    /**
+     * Computes a knowledge index at most once using a lock specific to the
+     * type of index being computed.
+     */
+    private static final class KnowledgeHolder {
+        private volatile KnowledgeIndex index;
+
+        KnowledgeIndex get(Model model, Function<Model, ? extends KnowledgeIndex> constructor) {
+            KnowledgeIndex result = index;
+            if (result == null) {
+                synchronized (this) {
+                    result = index;
+                    if (result == null) {
+                        result = constructor.apply(model);
+                        index = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.pattern.SmithyPattern.Segment;
+import software.amazon.smithy.model.pattern.UriPattern;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+import software.amazon.smithy.model.traits.HttpTrait;
+
+/**
+ * Index of the HTTP routes of each service, used to find the operations
+ * that an HTTP request or another route can match.
+ *
+ * <p>The operations of a service that have the {@link HttpTrait} are
+ * stored in a trie per HTTP method, where each level of the trie is a
+ * path segment of the operation's URI pattern. Each node has a child per
+ * literal segment, a child for labels, and a child for greedy labels.
+ * Operations are stored at the node of their last path segment along with
+ * their query string literals. This allows routes to be found without
+ * comparing every operation of a service against every other operation.
+ */
+public final class HttpRoutingIndex implements KnowledgeIndex {
+
+    private final Map<ShapeId, Map<String, Node>> routes = new HashMap<>();
+    private final Map<ShapeId, Map<ShapeId, Route>> operations = new HashMap<>();
+
+    public HttpRoutingIndex(Model model) {
+        TopDownIndex topDownIndex = TopDownIndex.of(model);
+
+        for (ServiceShape service : model.getServiceShapes()) {
+            Map<String, Node> methods = new HashMap<>();
+            Map<ShapeId, Route> serviceOperations = new HashMap<>();
+            for (OperationShape operation : topDownIndex.getContainedOperations(service)) {
+                operation.getTrait(HttpTrait.class).ifPresent(trait -> {
+                    Route route = new Route(operation, trait);
+                    serviceOperations.put(operation.getId(), route);
+                    methods.computeIfAbsent(trait.getMethod(), m -> new Node()).add(route);
+                });
+            }
+            routes.put(service.getId(), methods);
+            operations.put(service.getId(), serviceOperations);
+        }
+    }
+
+    public static HttpRoutingIndex of(Model model) {
+        return model.getKnowledge(HttpRoutingIndex.class, HttpRoutingIndex::new);
+    }
+
+    /**
+     * Gets the operations of a service that use the same HTTP method as
+     * the given operation and have a URI pattern that conflicts with it.
+     *
+     * <p>The returned operations are the operations of the service whose
+     * {@link UriPattern} {@link UriPattern#conflictsWith conflicts with}
+     * the URI pattern of the given operation. The given operation is not
+     * included in the result. Conflicts that are introduced or prevented
+     * by other traits, like the endpoint trait, are not considered.
+     *
+     * @param service Service that contains the operation.
+     * @param operation Operation to find conflicting routes of.
+     * @return Returns the conflicting operations in no particular order.
+     */
+    public List<OperationShape> getConflictingOperations(ToShapeId service, ToShapeId operation) {
+        Route route = operations.getOrDefault(service.toShapeId(), Collections.emptyMap())
+                .get(operation.toShapeId());
+
+        if (route == null) {
+            return Collections.emptyList();
+        }
+
+        List<OperationShape> result = new ArrayList<>();
+        Node root = routes.get(service.toShapeId()).get(route.method);
+        findConflicts(root, route.uri, 0, result);
+        result.remove(route.operation);
+        return result;
+    }
+
+    /**
+     * Finds the operation of a service that an HTTP request is routed to.
+     *
+     * <p>The request target is an absolute path that is optionally followed
+     * by a query string (for example, "/foo/bar?baz=qux"). Segments are
+     * compared without percent-decoding them. When more than one operation
+     * matches a request, literal segments take precedence over labels,
+     * labels take precedence over greedy labels, greedy labels match as few
+     * segments as possible, and operations that match more query string
+     * literals take precedence over operations that match fewer.
+     *
+     * @param service Service to route the request of.
+     * @param method HTTP method of the request.
+     * @param requestTarget Path and query string of the request.
+     * @return Returns the optionally matched operation.
+     */
+    public Optional<OperationShape> getMatchingOperation(ToShapeId service, String method, String requestTarget) {
+        Node root = routes.getOrDefault(service.toShapeId(), Collections.emptyMap()).get(method);
+
+        if (root == null || !requestTarget.startsWith("/")) {
+            return Optional.empty();
+        }
+
+        int queryPosition = requestTarget.indexOf('?');
+        String path = queryPosition == -1 ? requestTarget : requestTarget.substring(0, queryPosition);
+        String query = queryPosition == -1 ? "" : requestTarget.substring(queryPosition + 1);
+        // Path segments are split the same way as UriPattern, which ignores a trailing "/".
+        String[] segments = path.substring(1).split("/");
+        if (segments.length == 1 && segments[0].isEmpty()) {
+            segments = new String[0];
+        }
+
+        Route route = findMatch(root, segments, 0, parseQuery(query));
+        return route == null ? Optional.empty() : Optional.of(route.operation);
+    }
+
+    private static void findConflicts(Node node, UriPattern uri, int position, List<OperationShape> result) {
+        List<Segment> segments = uri.getSegments();
+
+        if (position == segments.size()) {
+            // Routes that end here conflict when their query string literals are the same.
+            for (Route route : node.routes) {
+                if (route.uri.getQueryLiterals().equals(uri.getQueryLiterals())) {
+                    result.add(route.operation);
+                }
+            }
+            return;
+        }
+
+        // A literal and a label, or a label and a greedy label, at the same position
+        // conflict regardless of the segments that follow them, so every route
+        // below a child of a different kind than the segment conflicts.
+        Segment segment = segments.get(position);
+        if (segment.isLabel()) {
+            for (Node literal : node.literals.values()) {
+                literal.collectRoutes(result);
+            }
+        } else {
+            Node literal = node.literals.get(segment.getContent());
+            if (literal != null) {
+                findConflicts(literal, uri, position + 1, result);
+            }
+        }
+
+        if (node.label != null) {
+            if (segment.isLabel() && !segment.isGreedyLabel()) {
+                findConflicts(node.label, uri, position + 1, result);
+            } else {
+                node.label.collectRoutes(result);
+            }
+        }
+
+        if (node.greedyLabel != null) {
+            if (segment.isGreedyLabel()) {
+                findConflicts(node.greedyLabel, uri, position + 1, result);
+            } else {
+                node.greedyLabel.collectRoutes(result);
+            }
+        }
+    }
+
+    private static Route findMatch(Node node, String[] segments, int position, Map<String, List<String>> query) {
+        if (position == segments.length) {
+            for (Route route : node.routes) {
+                if (matchesQuery(route, query)) {
+                    return route;
+                }
+            }
+            return null;
+        }
+
+        String segment = segments[position];
+        if (segment.isEmpty()) {
+            return null;
+        }
+
+        Route result = null;
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            result = findMatch(literal, segments, position + 1, query);
+        }
+
+        if (result == null && node.label != null) {
+            result = findMatch(node.label, segments, position + 1, query);
+        }
+
+        // Greedy labels consume one or more segments. The shortest match is tried first
+        // so that routes with segments after the greedy label take precedence.
+        if (node.greedyLabel != null) {
+            for (int end = position + 1; result == null && end <= segments.length; end++) {
+                result = findMatch(node.greedyLabel, segments, end, query);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean matchesQuery(Route route, Map<String, List<String>> query) {
+        for (Map.Entry<String, String> literal : route.uri.getQueryLiterals().entrySet()) {
+            List<String> values = query.get(literal.getKey());
+            // A query string literal without a value only requires that the parameter is present.
+            if (values == null || (!literal.getValue().isEmpty() && !values.contains(literal.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, List<String>> parseQuery(String query) {
+        if (query.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, List<String>> result = new HashMap<>();
+        for (String parameter : query.split("&")) {
+            String[] parts = parameter.split("=", 2);
+            result.computeIfAbsent(parts[0], k -> new ArrayList<>()).add(parts.length == 2 ? parts[1] : "");
+        }
+        return result;
+    }
+
+    private static final class Route {
+        private final OperationShape operation;
+        private final String method;
+        private final UriPattern uri;
+
+        Route(OperationShape operation, HttpTrait trait) {
+            this.operation = operation;
+            this.method = trait.getMethod();
+            this.uri = trait.getUri();
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<Route> routes = new ArrayList<>();
+        private Node label;
+        private Node greedyLabel;
+
+        void add(Route route) {
+            Node node = this;
+            for (Segment segment : route.uri.getSegments()) {
+                if (segment.isGreedyLabel()) {
+                    if (node.greedyLabel == null) {
+                        node.greedyLabel = new Node();
+                    }
+                    node = node.greedyLabel;
+                } else if (segment.isLabel()) {
+                    if (node.label == null) {
+                        node.label = new Node();
+                    }
+                    node = node.label;
+                } else {
+                    node = node.literals.computeIfAbsent(segment.getContent(), s -> new Node());
+                }
+            }
+
+            // Routes with more query string literals are more specific, so they're matched first.
+            node.routes.add(route);
+            node.routes.sort(Comparator.comparingInt((Route r) -> r.uri.getQueryLiterals().size()).reversed());
+        }
+
+        void collectRoutes(List<OperationShape> result) {
+            for (Route route : routes) {
+                result.add(route.operation);
+            }
+            for (Node literal : literals.values()) {
+                literal.collectRoutes(result);
+            }
+            if (label != null) {
+                label.collectRoutes(result);
+            }
+            if (greedyLabel != null) {
+                greedyLabel.collectRoutes(result);
+            }
+        }
+    }
+}
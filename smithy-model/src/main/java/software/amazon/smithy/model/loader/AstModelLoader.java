@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
@@ -64,7 +65,7 @@ enum AstModelLoader {
 
     private static final String METADATA = "metadata";
     private static final String MEMBERS = "members";
-    private static final String SHAPES = "shapes";
+    static final String SHAPES = "shapes";
     private static final String TRAITS = "traits";
     private static final String TYPE = "type";
     private static final String TARGET = "target";
@@ -86,11 +87,20 @@ enum AstModelLoader {
             TYPE, "version", "operations", "resources", "rename", TRAITS);
 
     ModelFile load(TraitFactory traitFactory, ObjectNode model) {
-        FullyResolvedModelFile modelFile = new FullyResolvedModelFile(traitFactory);
-        LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES, modelFile.events());
-        loadMetadata(model, modelFile);
-        loadShapes(model, modelFile);
-        return modelFile;
+        return startLoad(traitFactory).finish(model);
+    }
+
+    /**
+     * Starts loading a model whose shapes are provided one at a time.
+     *
+     * <p>This allows shapes to be loaded while a JSON document is still
+     * being parsed rather than after the entire document is parsed.
+     *
+     * @param traitFactory Factory used to create traits.
+     * @return Returns the load to provide shapes to.
+     */
+    StreamingLoad startLoad(TraitFactory traitFactory) {
+        return new StreamingLoad(traitFactory);
     }
 
     private void loadMetadata(ObjectNode model, FullyResolvedModelFile modelFile) {
@@ -105,20 +115,16 @@ enum AstModelLoader {
         }
     }
 
-    private void loadShapes(ObjectNode model, FullyResolvedModelFile modelFile) {
-        model.getObjectMember(SHAPES).ifPresent(shapes -> {
-            for (Map.Entry<StringNode, Node> entry : shapes.getMembers().entrySet()) {
-                ShapeId id = entry.getKey().expectShapeId();
-                ObjectNode definition = entry.getValue().expectObjectNode();
-                String type = definition.expectStringMember(TYPE).getValue();
-                try {
-                    loadShape(id, type, definition, modelFile);
-                } catch (SourceException e) {
-                    ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
-                    modelFile.events().add(event);
-                }
-            }
-        });
+    private void loadShape(StringNode key, Node value, FullyResolvedModelFile modelFile) {
+        ShapeId id = key.expectShapeId();
+        ObjectNode definition = value.expectObjectNode();
+        String type = definition.expectStringMember(TYPE).getValue();
+        try {
+            loadShape(id, type, definition, modelFile);
+        } catch (SourceException e) {
+            ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
+            modelFile.events().add(event);
+        }
     }
 
     private void loadShape(ShapeId id, String type, ObjectNode value, FullyResolvedModelFile modelFile) {
@@ -346,4 +352,65 @@ enum AstModelLoader {
             return ids;
         }).orElseGet(Collections::emptyList);
     }
+
+    /**
+     * A model file that is loaded by providing each shape as it is parsed,
+     * followed by the rest of the top-level document.
+     */
+    static final class StreamingLoad {
+
+        private final TraitFactory traitFactory;
+        private FullyResolvedModelFile modelFile;
+        private boolean shapesStreamed;
+
+        private StreamingLoad(TraitFactory traitFactory) {
+            this.traitFactory = traitFactory;
+            modelFile = new FullyResolvedModelFile(traitFactory);
+        }
+
+        /**
+         * Starts a "shapes" object of the document.
+         *
+         * <p>When a document contains more than one "shapes" member, the
+         * last one wins, so shapes streamed from a previous "shapes" object
+         * are discarded.
+         *
+         * @param stream Set to true to provide the shapes of the object through the returned consumer, or
+         *   false to load them from the document given to {@link #finish}.
+         * @return Returns the consumer that loads each shape, or null if the shapes are not streamed.
+         */
+        BiConsumer<StringNode, Node> startShapes(boolean stream) {
+            if (shapesStreamed) {
+                modelFile = new FullyResolvedModelFile(traitFactory);
+            }
+            shapesStreamed = stream;
+            return stream ? this::loadShape : null;
+        }
+
+        private void loadShape(StringNode key, Node value) {
+            INSTANCE.loadShape(key, value, modelFile);
+        }
+
+        /**
+         * Loads the top-level properties of the document and completes the load.
+         *
+         * <p>Shapes contained in the given document are only loaded if the
+         * last "shapes" object was not streamed through {@link #startShapes}.
+         *
+         * @param model Top-level document.
+         * @return Returns the loaded model file.
+         */
+        ModelFile finish(ObjectNode model) {
+            LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES, modelFile.events());
+            INSTANCE.loadMetadata(model, modelFile);
+            // Streamed shapes are omitted from the document, but this still
+            // fails if "shapes" was set to something other than an object.
+            model.getObjectMember(SHAPES).ifPresent(shapes -> {
+                if (!shapesStreamed) {
+                    shapes.getMembers().forEach(this::loadShape);
+                }
+            });
+            return modelFile;
+        }
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.neighbor.NeighborProvider;
+import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * Retains the result of validating a model so that the next validation
+ * of a modified version of the model only re-validates what changed.
+ *
+ * <p>Provide a cache to {@link ModelAssembler#validationCache} and reuse
+ * it each time a model is re-assembled, for example when a file changes
+ * in an IDE or file watcher. The first assembly performs full validation
+ * and populates the cache. Subsequent assemblies compare the newly
+ * assembled model against the cached model to find the shapes that were
+ * added, removed, or changed (including changes caused by applying traits
+ * from other files), and then expand that set to every shape that
+ * transitively refers to a changed shape, including through trait
+ * applications. Only those affected shapes are re-validated by validators
+ * that are known to validate each shape using only the shape and the shapes
+ * it targets. Events for every other shape are reused from the cache.
+ *
+ * <p>Validators that need the entire model, such as validators that look
+ * at the services or resources that contain a shape, validators defined
+ * in model metadata, and validators that are not known to be shape-local,
+ * are always run against the entire model. Full validation is performed
+ * when the metadata of the model changes.
+ *
+ * <p>This class is not thread-safe; a cache must not be used by multiple
+ * assemblers at the same time.
+ */
+public final class IncrementalValidationCache {
+
+    private Model model;
+    private Map<String, List<ValidationEvent>> events = Collections.emptyMap();
+
+    /**
+     * Removes all cached state so that the next validation is a full validation.
+     */
+    public void clear() {
+        model = null;
+        events = Collections.emptyMap();
+    }
+
+    /**
+     * Creates a copy of the cache that can be updated independently of this cache.
+     *
+     * <p>This can be used to incrementally validate several different
+     * modifications of the same model, each using its own copy. Copying a
+     * cache is cheap because cached events are never modified.
+     *
+     * @return Returns the created copy.
+     */
+    public IncrementalValidationCache copy() {
+        IncrementalValidationCache copy = new IncrementalValidationCache();
+        copy.update(model, events);
+        return copy;
+    }
+
+    /**
+     * Checks if the cache contains the result of a previous validation.
+     *
+     * @return Returns true if nothing is cached.
+     */
+    public boolean isEmpty() {
+        return model == null;
+    }
+
+    /**
+     * Gets the events previously emitted by a validator.
+     *
+     * @param key Key of the validator.
+     * @return Returns the previous events, or null if the validator did not previously run.
+     */
+    List<ValidationEvent> getEvents(String key) {
+        return events.get(key);
+    }
+
+    /**
+     * Replaces the cached state with the result of validating a model.
+     *
+     * @param model Model that was validated.
+     * @param events Events emitted by each validator before suppressions were applied.
+     */
+    void update(Model model, Map<String, List<ValidationEvent>> events) {
+        this.model = model;
+        this.events = events;
+    }
+
+    /**
+     * Computes the shapes of a model that need to be re-validated based on
+     * the model that was previously validated.
+     *
+     * @param next The model to validate.
+     * @return Returns the affected shape IDs, or null if a full validation is required.
+     */
+    Set<ShapeId> computeAffectedShapes(Model next) {
+        if (model == null || !model.getMetadata().equals(next.getMetadata())) {
+            return null;
+        }
+
+        // Changed, added, and removed shapes seed the set of affected shapes.
+        // Removed shapes are used to find shapes that now have broken references.
+        Set<ShapeId> affected = new HashSet<>();
+        Deque<Shape> queue = new ArrayDeque<>();
+
+        for (Shape shape : next.toSet()) {
+            Shape previous = model.getShape(shape.getId()).orElse(null);
+            if (previous == null || !isSameDefinition(previous, shape)) {
+                affected.add(shape.getId());
+                queue.add(shape);
+            }
+        }
+
+        for (Shape shape : model.toSet()) {
+            if (!next.getShape(shape.getId()).isPresent() && affected.add(shape.getId())) {
+                queue.add(shape);
+            }
+        }
+
+        if (queue.isEmpty()) {
+            return affected;
+        }
+
+        // Walk up to every shape that transitively refers to an affected shape.
+        NeighborProvider reverse = NeighborProvider.reverse(
+                next, NeighborProvider.withTraitRelationships(next, NeighborProvider.of(next)));
+        while (!queue.isEmpty()) {
+            for (Relationship relationship : reverse.getNeighbors(queue.poll())) {
+                if (affected.add(relationship.getShape().getId())) {
+                    queue.add(relationship.getShape());
+                }
+            }
+        }
+
+        return affected;
+    }
+
+    /**
+     * Creates a model that contains the given shapes and every shape they
+     * transitively target, including trait definitions.
+     *
+     * @param model Model to take shapes from.
+     * @param shapes Shapes to include in the focused model.
+     * @return Returns the focused model.
+     */
+    static Model focus(Model model, Set<ShapeId> shapes) {
+        NeighborProvider provider = NeighborProvider.withTraitRelationships(model, NeighborProvider.of(model));
+        Set<ShapeId> visited = new HashSet<>();
+        Deque<Shape> queue = new ArrayDeque<>();
+        Model.Builder builder = Model.builder().metadata(model.getMetadata());
+
+        for (ShapeId id : shapes) {
+            model.getShape(id).ifPresent(shape -> {
+                visited.add(id);
+                queue.add(shape);
+            });
+        }
+
+        while (!queue.isEmpty()) {
+            Shape shape = queue.poll();
+            builder.addShape(shape);
+            for (Relationship relationship : provider.getNeighbors(shape)) {
+                Shape neighbor = relationship.getNeighborShape().orElse(null);
+                if (neighbor != null && visited.add(neighbor.getId())) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    // Shapes are considered changed when moved too so that the
+    // source locations of cached events are never stale.
+    private static boolean isSameDefinition(Shape previous, Shape next) {
+        if (!previous.equals(next) || !previous.getSourceLocation().equals(next.getSourceLocation())) {
+            return false;
+        }
+
+        for (Trait trait : next.getAllTraits().values()) {
+            Trait previousTrait = previous.getAllTraits().get(trait.toShapeId());
+            if (!Objects.equals(previousTrait.getSourceLocation(), trait.getSourceLocation())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -33,6 +33,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
@@ -84,8 +91,30 @@ public final class ModelAssembler {
      */
     public static final String DISABLE_JAR_CACHE = "assembler.disableJarCache";
 
+    /**
+     * Sets the maximum number of model files that are parsed concurrently.
+     *
+     * <p>The value is expected to be a positive {@link Number} or a
+     * {@link String} that contains a positive integer. Defaults to the
+     * number of available processors. Setting this property to 1 parses
+     * every model file sequentially on the calling thread. Parsed model files
+     * are always merged in the same order regardless of this setting.
+     */
+    public static final String PARSE_PARALLELISM = "assembler.parseParallelism";
+
     private static final Logger LOGGER = Logger.getLogger(ModelAssembler.class.getName());
 
+    // Model files are parsed on daemon threads that are shared by every
+    // assembler. Parsing reads from input streams, so it uses its own pool
+    // rather than blocking threads of the common fork/join pool. Idle
+    // threads are discarded, and the number of threads used by each
+    // assembly is limited by PARSE_PARALLELISM.
+    private static final ExecutorService PARSE_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "smithy-model-parser");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static final Consumer<ValidationEvent> DEFAULT_EVENT_LISTENER = ValidationEvent -> {
         // Ignore events by default.
     };
@@ -103,6 +132,7 @@ public final class ModelAssembler {
     private final Map<String, Object> properties = new HashMap<>();
     private boolean disablePrelude;
     private Consumer<ValidationEvent> validationEventListener = DEFAULT_EVENT_LISTENER;
+    private IncrementalValidationCache validationCache;
 
     // Lazy initialization holder class idiom to hold a default validator factory.
     private static final class LazyValidatorFactoryHolder {
@@ -135,6 +165,7 @@ public final class ModelAssembler {
         assembler.properties.putAll(properties);
         assembler.disableValidation = disableValidation;
         assembler.validationEventListener = validationEventListener;
+        assembler.validationCache = validationCache;
         return assembler;
     }
 
@@ -502,6 +533,26 @@ public final class ModelAssembler {
         return this;
     }
 
+    /**
+     * Sets a cache used to incrementally re-validate the model each time it
+     * is assembled.
+     *
+     * <p>When a cache is provided, validation events of shapes that were not
+     * affected by changes since the model was last validated with the cache
+     * are reused rather than recomputed. This is useful for things like IDEs
+     * and file watchers that repeatedly assemble a large model after small
+     * changes. The cache is not cleared when the assembler is reset and is
+     * shared with copies of the assembler.
+     *
+     * @param validationCache Cache to use, or null to always perform full validation.
+     * @return Returns the assembler.
+     * @see IncrementalValidationCache
+     */
+    public ModelAssembler validationCache(IncrementalValidationCache validationCache) {
+        this.validationCache = validationCache;
+        return this;
+    }
+
     /**
      * Assembles the model and returns the validated result.
      *
@@ -607,23 +658,114 @@ public final class ModelAssembler {
             }
         }
 
-        // Load model files and merge them into the assembler.
-        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
-            try {
-                ModelFile loaded = ModelLoader.load(traitFactory, properties, entry.getKey(), entry.getValue());
-                if (loaded == null) {
-                    LOGGER.warning(() -> "No ModelLoader was able to load " + entry.getKey());
-                } else {
-                    modelFiles.add(loaded);
-                }
-            } catch (SourceException e) {
-                assemblerModelFile.events().add(ValidationEvent.fromSourceException(e));
+        // Load model files and merge them into the assembler. Files are parsed
+        // independently, but are merged in the order they were given so that
+        // the merged result does not depend on which file is parsed first.
+        for (Pair<ModelFile, ValidationEvent> loaded : loadInputStreamModels()) {
+            if (loaded.left != null) {
+                modelFiles.add(loaded.left);
+            } else if (loaded.right != null) {
+                assemblerModelFile.events().add(loaded.right);
             }
         }
 
         return modelFiles;
     }
 
+    private List<Pair<ModelFile, ValidationEvent>> loadInputStreamModels() {
+        int parallelism = Math.min(getParseParallelism(), inputStreamModels.size());
+        List<Pair<ModelFile, ValidationEvent>> results = new ArrayList<>(inputStreamModels.size());
+
+        if (parallelism <= 1) {
+            for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
+                results.add(loadInputStreamModel(entry.getKey(), entry.getValue()));
+            }
+            return results;
+        }
+
+        // Each worker parses the next unparsed file until every file is parsed.
+        List<Map.Entry<String, Supplier<InputStream>>> entries = new ArrayList<>(inputStreamModels.entrySet());
+        List<CompletableFuture<Pair<ModelFile, ValidationEvent>>> loaded = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            loaded.add(new CompletableFuture<>());
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(() -> {
+                int position;
+                while ((position = next.getAndIncrement()) < entries.size()) {
+                    Map.Entry<String, Supplier<InputStream>> entry = entries.get(position);
+                    try {
+                        loaded.get(position).complete(loadInputStreamModel(entry.getKey(), entry.getValue()));
+                    } catch (RuntimeException | Error e) {
+                        loaded.get(position).completeExceptionally(e);
+                    }
+                }
+                return null;
+            });
+        }
+
+        try {
+            PARSE_EXECUTOR.invokeAll(workers);
+            // Results are collected in file order, so the first failure in
+            // that order is thrown, the same as when parsing sequentially.
+            for (Future<Pair<ModelFile, ValidationEvent>> future : loaded) {
+                results.add(getLoadedModel(future));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelImportException("Interrupted while loading models", e);
+        }
+
+        return results;
+    }
+
+    private Pair<ModelFile, ValidationEvent> loadInputStreamModel(String filename, Supplier<InputStream> supplier) {
+        try {
+            ModelFile loaded = ModelLoader.load(traitFactory, properties, filename, supplier);
+            if (loaded == null) {
+                LOGGER.warning(() -> "No ModelLoader was able to load " + filename);
+            }
+            return Pair.of(loaded, null);
+        } catch (SourceException e) {
+            return Pair.of(null, ValidationEvent.fromSourceException(e));
+        }
+    }
+
+    private static Pair<ModelFile, ValidationEvent> getLoadedModel(Future<Pair<ModelFile, ValidationEvent>> future)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private int getParseParallelism() {
+        Object parallelism = properties.get(PARSE_PARALLELISM);
+
+        if (parallelism == null) {
+            return Runtime.getRuntime().availableProcessors();
+        } else if (parallelism instanceof Number) {
+            return ((Number) parallelism).intValue();
+        }
+
+        try {
+            return Integer.parseInt(parallelism.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected the `%s` property to be an integer, but found `%s`", PARSE_PARALLELISM, parallelism));
+        }
+    }
+
     private ValidatedResult<Model> validate(Model model, TraitContainer traits, List<ValidationEvent> events) {
         validateTraits(model.getShapeIds(), traits, events);
         events.forEach(validationEventListener);
@@ -641,7 +783,7 @@ public final class ModelAssembler {
         // Validate the model based on the explicit validators and model metadata.
         // Note the ModelValidator handles emitting events to the validationEventListener.
         List<ValidationEvent> mergedEvents = ModelValidator
-                .validate(model, validatorFactory, assembleValidators(), validationEventListener);
+                .validate(model, validatorFactory, assembleValidators(), validationEventListener, validationCache);
 
         mergedEvents.addAll(events);
         return new ValidatedResult<>(model, mergedEvents);
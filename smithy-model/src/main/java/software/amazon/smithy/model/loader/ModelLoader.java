@@ -17,8 +17,12 @@ package software.amazon.smithy.model.loader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +33,7 @@ import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeHandler;
 import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.utils.IoUtils;
 
@@ -65,7 +70,7 @@ final class ModelLoader {
             Supplier<InputStream> contentSupplier
     ) {
         if (filename.endsWith(".json")) {
-            return loadParsedNode(traitFactory, Node.parse(contentSupplier.get(), filename));
+            return loadJson(traitFactory, filename, contentSupplier);
         } else if (filename.endsWith(".smithy")) {
             String contents = IoUtils.toUtf8String(contentSupplier.get());
             return new IdlModelParser(traitFactory, filename, contents).parse();
@@ -73,7 +78,7 @@ final class ModelLoader {
             return loadJar(traitFactory, properties, filename);
         } else if (filename.equals(SourceLocation.NONE.getFilename())) {
             // Assume it's JSON if there's a N/A filename.
-            return loadParsedNode(traitFactory, Node.parse(contentSupplier.get(), filename));
+            return loadJson(traitFactory, filename, contentSupplier);
         } else {
             return null;
         }
@@ -96,6 +101,36 @@ final class ModelLoader {
         }
     }
 
+    // Loads a JSON AST model directly from its input stream. Shapes are
+    // loaded as each shape is parsed, so the contents of the file and the
+    // node value of every shape are never held in memory all at once.
+    // Shapes are only streamed once a supported version has been parsed;
+    // shapes that come before the version are loaded after it is checked.
+    private static ModelFile loadJson(TraitFactory traitFactory, String filename, Supplier<InputStream> supplier) {
+        AstModelLoader.StreamingLoad load = AstModelLoader.INSTANCE.startLoad(traitFactory);
+        Node node;
+        try (Reader reader = new InputStreamReader(supplier.get(), StandardCharsets.UTF_8)) {
+            node = NodeHandler.parse(filename, reader, AstModelLoader.SHAPES, parsed -> {
+                boolean versionSupported = parsed.getMember(SMITHY)
+                        .filter(Node::isStringNode)
+                        .map(version -> LoaderUtils.isVersionSupported(version.expectStringNode().getValue()))
+                        .orElse(false);
+                return load.startShapes(versionSupported);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ObjectNode model = node.expectObjectNode("Smithy documents must be an object. Found {type}.");
+        StringNode version = model.expectStringMember(SMITHY);
+
+        if (LoaderUtils.isVersionSupported(version.getValue())) {
+            return load.finish(model);
+        } else {
+            throw new ModelSyntaxException("Unsupported Smithy version number: " + version.getValue(), version);
+        }
+    }
+
     // Allows importing JAR files by discovering models inside of a JAR file.
     // This is similar to model discovery, but done using an explicit import.
     private static ModelFile loadJar(TraitFactory traitFactory, Map<String, Object> properties, String filename) {
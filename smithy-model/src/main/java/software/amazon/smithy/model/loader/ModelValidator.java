@@ -19,24 +19,46 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.SuppressTrait;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
+import software.amazon.smithy.model.validation.validators.DeprecatedTraitValidator;
+import software.amazon.smithy.model.validation.validators.EnumTraitValidator;
+import software.amazon.smithy.model.validation.validators.EventPayloadTraitValidator;
+import software.amazon.smithy.model.validation.validators.ExamplesTraitValidator;
+import software.amazon.smithy.model.validation.validators.ExclusiveStructureMemberTraitValidator;
+import software.amazon.smithy.model.validation.validators.HttpMethodSemanticsValidator;
+import software.amazon.smithy.model.validation.validators.HttpQueryParamsTraitValidator;
+import software.amazon.smithy.model.validation.validators.HttpResponseCodeSemanticsValidator;
+import software.amazon.smithy.model.validation.validators.LengthTraitValidator;
+import software.amazon.smithy.model.validation.validators.MediaTypeValidator;
+import software.amazon.smithy.model.validation.validators.PrivateAccessValidator;
+import software.amazon.smithy.model.validation.validators.RangeTraitValidator;
 import software.amazon.smithy.model.validation.validators.ResourceCycleValidator;
+import software.amazon.smithy.model.validation.validators.ResourceLifecycleValidator;
+import software.amazon.smithy.model.validation.validators.SensitiveTraitValidator;
+import software.amazon.smithy.model.validation.validators.ShapeRecursionValidator;
 import software.amazon.smithy.model.validation.validators.TargetValidator;
+import software.amazon.smithy.model.validation.validators.TraitConflictValidator;
+import software.amazon.smithy.model.validation.validators.UnstableTraitValidator;
+import software.amazon.smithy.model.validation.validators.XmlNamespaceTraitValidator;
 import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.SetUtils;
 
@@ -51,6 +73,11 @@ import software.amazon.smithy.utils.SetUtils;
  * automatically created and applied to the model. Explicitly provided
  * validators are merged together with the validators and suppressions
  * loaded from metadata.
+ *
+ * <p>Validators are run in parallel. Validators that implement
+ * {@link ShapeValidator} are further split so that each selected shape
+ * is validated in parallel, which prevents a single expensive validator
+ * from becoming the critical path of validation.
  */
 final class ModelValidator {
 
@@ -68,24 +95,65 @@ final class ModelValidator {
             ResourceCycleValidator.class
     );
 
+    /**
+     * Validators that validate each shape using only the shape and the shapes
+     * it transitively targets. These validators can be run incrementally over
+     * the shapes affected by a change. Any other validator is assumed to need
+     * the entire model.
+     *
+     * <p>Every event emitted by these validators must be emitted for a shape
+     * that transitively targets every shape the event depends on. Validators
+     * like the HTTP binding validators are excluded because they emit events
+     * for the members of an operation's input and output based on the
+     * operation, so changing only the operation would keep stale events.
+     */
+    private static final Set<Class<? extends Validator>> SHAPE_LOCAL_VALIDATORS = SetUtils.of(
+            DeprecatedTraitValidator.class,
+            EnumTraitValidator.class,
+            EventPayloadTraitValidator.class,
+            ExamplesTraitValidator.class,
+            ExclusiveStructureMemberTraitValidator.class,
+            HttpMethodSemanticsValidator.class,
+            HttpQueryParamsTraitValidator.class,
+            HttpResponseCodeSemanticsValidator.class,
+            LengthTraitValidator.class,
+            MediaTypeValidator.class,
+            PrivateAccessValidator.class,
+            RangeTraitValidator.class,
+            ResourceCycleValidator.class,
+            ResourceLifecycleValidator.class,
+            SensitiveTraitValidator.class,
+            ShapeRecursionValidator.class,
+            TraitConflictValidator.class,
+            UnstableTraitValidator.class,
+            XmlNamespaceTraitValidator.class
+    );
+
     private final List<Validator> validators;
     private final ArrayList<ValidationEvent> events = new ArrayList<>();
     private final ValidatorFactory validatorFactory;
     private final Model model;
     private final Map<String, Map<String, String>> namespaceSuppressions = new HashMap<>();
     private final Consumer<ValidationEvent> eventListener;
+    private final IncrementalValidationCache cache;
+    private final Map<String, List<ValidationEvent>> validatorEvents = new ConcurrentHashMap<>();
+    private final Map<Validator, String> validatorKeys = new IdentityHashMap<>();
+    private Set<ShapeId> affectedShapes;
+    private Model focusedModel;
 
     private ModelValidator(
             Model model,
             ValidatorFactory validatorFactory,
             List<Validator> validators,
-            Consumer<ValidationEvent> eventListener
+            Consumer<ValidationEvent> eventListener,
+            IncrementalValidationCache cache
     ) {
         this.model = model;
         this.validatorFactory = validatorFactory;
         this.validators = new ArrayList<>(validators);
         this.validators.removeIf(v -> CORE_VALIDATORS.contains(v.getClass()));
         this.eventListener = eventListener;
+        this.cache = cache;
     }
 
     /**
@@ -104,19 +172,53 @@ final class ModelValidator {
             List<Validator> validators,
             Consumer<ValidationEvent> eventListener
     ) {
-        return new ModelValidator(model, validatorFactory, validators, eventListener).doValidate();
+        return validate(model, validatorFactory, validators, eventListener, null);
+    }
+
+    /**
+     * Validates the given Model, reusing the events of a previous validation
+     * for shapes that are not affected by changes made since.
+     *
+     * <p>The cache is updated with the result of this validation if no
+     * errors are encountered by the core validators.
+     *
+     * @param model Model to validate.
+     * @param validatorFactory Factory used to find ValidatorService providers.
+     * @param validators Additional validators to use.
+     * @param eventListener Consumer invoked each time a validation event is encountered.
+     * @param cache Cache that contains the previous validation result, or null to perform a full validation.
+     * @return Returns the encountered validation events.
+     */
+    static List<ValidationEvent> validate(
+            Model model,
+            ValidatorFactory validatorFactory,
+            List<Validator> validators,
+            Consumer<ValidationEvent> eventListener,
+            IncrementalValidationCache cache
+    ) {
+        return new ModelValidator(model, validatorFactory, validators, eventListener, cache).doValidate();
     }
 
     private List<ValidationEvent> doValidate() {
         assembleNamespaceSuppressions();
         List<ValidatorDefinition> assembledValidatorDefinitions = assembleValidatorDefinitions();
+        // Validators defined in metadata are assembled after keys are assigned, so
+        // they are never cached and are always run against the entire model.
+        assignValidatorKeys();
         assembleValidators(assembledValidatorDefinitions);
 
+        if (cache != null) {
+            affectedShapes = cache.computeAffectedShapes(model);
+            if (affectedShapes != null) {
+                focusedModel = IncrementalValidationCache.focus(model, affectedShapes);
+            }
+        }
+
         // Perform critical validation before other more granular semantic validators.
         // If these validators fail, then many other validators will fail as well,
         // which will only obscure the root cause.
-        events.addAll(new TargetValidator().validate(model));
-        events.addAll(new ResourceCycleValidator().validate(model));
+        events.addAll(runValidator(TargetValidator.class.getName(), new TargetValidator()));
+        events.addAll(runValidator(ResourceCycleValidator.class.getName(), new ResourceCycleValidator()));
         // Emit any events that have already occurred.
         events.forEach(eventListener);
 
@@ -126,7 +228,7 @@ final class ModelValidator {
 
         List<ValidationEvent> result = validators
                 .parallelStream()
-                .flatMap(validator -> validator.validate(model).stream())
+                .flatMap(validator -> runValidator(validatorKeys.get(validator), validator).stream())
                 .map(this::suppressEvent)
                 .filter(ModelValidator::filterPrelude)
                 // Emit events as they occur during validation.
@@ -136,6 +238,73 @@ final class ModelValidator {
         // Add in events encountered while building up validators and suppressions.
         result.addAll(events);
 
+        if (cache != null) {
+            cache.update(model, new HashMap<>(validatorEvents));
+        }
+
+        return result;
+    }
+
+    // Validators are keyed by class name and the number of preceding validators
+    // of the same class so that events can be matched up across validations.
+    private void assignValidatorKeys() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Validator validator : validators) {
+            String name = validator.getClass().getName();
+            int count = counts.merge(name, 1, Integer::sum);
+            validatorKeys.put(validator, name + "#" + count);
+        }
+    }
+
+    private List<ValidationEvent> runValidator(String key, Validator validator) {
+        List<ValidationEvent> previous = key == null || affectedShapes == null ? null : cache.getEvents(key);
+
+        if (previous == null || !SHAPE_LOCAL_VALIDATORS.contains(validator.getClass())) {
+            return recordEvents(key, validate(validator, model));
+        }
+
+        List<ValidationEvent> result = new ArrayList<>();
+        for (ValidationEvent event : previous) {
+            if (!affectedShapes.contains(event.getShapeId().get())) {
+                result.add(event);
+            }
+        }
+
+        for (ValidationEvent event : validate(validator, focusedModel)) {
+            // Events that aren't bound to a shape can't be merged with previous events.
+            if (!event.getShapeId().isPresent()) {
+                return recordEvents(key, validate(validator, model));
+            } else if (affectedShapes.contains(event.getShapeId().get())) {
+                result.add(event);
+            }
+        }
+
+        return recordEvents(key, result);
+    }
+
+    // Shape validators are fanned out so that each selected shape is validated
+    // as a separate fork/join task rather than on the thread that picked up the
+    // validator. The ordered stream keeps events in the order shapes are selected.
+    private static List<ValidationEvent> validate(Validator validator, Model model) {
+        if (validator instanceof ShapeValidator) {
+            return validateShapes((ShapeValidator<?>) validator, model);
+        }
+
+        return validator.validate(model);
+    }
+
+    private static <S extends Shape> List<ValidationEvent> validateShapes(ShapeValidator<S> validator, Model model) {
+        List<S> shapes = new ArrayList<>(validator.selectShapes(model));
+        return shapes.parallelStream()
+                .flatMap(shape -> validator.validateShape(model, shape).stream())
+                .collect(Collectors.toList());
+    }
+
+    private List<ValidationEvent> recordEvents(String key, List<ValidationEvent> result) {
+        // Only events bound to shapes can be reused by an incremental validation.
+        if (cache != null && key != null && result.stream().allMatch(event -> event.getShapeId().isPresent())) {
+            validatorEvents.put(key, result);
+        }
         return result;
     }
 
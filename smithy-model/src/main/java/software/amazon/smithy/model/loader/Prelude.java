@@ -18,6 +18,7 @@ package software.amazon.smithy.model.loader;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.model.traits.PrivateTrait;
+import software.amazon.smithy.utils.SmithyInternalApi;
 
 /**
  * Represents the prelude model available to every Smithy model.
@@ -63,8 +64,16 @@ public final class Prelude {
                 .isPresent();
     }
 
-    // Used by the ModelAssembler to load the prelude into another visitor.
-    static Model getPreludeModel() {
+    /**
+     * Gets the shapes and traits of the prelude as a model.
+     *
+     * <p>This is used by the model assembler and by serializers that omit
+     * the prelude from serialized models.
+     *
+     * @return Returns the prelude model.
+     */
+    @SmithyInternalApi
+    public static Model getPreludeModel() {
         return PreludeHolder.PRELUDE;
     }
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.node;
+
+import software.amazon.smithy.model.SourceLocation;
+
+/**
+ * Receives the tokens of a JSON value as they are read.
+ *
+ * <p>A value is reported as either a single scalar token or as a start
+ * token followed by the tokens of each nested value and an end token.
+ * Each member of an object is reported by {@link #startMember}, followed
+ * by the tokens of the member value, followed by {@link #endMember}.
+ * Implementations can process values using these tokens without building
+ * a {@link Node} for the value.
+ */
+public interface JsonTokenHandler {
+
+    /**
+     * Receives the start of an object.
+     *
+     * @param location Location of the object.
+     */
+    void startObject(SourceLocation location);
+
+    /**
+     * Receives the name of an object member before its value.
+     *
+     * @param name Name of the member.
+     * @param location Location of the member name.
+     */
+    void startMember(String name, SourceLocation location);
+
+    /**
+     * Receives the end of an object member after its value.
+     */
+    void endMember();
+
+    /**
+     * Receives the end of an object.
+     */
+    void endObject();
+
+    /**
+     * Receives the start of an array.
+     *
+     * @param location Location of the array.
+     */
+    void startArray(SourceLocation location);
+
+    /**
+     * Receives the end of an array.
+     */
+    void endArray();
+
+    /**
+     * Receives a null value.
+     *
+     * @param location Location of the value.
+     */
+    void nullValue(SourceLocation location);
+
+    /**
+     * Receives a boolean value.
+     *
+     * @param value Value that was read.
+     * @param location Location of the value.
+     */
+    void booleanValue(boolean value, SourceLocation location);
+
+    /**
+     * Receives a string value.
+     *
+     * @param value Value that was read.
+     * @param location Location of the value.
+     */
+    void stringValue(String value, SourceLocation location);
+
+    /**
+     * Receives a number value.
+     *
+     * @param value Value that was read.
+     * @param location Location of the value.
+     */
+    void numberValue(Number value, SourceLocation location);
+}
@@ -43,13 +43,17 @@ import software.amazon.smithy.model.SourceLocation;
  * </pre>
  * <p>
  * Subclasses that build an object representation of the parsed JSON can return arbitrary handler
- * objects for JSON arrays and JSON objects in {@link #startArray()} and {@link #startObject()}.
+ * objects for JSON arrays and JSON objects in {@link #startArray(SourceLocation)} and
+ * {@link #startObject(SourceLocation)}.
  * These handler objects will then be provided in all subsequent parser events for this particular
  * array or object. They can be used to keep track the elements of a JSON array or object.
  * </p>
  *
  * <p>Note: This class was trimmed down to expose only the methods needed for Smithy.
- * In particular, various "start*" methods were removed.
+ * In particular, various "start*" methods were removed. {@link #startObjectValue}
+ * was later restored so that handlers can stream the members of an object.
+ * The start* methods were also given the location of the element they start
+ * so that the tokens of a value can be streamed without building nodes.
  *
  * @param <A> The type of handlers used for JSON arrays
  * @param <O> The type of handlers used for JSON objects
@@ -69,7 +73,7 @@ abstract class JsonHandler<A, O> {
     void endNumber(String string, SourceLocation location) {
     }
 
-    A startArray() {
+    A startArray(SourceLocation location) {
         return null;
     }
 
@@ -79,13 +83,16 @@ abstract class JsonHandler<A, O> {
     void endArrayValue(A array) {
     }
 
-    O startObject() {
+    O startObject(SourceLocation location) {
         return null;
     }
 
     void endObject(O object, SourceLocation location) {
     }
 
+    void startObjectValue(O object, String name, SourceLocation nameLocation) {
+    }
+
     void endObjectValue(O object, String name, SourceLocation keyLocation) {
     }
 }
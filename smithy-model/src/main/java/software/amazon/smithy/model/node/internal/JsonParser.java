@@ -204,7 +204,7 @@ final class JsonParser {
 
     private void readArray() throws IOException {
         SourceLocation location = getSourceLocation();
-        Object array = handler.startArray();
+        Object array = handler.startArray(location);
         read();
         if (++nestingLevel > MAX_NESTING_LEVEL) {
             throw error("Nesting too deep");
@@ -231,7 +231,7 @@ final class JsonParser {
 
     private void readObject() throws IOException {
         SourceLocation objectLocation = getSourceLocation();
-        Object object = handler.startObject();
+        Object object = handler.startObject(objectLocation);
         read();
         if (++nestingLevel > MAX_NESTING_LEVEL) {
             throw error("Nesting too deep");
@@ -253,7 +253,7 @@ final class JsonParser {
                 throw expected("':'");
             }
             skipWhiteSpace();
-            // handler.startObjectValue(object, name);
+            handler.startObjectValue(object, name, nameLocation);
             readValue();
             handler.endObjectValue(object, name, nameLocation);
             skipWhiteSpace();
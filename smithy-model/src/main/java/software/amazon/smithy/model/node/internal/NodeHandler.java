@@ -15,16 +15,22 @@
 
 package software.amazon.smithy.model.node.internal;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.JsonTokenHandler;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.NullNode;
 import software.amazon.smithy.model.node.NumberNode;
@@ -37,6 +43,18 @@ public final class NodeHandler extends JsonHandler<List<Node>, Map<StringNode, N
 
     private Node value;
 
+    // Streaming state: members of the object assigned to the top-level
+    // member named streamedMember are given to the consumer returned by
+    // streamStarter as they are parsed rather than being added to the
+    // resulting object.
+    private String streamedMember;
+    private Function<ObjectNode, BiConsumer<StringNode, Node>> streamStarter;
+    private BiConsumer<StringNode, Node> memberConsumer;
+    private Map<StringNode, Node> topLevelObject;
+    private Map<StringNode, Node> streamedObject;
+    private boolean streamNextObject;
+    private int depth;
+
     @SmithyInternalApi
     public static Node parse(String filename, String content, boolean allowComments) {
         NodeHandler handler = new NodeHandler();
@@ -44,6 +62,76 @@ public final class NodeHandler extends JsonHandler<List<Node>, Map<StringNode, N
         return handler.value;
     }
 
+    /**
+     * Parses JSON from a reader, streaming the members of a top-level
+     * object member to a consumer as each member is parsed.
+     *
+     * <p>Each time the JSON document is an object and its member named
+     * {@code streamedMember} contains an object, {@code streamStarter} is
+     * called with the members of the top-level object that precede it.
+     * If it returns a consumer, then each member of that object is given to
+     * the consumer as soon as its value is parsed, and the member is omitted
+     * from the returned node. This allows large documents to be processed
+     * without holding the node tree of every member in memory at once. If
+     * it returns null, the object is parsed into the returned node as usual.
+     *
+     * @param filename Filename used in source locations.
+     * @param reader Reader to parse. The reader is not closed.
+     * @param streamedMember Name of the top-level member to stream.
+     * @param streamStarter Function that accepts the preceding top-level members and returns the
+     *   consumer that receives each streamed key and value, or null to not stream the member.
+     * @return Returns the parsed node, without the members that were streamed.
+     * @throws UncheckedIOException if the reader cannot be read.
+     */
+    @SmithyInternalApi
+    public static Node parse(
+            String filename,
+            Reader reader,
+            String streamedMember,
+            Function<ObjectNode, BiConsumer<StringNode, Node>> streamStarter
+    ) {
+        NodeHandler handler = new NodeHandler();
+        handler.streamedMember = streamedMember;
+        handler.streamStarter = streamStarter;
+        try {
+            new JsonParser(filename, handler, false).parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return handler.value;
+    }
+
+    /**
+     * Parses JSON text and gives each token of the parsed value to a
+     * {@link JsonTokenHandler} rather than creating a node.
+     *
+     * @param filename Filename used in source locations.
+     * @param content JSON text to parse.
+     * @param tokenHandler Handler that receives each token.
+     */
+    @SmithyInternalApi
+    public static void parse(String filename, String content, JsonTokenHandler tokenHandler) {
+        new JsonParser(filename, new TokenHandlerAdapter(tokenHandler), false).parse(content);
+    }
+
+    /**
+     * Parses JSON from a reader and gives each token of the parsed value
+     * to a {@link JsonTokenHandler} rather than creating a node.
+     *
+     * @param filename Filename used in source locations.
+     * @param reader Reader to parse. The reader is not closed.
+     * @param tokenHandler Handler that receives each token.
+     * @throws UncheckedIOException if the reader cannot be read.
+     */
+    @SmithyInternalApi
+    public static void parse(String filename, Reader reader, JsonTokenHandler tokenHandler) {
+        try {
+            new JsonParser(filename, new TokenHandlerAdapter(tokenHandler), false).parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @SmithyInternalApi
     public static String print(Node node) {
         StringWriter writer = new StringWriter();
@@ -77,24 +165,25 @@ public final class NodeHandler extends JsonHandler<List<Node>, Map<StringNode, N
 
     @Override
     void endNumber(String string, SourceLocation location) {
+        value = new NumberNode(parseNumber(string), location);
+    }
+
+    static Number parseNumber(String string) {
         if (string.contains("e") || string.contains("E") || string.contains(".")) {
-            double doubleValue = Double.parseDouble(string);
-            if (Double.isFinite(doubleValue)) {
-                value = new NumberNode(doubleValue, location);
-            }
-            value = new NumberNode(new BigDecimal(string), location);
-        } else {
-            try {
-                value = new NumberNode(Long.parseLong(string), location);
-            } catch (NumberFormatException e) {
-                value = new NumberNode(new BigInteger(string), location);
-            }
+            return new BigDecimal(string);
+        }
 
+        try {
+            return Long.parseLong(string);
+        } catch (NumberFormatException e) {
+            return new BigInteger(string);
         }
     }
 
     @Override
-    List<Node> startArray() {
+    List<Node> startArray(SourceLocation location) {
+        streamNextObject = false;
+        depth++;
         return new ArrayList<>();
     }
 
@@ -105,22 +194,45 @@ public final class NodeHandler extends JsonHandler<List<Node>, Map<StringNode, N
 
     @Override
     void endArray(List<Node> array, SourceLocation location) {
+        depth--;
         value = new ArrayNode(array, location);
     }
 
     @Override
-    Map<StringNode, Node> startObject() {
-        return new LinkedHashMap<>();
+    Map<StringNode, Node> startObject(SourceLocation location) {
+        Map<StringNode, Node> object = new LinkedHashMap<>();
+        if (depth == 0) {
+            topLevelObject = object;
+        } else if (streamNextObject) {
+            streamNextObject = false;
+            memberConsumer = streamStarter.apply(new ObjectNode(topLevelObject, SourceLocation.NONE));
+            streamedObject = memberConsumer == null ? null : object;
+        }
+        depth++;
+        return object;
+    }
+
+    @Override
+    void startObjectValue(Map<StringNode, Node> object, String name, SourceLocation nameLocation) {
+        // Only members of the top-level object are streamed.
+        streamNextObject = streamStarter != null && depth == 1 && name.equals(streamedMember);
     }
 
     @Override
     void endObjectValue(Map<StringNode, Node> object, String name, SourceLocation keyLocation) {
         StringNode key = new StringNode(name, keyLocation);
-        object.put(key, value);
+        if (object == streamedObject) {
+            memberConsumer.accept(key, value);
+            // Release the member as soon as it has been consumed.
+            value = null;
+        } else {
+            object.put(key, value);
+        }
     }
 
     @Override
     void endObject(Map<StringNode, Node> object, SourceLocation location) {
+        depth--;
         value = new ObjectNode(object, location);
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.node.internal;
+
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.JsonTokenHandler;
+
+/**
+ * Gives the events of a {@link JsonParser} to a {@link JsonTokenHandler}.
+ */
+final class TokenHandlerAdapter extends JsonHandler<Object, Object> {
+
+    private final JsonTokenHandler delegate;
+
+    TokenHandlerAdapter(JsonTokenHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    void endNull(SourceLocation location) {
+        delegate.nullValue(location);
+    }
+
+    @Override
+    void endBoolean(boolean value, SourceLocation location) {
+        delegate.booleanValue(value, location);
+    }
+
+    @Override
+    void endString(String string, SourceLocation location) {
+        delegate.stringValue(string, location);
+    }
+
+    @Override
+    void endNumber(String string, SourceLocation location) {
+        delegate.numberValue(NodeHandler.parseNumber(string), location);
+    }
+
+    @Override
+    Object startArray(SourceLocation location) {
+        delegate.startArray(location);
+        return null;
+    }
+
+    @Override
+    void endArray(Object array, SourceLocation location) {
+        delegate.endArray();
+    }
+
+    @Override
+    Object startObject(SourceLocation location) {
+        delegate.startObject(location);
+        return null;
+    }
+
+    @Override
+    void startObjectValue(Object object, String name, SourceLocation nameLocation) {
+        delegate.startMember(name, nameLocation);
+    }
+
+    @Override
+    void endObjectValue(Object object, String name, SourceLocation keyLocation) {
+        delegate.endMember();
+    }
+
+    @Override
+    void endObject(Object object, SourceLocation location) {
+        delegate.endObject();
+    }
+}
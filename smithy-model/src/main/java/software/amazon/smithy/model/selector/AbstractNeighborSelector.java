@@ -31,6 +31,10 @@ abstract class AbstractNeighborSelector implements InternalSelector {
         includeTraits = relTypes.contains("trait");
     }
 
+    List<String> getRelTypes() {
+        return relTypes;
+    }
+
     @Override
     public final boolean push(Context context, Shape shape, Receiver next) {
         NeighborProvider resolvedProvider = getNeighborProvider(context, includeTraits);
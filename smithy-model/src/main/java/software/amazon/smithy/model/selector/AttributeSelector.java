@@ -16,13 +16,15 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
 import software.amazon.smithy.model.traits.Trait;
 
 /**
@@ -61,25 +63,112 @@ final class AttributeSelector implements InternalSelector {
     }
 
     @Override
-    public Function<Model, Collection<? extends Shape>> optimize() {
-        // Optimization for loading shapes with a specific trait.
-        // This optimization can only be applied when there's no comparator,
-        // and it doesn't matter how deep into the trait the selector descends.
-        if (comparator == null
-                && path.size() >= 2
-                && path.get(0).equals("trait")     // only match on traits
-                && !path.get(1).startsWith("(")) { // don't match projections
-            return model -> {
-                // The trait name might be relative to the prelude, so ensure it's absolute.
-                String absoluteShapeId = Trait.makeAbsoluteName(path.get(1));
-                ShapeId trait = ShapeId.from(absoluteShapeId);
-                return model.getShapesWithTrait(trait);
-            };
+    public SelectorPlan.StartSet getStartSet(Model model) {
+        if (requiresTrait()) {
+            // Optimization for loading shapes with a specific trait.
+            try {
+                ShapeId trait = getRequiredTrait();
+                return new SelectorPlan.StartSet("trait " + trait, model.getShapesWithTrait(trait));
+            } catch (ShapeIdSyntaxException e) {
+                // Invalid trait names never match, but leave that to the selector.
+                return null;
+            }
+        } else if (isShapeIdLookup()) {
+            // Optimization for finding shapes by their exact shape ID.
+            List<Shape> result = new ArrayList<>(expected.size());
+            for (AttributeValue value : expected) {
+                findShape(model, value.toString()).ifPresent(result::add);
+            }
+            return new SelectorPlan.StartSet("shape ID " + expected, result);
+        } else if (isNamespaceLookup()) {
+            // Optimization for finding shapes in specific namespaces.
+            Set<Shape> result = new LinkedHashSet<>();
+            for (AttributeValue value : expected) {
+                result.addAll(model.getShapesInNamespace(value.toString()));
+            }
+            return new SelectorPlan.StartSet("namespace " + expected, result);
+        } else if (isShapeIdPrefixLookup()) {
+            // Optimization for finding shapes by the prefix of their shape ID.
+            // Namespaces can't contain "#", so a namespace that starts with a
+            // prefix is found by finding shape IDs that start with it.
+            Set<Shape> result = new LinkedHashSet<>();
+            for (AttributeValue value : expected) {
+                result.addAll(model.getShapesWithIdPrefix(value.toString()));
+            }
+            return new SelectorPlan.StartSet("shape ID prefix " + expected, result);
         } else {
             return null;
         }
     }
 
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
+
+    /**
+     * Gets the trait a shape is required to have in order to match the
+     * selector, if the selector can only match shapes with a specific trait.
+     *
+     * <p>This can only be determined when there's no comparator, and it
+     * doesn't matter how deep into the trait the selector descends.
+     *
+     * @return Returns the required trait shape ID, or null if not known.
+     */
+    ShapeId getRequiredTrait() {
+        // The trait name might be relative to the prelude, so ensure it's absolute.
+        return requiresTrait() ? ShapeId.from(Trait.makeAbsoluteName(path.get(1))) : null;
+    }
+
+    private boolean isShapeIdLookup() {
+        return comparator == AttributeComparator.EQUALS
+               && !caseInsensitive
+               && path.size() == 1
+               && path.get(0).equals("id");
+    }
+
+    private boolean isNamespaceLookup() {
+        return comparator == AttributeComparator.EQUALS
+               && !caseInsensitive
+               && path.size() == 2
+               && path.get(0).equals("id")
+               && path.get(1).equals("namespace");
+    }
+
+    private boolean isShapeIdPrefixLookup() {
+        if (comparator != AttributeComparator.STARTS_WITH || caseInsensitive || !path.get(0).equals("id")) {
+            return false;
+        } else if (path.size() == 1) {
+            return true;
+        } else if (path.size() == 2 && path.get(1).equals("namespace")) {
+            for (AttributeValue value : expected) {
+                if (value.toString().indexOf('#') != -1) {
+                    return false;
+                }
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private static Optional<Shape> findShape(Model model, String id) {
+        try {
+            ShapeId shapeId = ShapeId.from(id);
+            // Values that aren't written exactly like an absolute shape ID can't match.
+            return shapeId.toString().equals(id) ? model.getShape(shapeId) : Optional.empty();
+        } catch (ShapeIdSyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    private boolean requiresTrait() {
+        return comparator == null
+               && path.size() >= 2
+               && path.get(0).equals("trait")     // only match on traits
+               && !path.get(1).startsWith("(");   // don't match projections
+    }
+
     @Override
     public boolean push(Context context, Shape shape, Receiver next) {
         if (matchesAttribute(shape, context)) {
@@ -40,4 +40,13 @@ final class ForwardNeighborSelector extends AbstractNeighborSelector {
     boolean emitMatchingRel(Context context, Relationship rel, Receiver next) {
         return next.apply(context, rel.getNeighborShape().get());
     }
+
+    /**
+     * Creates a selector that traverses the same relationships in reverse.
+     *
+     * @return Returns the reverse neighbor selector.
+     */
+    ReverseNeighborSelector reverse() {
+        return new ReverseNeighborSelector(getRelTypes());
+    }
 }
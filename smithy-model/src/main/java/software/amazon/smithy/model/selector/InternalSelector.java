@@ -15,8 +15,6 @@
 
 package software.amazon.smithy.model.selector;
 
-import java.util.Collection;
-import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 
@@ -56,20 +54,35 @@ interface InternalSelector {
     boolean push(Context ctx, Shape shape, Receiver next);
 
     /**
-     * Returns a function that is used to optimize which shapes in a model
-     * need to be evaluated.
+     * Gets the set of shapes that need to be sent to the selector in order
+     * for it to emit every shape it can emit, if that set can be found
+     * using the indexes of a model.
      *
      * <p>For example, when selecting "structure", it is far less work
      * to leverage {@link Model#toSet(Class)} than it is to send every shape
      * through every selector.
      *
-     * @return Returns a function that returns null if no optimization can
-     *   be made, or a Collection of Shapes if an optimization was made.
+     * @param model Model being evaluated.
+     * @return Returns null if no optimization can be made, or the start set
+     *   if an optimization was made.
      */
-    default Function<Model, Collection<? extends Shape>> optimize() {
+    default SelectorPlan.StartSet getStartSet(Model model) {
         return null;
     }
 
+    /**
+     * Checks if the selector only ever emits the shape that it receives.
+     *
+     * <p>The start set of any filter at the beginning of a selector, or of
+     * the selector that directly follows them, can be used to evaluate the
+     * entire selector.
+     *
+     * @return Returns true if the selector is a filter.
+     */
+    default boolean isFilter() {
+        return false;
+    }
+
     /**
      * Receives shapes from an InternalSelector.
      */
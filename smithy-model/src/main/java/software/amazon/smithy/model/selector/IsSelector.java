@@ -15,21 +15,30 @@
 
 package software.amazon.smithy.model.selector;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * Maps input over each function and returns the concatenated result.
  */
 final class IsSelector implements InternalSelector {
+    private final List<List<InternalSelector>> sequences;
     private final List<InternalSelector> selectors;
 
-    private IsSelector(List<InternalSelector> predicates) {
-        this.selectors = predicates;
+    private IsSelector(List<List<InternalSelector>> sequences) {
+        this.sequences = sequences;
+        selectors = new ArrayList<>(sequences.size());
+        for (List<InternalSelector> sequence : sequences) {
+            selectors.add(AndSelector.of(sequence));
+        }
     }
 
-    static InternalSelector of(List<InternalSelector> predicates) {
-        return predicates.size() == 1 ? predicates.get(0) : new IsSelector(predicates);
+    static InternalSelector of(List<List<InternalSelector>> sequences) {
+        return sequences.size() == 1 ? AndSelector.of(sequences.get(0)) : new IsSelector(sequences);
     }
 
     @Override
@@ -42,4 +51,41 @@ final class IsSelector implements InternalSelector {
 
         return true;
     }
+
+    @Override
+    public SelectorPlan.StartSet getStartSet(Model model) {
+        // Every predicate needs a start set to know which shapes to send.
+        List<SelectorPlan.StartSet> startSets = new ArrayList<>(sequences.size());
+        List<String> descriptions = new ArrayList<>(sequences.size());
+        int size = 0;
+        for (List<InternalSelector> sequence : sequences) {
+            SelectorPlan.StartSet startSet = SelectorPlanner.cheapest(SelectorPlanner.getCandidates(sequence, model));
+            if (startSet == null) {
+                return null;
+            }
+            startSets.add(startSet);
+            descriptions.add(startSet.getDescription());
+            size += startSet.size();
+        }
+
+        // The size is an upper bound since start sets can overlap. The union
+        // is only created if this start set is chosen.
+        return new SelectorPlan.StartSet("union of " + descriptions, size, () -> {
+            Set<Shape> result = new LinkedHashSet<>();
+            for (SelectorPlan.StartSet startSet : startSets) {
+                result.addAll(startSet.getShapes());
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public boolean isFilter() {
+        for (List<InternalSelector> sequence : sequences) {
+            if (!SelectorPlanner.isFilter(sequence)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -36,4 +36,9 @@ final class NotSelector implements InternalSelector {
             return true;
         }
     }
+
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
 }
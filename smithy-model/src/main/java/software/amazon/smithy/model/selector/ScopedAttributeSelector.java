@@ -106,4 +106,9 @@ final class ScopedAttributeSelector implements InternalSelector {
 
         return true;
     }
+
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
 }
@@ -86,6 +86,20 @@ public interface Selector {
         matches(model).forEach(shapeMatchConsumer);
     }
 
+    /**
+     * Explains how the selector is evaluated against a model.
+     *
+     * <p>The returned plan describes which indexes of the model can be used
+     * to find the shapes the selector is evaluated against, and which of
+     * them was chosen. This can be used to understand why a selector is slow.
+     *
+     * @param model Model the selector would be evaluated against.
+     * @return Returns the plan used to evaluate the selector.
+     */
+    default SelectorPlan explain(Model model) {
+        return SelectorPlan.scan(toString(), model);
+    }
+
     /**
      * Returns a stream of shapes in a model that match the selector.
      *
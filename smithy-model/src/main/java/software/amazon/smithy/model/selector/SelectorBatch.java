@@ -0,0 +1,223 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
+import software.amazon.smithy.model.shapes.ShapeType;
+
+/**
+ * Evaluates a batch of selectors against a model in a single traversal.
+ *
+ * <p>Evaluating many selectors one after the other sends every shape
+ * through every selector. A {@code SelectorBatch} instead compiles the
+ * selectors into a shared plan: selectors that start with the same shape
+ * type, shape type category (for example, {@code simpleType}), or trait
+ * existence check (for example, {@code [trait|required]}) are grouped so
+ * that the check is performed once per shape, and only the selectors in
+ * a matching group receive the shape.
+ *
+ * <pre>{@code
+ * SelectorBatch batch = SelectorBatch.of(Arrays.asList(
+ *         Selector.parse("structure > member"),
+ *         Selector.parse("[trait|deprecated]"),
+ *         Selector.parse("operation -[input]-> structure")));
+ * Map<Selector, Set<Shape>> results = batch.select(model);
+ * }</pre>
+ *
+ * <p>Matches are equivalent to calling each selector individually, though
+ * the order in which matches are received is unspecified. A batch is
+ * immutable and can be evaluated any number of times.
+ */
+public final class SelectorBatch {
+
+    private final List<Selector> selectors;
+    private final Map<ShapeType, List<Entry>> byType = new EnumMap<>(ShapeType.class);
+    private final Map<Class<? extends Shape>, List<Entry>> byCategory = new LinkedHashMap<>();
+    private final Map<ShapeId, List<Entry>> byTrait = new HashMap<>();
+    private final List<Entry> unfiltered = new ArrayList<>();
+    private final List<Integer> fallback = new ArrayList<>();
+
+    private SelectorBatch(Collection<? extends Selector> selectors) {
+        this.selectors = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(selectors)));
+
+        for (int i = 0; i < this.selectors.size(); i++) {
+            Selector selector = this.selectors.get(i);
+            if (selector instanceof WrappedSelector) {
+                addToPlan(i, (WrappedSelector) selector);
+            } else if (selector instanceof IdentitySelector) {
+                unfiltered.add(new Entry(i, InternalSelector.IDENTITY));
+            } else {
+                // Selectors not created by the parser can only be evaluated on their own.
+                fallback.add(i);
+            }
+        }
+    }
+
+    /**
+     * Creates a batch of selectors.
+     *
+     * <p>Duplicate selectors are only evaluated once.
+     *
+     * @param selectors Selectors to evaluate together.
+     * @return Returns the created batch.
+     */
+    public static SelectorBatch of(Collection<? extends Selector> selectors) {
+        return new SelectorBatch(selectors);
+    }
+
+    /**
+     * Gets the selectors that are evaluated by the batch.
+     *
+     * @return Returns the selectors in the order they were provided.
+     */
+    public List<Selector> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Matches every selector in the batch against the model.
+     *
+     * @param model Model used to resolve shapes with.
+     * @return Returns the matching shapes of each selector, in the order of {@link #getSelectors()}.
+     */
+    public Map<Selector, Set<Shape>> select(Model model) {
+        Map<Selector, Set<Shape>> result = new LinkedHashMap<>();
+        for (Selector selector : selectors) {
+            result.put(selector, new HashSet<>());
+        }
+        consumeMatches(model, (selector, match) -> result.get(selector).add(match.getShape()));
+        return result;
+    }
+
+    /**
+     * Matches every selector in the batch against the model and receives
+     * each matched shape along with the selector that matched it and the
+     * variables that were set when the shape was matched.
+     *
+     * @param model Model to select shapes from.
+     * @param matchConsumer Receives each matching selector and match.
+     */
+    public void consumeMatches(Model model, BiConsumer<Selector, Selector.ShapeMatch> matchConsumer) {
+        InternalSelector.Receiver[] receivers = new InternalSelector.Receiver[selectors.size()];
+        for (int i = 0; i < receivers.length; i++) {
+            Selector selector = selectors.get(i);
+            receivers[i] = (ctx, s) -> {
+                matchConsumer.accept(selector, new Selector.ShapeMatch(s, ctx.getVars()));
+                return true;
+            };
+        }
+
+        Context context = new Context(NeighborProviderIndex.of(model));
+        for (Shape shape : model.toSet()) {
+            List<Entry> typeEntries = byType.get(shape.getType());
+            if (typeEntries != null) {
+                push(context, shape, typeEntries, receivers);
+            }
+
+            for (Map.Entry<Class<? extends Shape>, List<Entry>> category : byCategory.entrySet()) {
+                if (category.getKey().isInstance(shape)) {
+                    push(context, shape, category.getValue(), receivers);
+                }
+            }
+
+            if (!byTrait.isEmpty()) {
+                for (ShapeId trait : shape.getAllTraits().keySet()) {
+                    List<Entry> traitEntries = byTrait.get(trait);
+                    if (traitEntries != null) {
+                        push(context, shape, traitEntries, receivers);
+                    }
+                }
+            }
+
+            push(context, shape, unfiltered, receivers);
+        }
+
+        for (int i : fallback) {
+            Selector selector = selectors.get(i);
+            selector.consumeMatches(model, match -> matchConsumer.accept(selector, match));
+        }
+    }
+
+    private void addToPlan(int index, WrappedSelector selector) {
+        List<InternalSelector> internalSelectors = selector.getInternalSelectors();
+        InternalSelector first = internalSelectors.get(0);
+        // The remaining selectors are pushed shapes that already passed the
+        // shared check performed by the first selector.
+        InternalSelector remainder = AndSelector.of(internalSelectors.subList(1, internalSelectors.size()));
+
+        if (first instanceof ShapeTypeSelector) {
+            ShapeType type = ((ShapeTypeSelector) first).shapeType;
+            byType.computeIfAbsent(type, t -> new ArrayList<>()).add(new Entry(index, remainder));
+        } else if (first instanceof ShapeTypeCategorySelector) {
+            Class<? extends Shape> category = ((ShapeTypeCategorySelector) first).getShapeCategory();
+            byCategory.computeIfAbsent(category, c -> new ArrayList<>()).add(new Entry(index, remainder));
+        } else {
+            ShapeId trait = getRequiredTrait(first);
+            if (trait != null) {
+                // Trait existence only narrows down the shapes, so the whole
+                // selector is still evaluated in case it descends into the trait.
+                byTrait.computeIfAbsent(trait, t -> new ArrayList<>()).add(new Entry(index, selector.getDelegate()));
+            } else {
+                unfiltered.add(new Entry(index, selector.getDelegate()));
+            }
+        }
+    }
+
+    private static ShapeId getRequiredTrait(InternalSelector selector) {
+        if (!(selector instanceof AttributeSelector)) {
+            return null;
+        }
+
+        try {
+            return ((AttributeSelector) selector).getRequiredTrait();
+        } catch (ShapeIdSyntaxException e) {
+            // Invalid trait names never match, but leave that to the selector.
+            return null;
+        }
+    }
+
+    private static void push(Context context, Shape shape, List<Entry> entries, InternalSelector.Receiver[] receivers) {
+        for (Entry entry : entries) {
+            entry.selector.push(context.clearVars(), shape, receivers[entry.index]);
+        }
+    }
+
+    private static final class Entry {
+        private final int index;
+        private final InternalSelector selector;
+
+        Entry(int index, InternalSelector selector) {
+            this.index = index;
+            this.selector = selector;
+        }
+    }
+}
@@ -214,7 +214,11 @@ final class SelectorParser extends SimpleParser {
     private InternalSelector parseSelectorFunction() {
         int functionPosition = position();
         String name = ParserUtils.parseIdentifier(this);
-        List<InternalSelector> selectors = parseSelectorFunctionArgs();
+        List<List<InternalSelector>> sequences = parseSelectorFunctionArgs();
+        List<InternalSelector> selectors = new ArrayList<>(sequences.size());
+        for (List<InternalSelector> sequence : sequences) {
+            selectors.add(AndSelector.of(sequence));
+        }
         switch (name) {
             case "not":
                 if (selectors.size() != 1) {
@@ -226,7 +230,7 @@ final class SelectorParser extends SimpleParser {
             case "test":
                 return new TestSelector(selectors);
             case "is":
-                return IsSelector.of(selectors);
+                return IsSelector.of(sequences);
             case "topdown":
                 if (selectors.size() > 2) {
                     throw new SelectorSyntaxException(
@@ -236,7 +240,7 @@ final class SelectorParser extends SimpleParser {
                 return new TopDownSelector(selectors);
             case "each":
                 LOGGER.warning("The `:each` selector function has been renamed to `:is`: " + expression());
-                return IsSelector.of(selectors);
+                return IsSelector.of(sequences);
             default:
                 LOGGER.warning(String.format("Unknown function name `%s` found in selector: %s",
                                              name, expression()));
@@ -244,14 +248,14 @@ final class SelectorParser extends SimpleParser {
         }
     }
 
-    private List<InternalSelector> parseSelectorFunctionArgs() {
+    private List<List<InternalSelector>> parseSelectorFunctionArgs() {
         ws();
-        List<InternalSelector> selectors = new ArrayList<>();
+        List<List<InternalSelector>> selectors = new ArrayList<>();
         expect('(');
         char next;
 
         do {
-            selectors.add(AndSelector.of(recursiveParse()));
+            selectors.add(recursiveParse());
             ws();
             next = expect(')', ',');
         } while (next != ')');
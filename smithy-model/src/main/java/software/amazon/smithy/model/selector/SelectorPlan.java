@@ -0,0 +1,214 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Describes how a selector is evaluated against a model.
+ *
+ * <p>Rather than sending every shape in a model through a selector, a
+ * selector is evaluated starting from the smallest set of shapes that
+ * can be found using the indexes of a model (for example, all shapes of
+ * a specific type, or all shapes that have a specific trait). A plan
+ * lists each start set that was considered, the start set that was
+ * chosen, and whether the selector is evaluated in reverse: starting
+ * from the shapes at the end of a neighbor traversal and walking back
+ * to the shapes at the beginning.
+ *
+ * <p>Plans are useful for understanding why a selector is slow, and
+ * are created using {@link Selector#explain(Model)}.
+ */
+public final class SelectorPlan {
+
+    private final String selector;
+    private final int shapeCount;
+    private final List<StartSet> candidates;
+    private final StartSet startSet;
+    private final String reversedThrough;
+    private final InternalSelector reversePredicate;
+
+    SelectorPlan(String selector, Model model, List<StartSet> candidates, StartSet startSet) {
+        this(selector, model, candidates, startSet, null, null);
+    }
+
+    SelectorPlan(
+            String selector,
+            Model model,
+            List<StartSet> candidates,
+            StartSet startSet,
+            String reversedThrough,
+            InternalSelector reversePredicate
+    ) {
+        this.selector = selector;
+        this.shapeCount = model.getShapeIds().size();
+        this.candidates = Collections.unmodifiableList(new ArrayList<>(candidates));
+        this.startSet = startSet;
+        this.reversedThrough = reversedThrough;
+        this.reversePredicate = reversePredicate;
+    }
+
+    static SelectorPlan scan(String selector, Model model) {
+        return new SelectorPlan(selector, model, Collections.emptyList(), StartSet.all(model));
+    }
+
+    /**
+     * Gets the selector that a shape from the start set must emit a shape
+     * for in order to match when the plan is reversed.
+     *
+     * @return Returns the reversed selector, or null if not reversed.
+     */
+    InternalSelector getReversePredicate() {
+        return reversePredicate;
+    }
+
+    /**
+     * Gets the selector expression that was planned.
+     *
+     * @return Returns the selector expression.
+     */
+    public String getSelector() {
+        return selector;
+    }
+
+    /**
+     * Gets the number of shapes in the model the selector was planned for.
+     *
+     * @return Returns the number of shapes in the model.
+     */
+    public int getShapeCount() {
+        return shapeCount;
+    }
+
+    /**
+     * Gets all of the start sets that were considered for the selector.
+     *
+     * <p>This list is empty when no index can be used to evaluate the
+     * selector, meaning every shape in the model is evaluated.
+     *
+     * @return Returns the considered start sets.
+     */
+    public List<StartSet> getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Gets the start set that was chosen to evaluate the selector.
+     *
+     * @return Returns the chosen start set.
+     */
+    public StartSet getStartSet() {
+        return startSet;
+    }
+
+    /**
+     * Checks if the selector is evaluated in reverse.
+     *
+     * <p>A reversed selector sends the shapes of the start set through the
+     * selectors that follow a neighbor traversal, and then walks back to
+     * the shapes that refer to them to check the selectors that precede it.
+     *
+     * @return Returns true if the selector is evaluated in reverse.
+     */
+    public boolean isReversed() {
+        return reversedThrough != null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Selector: ").append(selector).append(System.lineSeparator());
+        result.append("Shapes in model: ").append(shapeCount).append(System.lineSeparator());
+        result.append("Start set: ").append(startSet).append(System.lineSeparator());
+        if (isReversed()) {
+            result.append("Evaluated in reverse through `").append(reversedThrough).append('`')
+                    .append(System.lineSeparator());
+        }
+        for (StartSet candidate : candidates) {
+            result.append("Considered: ").append(candidate).append(System.lineSeparator());
+        }
+        return result.toString();
+    }
+
+    /**
+     * A set of shapes that a selector is evaluated against.
+     */
+    public static final class StartSet {
+        private final String description;
+        private final int size;
+        private final Supplier<Collection<? extends Shape>> shapes;
+
+        StartSet(String description, Collection<? extends Shape> shapes) {
+            this(description, shapes.size(), () -> shapes);
+        }
+
+        StartSet(String description, int size, Supplier<Collection<? extends Shape>> shapes) {
+            this.description = description;
+            this.size = size;
+            this.shapes = shapes;
+        }
+
+        static StartSet all(Model model) {
+            return new StartSet("all shapes", model.toSet());
+        }
+
+        StartSet withDescription(String newDescription) {
+            return new StartSet(newDescription, size, shapes);
+        }
+
+        /**
+         * Gets a description of the index used to find the shapes.
+         *
+         * @return Returns the description.
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * Gets the number of shapes in the start set.
+         *
+         * <p>Start sets that combine other start sets, like the start set of
+         * an {@code :is} function, report an upper bound since the combined
+         * start sets can contain the same shapes.
+         *
+         * @return Returns the number of shapes.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets the shapes in the start set.
+         *
+         * @return Returns the shapes.
+         */
+        public Collection<? extends Shape> getShapes() {
+            return shapes.get();
+        }
+
+        @Override
+        public String toString() {
+            return description + " (" + size + " shapes)";
+        }
+    }
+}
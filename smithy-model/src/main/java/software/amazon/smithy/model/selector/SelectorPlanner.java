@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+
+/**
+ * Plans how a sequence of internal selectors is evaluated against a model.
+ *
+ * <p>Every filter at the beginning of a selector, and the selector that
+ * directly follows them, is asked for a start set. The smallest start set
+ * is used to evaluate the selector. When a selector is made up of filters,
+ * a single forward neighbor traversal, and more filters, then the filters
+ * after the traversal might have a smaller start set. In that case, the
+ * selector is evaluated in reverse: shapes from that start set are sent
+ * through the filters that follow the traversal, the traversal is walked
+ * backwards, and the filters that precede the traversal are checked.
+ */
+final class SelectorPlanner {
+
+    private SelectorPlanner() {}
+
+    /**
+     * Creates a plan for the given selectors.
+     *
+     * @param expression Selector expression being planned.
+     * @param selectors Selectors to plan.
+     * @param model Model the selectors are evaluated against.
+     * @param allowReverse Set to true to allow a plan to be reversed. This is
+     *   only allowed when the caller doesn't need to know the variables set
+     *   when a shape matched or how many times a shape matched.
+     * @return Returns the created plan.
+     */
+    static SelectorPlan plan(String expression, List<InternalSelector> selectors, Model model, boolean allowReverse) {
+        List<SelectorPlan.StartSet> candidates = getCandidates(selectors, model);
+        SelectorPlan.StartSet startSet = cheapest(candidates);
+        if (startSet == null) {
+            startSet = SelectorPlan.StartSet.all(model);
+        }
+
+        // Variables are set while evaluating the selector from front to back,
+        // so selectors that use variables can't be reversed.
+        int traversal = getFirstNonFilter(selectors);
+        if (allowReverse
+                && expression.indexOf('$') == -1
+                && traversal >= 0
+                && traversal < selectors.size() - 1
+                && selectors.get(traversal) instanceof ForwardNeighborSelector) {
+            ForwardNeighborSelector forward = (ForwardNeighborSelector) selectors.get(traversal);
+            List<InternalSelector> after = selectors.subList(traversal + 1, selectors.size());
+            SelectorPlan.StartSet reverseStartSet = isFilter(after) ? cheapest(getCandidates(after, model)) : null;
+            if (reverseStartSet != null && reverseStartSet.size() < startSet.size()) {
+                String traversalText = describe(forward);
+                reverseStartSet = reverseStartSet.withDescription(
+                        reverseStartSet.getDescription() + " after " + traversalText);
+                List<InternalSelector> reversed = new ArrayList<>(after);
+                reversed.add(forward.reverse());
+                reversed.addAll(selectors.subList(0, traversal));
+                candidates.add(reverseStartSet);
+                return new SelectorPlan(expression, model, candidates, reverseStartSet,
+                                        traversalText, AndSelector.of(reversed));
+            }
+        }
+
+        return new SelectorPlan(expression, model, candidates, startSet);
+    }
+
+    /**
+     * Gets each start set that can be used to evaluate a sequence of selectors.
+     *
+     * @param selectors Selectors to get the start sets of.
+     * @param model Model the selectors are evaluated against.
+     * @return Returns the start sets, in the order they were found.
+     */
+    static List<SelectorPlan.StartSet> getCandidates(List<InternalSelector> selectors, Model model) {
+        List<SelectorPlan.StartSet> result = new ArrayList<>();
+        for (InternalSelector selector : selectors) {
+            SelectorPlan.StartSet startSet = selector.getStartSet(model);
+            if (startSet != null) {
+                result.add(startSet);
+            }
+            // Shapes emitted by anything other than a filter differ from the
+            // shapes sent to the selector, so stop looking.
+            if (!isFilter(selector)) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the smallest start set.
+     *
+     * @param candidates Start sets to choose from.
+     * @return Returns the smallest start set, or null if there are none.
+     */
+    static SelectorPlan.StartSet cheapest(List<SelectorPlan.StartSet> candidates) {
+        SelectorPlan.StartSet result = null;
+        for (SelectorPlan.StartSet candidate : candidates) {
+            if (result == null || candidate.size() < result.size()) {
+                result = candidate;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if every selector in a sequence is a filter.
+     *
+     * @param selectors Selectors to check.
+     * @return Returns true if every selector only emits the shape it receives.
+     */
+    static boolean isFilter(List<InternalSelector> selectors) {
+        return getFirstNonFilter(selectors) == -1;
+    }
+
+    private static boolean isFilter(InternalSelector selector) {
+        return selector == InternalSelector.IDENTITY || selector.isFilter();
+    }
+
+    private static int getFirstNonFilter(List<InternalSelector> selectors) {
+        for (int i = 0; i < selectors.size(); i++) {
+            if (!isFilter(selectors.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String describe(ForwardNeighborSelector selector) {
+        List<String> relTypes = selector.getRelTypes();
+        return relTypes.isEmpty() ? ">" : "-[" + String.join(", ", relTypes) + "]->";
+    }
+}
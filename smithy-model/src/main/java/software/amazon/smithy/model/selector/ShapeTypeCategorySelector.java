@@ -15,7 +15,11 @@
 
 package software.amazon.smithy.model.selector;
 
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeType;
 
 final class ShapeTypeCategorySelector implements InternalSelector {
     private final Class<? extends Shape> shapeCategory;
@@ -24,6 +28,10 @@ final class ShapeTypeCategorySelector implements InternalSelector {
         this.shapeCategory = shapeCategory;
     }
 
+    Class<? extends Shape> getShapeCategory() {
+        return shapeCategory;
+    }
+
     @Override
     public boolean push(Context ctx, Shape shape, Receiver next) {
         if (shapeCategory.isInstance(shape)) {
@@ -32,4 +40,29 @@ final class ShapeTypeCategorySelector implements InternalSelector {
 
         return true;
     }
+
+    @Override
+    public SelectorPlan.StartSet getStartSet(Model model) {
+        List<ShapeType> types = new ArrayList<>();
+        int size = 0;
+        for (ShapeType type : ShapeType.values()) {
+            if (shapeCategory.isAssignableFrom(type.getShapeClass())) {
+                types.add(type);
+                size += model.toSet(type.getShapeClass()).size();
+            }
+        }
+
+        return new SelectorPlan.StartSet("shape types " + types, size, () -> {
+            List<Shape> result = new ArrayList<>();
+            for (ShapeType type : types) {
+                result.addAll(model.toSet(type.getShapeClass()));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
 }
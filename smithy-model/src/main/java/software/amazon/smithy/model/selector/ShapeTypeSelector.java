@@ -15,8 +15,6 @@
 
 package software.amazon.smithy.model.selector;
 
-import java.util.Collection;
-import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeType;
@@ -39,7 +37,12 @@ final class ShapeTypeSelector implements InternalSelector {
     }
 
     @Override
-    public Function<Model, Collection<? extends Shape>> optimize() {
-        return model -> model.toSet(shapeType.getShapeClass());
+    public SelectorPlan.StartSet getStartSet(Model model) {
+        return new SelectorPlan.StartSet("shape type " + shapeType, model.toSet(shapeType.getShapeClass()));
+    }
+
+    @Override
+    public boolean isFilter() {
+        return true;
     }
 }
@@ -44,4 +44,9 @@ final class TestSelector implements InternalSelector {
         // since it should to continue to receive shapes to test.
         return true;
     }
+
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
 }
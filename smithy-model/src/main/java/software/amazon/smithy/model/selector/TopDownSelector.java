@@ -15,11 +15,16 @@
 
 package software.amazon.smithy.model.selector;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipType;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 
@@ -41,6 +46,22 @@ final class TopDownSelector implements InternalSelector {
         return true;
     }
 
+    @Override
+    public SelectorPlan.StartSet getStartSet(Model model) {
+        // Only services, resources, and operations are traversed.
+        Set<ServiceShape> services = model.toSet(ServiceShape.class);
+        Set<ResourceShape> resources = model.toSet(ResourceShape.class);
+        Set<OperationShape> operations = model.toSet(OperationShape.class);
+        int size = services.size() + resources.size() + operations.size();
+        return new SelectorPlan.StartSet("shape types [service, resource, operation]", size, () -> {
+            List<Shape> result = new ArrayList<>(size);
+            result.addAll(services);
+            result.addAll(resources);
+            result.addAll(operations);
+            return result;
+        });
+    }
+
     // While a model can't contain recursive resource references, a custom
     // validator might use the :topdown selector function on a model with
     // recursive references. Custom validators are applied before resource
@@ -48,4 +48,9 @@ final class VariableStoreSelector implements InternalSelector {
         // Now send the received shape to the next receiver.
         return next.apply(context, shape);
     }
+
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
 }
@@ -16,12 +16,10 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
@@ -37,13 +35,31 @@ final class WrappedSelector implements Selector {
     private static final int PARALLEL_THRESHOLD = 10000;
 
     private final String expression;
+    private final List<InternalSelector> selectors;
     private final InternalSelector delegate;
-    private final Function<Model, Collection<? extends Shape>> optimizer;
 
     WrappedSelector(String expression, List<InternalSelector> selectors) {
         this.expression = expression;
+        this.selectors = selectors;
         delegate = AndSelector.of(selectors);
-        optimizer = selectors.get(0).optimize();
+    }
+
+    /**
+     * Gets the sequence of internal selectors that make up the expression.
+     *
+     * @return Returns the internal selectors.
+     */
+    List<InternalSelector> getInternalSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Gets the internal selector that evaluates the entire expression.
+     *
+     * @return Returns the combined internal selector.
+     */
+    InternalSelector getDelegate() {
+        return delegate;
     }
 
     @Override
@@ -61,15 +77,24 @@ final class WrappedSelector implements Selector {
         return expression.hashCode();
     }
 
+    @Override
+    public SelectorPlan explain(Model model) {
+        return SelectorPlanner.plan(expression, selectors, model, true);
+    }
+
     @Override
     public Set<Shape> select(Model model) {
-        if (isParallel(model)) {
-            return shapes(model).collect(Collectors.toSet());
+        // The plan is only created once and used to evaluate the selector.
+        SelectorPlan plan = explain(model);
+        if (plan.isReversed()) {
+            return selectReversed(model, plan);
+        } else if (isParallel(model)) {
+            return shapes(model, plan).collect(Collectors.toSet());
         } else {
             Set<Shape> result = new HashSet<>();
             // This is more optimized than using shapes() for smaller models
             // that aren't parallelized.
-            pushShapes(model, (ctx, s) -> {
+            pushShapes(model, plan, (ctx, s) -> {
                 result.add(s);
                 return true;
             });
@@ -82,7 +107,7 @@ final class WrappedSelector implements Selector {
         // This is more optimized than using matches() and collecting to a Set
         // because it avoids creating streams and buffering the result of
         // pushing each shape into internal selectors.
-        pushShapes(model, (ctx, s) -> {
+        pushShapes(model, planForward(model), (ctx, s) -> {
             shapeMatchConsumer.accept(new ShapeMatch(s, ctx.getVars()));
             return true;
         });
@@ -90,7 +115,11 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Stream<Shape> shapes(Model model) {
-        return streamStartingShape(model).flatMap(shape -> {
+        return shapes(model, planForward(model));
+    }
+
+    private Stream<Shape> shapes(Model model, SelectorPlan plan) {
+        return streamStartingShape(model, plan).flatMap(shape -> {
             List<Shape> result = new ArrayList<>();
             delegate.push(createContext(model), shape, (ctx, s) -> {
                 result.add(s);
@@ -102,7 +131,7 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Stream<ShapeMatch> matches(Model model) {
-        return streamStartingShape(model).flatMap(shape -> {
+        return streamStartingShape(model, planForward(model)).flatMap(shape -> {
             List<ShapeMatch> result = new ArrayList<>();
             delegate.push(createContext(model), shape, (ctx, s) -> {
                 result.add(new ShapeMatch(s, ctx.getVars()));
@@ -116,20 +145,35 @@ final class WrappedSelector implements Selector {
         return new Context(NeighborProviderIndex.of(model));
     }
 
-    private void pushShapes(Model model, InternalSelector.Receiver acceptor) {
+    // Plans that can't be reversed, used when the variables of each match
+    // or the number of times a shape matched are needed.
+    private SelectorPlan planForward(Model model) {
+        return SelectorPlanner.plan(expression, selectors, model, false);
+    }
+
+    private void pushShapes(Model model, SelectorPlan plan, InternalSelector.Receiver acceptor) {
         Context context = createContext(model);
-        Collection<? extends Shape> shapes = optimizer == null
-                ? model.toSet()
-                : optimizer.apply(model);
-        for (Shape shape : shapes) {
+        for (Shape shape : plan.getStartSet().getShapes()) {
             delegate.push(context.clearVars(), shape, acceptor);
         }
     }
 
-    private Stream<? extends Shape> streamStartingShape(Model model) {
-        Stream<? extends Shape> stream = optimizer != null
-                ? optimizer.apply(model).stream()
-                : model.shapes();
+    private Set<Shape> selectReversed(Model model, SelectorPlan plan) {
+        // Each shape of the start set matches if walking back through the
+        // selector emits any shape.
+        Context context = createContext(model);
+        InternalSelector predicate = plan.getReversePredicate();
+        Set<Shape> result = new HashSet<>();
+        for (Shape shape : plan.getStartSet().getShapes()) {
+            if (context.clearVars().receivedShapes(shape, predicate)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    private Stream<? extends Shape> streamStartingShape(Model model, SelectorPlan plan) {
+        Stream<? extends Shape> stream = plan.getStartSet().getShapes().stream();
 
         // Use a parallel stream for larger models.
         if (isParallel(model)) {
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.utils.IoUtils;
+import software.amazon.smithy.utils.SmithyBuilder;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Deserializes a {@link Model} that was serialized using
+ * {@link BinaryModelSerializer}.
+ *
+ * <p>Shapes are created directly from their serialized records without
+ * creating intermediate {@link Node} values. Trait values are decoded
+ * directly into the node that is given to the {@link TraitFactory} when
+ * the trait is created, and traits that are not known to the trait
+ * factory are created as {@link DynamicTrait}s.
+ *
+ * <p>The deserialized model is not validated.
+ */
+@SmithyUnstableApi
+public final class BinaryModelDeserializer {
+
+    private static final ShapeType[] SHAPE_TYPES = ShapeType.values();
+
+    private final TraitFactory traitFactory;
+
+    private BinaryModelDeserializer(Builder builder) {
+        traitFactory = builder.traitFactory != null ? builder.traitFactory : LazyTraitFactoryHolder.INSTANCE;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Deserializes a model from a byte array.
+     *
+     * @param bytes Serialized model to deserialize.
+     * @return Returns the deserialized model.
+     * @throws IllegalArgumentException if the bytes are not a serialized model
+     *   or were serialized using a different format version.
+     */
+    public Model deserialize(byte[] bytes) {
+        return new Reader(bytes, traitFactory).readModel();
+    }
+
+    /**
+     * Deserializes a model from an input stream.
+     *
+     * <p>The input stream is not closed.
+     *
+     * @param in Input stream to read the serialized model from.
+     * @return Returns the deserialized model.
+     * @throws IllegalArgumentException if the stream does not contain a
+     *   serialized model or it was serialized using a different format version.
+     * @throws java.io.UncheckedIOException if the stream cannot be read.
+     */
+    public Model deserialize(InputStream in) {
+        return deserialize(IoUtils.toByteArray(in));
+    }
+
+    private static AbstractShapeBuilder<?, ?> createBuilder(ShapeType type) {
+        switch (type) {
+            case BLOB:
+                return BlobShape.builder();
+            case BOOLEAN:
+                return BooleanShape.builder();
+            case STRING:
+                return StringShape.builder();
+            case TIMESTAMP:
+                return TimestampShape.builder();
+            case BYTE:
+                return ByteShape.builder();
+            case SHORT:
+                return ShortShape.builder();
+            case INTEGER:
+                return IntegerShape.builder();
+            case LONG:
+                return LongShape.builder();
+            case FLOAT:
+                return FloatShape.builder();
+            case DOCUMENT:
+                return DocumentShape.builder();
+            case DOUBLE:
+                return DoubleShape.builder();
+            case BIG_DECIMAL:
+                return BigDecimalShape.builder();
+            case BIG_INTEGER:
+                return BigIntegerShape.builder();
+            case LIST:
+                return ListShape.builder();
+            case SET:
+                return SetShape.builder();
+            case MAP:
+                return MapShape.builder();
+            case STRUCTURE:
+                return StructureShape.builder();
+            case UNION:
+                return UnionShape.builder();
+            case SERVICE:
+                return ServiceShape.builder();
+            case RESOURCE:
+                return ResourceShape.builder();
+            case OPERATION:
+                return OperationShape.builder();
+            default:
+                throw new IllegalArgumentException("Invalid binary Smithy model shape type: " + type);
+        }
+    }
+
+    private static final class LazyTraitFactoryHolder {
+        static final TraitFactory INSTANCE = TraitFactory.createServiceFactory(
+                BinaryModelDeserializer.class.getClassLoader());
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private final TraitFactory traitFactory;
+        private int position;
+        private String[] strings;
+        private ShapeId[] ids;
+        private String lastFile;
+
+        Reader(byte[] bytes, TraitFactory traitFactory) {
+            this.bytes = bytes;
+            this.traitFactory = traitFactory;
+        }
+
+        Model readModel() {
+            try {
+                if (bytes.length < 4 || readInt() != BinaryModelSerializer.MAGIC) {
+                    throw new IllegalArgumentException("Not a binary Smithy model");
+                }
+
+                int version = readVarInt();
+                if (version != BinaryModelSerializer.VERSION) {
+                    throw new IllegalArgumentException(String.format(
+                            "Unsupported binary Smithy model version %d; expected %d",
+                            version, BinaryModelSerializer.VERSION));
+                }
+
+                strings = new String[readVarInt()];
+                for (int i = 0; i < strings.length; i++) {
+                    int length = readVarInt();
+                    strings[i] = new String(bytes, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                }
+
+                ids = new ShapeId[readVarInt()];
+                for (int i = 0; i < ids.length; i++) {
+                    int parent = readVarInt();
+                    ids[i] = parent == 0
+                             ? ShapeId.fromParts(readString(), readString())
+                             : ids[parent - 1].withMember(readString());
+                }
+
+                Model.Builder builder = Model.builder();
+                int metadataCount = readVarInt();
+                for (int i = 0; i < metadataCount; i++) {
+                    String key = readString();
+                    builder.putMetadataProperty(key, readNode());
+                }
+
+                if (bytes[position++] != 0) {
+                    builder.addShapes(Prelude.getPreludeModel());
+                }
+
+                int shapeCount = readVarInt();
+                List<Shape> shapes = new ArrayList<>(shapeCount);
+                for (int i = 0; i < shapeCount; i++) {
+                    readShape(shapes);
+                }
+
+                return builder.addShapes(shapes).build();
+            } catch (IndexOutOfBoundsException | ClassCastException | NegativeArraySizeException e) {
+                throw new IllegalArgumentException("Invalid binary Smithy model: " + e.getMessage(), e);
+            }
+        }
+
+        // Reads a shape and adds it and its members to the given list.
+        private void readShape(List<Shape> shapes) {
+            ShapeType type = SHAPE_TYPES[readVarInt()];
+            AbstractShapeBuilder<?, ?> builder = createBuilder(type);
+            ShapeId id = readId();
+            builder.id(id).source(readLocation());
+            readTraits(builder, id);
+
+            int memberCount = readVarInt();
+            for (int i = 0; i < memberCount; i++) {
+                ShapeId memberId = readId();
+                MemberShape.Builder member = MemberShape.builder().id(memberId).target(readId());
+                member.source(readLocation());
+                readTraits(member, memberId);
+                MemberShape memberShape = member.build();
+                builder.addMember(memberShape);
+                shapes.add(memberShape);
+            }
+
+            switch (type) {
+                case OPERATION:
+                    OperationShape.Builder operation = (OperationShape.Builder) builder;
+                    operation.input(readOptionalId());
+                    operation.output(readOptionalId());
+                    for (int i = readVarInt(); i > 0; i--) {
+                        operation.addError(readId());
+                    }
+                    break;
+                case RESOURCE:
+                    ResourceShape.Builder resource = (ResourceShape.Builder) builder;
+                    for (int i = readVarInt(); i > 0; i--) {
+                        String name = readString();
+                        resource.addIdentifier(name, readId());
+                    }
+                    resource.put(readOptionalId());
+                    resource.create(readOptionalId());
+                    resource.read(readOptionalId());
+                    resource.update(readOptionalId());
+                    resource.delete(readOptionalId());
+                    resource.list(readOptionalId());
+                    for (int i = readVarInt(); i > 0; i--) {
+                        resource.addOperation(readId());
+                    }
+                    for (int i = readVarInt(); i > 0; i--) {
+                        resource.addCollectionOperation(readId());
+                    }
+                    for (int i = readVarInt(); i > 0; i--) {
+                        resource.addResource(readId());
+                    }
+                    break;
+                case SERVICE:
+                    ServiceShape.Builder service = (ServiceShape.Builder) builder;
+                    service.version(readString());
+                    for (int i = readVarInt(); i > 0; i--) {
+                        service.addOperation(readId());
+                    }
+                    for (int i = readVarInt(); i > 0; i--) {
+                        service.addResource(readId());
+                    }
+                    for (int i = readVarInt(); i > 0; i--) {
+                        ShapeId from = readId();
+                        service.putRename(from, readString());
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            shapes.add(builder.build());
+        }
+
+        private void readTraits(AbstractShapeBuilder<?, ?> builder, ShapeId target) {
+            for (int i = readVarInt(); i > 0; i--) {
+                ShapeId traitId = readId();
+                Node value = readNode();
+                Trait trait = traitFactory.createTrait(traitId, target, value)
+                        .orElseGet(() -> new DynamicTrait(traitId, value));
+                builder.addTrait(trait);
+            }
+        }
+
+        private Node readNode() {
+            int tag = bytes[position++];
+            switch (tag) {
+                case BinaryModelSerializer.NULL:
+                    return new NullNode(readLocation());
+                case BinaryModelSerializer.TRUE:
+                    return new BooleanNode(true, readLocation());
+                case BinaryModelSerializer.FALSE:
+                    return new BooleanNode(false, readLocation());
+                case BinaryModelSerializer.STRING:
+                    String value = readString();
+                    return new StringNode(value, readLocation());
+                case BinaryModelSerializer.INTEGER:
+                    int intValue = (int) readVarLong();
+                    return new NumberNode(intValue, readLocation());
+                case BinaryModelSerializer.LONG:
+                    long longValue = readVarLong();
+                    return new NumberNode(longValue, readLocation());
+                case BinaryModelSerializer.FLOAT:
+                    float floatValue = Float.intBitsToFloat(readInt());
+                    return new NumberNode(floatValue, readLocation());
+                case BinaryModelSerializer.DOUBLE:
+                    double doubleValue = Double.longBitsToDouble(readLong());
+                    return new NumberNode(doubleValue, readLocation());
+                case BinaryModelSerializer.BIG_INTEGER:
+                    BigInteger bigInteger = new BigInteger(readString());
+                    return new NumberNode(bigInteger, readLocation());
+                case BinaryModelSerializer.BIG_DECIMAL:
+                    BigDecimal bigDecimal = new BigDecimal(readString());
+                    return new NumberNode(bigDecimal, readLocation());
+                case BinaryModelSerializer.ARRAY:
+                    int size = readVarInt();
+                    List<Node> elements = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        elements.add(readNode());
+                    }
+                    return new ArrayNode(elements, readLocation());
+                case BinaryModelSerializer.OBJECT:
+                    int memberCount = readVarInt();
+                    Map<StringNode, Node> members = new LinkedHashMap<>(memberCount + (memberCount / 3) + 1);
+                    for (int i = 0; i < memberCount; i++) {
+                        String key = readString();
+                        StringNode keyNode = new StringNode(key, readLocation());
+                        members.put(keyNode, readNode());
+                    }
+                    return new ObjectNode(members, readLocation());
+                default:
+                    throw new IllegalArgumentException("Invalid binary Smithy model node tag: " + tag);
+            }
+        }
+
+        private SourceLocation readLocation() {
+            int file = readVarInt();
+            if (file != 0) {
+                lastFile = strings[file - 1];
+            }
+            int line = readVarInt();
+            return new SourceLocation(lastFile, line, readVarInt());
+        }
+
+        private String readString() {
+            return strings[readVarInt()];
+        }
+
+        private ShapeId readId() {
+            return ids[readVarInt()];
+        }
+
+        private ShapeId readOptionalId() {
+            int index = readVarInt();
+            return index == 0 ? null : ids[index - 1];
+        }
+
+        private int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private long readLong() {
+            long high = readInt();
+            return (high << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Invalid binary Smithy model: malformed variable-length integer");
+        }
+
+        private long readVarLong() {
+            long encoded = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = bytes[position++];
+                encoded |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return (encoded >>> 1) ^ -(encoded & 1);
+                }
+            }
+            throw new IllegalArgumentException("Invalid binary Smithy model: malformed variable-length integer");
+        }
+    }
+
+    /**
+     * Builds a {@link BinaryModelDeserializer}.
+     */
+    public static final class Builder implements SmithyBuilder<BinaryModelDeserializer> {
+
+        private TraitFactory traitFactory;
+
+        private Builder() {}
+
+        @Override
+        public BinaryModelDeserializer build() {
+            return new BinaryModelDeserializer(this);
+        }
+
+        /**
+         * Sets the trait factory used to create traits.
+         *
+         * <p>A trait factory that discovers traits using the class loader
+         * that loaded this class is used by default.
+         *
+         * @param traitFactory Trait factory to use.
+         * @return Returns the builder.
+         */
+        public Builder traitFactory(TraitFactory traitFactory) {
+            this.traitFactory = traitFactory;
+            return this;
+        }
+    }
+}
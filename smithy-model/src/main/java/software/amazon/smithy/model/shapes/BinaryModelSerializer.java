@@ -0,0 +1,430 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.utils.SmithyUnstableApi;
+
+/**
+ * Serializes a {@link Model} to a compact, versioned binary format.
+ *
+ * <p>The binary format is intended to be used for caching models and for
+ * sharing models between processes. It is smaller than the JSON AST and
+ * can be loaded using {@link BinaryModelDeserializer} without parsing JSON
+ * or creating {@link Node} values for anything other than trait values and
+ * metadata.
+ *
+ * <p>Unlike {@link ModelSerializer}, the source location of every shape,
+ * trait, and node is serialized. Prelude shapes are only serialized if the
+ * model does not contain the unmodified prelude. Deserializing the result
+ * creates a model that is equal to the model that was serialized.
+ *
+ * <p>A serialized model starts with a magic number and a format version,
+ * followed by a pool of every string used in the model, a table of every
+ * shape ID used in the model, the metadata of the model, and a record for
+ * each shape. Integers are variable-length encoded, and strings and shape
+ * IDs are referred to by their position in the string pool and shape ID
+ * table. The format is only guaranteed to be readable by the same version
+ * of Smithy that wrote it.
+ */
+@SmithyUnstableApi
+public final class BinaryModelSerializer {
+
+    // Identifies a serialized model. Bytes are "SMBM".
+    static final int MAGIC = 0x534D424D;
+
+    // The version must be changed any time the format changes, including
+    // when constants are added to ShapeType since shape types are encoded
+    // using their ordinal.
+    static final int VERSION = 1;
+
+    // Tags used to identify the type of each serialized node.
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int STRING = 3;
+    static final int INTEGER = 4;
+    static final int LONG = 5;
+    static final int FLOAT = 6;
+    static final int DOUBLE = 7;
+    static final int BIG_INTEGER = 8;
+    static final int BIG_DECIMAL = 9;
+    static final int ARRAY = 10;
+    static final int OBJECT = 11;
+
+    /**
+     * Serializes a model to a byte array.
+     *
+     * @param model Model to serialize.
+     * @return Returns the serialized model.
+     */
+    public byte[] serialize(Model model) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialize(model, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Serializes a model to an output stream.
+     *
+     * <p>The output stream is not closed.
+     *
+     * @param model Model to serialize.
+     * @param out Output stream to write to.
+     * @throws UncheckedIOException if the model cannot be written.
+     */
+    public void serialize(Model model, OutputStream out) {
+        Writer writer = new Writer();
+        writer.writeModel(model);
+
+        try {
+            writer.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Writes the body of the model while interning strings and shape IDs,
+    // then writes the pools that the body refers to ahead of it.
+    private static final class Writer {
+
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> stringPool = new ArrayList<>();
+        private final Map<ShapeId, Integer> ids = new HashMap<>();
+        private final Encoder idTable = new Encoder();
+        private final Encoder body = new Encoder();
+        private int lastFile = -1;
+
+        void writeModel(Model model) {
+            Map<String, Node> metadata = model.getMetadata();
+            body.writeVarInt(metadata.size());
+            for (Map.Entry<String, Node> entry : metadata.entrySet()) {
+                body.writeVarInt(intern(entry.getKey()));
+                writeNode(entry.getValue());
+            }
+
+            // The prelude is omitted if the model contains the unmodified
+            // prelude, and it is added back when the model is deserialized.
+            boolean omitPrelude = containsPrelude(model);
+            body.writeByte(omitPrelude ? 1 : 0);
+
+            // Shapes are sorted so that the same model is always written
+            // in the same way. Members are written inside their containers.
+            List<Shape> shapes = new ArrayList<>();
+            for (Shape shape : model.toSet()) {
+                if (!shape.isMemberShape() && !(omitPrelude && Prelude.isPreludeShape(shape))) {
+                    shapes.add(shape);
+                }
+            }
+            shapes.sort(null);
+
+            body.writeVarInt(shapes.size());
+            for (Shape shape : shapes) {
+                writeShape(shape);
+            }
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            Encoder header = new Encoder();
+            header.writeInt(MAGIC);
+            header.writeVarInt(VERSION);
+            header.writeVarInt(stringPool.size());
+            for (String value : stringPool) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                header.writeVarInt(bytes.length);
+                header.writeBytes(bytes, bytes.length);
+            }
+            header.writeVarInt(ids.size());
+
+            out.write(header.buffer, 0, header.size);
+            out.write(idTable.buffer, 0, idTable.size);
+            out.write(body.buffer, 0, body.size);
+        }
+
+        private boolean containsPrelude(Model model) {
+            for (Shape shape : Prelude.getPreludeModel().toSet()) {
+                if (!model.getShape(shape.getId()).filter(shape::equals).isPresent()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void writeShape(Shape shape) {
+            body.writeVarInt(shape.getType().ordinal());
+            body.writeVarInt(intern(shape.getId()));
+            writeLocation(shape.getSourceLocation());
+            writeTraits(shape);
+
+            Collection<MemberShape> members = shape.members();
+            body.writeVarInt(members.size());
+            for (MemberShape member : members) {
+                body.writeVarInt(intern(member.getId()));
+                body.writeVarInt(intern(member.getTarget()));
+                writeLocation(member.getSourceLocation());
+                writeTraits(member);
+            }
+
+            switch (shape.getType()) {
+                case OPERATION:
+                    OperationShape operation = (OperationShape) shape;
+                    writeOptionalId(operation.getInput());
+                    writeOptionalId(operation.getOutput());
+                    writeIds(operation.getErrors());
+                    break;
+                case RESOURCE:
+                    ResourceShape resource = (ResourceShape) shape;
+                    body.writeVarInt(resource.getIdentifiers().size());
+                    for (Map.Entry<String, ShapeId> entry : resource.getIdentifiers().entrySet()) {
+                        body.writeVarInt(intern(entry.getKey()));
+                        body.writeVarInt(intern(entry.getValue()));
+                    }
+                    writeOptionalId(resource.getPut());
+                    writeOptionalId(resource.getCreate());
+                    writeOptionalId(resource.getRead());
+                    writeOptionalId(resource.getUpdate());
+                    writeOptionalId(resource.getDelete());
+                    writeOptionalId(resource.getList());
+                    writeIds(resource.getOperations());
+                    writeIds(resource.getCollectionOperations());
+                    writeIds(resource.getResources());
+                    break;
+                case SERVICE:
+                    ServiceShape service = (ServiceShape) shape;
+                    body.writeVarInt(intern(service.getVersion()));
+                    writeIds(service.getOperations());
+                    writeIds(service.getResources());
+                    body.writeVarInt(service.getRename().size());
+                    for (Map.Entry<ShapeId, String> entry : service.getRename().entrySet()) {
+                        body.writeVarInt(intern(entry.getKey()));
+                        body.writeVarInt(intern(entry.getValue()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void writeTraits(Shape shape) {
+            Map<ShapeId, Trait> traits = shape.getAllTraits();
+            body.writeVarInt(traits.size());
+            for (Trait trait : traits.values()) {
+                body.writeVarInt(intern(trait.toShapeId()));
+                // The trait value is written with the location of the trait
+                // since traits are created using the location of their value.
+                writeNode(trait.toNode(), trait.getSourceLocation());
+            }
+        }
+
+        private void writeNode(Node node) {
+            writeNode(node, node.getSourceLocation());
+        }
+
+        private void writeNode(Node node, SourceLocation location) {
+            switch (node.getType()) {
+                case NULL:
+                    body.writeByte(NULL);
+                    break;
+                case BOOLEAN:
+                    body.writeByte(node.expectBooleanNode().getValue() ? TRUE : FALSE);
+                    break;
+                case STRING:
+                    body.writeByte(STRING);
+                    body.writeVarInt(intern(node.expectStringNode().getValue()));
+                    break;
+                case NUMBER:
+                    writeNumber(node.expectNumberNode().getValue());
+                    break;
+                case ARRAY:
+                    List<Node> elements = node.expectArrayNode().getElements();
+                    body.writeByte(ARRAY);
+                    body.writeVarInt(elements.size());
+                    for (Node element : elements) {
+                        writeNode(element);
+                    }
+                    break;
+                default:
+                    Map<StringNode, Node> members = node.expectObjectNode().getMembers();
+                    body.writeByte(OBJECT);
+                    body.writeVarInt(members.size());
+                    for (Map.Entry<StringNode, Node> entry : members.entrySet()) {
+                        body.writeVarInt(intern(entry.getKey().getValue()));
+                        writeLocation(entry.getKey().getSourceLocation());
+                        writeNode(entry.getValue());
+                    }
+                    break;
+            }
+
+            writeLocation(location);
+        }
+
+        // Numbers keep their Java type since it affects how they are
+        // converted to strings and compared.
+        private void writeNumber(Number value) {
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                body.writeByte(INTEGER);
+                body.writeVarLong(value.intValue());
+            } else if (value instanceof Long) {
+                body.writeByte(LONG);
+                body.writeVarLong(value.longValue());
+            } else if (value instanceof Float) {
+                body.writeByte(FLOAT);
+                body.writeInt(Float.floatToIntBits(value.floatValue()));
+            } else if (value instanceof Double) {
+                body.writeByte(DOUBLE);
+                body.writeLong(Double.doubleToLongBits(value.doubleValue()));
+            } else if (value instanceof BigInteger) {
+                body.writeByte(BIG_INTEGER);
+                body.writeVarInt(intern(value.toString()));
+            } else {
+                body.writeByte(BIG_DECIMAL);
+                body.writeVarInt(intern(value instanceof BigDecimal ? value.toString() : String.valueOf(value)));
+            }
+        }
+
+        // Locations usually share the file of the previously written
+        // location, so the file is only written when it changes.
+        private void writeLocation(SourceLocation location) {
+            int file = intern(location.getFilename());
+            if (file == lastFile) {
+                body.writeVarInt(0);
+            } else {
+                body.writeVarInt(file + 1);
+                lastFile = file;
+            }
+            body.writeVarInt(location.getLine());
+            body.writeVarInt(location.getColumn());
+        }
+
+        private void writeOptionalId(Optional<ShapeId> id) {
+            body.writeVarInt(id.map(value -> intern(value) + 1).orElse(0));
+        }
+
+        private void writeIds(Collection<ShapeId> values) {
+            body.writeVarInt(values.size());
+            for (ShapeId value : values) {
+                body.writeVarInt(intern(value));
+            }
+        }
+
+        private int intern(String value) {
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = stringPool.size();
+                strings.put(value, index);
+                stringPool.add(value);
+            }
+            return index;
+        }
+
+        // Member IDs are written relative to the ID of their container,
+        // which is always added to the table before the member.
+        private int intern(ShapeId id) {
+            Integer index = ids.get(id);
+            if (index == null) {
+                if (id.getMember().isPresent()) {
+                    int parent = intern(id.withoutMember());
+                    idTable.writeVarInt(parent + 1);
+                    idTable.writeVarInt(intern(id.getMember().get()));
+                } else {
+                    idTable.writeVarInt(0);
+                    idTable.writeVarInt(intern(id.getNamespace()));
+                    idTable.writeVarInt(intern(id.getName()));
+                }
+                index = ids.size();
+                ids.put(id, index);
+            }
+            return index;
+        }
+    }
+
+    private static final class Encoder {
+
+        private byte[] buffer = new byte[1024];
+        private int size;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, 0, buffer, size, length);
+            size += length;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        // Writes an unsigned integer using 7 bits per byte, with the high
+        // bit of each byte set when more bytes follow.
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        // Writes a signed long using zig-zag encoding so that small negative
+        // numbers are also written using few bytes.
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long encoded = (value << 1) ^ (value >> 63);
+            while ((encoded & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((encoded & 0x7F) | 0x80);
+                encoded >>>= 7;
+            }
+            buffer[size++] = (byte) encoded;
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+            }
+        }
+    }
+}
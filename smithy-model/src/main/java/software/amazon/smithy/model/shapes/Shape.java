@@ -15,8 +15,10 @@
 
 package software.amazon.smithy.model.shapes;
 
+import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,6 +47,7 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
 
     private final ShapeId id;
     private final Map<ShapeId, Trait> traits;
+    private final transient Map<Class<? extends Trait>, Trait> traitsByClass;
     private final transient SourceLocation source;
     private final transient ShapeType type;
 
@@ -62,9 +65,25 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
         source = builder.getSourceLocation();
         id = SmithyBuilder.requiredState("id", builder.getId());
         traits = builder.copyTraits();
+        traitsByClass = indexTraitsByClass(traits);
         validateShapeId(expectMemberSegments);
     }
 
+    // Indexes the first trait of each concrete trait class so that traits
+    // can be found by class without scanning every trait of the shape.
+    private static Map<Class<? extends Trait>, Trait> indexTraitsByClass(Map<ShapeId, Trait> traits) {
+        if (traits.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Class<? extends Trait>, Trait> result = new IdentityHashMap<>(traits.size());
+        for (Trait trait : traits.values()) {
+            result.putIfAbsent(trait.getClass(), trait);
+        }
+
+        return result;
+    }
+
     /**
      * Validates that a shape ID has or does not have a member.
      *
@@ -155,7 +174,7 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
      * @return Returns true if the shape has the given trait.
      */
     public boolean hasTrait(Class<? extends Trait> traitClass) {
-        return getTrait(traitClass).isPresent();
+        return getTraitOrNull(traitClass) != null;
     }
 
     /**
@@ -190,15 +209,26 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
      * @param <T> The instance of the trait to retrieve.
      * @return Returns the matching trait.
      */
-    @SuppressWarnings("unchecked")
     public final <T extends Trait> Optional<T> getTrait(Class<T> traitClass) {
+        return Optional.ofNullable(getTraitOrNull(traitClass));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Trait> T getTraitOrNull(Class<T> traitClass) {
+        // A final class can only match traits of exactly that class, so the
+        // trait is found with a single lookup. Other classes can match any
+        // subclass, which requires checking each trait in order.
+        if (Modifier.isFinal(traitClass.getModifiers())) {
+            return (T) traitsByClass.get(traitClass);
+        }
+
         for (Trait trait : traits.values()) {
             if (traitClass.isInstance(trait)) {
-                return Optional.of((T) trait);
+                return (T) trait;
             }
         }
 
-        return Optional.empty();
+        return null;
     }
 
     /**
@@ -15,8 +15,14 @@
 
 package software.amazon.smithy.model.transform;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -37,9 +43,14 @@ import software.amazon.smithy.model.shapes.Shape;
  * as needing to be removed. The MarkAndSweep then finds all shapes
  * that have targets to them but is only targeted by shapes that have been
  * marked for removal. These matching shapes are then marked for removal as
- * well, potentially freeing up other shapes to be marked for removal in the
- * next round. This process continues until no new shapes are marked in a
- * round.
+ * well, potentially freeing up other shapes to be marked for removal. This
+ * process continues until no new shapes are marked in a round.
+ *
+ * <p>Shapes are swept using a worklist rather than by repeatedly scanning
+ * the model: the number of distinct shapes that refer to each shape is
+ * computed once up front, and each time a shape is marked, the reference
+ * count of every shape it refers to is decremented. A shape is marked when
+ * its count reaches zero. This visits each relationship at most once.
  */
 final class MarkAndSweep {
 
@@ -59,18 +70,8 @@ final class MarkAndSweep {
         do {
             currentSize = context.getMarkedForRemoval().size();
             marker.accept(context);
-            // Find shapes that are only referenced by a shape that has been marked for removal.
-            model.shapes().filter(shape -> !shape.isMemberShape()).forEach(shape -> {
-                if (!context.getMarkedForRemoval().contains(shape)) {
-                    Set<Shape> targetedFrom = context.getTargetedFrom(shape);
-                    if (!targetedFrom.isEmpty()) {
-                        targetedFrom.removeAll(context.getMarkedForRemoval());
-                        if (targetedFrom.isEmpty()) {
-                            context.markShape(shape);
-                        }
-                    }
-                }
-            });
+            // Mark shapes that are only referenced by shapes that have been marked for removal.
+            context.sweep();
         } while (currentSize != context.getMarkedForRemoval().size());
 
         return context.getMarkedForRemoval();
@@ -86,10 +87,30 @@ final class MarkAndSweep {
         private final Set<Shape> markedForRemoval = new HashSet<>();
         private final Predicate<Shape> sweepFilter;
 
+        // Shapes that have been marked but whose references have not been released.
+        private final Deque<Shape> pending = new ArrayDeque<>();
+
+        // The distinct non-member shapes each shape refers to, and the number of
+        // unmarked shapes that still refer to each non-member shape.
+        private final Map<Shape, List<Shape>> references = new HashMap<>();
+        private final Map<Shape, int[]> referenceCounts = new HashMap<>();
+
         MarkerContext(NeighborProvider reverseProvider, Model model, Predicate<Shape> sweepFilter) {
             this.reverseProvider = reverseProvider;
             this.model = model;
             this.sweepFilter = sweepFilter;
+
+            for (Shape shape : model.toSet()) {
+                if (!shape.isMemberShape()) {
+                    Set<Shape> targetedFrom = getTargetedFrom(shape);
+                    if (!targetedFrom.isEmpty()) {
+                        referenceCounts.put(shape, new int[]{targetedFrom.size()});
+                        for (Shape referrer : targetedFrom) {
+                            references.computeIfAbsent(referrer, s -> new ArrayList<>()).add(shape);
+                        }
+                    }
+                }
+            }
         }
 
         /**
@@ -113,8 +134,33 @@ final class MarkAndSweep {
          */
         void markShape(Shape shape) {
             if (sweepFilter.test(shape)) {
-                markedForRemoval.add(shape);
-                markedForRemoval.addAll(shape.members());
+                mark(shape);
+                for (Shape member : shape.members()) {
+                    mark(member);
+                }
+            }
+        }
+
+        private void mark(Shape shape) {
+            if (markedForRemoval.add(shape)) {
+                pending.add(shape);
+            }
+        }
+
+        /**
+         * Releases the references held by every marked shape, marking any
+         * shape that is no longer referenced by an unmarked shape.
+         */
+        void sweep() {
+            while (!pending.isEmpty()) {
+                List<Shape> targets = references.get(pending.poll());
+                if (targets != null) {
+                    for (Shape target : targets) {
+                        if (--referenceCounts.get(target)[0] == 0 && !markedForRemoval.contains(target)) {
+                            markShape(target);
+                        }
+                    }
+                }
             }
         }
 
@@ -0,0 +1,593 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.JsonTokenHandler;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeHandler;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.NodeValidatorCompiler.CompiledShape;
+import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
+import software.amazon.smithy.utils.SmithyBuilder;
+
+/**
+ * Validates JSON values against a shape without creating {@link Node} values.
+ *
+ * <p>The events emitted by this validator are the same events that
+ * {@link NodeValidationVisitor} emits for the {@link Node} parsed from the
+ * same JSON text, including the events emitted by the built-in
+ * {@link software.amazon.smithy.model.validation.node.NodeValidatorPlugin}s
+ * (e.g., for the length, range, pattern, and enum traits). Values are
+ * validated as they're read: scalars are validated as soon as they're read,
+ * and the members and elements of aggregate values are validated without
+ * collecting them into nodes. Nodes are only created for the aggregate
+ * values that plugins need in their entirety (e.g., a list with a length
+ * trait). Unlike a parsed node, every occurrence of a duplicate object
+ * member is validated.
+ *
+ * <p>JSON text is validated using {@link #validate(String)} or
+ * {@link #validate(Reader)}, while values read by any other JSON reader can
+ * be validated by giving their tokens to the handler created by
+ * {@link #createTokenHandler}.
+ *
+ * <p>Shapes are compiled the first time they're encountered and reused for
+ * every value validated by the same validator. This class is not
+ * thread-safe.
+ */
+public final class JsonValueValidator {
+
+    private final NodeValidatorCompiler compiler;
+    private final Shape shape;
+    private final String eventId;
+    private final ShapeId eventShapeId;
+    private final String startingContext;
+
+    private JsonValueValidator(Builder builder) {
+        Model model = SmithyBuilder.requiredState("model", builder.model);
+        shape = SmithyBuilder.requiredState("shape", builder.shape);
+        compiler = new NodeValidatorCompiler(model, builder.timestampValidationStrategy, builder.allowBoxedNull);
+        eventId = builder.eventId == null ? Validator.MODEL_ERROR : builder.eventId;
+        eventShapeId = builder.eventShapeId;
+        startingContext = builder.contextText == null ? "" : builder.contextText;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Validates JSON text.
+     *
+     * @param json JSON text to validate.
+     * @return Returns the validation events of the value.
+     * @throws software.amazon.smithy.model.loader.ModelSyntaxException if the JSON text is invalid.
+     */
+    public List<ValidationEvent> validate(String json) {
+        List<ValidationEvent> events = new ArrayList<>();
+        NodeHandler.parse("", json, createTokenHandler(events));
+        return events;
+    }
+
+    /**
+     * Validates JSON text read from a reader.
+     *
+     * @param reader Reader to validate. The reader is not closed.
+     * @return Returns the validation events of the value.
+     * @throws software.amazon.smithy.model.loader.ModelSyntaxException if the JSON text is invalid.
+     * @throws java.io.UncheckedIOException if the reader cannot be read.
+     */
+    public List<ValidationEvent> validate(Reader reader) {
+        List<ValidationEvent> events = new ArrayList<>();
+        NodeHandler.parse("", reader, createTokenHandler(events));
+        return events;
+    }
+
+    /**
+     * Creates a handler that validates a single value from its tokens.
+     *
+     * <p>Events are added to the given list as the tokens are received,
+     * and the list contains every event of the value once the last token
+     * of the value has been received. Events that were added to the list
+     * for a union value can be removed if a later member of the union makes
+     * the union invalid.
+     *
+     * @param events List that receives validation events.
+     * @return Returns the created handler.
+     */
+    public JsonTokenHandler createTokenHandler(List<ValidationEvent> events) {
+        return new TokenValidator(Objects.requireNonNull(events));
+    }
+
+    private enum Kind { SKIP, CAPTURE, LIST, MAP, STRUCTURE, UNION }
+
+    /**
+     * An aggregate value that is being read.
+     */
+    private static final class Frame {
+        private Kind kind;
+        private SourceLocation location;
+
+        // The shape of the value, or the shape to validate a captured value against.
+        private CompiledShape shape;
+        private CompiledShape key;
+        private CompiledShape element;
+
+        // The shape of the value of the current member, or null if the value is skipped.
+        private CompiledShape pending;
+        private int index;
+        private int mark;
+        private boolean invalidUnion;
+        private boolean[] present = new boolean[8];
+
+        // Values collected for aggregates that are captured as nodes.
+        private List<Node> elements;
+        private Map<StringNode, Node> members;
+        private StringNode capturedKey;
+
+        private void reset(SourceLocation location) {
+            this.location = location;
+            kind = Kind.SKIP;
+            shape = null;
+            key = null;
+            element = null;
+            pending = null;
+            index = 0;
+            invalidUnion = false;
+            elements = null;
+            members = null;
+            capturedKey = null;
+        }
+
+        private void capture(boolean object) {
+            kind = Kind.CAPTURE;
+            if (object) {
+                members = new LinkedHashMap<>();
+            } else {
+                elements = new ArrayList<>();
+            }
+        }
+
+        private void add(Node value) {
+            if (members != null) {
+                members.put(capturedKey, value);
+            } else {
+                elements.add(value);
+            }
+        }
+
+        private Node build() {
+            return members != null ? new ObjectNode(members, location) : new ArrayNode(elements, location);
+        }
+    }
+
+    private final class TokenValidator implements JsonTokenHandler {
+        private final List<ValidationEvent> events;
+        private final NodeValidatorCompiler.Evaluation evaluation;
+        private final CompiledShape root;
+        private final List<Frame> frames = new ArrayList<>();
+        private int depth;
+        private boolean started;
+
+        private TokenValidator(List<ValidationEvent> events) {
+            this.events = events;
+            evaluation = new NodeValidatorCompiler.Evaluation(eventId, eventShapeId, startingContext, events);
+            root = compiler.compile(shape);
+        }
+
+        @Override
+        public void startObject(SourceLocation location) {
+            startAggregate(true, location);
+        }
+
+        @Override
+        public void startMember(String name, SourceLocation location) {
+            Frame frame = frames.get(depth - 1);
+            switch (frame.kind) {
+                case CAPTURE:
+                    frame.capturedKey = new StringNode(name, location);
+                    break;
+                case MAP:
+                    evaluation.pushMapKey(name);
+                    frame.key.validate(new StringNode(name, location), evaluation);
+                    evaluation.pop();
+                    evaluation.push(name);
+                    frame.pending = frame.element;
+                    break;
+                case STRUCTURE:
+                    startStructureMember(frame, name);
+                    break;
+                case UNION:
+                    startUnionMember(frame, name);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void startStructureMember(Frame frame, String name) {
+            frame.pending = frame.shape.getMembers().get(name);
+            if (frame.pending == null) {
+                String message = String.format(
+                        "Invalid structure member `%s` found for `%s`", name, frame.shape.getShape().getId());
+                evaluation.add(message, Severity.WARNING, frame.location);
+                return;
+            }
+
+            List<MemberShape> required = frame.shape.getRequiredMembers();
+            for (int i = 0; i < required.size(); i++) {
+                if (required.get(i).getMemberName().equals(name)) {
+                    frame.present[i] = true;
+                }
+            }
+            evaluation.push(name);
+        }
+
+        private void startUnionMember(Frame frame, String name) {
+            if (frame.invalidUnion || ++frame.index > 1) {
+                // A union with more than one member is invalid, and its members aren't validated.
+                if (!frame.invalidUnion) {
+                    events.subList(frame.mark, events.size()).clear();
+                    frame.invalidUnion = true;
+                }
+                frame.pending = null;
+                return;
+            }
+
+            frame.pending = frame.shape.getMembers().get(name);
+            if (frame.pending == null) {
+                evaluation.add(String.format("Invalid union member `%s` found for `%s`",
+                                             name, frame.shape.getShape().getId()), frame.location);
+            } else {
+                evaluation.push(name);
+            }
+        }
+
+        @Override
+        public void endMember() {
+            Frame frame = frames.get(depth - 1);
+            if (frame.pending != null) {
+                evaluation.pop();
+                frame.pending = null;
+            }
+        }
+
+        @Override
+        public void endObject() {
+            endAggregate();
+        }
+
+        @Override
+        public void startArray(SourceLocation location) {
+            startAggregate(false, location);
+        }
+
+        @Override
+        public void endArray() {
+            endAggregate();
+        }
+
+        @Override
+        public void nullValue(SourceLocation location) {
+            scalar(new NullNode(location));
+        }
+
+        @Override
+        public void booleanValue(boolean value, SourceLocation location) {
+            scalar(new BooleanNode(value, location));
+        }
+
+        @Override
+        public void stringValue(String value, SourceLocation location) {
+            scalar(new StringNode(value, location));
+        }
+
+        @Override
+        public void numberValue(Number value, SourceLocation location) {
+            scalar(new NumberNode(value, location));
+        }
+
+        private Frame parent() {
+            return depth == 0 ? null : frames.get(depth - 1);
+        }
+
+        private CompiledShape startValue(Frame parent) {
+            if (parent == null) {
+                if (started) {
+                    throw new IllegalStateException("A token handler can only validate a single value");
+                }
+                started = true;
+                return root;
+            }
+
+            switch (parent.kind) {
+                case LIST:
+                    evaluation.push(parent.index++);
+                    return parent.element;
+                case MAP:
+                case STRUCTURE:
+                case UNION:
+                    return parent.pending;
+                default:
+                    return null;
+            }
+        }
+
+        private void endValue(Frame parent) {
+            if (parent != null && parent.kind == Kind.LIST) {
+                evaluation.pop();
+            }
+        }
+
+        private void scalar(Node value) {
+            Frame parent = parent();
+            if (parent != null && parent.kind == Kind.CAPTURE) {
+                parent.add(value);
+                return;
+            }
+
+            CompiledShape target = startValue(parent);
+            if (target != null) {
+                target.validate(value, evaluation);
+            }
+            endValue(parent);
+        }
+
+        private void startAggregate(boolean object, SourceLocation location) {
+            Frame parent = parent();
+            if (depth == frames.size()) {
+                frames.add(new Frame());
+            }
+            Frame frame = frames.get(depth);
+            frame.reset(location);
+
+            if (parent != null && parent.kind == Kind.CAPTURE) {
+                frame.capture(object);
+                depth++;
+                return;
+            }
+
+            CompiledShape target = startValue(parent);
+            depth++;
+            if (target == null) {
+                return;
+            }
+
+            CompiledShape resolved = target.getShape().isMemberShape() ? target.getTarget() : target;
+            if (target.hasPlugins() || (resolved != null && resolved.hasPlugins())) {
+                // Plugins are given the entire value, so it has to be captured as a node.
+                frame.capture(object);
+                frame.shape = target;
+            } else if (resolved == null) {
+                // Values for members that target a shape that doesn't exist aren't validated.
+                return;
+            } else if (!startStreaming(frame, resolved, object)) {
+                // The value has the wrong type, so only the type mismatch of the value is validated.
+                Node empty = object
+                        ? new ObjectNode(Collections.emptyMap(), location)
+                        : new ArrayNode(Collections.emptyList(), location);
+                target.validate(empty, evaluation);
+            }
+        }
+
+        private boolean startStreaming(Frame frame, CompiledShape resolved, boolean object) {
+            switch (resolved.getShape().getType()) {
+                case LIST:
+                case SET:
+                    if (object) {
+                        return false;
+                    }
+                    frame.kind = Kind.LIST;
+                    frame.element = resolved.getMembers().get("member");
+                    return true;
+                case MAP:
+                    if (!object) {
+                        return false;
+                    }
+                    frame.kind = Kind.MAP;
+                    frame.key = resolved.getMembers().get("key");
+                    frame.element = resolved.getMembers().get("value");
+                    return true;
+                case STRUCTURE:
+                    if (!object) {
+                        return false;
+                    }
+                    frame.kind = Kind.STRUCTURE;
+                    frame.shape = resolved;
+                    int required = resolved.getRequiredMembers().size();
+                    if (frame.present.length < required) {
+                        frame.present = new boolean[required];
+                    } else {
+                        Arrays.fill(frame.present, 0, required, false);
+                    }
+                    return true;
+                case UNION:
+                    if (!object) {
+                        return false;
+                    }
+                    frame.kind = Kind.UNION;
+                    frame.shape = resolved;
+                    frame.mark = events.size();
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private void endAggregate() {
+            Frame frame = frames.get(--depth);
+            Frame parent = parent();
+
+            switch (frame.kind) {
+                case CAPTURE:
+                    Node value = frame.build();
+                    if (frame.shape == null) {
+                        // Nested values are added to the captured value that contains them.
+                        parent.add(value);
+                        frame.reset(null);
+                        return;
+                    }
+                    frame.shape.validate(value, evaluation);
+                    break;
+                case STRUCTURE:
+                    List<MemberShape> required = frame.shape.getRequiredMembers();
+                    for (int i = 0; i < required.size(); i++) {
+                        if (!frame.present[i]) {
+                            evaluation.add(String.format(
+                                    "Missing required structure member `%s` for `%s`",
+                                    required.get(i).getMemberName(), frame.shape.getShape().getId()),
+                                    frame.location);
+                        }
+                    }
+                    break;
+                case UNION:
+                    if (frame.invalidUnion) {
+                        evaluation.add("union values can contain a value for only a single member", frame.location);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            frame.reset(null);
+            endValue(parent);
+        }
+    }
+
+    /**
+     * Builds a {@link JsonValueValidator}.
+     */
+    public static final class Builder implements SmithyBuilder<JsonValueValidator> {
+        private String eventId;
+        private String contextText;
+        private ShapeId eventShapeId;
+        private Shape shape;
+        private Model model;
+        private TimestampValidationStrategy timestampValidationStrategy = TimestampValidationStrategy.FORMAT;
+        private boolean allowBoxedNull;
+
+        Builder() {}
+
+        /**
+         * Sets the <strong>required</strong> model that contains the
+         * shapes of validated values.
+         *
+         * @param model Model that contains shapes to validate.
+         * @return Returns the builder.
+         */
+        public Builder model(Model model) {
+            this.model = model;
+            return this;
+        }
+
+        /**
+         * Sets the <strong>required</strong> shape that values are
+         * validated against.
+         *
+         * @param shape Shape of validated values.
+         * @return Returns the builder.
+         */
+        public Builder shape(Shape shape) {
+            this.shape = shape;
+            return this;
+        }
+
+        /**
+         * Sets an optional custom event ID to use for created validation events.
+         *
+         * @param id Custom event ID.
+         * @return Returns the builder.
+         */
+        public Builder eventId(String id) {
+            this.eventId = Objects.requireNonNull(id);
+            return this;
+        }
+
+        /**
+         * Sets an optional starting context of the validator that is prepended
+         * to each emitted validation event message.
+         *
+         * @param contextText Starting event message content.
+         * @return Returns the builder.
+         */
+        public Builder startingContext(String contextText) {
+            this.contextText = Objects.requireNonNull(contextText);
+            return this;
+        }
+
+        /**
+         * Sets an optional shape ID that is used as the shape ID in each
+         * validation event emitted by the validator.
+         *
+         * @param eventShapeId Shape ID to set on every validation event.
+         * @return Returns the builder.
+         */
+        public Builder eventShapeId(ShapeId eventShapeId) {
+            this.eventShapeId = eventShapeId;
+            return this;
+        }
+
+        /**
+         * Sets the strategy used to validate timestamps.
+         *
+         * <p>By default, timestamps are validated using
+         * {@link TimestampValidationStrategy#FORMAT}.
+         *
+         * @param timestampValidationStrategy Timestamp validation strategy.
+         * @return Returns the builder.
+         */
+        public Builder timestampValidationStrategy(TimestampValidationStrategy timestampValidationStrategy) {
+            this.timestampValidationStrategy = timestampValidationStrategy;
+            return this;
+        }
+
+        /**
+         * Configure how null values are handled when they are provided for
+         * boxed types.
+         *
+         * <p>By default, null values are not allowed for boxed types.
+         *
+         * @param allowBoxedNull Set to true to allow null values for boxed shapes.
+         * @return Returns the builder.
+         */
+        public Builder allowBoxedNull(boolean allowBoxedNull) {
+            this.allowBoxedNull = allowBoxedNull;
+            return this;
+        }
+
+        @Override
+        public JsonValueValidator build() {
+            return new JsonValueValidator(this);
+        }
+    }
+}
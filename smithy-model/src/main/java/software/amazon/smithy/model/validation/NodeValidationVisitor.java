@@ -16,22 +16,15 @@
 package software.amazon.smithy.model.validation;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.SourceLocation;
-import software.amazon.smithy.model.knowledge.NullableIndex;
 import software.amazon.smithy.model.node.Node;
-import software.amazon.smithy.model.node.NodeType;
-import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.shapes.BigDecimalShape;
 import software.amazon.smithy.model.shapes.BigIntegerShape;
 import software.amazon.smithy.model.shapes.BlobShape;
 import software.amazon.smithy.model.shapes.BooleanShape;
 import software.amazon.smithy.model.shapes.ByteShape;
-import software.amazon.smithy.model.shapes.CollectionShape;
 import software.amazon.smithy.model.shapes.DocumentShape;
 import software.amazon.smithy.model.shapes.DoubleShape;
 import software.amazon.smithy.model.shapes.FloatShape;
@@ -52,9 +45,7 @@ import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.TimestampShape;
 import software.amazon.smithy.model.shapes.UnionShape;
-import software.amazon.smithy.model.validation.node.NodeValidatorPlugin;
 import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
-import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.SmithyBuilder;
 
 /**
@@ -66,25 +57,26 @@ import software.amazon.smithy.utils.SmithyBuilder;
  * additional, non-standard, validation of these values. For example, this can
  * be used to provide additional validation needed for custom traits that are
  * applied to the shape of the data.
+ *
+ * <p>Each shape is compiled into a validator the first time a value is
+ * validated against it, and the compiled validators are reused by every
+ * later validation performed by the same visitor. When validating many
+ * values, reuse a single visitor by changing its value and context with
+ * {@link #setValue}, {@link #setStartingContext}, and
+ * {@link #setEventShapeId} rather than building a visitor per value.
  */
 public final class NodeValidationVisitor implements ShapeVisitor<List<ValidationEvent>> {
 
-    private static final List<NodeValidatorPlugin> BUILTIN = NodeValidatorPlugin.getBuiltins();
-
-    private final Model model;
-    private final TimestampValidationStrategy timestampValidationStrategy;
-    private final boolean allowBoxedNull;
+    private final NodeValidatorCompiler compiler;
     private String eventId;
     private Node value;
     private ShapeId eventShapeId;
     private String startingContext;
-    private NodeValidatorPlugin.Context validationContext;
 
     private NodeValidationVisitor(Builder builder) {
-        this.model = SmithyBuilder.requiredState("model", builder.model);
-        this.validationContext = new NodeValidatorPlugin.Context(model);
-        this.timestampValidationStrategy = builder.timestampValidationStrategy;
-        this.allowBoxedNull = builder.allowBoxedNull;
+        Model model = SmithyBuilder.requiredState("model", builder.model);
+        this.compiler = new NodeValidatorCompiler(
+                model, builder.timestampValidationStrategy, builder.allowBoxedNull);
         setValue(SmithyBuilder.requiredState("value", builder.value));
         setStartingContext(builder.contextText);
         setValue(builder.value);
@@ -132,300 +124,128 @@ public final class NodeValidationVisitor implements ShapeVisitor<List<Validation
         this.eventId = eventId == null ? Validator.MODEL_ERROR : eventId;
     }
 
-    private NodeValidationVisitor traverse(String segment, Node node) {
-        Builder builder = builder();
-        builder.eventShapeId(eventShapeId);
-        builder.eventId(eventId);
-        builder.value(node);
-        builder.model(model);
-        builder.startingContext(startingContext.isEmpty() ? segment : (startingContext + "." + segment));
-        builder.timestampValidationStrategy(timestampValidationStrategy);
-        builder.allowBoxedNull(allowBoxedNull);
-        NodeValidationVisitor visitor = new NodeValidationVisitor(builder);
-        // Use the same validation context.
-        visitor.validationContext = this.validationContext;
-        return visitor;
-    }
-
     @Override
     public List<ValidationEvent> blobShape(BlobShape shape) {
-        return value.asStringNode()
-                .map(stringNode -> applyPlugins(shape))
-                .orElseGet(() -> invalidShape(shape, NodeType.STRING));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> booleanShape(BooleanShape shape) {
-        return value.isBooleanNode()
-               ? applyPlugins(shape)
-               : invalidShape(shape, NodeType.BOOLEAN);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> byteShape(ByteShape shape) {
-        return validateNaturalNumber(shape, Long.valueOf(Byte.MIN_VALUE), Long.valueOf(Byte.MAX_VALUE));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> shortShape(ShortShape shape) {
-        return validateNaturalNumber(shape, Long.valueOf(Short.MIN_VALUE), Long.valueOf(Short.MAX_VALUE));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> integerShape(IntegerShape shape) {
-        return validateNaturalNumber(shape, Long.valueOf(Integer.MIN_VALUE), Long.valueOf(Integer.MAX_VALUE));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> longShape(LongShape shape) {
-        return validateNaturalNumber(shape, Long.MIN_VALUE, Long.MAX_VALUE);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> bigIntegerShape(BigIntegerShape shape) {
-        return validateNaturalNumber(shape, null, null);
-    }
-
-    private List<ValidationEvent> validateNaturalNumber(Shape shape, Long min, Long max) {
-        return value.asNumberNode()
-                .map(number -> {
-                    if (!number.isNaturalNumber()) {
-                        return ListUtils.of(event(String.format(
-                                "%s shapes must not have floating point values, but found `%s` provided for `%s`",
-                                shape.getType(), number.getValue(), shape.getId())));
-                    }
-
-                    Long numberValue = number.getValue().longValue();
-                    if (min != null && numberValue < min) {
-                        return ListUtils.of(event(String.format(
-                                "%s value must be > %d, but found %d", shape.getType(), min, numberValue)));
-                    } else if (max != null && numberValue > max) {
-                        return ListUtils.of(event(String.format(
-                                "%s value must be < %d, but found %d", shape.getType(), max, numberValue)));
-                    } else {
-                        return applyPlugins(shape);
-                    }
-                })
-                .orElseGet(() -> invalidShape(shape, NodeType.NUMBER));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> floatShape(FloatShape shape) {
-        return value.isNumberNode() || value.isStringNode()
-               ? applyPlugins(shape)
-               : invalidShape(shape, NodeType.NUMBER);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> documentShape(DocumentShape shape) {
-        // Document values are always valid.
-        return Collections.emptyList();
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> doubleShape(DoubleShape shape) {
-        return value.isNumberNode() || value.isStringNode()
-               ? applyPlugins(shape)
-               : invalidShape(shape, NodeType.NUMBER);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> bigDecimalShape(BigDecimalShape shape) {
-        return value.isNumberNode()
-               ? applyPlugins(shape)
-               : invalidShape(shape, NodeType.NUMBER);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> stringShape(StringShape shape) {
-        return value.asStringNode()
-                .map(string -> applyPlugins(shape))
-                .orElseGet(() -> invalidShape(shape, NodeType.STRING));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> timestampShape(TimestampShape shape) {
-        return applyPlugins(shape);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> listShape(ListShape shape) {
-        return processCollection(shape, shape.getMember());
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> setShape(SetShape shape) {
-        return processCollection(shape, shape.getMember());
-    }
-
-    private List<ValidationEvent> processCollection(CollectionShape shape, MemberShape member) {
-        return value.asArrayNode()
-                .map(array -> {
-                    List<ValidationEvent> events = applyPlugins(shape);
-                    // Each element creates a context with a numeric index (e.g., "foo.0.baz", "foo.1.baz", etc.).
-                    for (int i = 0; i < array.getElements().size(); i++) {
-                        events.addAll(member.accept(traverse(String.valueOf(i), array.getElements().get(i))));
-                    }
-                    return events;
-                })
-                .orElseGet(() -> invalidShape(shape, NodeType.ARRAY));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> mapShape(MapShape shape) {
-        return value.asObjectNode()
-                .map(object -> {
-                    List<ValidationEvent> events = applyPlugins(shape);
-                    for (Map.Entry<StringNode, Node> entry : object.getMembers().entrySet()) {
-                        String key = entry.getKey().getValue();
-                        events.addAll(traverse(key + " (map-key)", entry.getKey()).memberShape(shape.getKey()));
-                        events.addAll(traverse(key, entry.getValue()).memberShape(shape.getValue()));
-                    }
-                    return events;
-                })
-                .orElseGet(() -> invalidShape(shape, NodeType.OBJECT));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> structureShape(StructureShape shape) {
-        return value.asObjectNode()
-                .map(object -> {
-                    List<ValidationEvent> events = applyPlugins(shape);
-                    Map<String, MemberShape> members = shape.getAllMembers();
-
-                    for (Map.Entry<String, Node> entry : object.getStringMap().entrySet()) {
-                        String entryKey = entry.getKey();
-                        Node entryValue = entry.getValue();
-                        if (!members.containsKey(entryKey)) {
-                            String message = String.format(
-                                    "Invalid structure member `%s` found for `%s`", entryKey, shape.getId());
-                            events.add(event(message, Severity.WARNING));
-                        } else {
-                            events.addAll(traverse(entryKey, entryValue).memberShape(members.get(entryKey)));
-                        }
-                    }
-
-                    for (MemberShape member : members.values()) {
-                        if (member.isRequired()
-                                && !object.getMember(member.getMemberName()).isPresent()
-                                // Ignore missing required primitive members because they have a default value.
-                                && !isMemberPrimitive(member)) {
-                            events.add(event(String.format(
-                                    "Missing required structure member `%s` for `%s`",
-                                    member.getMemberName(), shape.getId())));
-                        }
-                    }
-                    return events;
-                })
-                .orElseGet(() -> invalidShape(shape, NodeType.OBJECT));
-    }
-
-    private boolean isMemberPrimitive(MemberShape member) {
-        return !NullableIndex.of(model).isNullable(member);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> unionShape(UnionShape shape) {
-        return value.asObjectNode()
-                .map(object -> {
-                    List<ValidationEvent> events = applyPlugins(shape);
-                    if (object.size() > 1) {
-                        events.add(event("union values can contain a value for only a single member"));
-                    } else {
-                        Map<String, MemberShape> members = shape.getAllMembers();
-                        for (Map.Entry<String, Node> entry : object.getStringMap().entrySet()) {
-                            String entryKey = entry.getKey();
-                            Node entryValue = entry.getValue();
-                            if (!members.containsKey(entryKey)) {
-                                events.add(event(String.format(
-                                        "Invalid union member `%s` found for `%s`", entryKey, shape.getId())));
-                            } else {
-                                events.addAll(traverse(entryKey, entryValue).memberShape(members.get(entryKey)));
-                            }
-                        }
-                    }
-                    return events;
-                })
-                .orElseGet(() -> invalidShape(shape, NodeType.OBJECT));
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> memberShape(MemberShape shape) {
-        List<ValidationEvent> events = applyPlugins(shape);
-        events.addAll(model.getShape(shape.getTarget())
-                              .map(member -> member.accept(this))
-                              .orElse(ListUtils.of()));
-        return events;
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> operationShape(OperationShape shape) {
-        return invalidSchema(shape);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> resourceShape(ResourceShape shape) {
-        return invalidSchema(shape);
+        return validate(shape);
     }
 
     @Override
     public List<ValidationEvent> serviceShape(ServiceShape shape) {
-        return invalidSchema(shape);
+        return validate(shape);
     }
 
-    private List<ValidationEvent> invalidShape(Shape shape, NodeType expectedType) {
-        // Boxed shapes allow null values.
-        if (allowBoxedNull && value.isNullNode() && NullableIndex.of(model).isNullable(shape)) {
-            return Collections.emptyList();
-        }
-
-        String message = String.format(
-                "Expected %s value for %s shape, `%s`; found %s value",
-                expectedType, shape.getType(), shape.getId(), value.getType());
-        if (value.isStringNode()) {
-            message += ", `" + value.expectStringNode().getValue() + "`";
-        } else if (value.isNumberNode()) {
-            message += ", `" + value.expectNumberNode().getValue() + "`";
-        } else if (value.isBooleanNode()) {
-            message += ", `" + value.expectBooleanNode().getValue() + "`";
-        }
-        return ListUtils.of(event(message));
-    }
-
-    private List<ValidationEvent> invalidSchema(Shape shape) {
-        return ListUtils.of(event("Encountered invalid shape type: " + shape.getType()));
-    }
-
-    private ValidationEvent event(String message) {
-        return event(message, Severity.ERROR);
-    }
-
-    private ValidationEvent event(String message, Severity severity) {
-        return event(message, severity, value.getSourceLocation());
-    }
-
-    private ValidationEvent event(String message, Severity severity, SourceLocation sourceLocation) {
-        return ValidationEvent.builder()
-                .id(eventId)
-                .severity(severity)
-                .sourceLocation(sourceLocation)
-                .shapeId(eventShapeId)
-                .message(startingContext.isEmpty() ? message : startingContext + ": " + message)
-                .build();
-    }
-
-    private List<ValidationEvent> applyPlugins(Shape shape) {
+    /**
+     * Validates the current value against a shape.
+     *
+     * <p>Shapes are compiled the first time they're validated, and the
+     * compiled shapes are reused by every subsequent value validated by
+     * this visitor.
+     */
+    private List<ValidationEvent> validate(Shape shape) {
         List<ValidationEvent> events = new ArrayList<>();
-        timestampValidationStrategy.apply(shape, value, validationContext, (location, message) -> {
-            events.add(event(message, Severity.ERROR, location.getSourceLocation()));
-        });
-
-        for (NodeValidatorPlugin plugin : BUILTIN) {
-            plugin.apply(shape, value, validationContext, (location, message) -> {
-                events.add(event(message, Severity.ERROR, location.getSourceLocation()));
-            });
-        }
-
+        NodeValidatorCompiler.Evaluation evaluation = new NodeValidatorCompiler.Evaluation(
+                eventId, eventShapeId, startingContext, events);
+        compiler.compile(shape).validate(value, evaluation);
         return events;
     }
 
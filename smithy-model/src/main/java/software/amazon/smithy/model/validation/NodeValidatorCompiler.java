@@ -0,0 +1,537 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import software.amazon.smithy.model.FromSourceLocation;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.NullableIndex;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NodeType;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.node.NodeValidatorPlugin;
+import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
+
+/**
+ * Compiles shapes into reusable validators used by {@link NodeValidationVisitor}.
+ *
+ * <p>Compiling a shape determines, once per shape, which plugins apply to
+ * values of the shape, which shapes are targeted by its members, and which
+ * of its members are required to be present. Compiled shapes are cached by
+ * shape ID, so validating many values against the same shapes only needs to
+ * inspect each shape once.
+ *
+ * <p>Compiled shapes are bound to the model, timestamp validation strategy,
+ * and null handling of the compiler that created them. This class is not
+ * thread-safe.
+ */
+final class NodeValidatorCompiler {
+
+    private static final List<NodeValidatorPlugin> BUILTIN = NodeValidatorPlugin.getBuiltins();
+
+    private final Model model;
+    private final NodeValidatorPlugin.Context context;
+    private final TimestampValidationStrategy timestampValidationStrategy;
+    private final boolean allowBoxedNull;
+    private final NullableIndex nullableIndex;
+    private final Map<ShapeId, CompiledShape> compiled = new HashMap<>();
+
+    NodeValidatorCompiler(
+            Model model,
+            TimestampValidationStrategy timestampValidationStrategy,
+            boolean allowBoxedNull
+    ) {
+        this.model = model;
+        this.context = new NodeValidatorPlugin.Context(model);
+        this.timestampValidationStrategy = timestampValidationStrategy;
+        this.allowBoxedNull = allowBoxedNull;
+        this.nullableIndex = NullableIndex.of(model);
+    }
+
+    /**
+     * Gets the compiled validator of a shape.
+     *
+     * @param shape Shape to compile.
+     * @return Returns the compiled shape.
+     */
+    CompiledShape compile(Shape shape) {
+        CompiledShape result = compiled.get(shape.getId());
+        // Shapes that aren't part of the model can reuse an ID with a different definition.
+        if (result == null || result.shape != shape) {
+            result = new CompiledShape(shape);
+            compiled.put(shape.getId(), result);
+        }
+        return result;
+    }
+
+    /**
+     * A shape along with the plugins and members needed to validate its values.
+     */
+    final class CompiledShape {
+        private final Shape shape;
+        private final NodeValidatorPlugin[] plugins;
+        private final boolean nullable;
+        private Map<String, CompiledShape> members;
+        private List<MemberShape> requiredMembers;
+        private CompiledShape target;
+        private boolean resolvedTarget;
+
+        private CompiledShape(Shape shape) {
+            this.shape = shape;
+
+            List<NodeValidatorPlugin> applicable = new ArrayList<>();
+            if (timestampValidationStrategy.isApplicable(shape, context)) {
+                applicable.add(timestampValidationStrategy);
+            }
+            for (NodeValidatorPlugin plugin : BUILTIN) {
+                if (plugin.isApplicable(shape, context)) {
+                    applicable.add(plugin);
+                }
+            }
+            plugins = applicable.toArray(new NodeValidatorPlugin[0]);
+
+            // Nullability is only needed when null values are allowed for boxed shapes.
+            nullable = allowBoxedNull && nullableIndex.isNullable(shape);
+        }
+
+        /**
+         * @return Returns the shape that was compiled.
+         */
+        Shape getShape() {
+            return shape;
+        }
+
+        /**
+         * Checks if any plugins apply to values of the shape.
+         *
+         * @return Returns true if plugins need to be applied to values of the shape.
+         */
+        boolean hasPlugins() {
+            return plugins.length > 0;
+        }
+
+        /**
+         * Gets the compiled members of the shape, keyed by member name.
+         *
+         * @return Returns the compiled members.
+         */
+        Map<String, CompiledShape> getMembers() {
+            Map<String, CompiledShape> result = members;
+            if (result == null) {
+                Collection<MemberShape> shapeMembers = shape.members();
+                if (shapeMembers.isEmpty()) {
+                    result = Collections.emptyMap();
+                } else {
+                    result = new LinkedHashMap<>(shapeMembers.size());
+                    for (MemberShape member : shapeMembers) {
+                        result.put(member.getMemberName(), compile(member));
+                    }
+                }
+                members = result;
+            }
+            return result;
+        }
+
+        /**
+         * Gets the required members that must be present in a value.
+         *
+         * <p>Required members that aren't nullable are omitted because they
+         * have a default value.
+         *
+         * @return Returns the required members.
+         */
+        List<MemberShape> getRequiredMembers() {
+            List<MemberShape> result = requiredMembers;
+            if (result == null) {
+                result = new ArrayList<>();
+                for (MemberShape member : shape.members()) {
+                    if (member.isRequired() && nullableIndex.isNullable(member)) {
+                        result.add(member);
+                    }
+                }
+                requiredMembers = result;
+            }
+            return result;
+        }
+
+        /**
+         * Gets the compiled shape targeted by a member.
+         *
+         * @return Returns the compiled target, or null if this isn't a member or the target doesn't exist.
+         */
+        CompiledShape getTarget() {
+            if (!resolvedTarget) {
+                target = shape.asMemberShape()
+                        .flatMap(member -> model.getShape(member.getTarget()))
+                        .map(NodeValidatorCompiler.this::compile)
+                        .orElse(null);
+                resolvedTarget = true;
+            }
+            return target;
+        }
+
+        /**
+         * Validates a value against the shape.
+         *
+         * @param value Value to validate.
+         * @param evaluation Evaluation that receives events.
+         */
+        void validate(Node value, Evaluation evaluation) {
+            switch (shape.getType()) {
+                case BLOB:
+                case STRING:
+                    if (value.isStringNode()) {
+                        applyPlugins(value, evaluation);
+                    } else {
+                        invalidShape(value, NodeType.STRING, evaluation);
+                    }
+                    break;
+                case BOOLEAN:
+                    if (value.isBooleanNode()) {
+                        applyPlugins(value, evaluation);
+                    } else {
+                        invalidShape(value, NodeType.BOOLEAN, evaluation);
+                    }
+                    break;
+                case BYTE:
+                    validateNaturalNumber(
+                            value, Long.valueOf(Byte.MIN_VALUE), Long.valueOf(Byte.MAX_VALUE), evaluation);
+                    break;
+                case SHORT:
+                    validateNaturalNumber(
+                            value, Long.valueOf(Short.MIN_VALUE), Long.valueOf(Short.MAX_VALUE), evaluation);
+                    break;
+                case INTEGER:
+                    validateNaturalNumber(
+                            value, Long.valueOf(Integer.MIN_VALUE), Long.valueOf(Integer.MAX_VALUE), evaluation);
+                    break;
+                case LONG:
+                    validateNaturalNumber(value, Long.MIN_VALUE, Long.MAX_VALUE, evaluation);
+                    break;
+                case BIG_INTEGER:
+                    validateNaturalNumber(value, null, null, evaluation);
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    if (value.isNumberNode() || value.isStringNode()) {
+                        applyPlugins(value, evaluation);
+                    } else {
+                        invalidShape(value, NodeType.NUMBER, evaluation);
+                    }
+                    break;
+                case BIG_DECIMAL:
+                    if (value.isNumberNode()) {
+                        applyPlugins(value, evaluation);
+                    } else {
+                        invalidShape(value, NodeType.NUMBER, evaluation);
+                    }
+                    break;
+                case DOCUMENT:
+                    // Document values are always valid.
+                    break;
+                case TIMESTAMP:
+                    applyPlugins(value, evaluation);
+                    break;
+                case LIST:
+                case SET:
+                    validateCollection(value, evaluation);
+                    break;
+                case MAP:
+                    validateMap(value, evaluation);
+                    break;
+                case STRUCTURE:
+                    validateStructure(value, evaluation);
+                    break;
+                case UNION:
+                    validateUnion(value, evaluation);
+                    break;
+                case MEMBER:
+                    applyPlugins(value, evaluation);
+                    CompiledShape resolved = getTarget();
+                    if (resolved != null) {
+                        resolved.validate(value, evaluation);
+                    }
+                    break;
+                default:
+                    evaluation.add("Encountered invalid shape type: " + shape.getType(), value);
+            }
+        }
+
+        private void validateNaturalNumber(Node value, Long min, Long max, Evaluation evaluation) {
+            if (!value.isNumberNode()) {
+                invalidShape(value, NodeType.NUMBER, evaluation);
+                return;
+            }
+
+            NumberNode number = value.expectNumberNode();
+            if (!number.isNaturalNumber()) {
+                evaluation.add(String.format(
+                        "%s shapes must not have floating point values, but found `%s` provided for `%s`",
+                        shape.getType(), number.getValue(), shape.getId()), value);
+                return;
+            }
+
+            long numberValue = number.getValue().longValue();
+            if (min != null && numberValue < min) {
+                evaluation.add(String.format(
+                        "%s value must be > %d, but found %d", shape.getType(), min, numberValue), value);
+            } else if (max != null && numberValue > max) {
+                evaluation.add(String.format(
+                        "%s value must be < %d, but found %d", shape.getType(), max, numberValue), value);
+            } else {
+                applyPlugins(value, evaluation);
+            }
+        }
+
+        private void validateCollection(Node value, Evaluation evaluation) {
+            if (!value.isArrayNode()) {
+                invalidShape(value, NodeType.ARRAY, evaluation);
+                return;
+            }
+
+            applyPlugins(value, evaluation);
+            CompiledShape member = getMembers().get("member");
+            List<Node> elements = ((ArrayNode) value).getElements();
+            // Each element creates a context with a numeric index (e.g., "foo.0.baz", "foo.1.baz", etc.).
+            for (int i = 0; i < elements.size(); i++) {
+                evaluation.push(i);
+                member.validate(elements.get(i), evaluation);
+                evaluation.pop();
+            }
+        }
+
+        private void validateMap(Node value, Evaluation evaluation) {
+            if (!value.isObjectNode()) {
+                invalidShape(value, NodeType.OBJECT, evaluation);
+                return;
+            }
+
+            applyPlugins(value, evaluation);
+            CompiledShape key = getMembers().get("key");
+            CompiledShape mapValue = getMembers().get("value");
+            for (Map.Entry<StringNode, Node> entry : ((ObjectNode) value).getMembers().entrySet()) {
+                String name = entry.getKey().getValue();
+                evaluation.pushMapKey(name);
+                key.validate(entry.getKey(), evaluation);
+                evaluation.pop();
+                evaluation.push(name);
+                mapValue.validate(entry.getValue(), evaluation);
+                evaluation.pop();
+            }
+        }
+
+        private void validateStructure(Node value, Evaluation evaluation) {
+            if (!value.isObjectNode()) {
+                invalidShape(value, NodeType.OBJECT, evaluation);
+                return;
+            }
+
+            applyPlugins(value, evaluation);
+            Map<String, Node> entries = ((ObjectNode) value).getStringMap();
+            Map<String, CompiledShape> compiledMembers = getMembers();
+
+            for (Map.Entry<String, Node> entry : entries.entrySet()) {
+                CompiledShape member = compiledMembers.get(entry.getKey());
+                if (member == null) {
+                    String message = String.format(
+                            "Invalid structure member `%s` found for `%s`", entry.getKey(), shape.getId());
+                    evaluation.add(message, Severity.WARNING, value.getSourceLocation());
+                } else {
+                    evaluation.push(entry.getKey());
+                    member.validate(entry.getValue(), evaluation);
+                    evaluation.pop();
+                }
+            }
+
+            for (MemberShape member : getRequiredMembers()) {
+                if (!entries.containsKey(member.getMemberName())) {
+                    evaluation.add(String.format(
+                            "Missing required structure member `%s` for `%s`",
+                            member.getMemberName(), shape.getId()), value);
+                }
+            }
+        }
+
+        private void validateUnion(Node value, Evaluation evaluation) {
+            if (!value.isObjectNode()) {
+                invalidShape(value, NodeType.OBJECT, evaluation);
+                return;
+            }
+
+            applyPlugins(value, evaluation);
+            ObjectNode object = (ObjectNode) value;
+            if (object.size() > 1) {
+                evaluation.add("union values can contain a value for only a single member", value);
+                return;
+            }
+
+            Map<String, CompiledShape> compiledMembers = getMembers();
+            for (Map.Entry<String, Node> entry : object.getStringMap().entrySet()) {
+                CompiledShape member = compiledMembers.get(entry.getKey());
+                if (member == null) {
+                    evaluation.add(String.format(
+                            "Invalid union member `%s` found for `%s`", entry.getKey(), shape.getId()), value);
+                } else {
+                    evaluation.push(entry.getKey());
+                    member.validate(entry.getValue(), evaluation);
+                    evaluation.pop();
+                }
+            }
+        }
+
+        private void invalidShape(Node value, NodeType expectedType, Evaluation evaluation) {
+            // Boxed shapes allow null values.
+            if (nullable && value.isNullNode()) {
+                return;
+            }
+
+            String message = String.format(
+                    "Expected %s value for %s shape, `%s`; found %s value",
+                    expectedType, shape.getType(), shape.getId(), value.getType());
+            if (value.isStringNode()) {
+                message += ", `" + value.expectStringNode().getValue() + "`";
+            } else if (value.isNumberNode()) {
+                message += ", `" + value.expectNumberNode().getValue() + "`";
+            } else if (value.isBooleanNode()) {
+                message += ", `" + value.expectBooleanNode().getValue() + "`";
+            }
+            evaluation.add(message, value);
+        }
+
+        private void applyPlugins(Node value, Evaluation evaluation) {
+            for (NodeValidatorPlugin plugin : plugins) {
+                plugin.apply(shape, value, context, evaluation);
+            }
+        }
+    }
+
+    /**
+     * Collects the events emitted while validating a single value.
+     *
+     * <p>The path from the validated value to the value currently being
+     * validated is tracked as a stack of segments, and is only converted
+     * to the message context of an event when an event is emitted.
+     */
+    static final class Evaluation implements BiConsumer<FromSourceLocation, String> {
+        private final String eventId;
+        private final ShapeId eventShapeId;
+        private final String startingContext;
+        private final List<ValidationEvent> events;
+        private String[] names = new String[8];
+        private int[] indexes = new int[8];
+        private boolean[] mapKeys = new boolean[8];
+        private int depth;
+
+        Evaluation(String eventId, ShapeId eventShapeId, String startingContext, List<ValidationEvent> events) {
+            this.eventId = eventId;
+            this.eventShapeId = eventShapeId;
+            this.startingContext = startingContext;
+            this.events = events;
+        }
+
+        void push(String name) {
+            grow();
+            names[depth++] = name;
+        }
+
+        void push(int index) {
+            grow();
+            indexes[depth++] = index;
+        }
+
+        void pushMapKey(String key) {
+            grow();
+            mapKeys[depth] = true;
+            names[depth++] = key;
+        }
+
+        void pop() {
+            depth--;
+            names[depth] = null;
+            mapKeys[depth] = false;
+        }
+
+        private void grow() {
+            if (depth == names.length) {
+                names = Arrays.copyOf(names, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+                mapKeys = Arrays.copyOf(mapKeys, depth * 2);
+            }
+        }
+
+        /**
+         * Gets the context of the value currently being validated (e.g., "foo.0.baz").
+         *
+         * @return Returns the current context.
+         */
+        String getContext() {
+            if (depth == 0) {
+                return startingContext;
+            }
+
+            StringBuilder result = new StringBuilder(startingContext);
+            for (int i = 0; i < depth; i++) {
+                if (result.length() > 0) {
+                    result.append('.');
+                }
+                if (names[i] == null) {
+                    result.append(indexes[i]);
+                } else {
+                    result.append(names[i]);
+                    if (mapKeys[i]) {
+                        result.append(" (map-key)");
+                    }
+                }
+            }
+            return result.toString();
+        }
+
+        void add(String message, FromSourceLocation value) {
+            add(message, Severity.ERROR, value.getSourceLocation());
+        }
+
+        void add(String message, Severity severity, SourceLocation sourceLocation) {
+            String currentContext = getContext();
+            events.add(ValidationEvent.builder()
+                    .id(eventId)
+                    .severity(severity)
+                    .sourceLocation(sourceLocation)
+                    .shapeId(eventShapeId)
+                    .message(currentContext.isEmpty() ? message : currentContext + ": " + message)
+                    .build());
+        }
+
+        @Override
+        public void accept(FromSourceLocation location, String message) {
+            add(message, location);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A {@link Validator} that validates each of a selected set of shapes
+ * independently of one another.
+ *
+ * <p>Implementing this interface allows validation to be performed at a
+ * finer granularity than an entire validator: the shapes returned from
+ * {@link #selectShapes} can each be validated by a separate task in
+ * parallel. The events returned when validating the model are the events
+ * of each selected shape in the order the shapes were selected, regardless
+ * of how the work is scheduled.
+ *
+ * <p>A shape may be anything that is validated as a unit, including a
+ * service shape that is validated along with every shape in its closure.
+ * Because {@link #validateShape} can be invoked concurrently for
+ * different shapes, implementations must be thread-safe, and the events
+ * emitted for a shape must not depend on the validation of other shapes.
+ *
+ * @param <S> Type of shape that is validated.
+ */
+public interface ShapeValidator<S extends Shape> extends Validator {
+
+    /**
+     * Selects the shapes of the model to validate.
+     *
+     * @param model Model being validated.
+     * @return Returns the shapes to validate.
+     */
+    Collection<S> selectShapes(Model model);
+
+    /**
+     * Validates a single selected shape.
+     *
+     * @param model Model being validated.
+     * @param shape Shape to validate.
+     * @return Returns the validation events of the shape.
+     */
+    List<ValidationEvent> validateShape(Model model, S shape);
+
+    /**
+     * Validates each selected shape in order.
+     *
+     * @param model Model to validate.
+     * @return Returns the validation events of every selected shape.
+     */
+    @Override
+    default List<ValidationEvent> validate(Model model) {
+        List<ValidationEvent> events = new ArrayList<>();
+        for (S shape : selectShapes(model)) {
+            events.addAll(validateShape(model, shape));
+        }
+        return events;
+    }
+}
@@ -37,5 +37,10 @@ abstract class FilteredPlugin<S extends Shape, N extends Node> implements NodeVa
         }
     }
 
+    @Override
+    public boolean isApplicable(Shape shape, Context context) {
+        return shapeClass.isInstance(shape);
+    }
+
     abstract void check(S shape, N node, Context context, BiConsumer<FromSourceLocation, String> emitter);
 }
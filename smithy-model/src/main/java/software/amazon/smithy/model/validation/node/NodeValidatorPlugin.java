@@ -46,6 +46,22 @@ public interface NodeValidatorPlugin {
      */
     void apply(Shape shape, Node value, Context context, BiConsumer<FromSourceLocation, String> emitter);
 
+    /**
+     * Checks if the plugin can emit events for values of the given shape.
+     *
+     * <p>This check only depends on the shape and the model, allowing the
+     * plugins that apply to a shape to be computed once and reused for
+     * every value validated against the shape. A plugin that returns false
+     * must never emit events when applied to the shape.
+     *
+     * @param shape Shape to check.
+     * @param context Evaluation context.
+     * @return Returns true if the plugin needs to be applied to values of the shape.
+     */
+    default boolean isApplicable(Shape shape, Context context) {
+        return true;
+    }
+
     /**
      * @return Gets the built-in Node validation plugins.
      */
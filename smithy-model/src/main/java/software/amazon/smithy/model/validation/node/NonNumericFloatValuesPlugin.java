@@ -41,4 +41,9 @@ final class NonNumericFloatValuesPlugin implements NodeValidatorPlugin  {
             ));
         }
     }
+
+    @Override
+    public boolean isApplicable(Shape shape, Context context) {
+        return shape.isFloatShape() || shape.isDoubleShape();
+    }
 }
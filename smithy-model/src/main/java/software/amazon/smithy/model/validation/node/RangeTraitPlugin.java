@@ -41,6 +41,11 @@ class RangeTraitPlugin implements NodeValidatorPlugin {
         }
     }
 
+    @Override
+    public final boolean isApplicable(Shape shape, Context context) {
+        return shape.hasTrait(RangeTrait.class);
+    }
+
     private void checkNonNumeric(
             Shape shape,
             RangeTrait trait,
@@ -76,10 +81,10 @@ class RangeTraitPlugin implements NodeValidatorPlugin {
             BiConsumer<FromSourceLocation, String> emitter
     ) {
         Number number = node.getValue();
-        BigDecimal decimal = new BigDecimal(number.toString());
+        BigDecimal decimal = toBigDecimal(number);
 
         trait.getMin().ifPresent(min -> {
-            if (decimal.compareTo(new BigDecimal(min.toString())) < 0) {
+            if (decimal.compareTo(min) < 0) {
                 emitter.accept(node, String.format(
                         "Value provided for `%s` must be greater than or equal to %s, but found %s",
                         shape.getId(), min.toString(), number));
@@ -87,11 +92,22 @@ class RangeTraitPlugin implements NodeValidatorPlugin {
         });
 
         trait.getMax().ifPresent(max -> {
-            if (decimal.compareTo(new BigDecimal(max.toString())) > 0) {
+            if (decimal.compareTo(max) > 0) {
                 emitter.accept(node, String.format(
                         "Value provided for `%s` must be less than or equal to %s, but found %s",
                         shape.getId(), max.toString(), number));
             }
         });
     }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof Long || number instanceof Integer
+                   || number instanceof Short || number instanceof Byte) {
+            return BigDecimal.valueOf(number.longValue());
+        } else {
+            return new BigDecimal(number.toString());
+        }
+    }
 }
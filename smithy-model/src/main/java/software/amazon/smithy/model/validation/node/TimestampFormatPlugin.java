@@ -48,6 +48,12 @@ final class TimestampFormatPlugin implements NodeValidatorPlugin {
         }
     }
 
+    @Override
+    public boolean isApplicable(Shape shape, Context context) {
+        return shape instanceof TimestampShape
+               || (shape instanceof MemberShape && shape.getTrait(TimestampFormatTrait.class).isPresent());
+    }
+
     private void validate(
             Shape shape,
             TimestampFormatTrait trait,
@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -28,6 +29,7 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.AuthTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -35,11 +37,16 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * to authentication traits applied to service shapes that enclose the
  * operation.
  */
-public final class AuthTraitValidator extends AbstractValidator {
+public final class AuthTraitValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
     @Override
-    public List<ValidationEvent> validate(Model model) {
+    public Collection<ServiceShape> selectShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
         List<ValidationEvent> events = new ArrayList<>();
-        model.shapes(ServiceShape.class).forEach(service -> validateService(model, service, events));
+        validateService(model, service, events);
         return events;
     }
 
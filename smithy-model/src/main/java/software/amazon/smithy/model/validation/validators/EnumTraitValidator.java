@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,6 +26,7 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.EnumDefinition;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -34,18 +36,17 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * a name. All enum values and names must be unique across the list of
  * definitions.
  */
-public final class EnumTraitValidator extends AbstractValidator {
+public final class EnumTraitValidator extends AbstractValidator implements ShapeValidator<Shape> {
     private static final Pattern RECOMMENDED_NAME_PATTERN = Pattern.compile("^[A-Z]+[A-Z_0-9]*$");
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-
-        for (Shape shape : model.getShapesWithTrait(EnumTrait.class)) {
-            events.addAll(validateEnumTrait(shape, shape.expectTrait(EnumTrait.class)));
-        }
+    public Collection<Shape> selectShapes(Model model) {
+        return model.getShapesWithTrait(EnumTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        return validateEnumTrait(shape, shape.expectTrait(EnumTrait.class));
     }
 
     private List<ValidationEvent> validateEnumTrait(Shape shape, EnumTrait trait) {
@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,6 +27,7 @@ import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.EventHeaderTrait;
 import software.amazon.smithy.model.traits.EventPayloadTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.FunctionalUtils;
@@ -37,17 +39,19 @@ import software.amazon.smithy.utils.FunctionalUtils;
  * <p>Only a single member can be marked with the eventPayload trait, and
  * this is validated using {@link ExclusiveStructureMemberTraitValidator}.
  */
-public final class EventPayloadTraitValidator extends AbstractValidator {
+public final class EventPayloadTraitValidator extends AbstractValidator implements ShapeValidator<MemberShape> {
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        for (MemberShape member : model.getMemberShapesWithTrait(EventPayloadTrait.class)) {
-            model.getShape(member.getContainer())
-                    .flatMap(Shape::asStructureShape)
-                    .flatMap(structure -> validateEvent(structure, member))
-                    .ifPresent(events::add);
-        }
+    public Collection<MemberShape> selectShapes(Model model) {
+        return model.getMemberShapesWithTrait(EventPayloadTrait.class);
+    }
 
+    @Override
+    public List<ValidationEvent> validateShape(Model model, MemberShape member) {
+        List<ValidationEvent> events = new ArrayList<>();
+        model.getShape(member.getContainer())
+                .flatMap(Shape::asStructureShape)
+                .flatMap(structure -> validateEvent(structure, member))
+                .ifPresent(events::add);
         return events;
     }
 
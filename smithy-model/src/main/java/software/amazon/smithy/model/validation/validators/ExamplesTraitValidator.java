@@ -16,52 +16,61 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.ExamplesTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.NodeValidationVisitor;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that examples traits are valid for their operations.
  */
-public final class ExamplesTraitValidator extends AbstractValidator {
+public final class ExamplesTraitValidator extends AbstractValidator implements ShapeValidator<OperationShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : model.getOperationShapesWithTrait(ExamplesTrait.class)) {
-            events.addAll(validateExamples(model, operation, operation.expectTrait(ExamplesTrait.class)));
-        }
+    public Collection<OperationShape> selectShapes(Model model) {
+        return model.getOperationShapesWithTrait(ExamplesTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, OperationShape operation) {
+        return validateExamples(model, operation, operation.expectTrait(ExamplesTrait.class));
     }
 
     private List<ValidationEvent> validateExamples(Model model, OperationShape shape, ExamplesTrait trait) {
         List<ValidationEvent> events = new ArrayList<>();
         List<ExamplesTrait.Example> examples = trait.getExamples();
+        Shape input = shape.getInput().flatMap(model::getShape).orElse(null);
+        Shape output = shape.getOutput().flatMap(model::getShape).orElse(null);
+
+        // Reuse a single visitor so the input and output shapes are only compiled once.
+        NodeValidationVisitor validator = NodeValidationVisitor.builder()
+                .model(model)
+                .eventShapeId(shape.getId())
+                .value(Node.objectNode())
+                .eventId(getName())
+                .build();
 
         for (ExamplesTrait.Example example : examples) {
             if (shape.getInput().isPresent()) {
-                model.getShape(shape.getInput().get()).ifPresent(input -> {
-                    NodeValidationVisitor validator = createVisitor(
-                            "input", example.getInput(), model, shape, example);
-                    events.addAll(input.accept(validator));
-                });
+                if (input != null) {
+                    events.addAll(validateExample(validator, input, "input", example.getInput(), example));
+                }
             } else if (!example.getInput().isEmpty()) {
                 events.add(error(shape, trait, String.format("Input parameters provided for operation with no "
                                                              + "input structure members: `%s`", example.getTitle())));
             }
             if (shape.getOutput().isPresent()) {
-                model.getShape(shape.getOutput().get()).ifPresent(output -> {
-                    NodeValidationVisitor validator = createVisitor(
-                            "output", example.getOutput(), model, shape, example);
-                    events.addAll(output.accept(validator));
-                });
+                if (output != null) {
+                    events.addAll(validateExample(validator, output, "output", example.getOutput(), example));
+                }
             } else if (!example.getOutput().isEmpty()) {
                 events.add(error(shape, trait, String.format(
                         "Output parameters provided for operation with no output structure members: `%s`",
@@ -72,19 +81,15 @@ public final class ExamplesTraitValidator extends AbstractValidator {
         return events;
     }
 
-    private NodeValidationVisitor createVisitor(
+    private List<ValidationEvent> validateExample(
+            NodeValidationVisitor validator,
+            Shape shape,
             String name,
             ObjectNode value,
-            Model model,
-            Shape shape,
             ExamplesTrait.Example example
     ) {
-        return NodeValidationVisitor.builder()
-                .model(model)
-                .eventShapeId(shape.getId())
-                .value(value)
-                .startingContext("Example " + name + " of `" + example.getTitle() + "`")
-                .eventId(getName())
-                .build();
+        validator.setValue(value);
+        validator.setStartingContext("Example " + name + " of `" + example.getTitle() + "`");
+        return shape.accept(validator);
     }
 }
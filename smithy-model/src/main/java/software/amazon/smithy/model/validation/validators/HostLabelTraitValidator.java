@@ -18,7 +18,7 @@ package software.amazon.smithy.model.validation.validators;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -32,6 +32,7 @@ import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.EndpointTrait;
 import software.amazon.smithy.model.traits.HostLabelTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
@@ -53,7 +54,7 @@ import software.amazon.smithy.model.validation.ValidationUtils;
  *     host labels.</li>
  * </ul>
  */
-public final class HostLabelTraitValidator extends AbstractValidator {
+public final class HostLabelTraitValidator extends AbstractValidator implements ShapeValidator<OperationShape> {
     /**
      * Match the expanded template to be a valid RFC 3896 host.
      */
@@ -61,18 +62,14 @@ public final class HostLabelTraitValidator extends AbstractValidator {
             "^[a-zA-Z0-9][a-zA-Z0-9-]{0,62}(?>\\.[a-zA-Z0-9-]{1,63})*\\.?$");
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        if (!model.isTraitApplied(EndpointTrait.class) && !model.isTraitApplied(HostLabelTrait.class)) {
-            return Collections.emptyList();
-        }
-
+    public Collection<OperationShape> selectShapes(Model model) {
         // Validate all operation shapes with the `endpoint` trait.
-        List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : model.getOperationShapesWithTrait(EndpointTrait.class)) {
-            events.addAll(validateStructure(model, operation, operation.expectTrait(EndpointTrait.class)));
-        }
+        return model.getOperationShapesWithTrait(EndpointTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, OperationShape operation) {
+        return validateStructure(model, operation, operation.expectTrait(EndpointTrait.class));
     }
 
     private List<ValidationEvent> validateStructure(
@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.model.validation.validators;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -25,6 +26,7 @@ import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.ListUtils;
 
@@ -32,17 +34,19 @@ import software.amazon.smithy.utils.ListUtils;
  * Validates that if any operation in a service uses the http trait,
  * then all operations use them.
  */
-public final class HttpBindingsMissingValidator extends AbstractValidator {
+public final class HttpBindingsMissingValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
     @Override
-    public List<ValidationEvent> validate(Model model) {
+    public Collection<ServiceShape> selectShapes(Model model) {
         if (!model.isTraitApplied(HttpTrait.class)) {
             return Collections.emptyList();
         }
 
-        TopDownIndex topDownIndex = TopDownIndex.of(model);
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(topDownIndex, shape).stream())
-                .collect(Collectors.toList());
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
+        return validateService(TopDownIndex.of(model), service);
     }
 
     private List<ValidationEvent> validateService(TopDownIndex topDownIndex, ServiceShape service) {
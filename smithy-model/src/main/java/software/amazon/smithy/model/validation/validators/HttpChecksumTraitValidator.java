@@ -16,9 +16,9 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -31,6 +31,7 @@ import software.amazon.smithy.model.traits.HttpChecksumTrait;
 import software.amazon.smithy.model.traits.HttpHeaderTrait;
 import software.amazon.smithy.model.traits.HttpPrefixHeadersTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
@@ -41,19 +42,19 @@ import software.amazon.smithy.utils.SmithyInternalApi;
  * input or output structure.
  */
 @SmithyInternalApi
-public class HttpChecksumTraitValidator extends AbstractValidator {
+public class HttpChecksumTraitValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        TopDownIndex topDownIndex = TopDownIndex.of(model);
+    public Collection<ServiceShape> selectShapes(Model model) {
+        return model.getServiceShapes();
+    }
 
-        List<ServiceShape> services = model.shapes(ServiceShape.class).collect(Collectors.toList());
-        for (ServiceShape service : services) {
-            for (OperationShape operation : topDownIndex.getContainedOperations(service)) {
-                if (operation.hasTrait(HttpChecksumTrait.class)) {
-                    events.addAll(validateOperation(model, service, operation));
-                }
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
+        List<ValidationEvent> events = new ArrayList<>();
+        for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
+            if (operation.hasTrait(HttpChecksumTrait.class)) {
+                events.addAll(validateOperation(model, service, operation));
             }
         }
         return events;
@@ -18,6 +18,7 @@ package software.amazon.smithy.model.validation.validators;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,6 +31,7 @@ import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.HttpLabelTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.ListUtils;
@@ -49,18 +51,17 @@ import software.amazon.smithy.utils.ListUtils;
  *     httpLabel trait.</li>
  * </ul>
  */
-public final class HttpLabelTraitValidator extends AbstractValidator {
+public final class HttpLabelTraitValidator extends AbstractValidator implements ShapeValidator<OperationShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-
+    public Collection<OperationShape> selectShapes(Model model) {
         // Validate all operation shapes with the `http` trait.
-        for (OperationShape operation : model.getOperationShapesWithTrait(HttpTrait.class)) {
-            events.addAll(validateStructure(model, operation, operation.expectTrait(HttpTrait.class)));
-        }
+        return model.getOperationShapesWithTrait(HttpTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, OperationShape operation) {
+        return validateStructure(model, operation, operation.expectTrait(HttpTrait.class));
     }
 
     private List<ValidationEvent> validateStructure(Model model, OperationShape operation, HttpTrait http) {
@@ -16,7 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -28,6 +28,7 @@ import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.IdempotentTrait;
 import software.amazon.smithy.model.traits.ReadonlyTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.MapUtils;
@@ -36,7 +37,7 @@ import software.amazon.smithy.utils.MapUtils;
  * Validates that `http` traits applied to operation shapes use the most
  * semantically appropriate HTTP method according to RFC 7231.
  */
-public final class HttpMethodSemanticsValidator extends AbstractValidator {
+public final class HttpMethodSemanticsValidator extends AbstractValidator implements ShapeValidator<OperationShape> {
     /**
      * Provides the configuration for each HTTP method name:
      *
@@ -61,18 +62,14 @@ public final class HttpMethodSemanticsValidator extends AbstractValidator {
             "PATCH", new HttpMethodSemantics(false, null, true));
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        if (!model.isTraitApplied(HttpTrait.class)) {
-            return Collections.emptyList();
-        }
+    public Collection<OperationShape> selectShapes(Model model) {
+        return model.getOperationShapesWithTrait(HttpTrait.class);
+    }
 
+    @Override
+    public List<ValidationEvent> validateShape(Model model, OperationShape operation) {
         HttpBindingIndex bindingIndex = HttpBindingIndex.of(model);
-        List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : model.getOperationShapesWithTrait(HttpTrait.class)) {
-            events.addAll(validateOperation(bindingIndex, operation, operation.expectTrait(HttpTrait.class)));
-        }
-
-        return events;
+        return validateOperation(bindingIndex, operation, operation.expectTrait(HttpTrait.class));
     }
 
     private List<ValidationEvent> validateOperation(
@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.HttpBinding;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.HttpRoutingIndex;
 import software.amazon.smithy.model.knowledge.OperationIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.pattern.SmithyPattern;
@@ -41,6 +43,7 @@ import software.amazon.smithy.model.traits.HostLabelTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.PatternTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.OptionalUtils;
 import software.amazon.smithy.utils.Pair;
@@ -48,60 +51,54 @@ import software.amazon.smithy.utils.Pair;
 /**
  * Validates that no two URIs in a service conflict with each other.
  */
-public final class HttpUriConflictValidator extends AbstractValidator {
+public final class HttpUriConflictValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
+    public Collection<ServiceShape> selectShapes(Model model) {
         if (!model.isTraitApplied(HttpTrait.class)) {
             return Collections.emptyList();
         }
 
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(model, shape).stream())
-                .collect(Collectors.toList());
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
+        return validateService(model, service);
     }
 
     private List<ValidationEvent> validateService(Model model, ServiceShape service) {
-        List<OperationShape> operations = new ArrayList<>();
+        List<ValidationEvent> events = new ArrayList<>();
         for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
             if (operation.hasTrait(HttpTrait.class)) {
-                operations.add(operation);
+                events.addAll(checkConflicts(model, service, operation, operation.expectTrait(HttpTrait.class)));
             }
         }
 
-        List<ValidationEvent> events = new ArrayList<>();
-        for (OperationShape operation : operations) {
-            events.addAll(checkConflicts(model, operation, operation.expectTrait(HttpTrait.class), operations));
-        }
-
         return events;
     }
 
     private List<ValidationEvent> checkConflicts(
             Model model,
+            ServiceShape service,
             OperationShape operation,
-            HttpTrait httpTrait,
-            List<OperationShape> operations
+            HttpTrait httpTrait
     ) {
-        String method = httpTrait.getMethod();
         UriPattern pattern = httpTrait.getUri();
 
         // Some conflicts are potentially allowable, so we split them up into to lists.
         List<Pair<ShapeId, UriPattern>> conflicts = new ArrayList<>();
         List<Pair<ShapeId, UriPattern>> allowableConflicts = new ArrayList<>();
 
-        for (OperationShape other : operations) {
-            if (other != operation && other.hasTrait(HttpTrait.class)) {
-                HttpTrait otherHttpTrait = other.expectTrait(HttpTrait.class);
-                if (otherHttpTrait.getMethod().equals(method)
-                        && otherHttpTrait.getUri().conflictsWith(pattern)
-                        && endpointConflicts(model, operation, other)) {
-                    // Now that we know we have a conflict, determine whether it is allowable or not.
-                    if (isAllowableConflict(model, operation, other)) {
-                        allowableConflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
-                    } else {
-                        conflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
-                    }
+        // The routing index only returns operations with the same method and a conflicting URI.
+        for (OperationShape other : HttpRoutingIndex.of(model).getConflictingOperations(service, operation)) {
+            if (endpointConflicts(model, operation, other)) {
+                UriPattern otherPattern = other.expectTrait(HttpTrait.class).getUri();
+                // Now that we know we have a conflict, determine whether it is allowable or not.
+                if (isAllowableConflict(model, operation, other)) {
+                    allowableConflicts.add(Pair.of(other.getId(), otherPattern));
+                } else {
+                    conflicts.add(Pair.of(other.getId(), otherPattern));
                 }
             }
         }
@@ -16,23 +16,25 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.LengthTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
-public final class LengthTraitValidator extends AbstractValidator {
+public final class LengthTraitValidator extends AbstractValidator implements ShapeValidator<Shape> {
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(LengthTrait.class)) {
-            events.addAll(validateLengthTrait(shape, shape.expectTrait(LengthTrait.class)));
-        }
+    public Collection<Shape> selectShapes(Model model) {
+        return model.getShapesWithTrait(LengthTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        return validateLengthTrait(shape, shape.expectTrait(LengthTrait.class));
     }
 
     private List<ValidationEvent> validateLengthTrait(Shape shape, LengthTrait trait) {
@@ -16,23 +16,27 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.MediaTypeTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.MediaType;
 
-public final class MediaTypeValidator extends AbstractValidator {
+public final class MediaTypeValidator extends AbstractValidator implements ShapeValidator<Shape> {
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(MediaTypeTrait.class)) {
-            validateMediaType(shape, shape.expectTrait(MediaTypeTrait.class)).ifPresent(events::add);
-        }
+    public Collection<Shape> selectShapes(Model model) {
+        return model.getShapesWithTrait(MediaTypeTrait.class);
+    }
 
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        List<ValidationEvent> events = new ArrayList<>();
+        validateMediaType(shape, shape.expectTrait(MediaTypeTrait.class)).ifPresent(events::add);
         return events;
     }
 
@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +34,7 @@ import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.PaginatedTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.SetUtils;
@@ -55,7 +57,7 @@ import software.amazon.smithy.utils.SetUtils;
  *      member that targets an integer.</li>
  * </ul>
  */
-public final class PaginatedTraitValidator extends AbstractValidator {
+public final class PaginatedTraitValidator extends AbstractValidator implements ShapeValidator<OperationShape> {
     private static final Set<ShapeType> ITEM_SHAPES = SetUtils.of(ShapeType.LIST, ShapeType.MAP);
     private static final Set<ShapeType> PAGE_SHAPES = SetUtils.of(ShapeType.INTEGER);
     private static final Set<ShapeType> TOKEN_SHAPES = SetUtils.of(ShapeType.STRING, ShapeType.MAP);
@@ -63,17 +65,16 @@ public final class PaginatedTraitValidator extends AbstractValidator {
     private static final Pattern PATH_PATTERN = Pattern.compile("\\.");
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
+    public Collection<OperationShape> selectShapes(Model model) {
+        return model.getOperationShapesWithTrait(PaginatedTrait.class);
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, OperationShape operation) {
         OperationIndex opIndex = OperationIndex.of(model);
         TopDownIndex topDown = TopDownIndex.of(model);
-        List<ValidationEvent> events = new ArrayList<>();
-
-        for (OperationShape operation : model.getOperationShapesWithTrait(PaginatedTrait.class)) {
-            PaginatedTrait paginatedTrait = operation.expectTrait(PaginatedTrait.class);
-            events.addAll(validateOperation(model, topDown, opIndex, operation, paginatedTrait));
-        }
-
-        return events;
+        PaginatedTrait paginatedTrait = operation.expectTrait(PaginatedTrait.class);
+        return validateOperation(model, topDown, opIndex, operation, paginatedTrait);
     }
 
     private List<ValidationEvent> validateOperation(
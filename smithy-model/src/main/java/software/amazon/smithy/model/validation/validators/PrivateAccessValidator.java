@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.model.validation.validators;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -28,24 +29,29 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.SimpleShape;
 import software.amazon.smithy.model.traits.PrivateTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Ensures that shapes in separate namespaces don't refer to shapes in other
  * namespaces that are marked as private.
  */
-public final class PrivateAccessValidator extends AbstractValidator {
+public final class PrivateAccessValidator extends AbstractValidator implements ShapeValidator<Shape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        Set<Shape> privateShapes = model.getShapesWithTrait(PrivateTrait.class);
-        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
+    public Collection<Shape> selectShapes(Model model) {
         return model.shapes()
                 .filter(shape -> !(shape instanceof SimpleShape))
-                .flatMap(shape -> validateNeighbors(shape, provider.getNeighbors(shape), privateShapes))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        Set<Shape> privateShapes = model.getShapesWithTrait(PrivateTrait.class);
+        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
+        return validateNeighbors(shape, provider.getNeighbors(shape), privateShapes).collect(Collectors.toList());
+    }
+
     private Stream<ValidationEvent> validateNeighbors(
             Shape shape,
             List<Relationship> relationships,
@@ -19,6 +19,7 @@ import static java.lang.String.format;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import software.amazon.smithy.model.Model;
@@ -26,22 +27,23 @@ import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.RangeTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
 /**
  * Ensures that range traits are valid.
  */
-public final class RangeTraitValidator extends AbstractValidator {
+public final class RangeTraitValidator extends AbstractValidator implements ShapeValidator<Shape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(RangeTrait.class)) {
-            events.addAll(validateRangeTrait(model, shape, shape.expectTrait(RangeTrait.class)));
-        }
+    public Collection<Shape> selectShapes(Model model) {
+        return model.getShapesWithTrait(RangeTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        return validateRangeTrait(model, shape, shape.expectTrait(RangeTrait.class));
     }
 
     private List<ValidationEvent> validateRangeTrait(Model model, Shape shape, RangeTrait trait) {
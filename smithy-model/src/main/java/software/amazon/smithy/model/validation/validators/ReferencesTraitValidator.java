@@ -38,6 +38,7 @@ import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.ReferencesTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 import software.amazon.smithy.utils.ListUtils;
@@ -45,17 +46,16 @@ import software.amazon.smithy.utils.ListUtils;
 /**
  * Validates that references are correct.
  */
-public final class ReferencesTraitValidator extends AbstractValidator {
+public final class ReferencesTraitValidator extends AbstractValidator implements ShapeValidator<Shape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-
-        for (Shape shape : model.getShapesWithTrait(ReferencesTrait.class)) {
-            events.addAll(validateShape(model, shape, shape.expectTrait(ReferencesTrait.class)));
-        }
+    public Collection<Shape> selectShapes(Model model) {
+        return model.getShapesWithTrait(ReferencesTrait.class);
+    }
 
-        return events;
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        return validateShape(model, shape, shape.expectTrait(ReferencesTrait.class));
     }
 
     private List<ValidationEvent> validateShape(Model model, Shape shape, ReferencesTrait trait) {
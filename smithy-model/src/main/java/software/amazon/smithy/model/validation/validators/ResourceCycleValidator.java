@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.model.validation.validators;
 
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
@@ -25,18 +26,23 @@ import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.OptionalUtils;
 
 /**
  * Validates that resource references do not introduce circular hierarchies.
  */
-public final class ResourceCycleValidator extends AbstractValidator {
+public final class ResourceCycleValidator extends AbstractValidator implements ShapeValidator<ResourceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        return model.shapes(ResourceShape.class)
-                .flatMap(shape -> OptionalUtils.stream(detectCycles(model, shape, new LinkedHashSet<>())))
+    public Collection<ResourceShape> selectShapes(Model model) {
+        return model.getResourceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ResourceShape resource) {
+        return OptionalUtils.stream(detectCycles(model, resource, new LinkedHashSet<>()))
                 .collect(Collectors.toList());
     }
 
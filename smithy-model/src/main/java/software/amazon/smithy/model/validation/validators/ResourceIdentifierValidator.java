@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.model.validation.validators;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +25,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.OptionalUtils;
 
@@ -31,13 +33,16 @@ import software.amazon.smithy.utils.OptionalUtils;
  * Validates that the resource identifiers of children of a resource contain
  * all of the identifiers as their parents.
  */
-public final class ResourceIdentifierValidator extends AbstractValidator {
+public final class ResourceIdentifierValidator extends AbstractValidator implements ShapeValidator<ResourceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        return model.shapes(ResourceShape.class)
-                .flatMap(resource -> validateAgainstChildren(resource, model))
-                .collect(Collectors.toList());
+    public Collection<ResourceShape> selectShapes(Model model) {
+        return model.getResourceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ResourceShape resource) {
+        return validateAgainstChildren(resource, model).collect(Collectors.toList());
     }
 
     private Stream<ValidationEvent> validateAgainstChildren(ResourceShape resource, Model model) {
@@ -18,9 +18,9 @@ package software.amazon.smithy.model.validation.validators;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
@@ -28,18 +28,22 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.IdempotentTrait;
 import software.amazon.smithy.model.traits.ReadonlyTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that resource are applied appropriately to resources.
  */
-public final class ResourceLifecycleValidator extends AbstractValidator {
+public final class ResourceLifecycleValidator extends AbstractValidator implements ShapeValidator<ResourceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        return model.shapes(ResourceShape.class)
-                .flatMap(shape -> validateResource(model, shape).stream())
-                .collect(Collectors.toList());
+    public Collection<ResourceShape> selectShapes(Model model) {
+        return model.getResourceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ResourceShape resource) {
+        return validateResource(model, resource);
     }
 
     private List<ValidationEvent> validateResource(Model model, ResourceShape resource) {
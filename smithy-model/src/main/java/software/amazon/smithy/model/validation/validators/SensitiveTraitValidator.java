@@ -15,9 +15,9 @@
 
 package software.amazon.smithy.model.validation.validators;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
@@ -25,40 +25,41 @@ import software.amazon.smithy.model.shapes.SimpleShape;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.ListUtils;
 
 /**
  * Finds members marked as sensitive that target shapes marked as sensitive,
  * and find members marked as sensitive that target structures, unions, or
  * enums.
  */
-public final class SensitiveTraitValidator extends AbstractValidator {
+public final class SensitiveTraitValidator extends AbstractValidator implements ShapeValidator<MemberShape> {
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        return model.shapes(MemberShape.class)
-                .filter(member -> member.hasTrait(SensitiveTrait.class))
-                .map(member -> {
-                    Shape target = model.getShape(member.getTarget()).orElse(null);
-                    if (target == null) {
-                        return null;
-                    } else if (target.hasTrait(SensitiveTrait.class)) {
-                        return warning(member, member.expectTrait(SensitiveTrait.class),
-                                       "Redundant `sensitive` trait found on member that targets a `sensitive` shape");
-                    } else if (isBadSensitiveTarget(target)) {
-                        return warning(member, member.expectTrait(SensitiveTrait.class),
-                                "Members marked with the `sensitive` trait should not target shapes that represent "
-                                + "concrete data types like structures, unions, or enums. A better approach is to "
-                                + "instead mark the targeted shape as sensitive and omit the `sensitive` trait from "
-                                + "the member. This helps to prevent modeling mistakes by ensuring every reference "
-                                + "to concrete data types that are inherently sensitive are always considered "
-                                + "sensitive. Concrete types that are conditionally sensitive should generally be "
-                                + "separated into two types: one to represent a sensitive type and one to represent "
-                                + "the normal type.");
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public Collection<MemberShape> selectShapes(Model model) {
+        return model.getMemberShapesWithTrait(SensitiveTrait.class);
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, MemberShape member) {
+        Shape target = model.getShape(member.getTarget()).orElse(null);
+        if (target == null) {
+            return Collections.emptyList();
+        } else if (target.hasTrait(SensitiveTrait.class)) {
+            return ListUtils.of(warning(member, member.expectTrait(SensitiveTrait.class),
+                    "Redundant `sensitive` trait found on member that targets a `sensitive` shape"));
+        } else if (isBadSensitiveTarget(target)) {
+            return ListUtils.of(warning(member, member.expectTrait(SensitiveTrait.class),
+                    "Members marked with the `sensitive` trait should not target shapes that represent "
+                    + "concrete data types like structures, unions, or enums. A better approach is to "
+                    + "instead mark the targeted shape as sensitive and omit the `sensitive` trait from "
+                    + "the member. This helps to prevent modeling mistakes by ensuring every reference "
+                    + "to concrete data types that are inherently sensitive are always considered "
+                    + "sensitive. Concrete types that are conditionally sensitive should generally be "
+                    + "separated into two types: one to represent a sensitive type and one to represent "
+                    + "the normal type."));
+        }
+        return Collections.emptyList();
     }
 
     private boolean isBadSensitiveTarget(Shape target) {
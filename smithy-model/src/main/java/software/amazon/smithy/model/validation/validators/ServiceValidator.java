@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,7 +26,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
 import software.amazon.smithy.model.neighbor.Walker;
@@ -38,6 +38,7 @@ import software.amazon.smithy.model.shapes.SimpleShape;
 import software.amazon.smithy.model.traits.ErrorTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.Pair;
 
@@ -56,13 +57,16 @@ import software.amazon.smithy.utils.Pair;
  * detected on other shapes are emitted as a WARNING, and other conflicts are
  * emitted as ERROR.
  */
-public final class ServiceValidator extends AbstractValidator {
+public final class ServiceValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(model, shape).stream())
-                .collect(Collectors.toList());
+    public Collection<ServiceShape> selectShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
+        return validateService(model, service);
     }
 
     private List<ValidationEvent> validateService(Model model, ServiceShape service) {
@@ -16,12 +16,12 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ListShape;
 import software.amazon.smithy.model.shapes.MapShape;
@@ -31,6 +31,7 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeVisitor;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -43,17 +44,20 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * code generators where a list of itself or a list of maps of itself
  * is impossible to define.
  */
-public final class ShapeRecursionValidator extends AbstractValidator {
+public final class ShapeRecursionValidator extends AbstractValidator implements ShapeValidator<Shape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        return model.shapes()
-                .map(shape -> validateShape(model, shape))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public Collection<Shape> selectShapes(Model model) {
+        return model.toSet();
     }
 
-    private ValidationEvent validateShape(Model model, Shape shape) {
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        ValidationEvent event = validateRecursion(model, shape);
+        return event == null ? Collections.emptyList() : Collections.singletonList(event);
+    }
+
+    private ValidationEvent validateRecursion(Model model, Shape shape) {
         return new RecursiveNeighborVisitor(model, shape).visit(shape);
     }
 
@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -28,20 +29,23 @@ import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Validates that an operation is only bound to once in an entire
  * service closure.
  */
-public final class SingleOperationBindingValidator extends AbstractValidator {
+public final class SingleOperationBindingValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        TopDownIndex topDownIndex = TopDownIndex.of(model);
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(topDownIndex, shape).stream())
-                .collect(Collectors.toList());
+    public Collection<ServiceShape> selectShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
+        return validateService(TopDownIndex.of(model), service);
     }
 
     private List<ValidationEvent> validateService(TopDownIndex topDownIndex, ServiceShape service) {
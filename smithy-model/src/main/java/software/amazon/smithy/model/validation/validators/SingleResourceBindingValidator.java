@@ -16,16 +16,17 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
@@ -33,14 +34,16 @@ import software.amazon.smithy.model.validation.ValidationUtils;
  * Validates that a resource is only bound to once in an entire
  * service closure.
  */
-public final class SingleResourceBindingValidator extends AbstractValidator {
+public final class SingleResourceBindingValidator extends AbstractValidator implements ShapeValidator<ServiceShape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        TopDownIndex topDownIndex = TopDownIndex.of(model);
-        return model.shapes(ServiceShape.class)
-                .flatMap(shape -> validateService(topDownIndex, shape).stream())
-                .collect(Collectors.toList());
+    public Collection<ServiceShape> selectShapes(Model model) {
+        return model.getServiceShapes();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, ServiceShape service) {
+        return validateService(TopDownIndex.of(model), service);
     }
 
     private List<ValidationEvent> validateService(TopDownIndex topDownIndex, ServiceShape service) {
@@ -36,6 +36,7 @@ import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeType;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.FunctionalUtils;
 import software.amazon.smithy.utils.OptionalUtils;
@@ -45,18 +46,21 @@ import software.amazon.smithy.utils.StringUtils;
 /**
  * Validates that neighbors target resolvable shapes of the correct type.
  */
-public final class TargetValidator extends AbstractValidator {
+public final class TargetValidator extends AbstractValidator implements ShapeValidator<Shape> {
 
     private static final int MAX_EDIT_DISTANCE_FOR_SUGGESTIONS = 2;
     private static final Set<ShapeType> INVALID_MEMBER_TARGETS = SetUtils.of(
             ShapeType.SERVICE, ShapeType.RESOURCE, ShapeType.OPERATION, ShapeType.MEMBER);
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
+    public Collection<Shape> selectShapes(Model model) {
+        return model.toSet();
+    }
+
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
         NeighborProvider neighborProvider = NeighborProviderIndex.of(model).getProvider();
-        return model.shapes()
-                .flatMap(shape -> validateShape(model, shape, neighborProvider.getNeighbors(shape)))
-                .collect(Collectors.toList());
+        return validateShape(model, shape, neighborProvider.getNeighbors(shape)).collect(Collectors.toList());
     }
 
     private Stream<ValidationEvent> validateShape(Model model, Shape shape, List<Relationship> relationships) {
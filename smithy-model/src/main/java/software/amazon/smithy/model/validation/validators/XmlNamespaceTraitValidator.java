@@ -18,12 +18,14 @@ package software.amazon.smithy.model.validation.validators;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.XmlNamespaceTrait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -33,15 +35,17 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  *     <li>Validates that uri is valid.</li>
  * </ul>
  */
-public final class XmlNamespaceTraitValidator extends AbstractValidator {
+public final class XmlNamespaceTraitValidator extends AbstractValidator implements ShapeValidator<Shape> {
 
     @Override
-    public List<ValidationEvent> validate(Model model) {
-        List<ValidationEvent> events = new ArrayList<>();
-        for (Shape shape : model.getShapesWithTrait(XmlNamespaceTrait.class)) {
-            validateTrait(shape, shape.expectTrait(XmlNamespaceTrait.class)).ifPresent(events::add);
-        }
+    public Collection<Shape> selectShapes(Model model) {
+        return model.getShapesWithTrait(XmlNamespaceTrait.class);
+    }
 
+    @Override
+    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+        List<ValidationEvent> events = new ArrayList<>();
+        validateTrait(shape, shape.expectTrait(XmlNamespaceTrait.class)).ifPresent(events::add);
         return events;
     }
 
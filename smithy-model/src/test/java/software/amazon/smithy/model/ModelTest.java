@@ -18,6 +18,7 @@ package software.amazon.smithy.model;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
@@ -30,7 +31,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.knowledge.HttpBindingIndex;
@@ -40,6 +48,7 @@ import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.IntegerShape;
 import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
@@ -104,6 +113,36 @@ public class ModelTest {
         assertFalse(model.getShape(ShapeId.from("ns.foo#baz")).isPresent());
     }
 
+    @Test
+    public void getsShapesByNamespace() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        StringShape b = StringShape.builder().id("ns.foo.bar#b").build();
+        MemberShape member = MemberShape.builder().id("ns.foo#List$member").target(a.getId()).build();
+        ListShape list = ListShape.builder().id("ns.foo#List").member(member).build();
+        Model model = Model.builder().addShapes(a, b, list).build();
+
+        assertThat(model.getNamespaces(), contains("ns.foo", "ns.foo.bar"));
+        assertThat(model.getShapesInNamespace("ns.foo"), containsInAnyOrder(a, list, member));
+        assertThat(model.getShapesInNamespace("ns.foo.bar"), contains(b));
+        assertThat(model.getShapesInNamespace("ns.baz"), empty());
+    }
+
+    @Test
+    public void getsShapesByShapeIdPrefix() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        StringShape b = StringShape.builder().id("ns.foo.bar#b").build();
+        MemberShape member = MemberShape.builder().id("ns.foo#List$member").target(a.getId()).build();
+        ListShape list = ListShape.builder().id("ns.foo#List").member(member).build();
+        Model model = Model.builder().addShapes(a, b, list).build();
+
+        assertThat(model.getShapesWithIdPrefix("ns.foo"), contains(list, member, a, b));
+        assertThat(model.getShapesWithIdPrefix("ns.foo#"), contains(list, member, a));
+        assertThat(model.getShapesWithIdPrefix("ns.foo#List"), contains(list, member));
+        assertThat(model.getShapesWithIdPrefix("ns.foo.bar#b"), contains(b));
+        assertThat(model.getShapesWithIdPrefix("ns.foo#z"), empty());
+        assertThat(model.getShapesWithIdPrefix("zzz"), empty());
+    }
+
     @Test
     public void getsShapesAsType() {
         StringShape a = StringShape.builder().id("ns.foo#a").build();
@@ -274,4 +313,69 @@ public class ModelTest {
             HttpBindingIndex.of(model);
         }
     }
+
+    @Test
+    public void computesEachKnowledgeIndexOnce() {
+        Model model = Model.builder().build();
+        AtomicInteger created = new AtomicInteger();
+        long instances = IntStream.range(0, 1000)
+                .parallel()
+                .mapToObj(i -> model.getKnowledge(Counted.class, m -> new Counted(created)))
+                .distinct()
+                .count();
+
+        assertThat(instances, equalTo(1L));
+        assertThat(created.get(), equalTo(1));
+    }
+
+    @Test
+    public void computesDifferentKnowledgeIndexesConcurrently() throws Exception {
+        Model model = Model.builder().build();
+        CountDownLatch latch = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Each index waits until both are being computed, which only
+            // happens if computing one doesn't block computing the other.
+            Future<First> first = executor.submit(() -> model.getKnowledge(First.class, m -> new First(latch)));
+            Future<Second> second = executor.submit(() -> model.getKnowledge(Second.class, m -> new Second(latch)));
+
+            assertTrue(first.get(10, TimeUnit.SECONDS).concurrent);
+            assertTrue(second.get(10, TimeUnit.SECONDS).concurrent);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Counted implements KnowledgeIndex {
+        Counted(AtomicInteger created) {
+            created.incrementAndGet();
+        }
+    }
+
+    private static class Latched implements KnowledgeIndex {
+        final boolean concurrent;
+
+        Latched(CountDownLatch latch) {
+            latch.countDown();
+            try {
+                concurrent = latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static final class First extends Latched {
+        First(CountDownLatch latch) {
+            super(latch);
+        }
+    }
+
+    private static final class Second extends Latched {
+        Second(CountDownLatch latch) {
+            super(latch);
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class HttpRoutingIndexTest {
+    private static Model model;
+    private static ShapeId serviceId = ShapeId.from("smithy.example#Example");
+
+    @BeforeAll
+    public static void before() {
+        // The model intentionally contains conflicting URIs, so validation errors are ignored.
+        model = Model.assembler()
+                .addImport(HttpRoutingIndexTest.class.getResource("http-routing-index.smithy"))
+                .assemble()
+                .getResult()
+                .get();
+    }
+
+    @AfterAll
+    public static void after() {
+        model = null;
+    }
+
+    @Test
+    public void findsConflictingOperations() {
+        HttpRoutingIndex index = HttpRoutingIndex.of(model);
+
+        assertThat(conflicts(index, "GetFoo"), contains("smithy.example#GetLatestFoo"));
+        assertThat(conflicts(index, "GetLatestFoo"),
+                   containsInAnyOrder("smithy.example#GetFoo", "smithy.example#GetFooFile"));
+        assertThat(conflicts(index, "ListFoos"), empty());
+        assertThat(conflicts(index, "PutFoo"), empty());
+        assertThat(conflicts(index, "GetBar"), empty());
+        assertThat(conflicts(index, "GetFooFile"), contains("smithy.example#GetLatestFoo"));
+    }
+
+    @Test
+    public void findsConflictsBetweenLabelsAndLongerRoutes() {
+        Model model = Model.assembler()
+                .addUnparsedModel("test.smithy", "namespace smithy.example\n"
+                        + "service Example { version: \"1\", operations: [A, B, C] }\n"
+                        + "@http(method: \"GET\", uri: \"/{a}\") operation A { input: AInput }\n"
+                        + "@http(method: \"GET\", uri: \"/b/c\") operation B {}\n"
+                        + "@http(method: \"GET\", uri: \"/{c+}\") operation C { input: CInput }\n"
+                        + "structure AInput { @required @httpLabel a: String }\n"
+                        + "structure CInput { @required @httpLabel c: String }\n")
+                .assemble()
+                .getResult()
+                .get();
+        HttpRoutingIndex index = HttpRoutingIndex.of(model);
+
+        assertThat(conflicts(index, "A"), containsInAnyOrder("smithy.example#B", "smithy.example#C"));
+        assertThat(conflicts(index, "B"), containsInAnyOrder("smithy.example#A", "smithy.example#C"));
+        assertThat(conflicts(index, "C"), containsInAnyOrder("smithy.example#A", "smithy.example#B"));
+    }
+
+    @Test
+    public void returnsNoConflictsForUnknownOperations() {
+        HttpRoutingIndex index = HttpRoutingIndex.of(model);
+
+        assertThat(index.getConflictingOperations(serviceId, ShapeId.from("smithy.example#Missing")), empty());
+        assertThat(index.getConflictingOperations(ShapeId.from("smithy.example#Missing"),
+                                                  ShapeId.from("smithy.example#GetFoo")), empty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("matchingRequests")
+    public void matchesRequestsToOperations(String method, String requestTarget, String operation) {
+        HttpRoutingIndex index = HttpRoutingIndex.of(model);
+
+        assertThat(index.getMatchingOperation(serviceId, method, requestTarget).map(Shape::getId),
+                   equalTo(Optional.of(ShapeId.fromParts("smithy.example", operation))));
+    }
+
+    public static Stream<Arguments> matchingRequests() {
+        return Stream.of(
+                Arguments.of("GET", "/foo", "ListFoos"),
+                Arguments.of("GET", "/foo/", "ListFoos"),
+                Arguments.of("GET", "/foo?other", "ListFoos"),
+                Arguments.of("GET", "/foo?filter", "ListFoosFiltered"),
+                Arguments.of("GET", "/foo?filter=abc&other", "ListFoosFiltered"),
+                Arguments.of("GET", "/foo/latest", "GetLatestFoo"),
+                Arguments.of("GET", "/foo/123", "GetFoo"),
+                Arguments.of("PUT", "/foo/123", "PutFoo"),
+                Arguments.of("GET", "/foo/123/files/a", "GetFooFile"),
+                Arguments.of("GET", "/foo/123/files/a/b/c", "GetFooFile"),
+                Arguments.of("GET", "/bar/a", "GetBar"),
+                Arguments.of("GET", "/bar/a/b", "GetBar"),
+                Arguments.of("GET", "/bar/a/b/metadata", "GetBarMetadata"),
+                Arguments.of("GET", "/bar/metadata", "GetBar")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("unknownRoutes")
+    public void doesNotMatchUnknownRoutes(String method, String requestTarget) {
+        HttpRoutingIndex index = HttpRoutingIndex.of(model);
+
+        assertThat(index.getMatchingOperation(serviceId, method, requestTarget), equalTo(Optional.empty()));
+    }
+
+    public static Stream<Arguments> unknownRoutes() {
+        return Stream.of(
+                Arguments.of("DELETE", "/foo/123"),
+                Arguments.of("GET", "/"),
+                Arguments.of("GET", "foo"),
+                Arguments.of("GET", "/baz"),
+                Arguments.of("GET", "/foo/123/files"),
+                Arguments.of("GET", "/foo//files/a"),
+                Arguments.of("GET", "/bar")
+        );
+    }
+
+    private static List<String> conflicts(HttpRoutingIndex index, String operation) {
+        return index.getConflictingOperations(serviceId, ShapeId.fromParts("smithy.example", operation)).stream()
+                .map(OperationShape::getId)
+                .map(ShapeId::toString)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.SetUtils;
+
+public class IncrementalValidationCacheTest {
+
+    private static final String FOO = "namespace smithy.example\n"
+            + "structure Foo { bar: Bar }\n"
+            + "string Bar\n";
+
+    private static final String BAD = "namespace smithy.example\n"
+            + "@length(min: 2, max: 1)\n"
+            + "string Bad\n";
+
+    @Test
+    public void populatesCacheOnFirstValidation() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+
+        assertThat(cache.isEmpty(), is(true));
+        assemble(cache, FOO, BAD);
+        assertThat(cache.isEmpty(), is(false));
+
+        cache.clear();
+        assertThat(cache.isEmpty(), is(true));
+    }
+
+    @Test
+    public void copiesAreUpdatedIndependently() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        assemble(cache, FOO, BAD);
+        IncrementalValidationCache copy = cache.copy();
+        String fixed = BAD.replace("min: 2", "min: 1");
+
+        assertSameEvents(assemble(copy, FOO, fixed), assemble(null, FOO, fixed));
+        // The original cache still holds the first validation.
+        assertSameEvents(assemble(cache, FOO, BAD), assemble(null, FOO, BAD));
+        assertThat(cache.copy().isEmpty(), is(false));
+        assertThat(new IncrementalValidationCache().copy().isEmpty(), is(true));
+    }
+
+    @Test
+    public void reusesEventsWhenNothingChanges() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        ValidatedResult<Model> first = assemble(cache, FOO, BAD);
+        ValidatedResult<Model> second = assemble(cache, FOO, BAD);
+
+        assertSameEvents(second, first);
+    }
+
+    @Test
+    public void revalidatesChangedShapes() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        assemble(cache, FOO, BAD);
+        String foo = FOO.replace("string Bar", "@length(min: 3, max: 1)\nstring Bar");
+        ValidatedResult<Model> result = assemble(cache, foo, BAD);
+
+        assertSameEvents(result, assemble(null, foo, BAD));
+        assertThat(shapesWithEvents(result), hasItem(ShapeId.from("smithy.example#Bar")));
+        assertThat(shapesWithEvents(result), hasItem(ShapeId.from("smithy.example#Bad")));
+    }
+
+    @Test
+    public void removesEventsOfFixedShapes() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        assemble(cache, FOO, BAD);
+        String bad = BAD.replace("max: 1", "max: 10");
+        ValidatedResult<Model> result = assemble(cache, FOO, bad);
+
+        assertSameEvents(result, assemble(null, FOO, bad));
+        assertThat(shapesWithEvents(result), not(hasItem(ShapeId.from("smithy.example#Bad"))));
+    }
+
+    @Test
+    public void revalidatesShapesThatReferToRemovedShapes() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        assemble(cache, FOO, BAD);
+        String foo = FOO.replace("string Bar\n", "");
+        ValidatedResult<Model> result = assemble(cache, foo, BAD);
+
+        assertSameEvents(result, assemble(null, foo, BAD));
+        assertThat(shapesWithEvents(result), hasItem(ShapeId.from("smithy.example#Foo$bar")));
+    }
+
+    @Test
+    public void revalidatesShapesThatAreValidatedThroughChangedShapes() {
+        String http = "namespace smithy.example\n"
+                + "@readonly\n"
+                + "@http(method: \"GET\", uri: \"/{id}\")\n"
+                + "operation GetFoo { input: GetFooInput }\n"
+                + "structure GetFooInput {\n"
+                + "    @required\n"
+                + "    @httpLabel\n"
+                + "    id: String\n"
+                + "}\n";
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        assemble(cache, http, BAD);
+        // The label is validated through the operation, but reported on the unchanged input member.
+        String withoutLabel = http.replace("/{id}", "/");
+        ValidatedResult<Model> result = assemble(cache, withoutLabel, BAD);
+
+        assertSameEvents(result, assemble(null, withoutLabel, BAD));
+        assertThat(shapesWithEvents(result), hasItem(ShapeId.from("smithy.example#GetFooInput$id")));
+    }
+
+    @Test
+    public void affectedShapesIncludeTransitiveReferrers() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        Model previous = assemble(cache, FOO, BAD).getResult().get();
+        Model next = assemble(null, FOO.replace("string Bar", "@sensitive\nstring Bar"), BAD).getResult().get();
+        Set<ShapeId> affected = cache.computeAffectedShapes(next);
+
+        assertThat(cache.computeAffectedShapes(previous).isEmpty(), is(true));
+        assertThat(affected, containsInAnyOrder(
+                ShapeId.from("smithy.example#Bar"),
+                ShapeId.from("smithy.example#Foo$bar"),
+                ShapeId.from("smithy.example#Foo")));
+    }
+
+    @Test
+    public void requiresFullValidationWhenMetadataChanges() {
+        IncrementalValidationCache cache = new IncrementalValidationCache();
+        Model previous = assemble(cache, FOO, BAD).getResult().get();
+        Model next = previous.toBuilder().putMetadataProperty("foo", Node.from("bar")).build();
+
+        assertThat(cache.computeAffectedShapes(next), nullValue());
+    }
+
+    @Test
+    public void focusedModelContainsTargetedShapes() {
+        Model model = assemble(null, FOO, BAD).getResult().get();
+        Model focused = IncrementalValidationCache.focus(model, SetUtils.of(ShapeId.from("smithy.example#Foo$bar")));
+
+        assertThat(focused.getShape(ShapeId.from("smithy.example#Foo$bar")).isPresent(), is(true));
+        assertThat(focused.getShape(ShapeId.from("smithy.example#Bar")).isPresent(), is(true));
+        assertThat(focused.getShape(ShapeId.from("smithy.example#Bad")).isPresent(), is(false));
+    }
+
+    private static ValidatedResult<Model> assemble(IncrementalValidationCache cache, String foo, String bad) {
+        return Model.assembler()
+                .validationCache(cache)
+                .addUnparsedModel("foo.smithy", foo)
+                .addUnparsedModel("bad.smithy", bad)
+                .assemble();
+    }
+
+    private static void assertSameEvents(ValidatedResult<Model> actual, ValidatedResult<Model> expected) {
+        assertThat(new HashSet<>(actual.getValidationEvents()),
+                   equalTo(new HashSet<>(expected.getValidationEvents())));
+    }
+
+    private static Set<ShapeId> shapesWithEvents(ValidatedResult<Model> result) {
+        Set<ShapeId> ids = new HashSet<>();
+        for (ValidationEvent event : result.getValidationEvents()) {
+            event.getShapeId().ifPresent(ids::add);
+        }
+        return ids;
+    }
+}
@@ -659,4 +659,71 @@ public class ModelAssemblerTest {
 
         assertThat(collectedEvents, equalTo(toEmit));
     }
+
+    @Test
+    public void parsesFilesConcurrentlyWithDeterministicResults() {
+        ModelAssembler assembler = Model.assembler();
+        for (int i = 0; i < 50; i++) {
+            assembler.addUnparsedModel("file" + i + ".smithy", "namespace ns.foo\n"
+                    + "@documentation(\"" + i + "\")\n"
+                    + "structure Shape" + i + " { member: String }\n"
+                    + "apply Shared @tags([\"" + i + "\"])\n");
+        }
+        assembler.addUnparsedModel("shared.smithy", "namespace ns.foo\nstring Shared\n");
+        assembler.addUnparsedModel("invalid.smithy", "namespace ns.foo\nstructure Invalid {");
+
+        ValidatedResult<Model> sequential = assembler.copy()
+                .putProperty(ModelAssembler.PARSE_PARALLELISM, 1)
+                .assemble();
+        ValidatedResult<Model> parallel = assembler.copy()
+                .putProperty(ModelAssembler.PARSE_PARALLELISM, 4)
+                .assemble();
+
+        assertTrue(parallel.getResult().isPresent());
+        assertThat(parallel.getResult(), equalTo(sequential.getResult()));
+        assertThat(parallel.getValidationEvents(), equalTo(sequential.getValidationEvents()));
+        assertThat(parallel.getValidationEvents(Severity.ERROR), hasSize(1));
+    }
+
+    @Test
+    public void parsesStringParseParallelism() {
+        ModelAssembler assembler = Model.assembler()
+                .addUnparsedModel("a.smithy", "namespace ns.foo\nstring A\n")
+                .addUnparsedModel("b.smithy", "namespace ns.foo\nstring B\n");
+        Model model = assembler.copy().putProperty(ModelAssembler.PARSE_PARALLELISM, "2").assemble().unwrap();
+
+        assertTrue(model.getShape(ShapeId.from("ns.foo#A")).isPresent());
+        assertTrue(model.getShape(ShapeId.from("ns.foo#B")).isPresent());
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            assembler.copy().putProperty(ModelAssembler.PARSE_PARALLELISM, "many").assemble();
+        });
+        assertThat(e.getMessage(), containsString(ModelAssembler.PARSE_PARALLELISM));
+    }
+
+    @Test
+    public void loadsJsonShapesThatPrecedeTheVersion() {
+        Model model = Model.assembler()
+                .addUnparsedModel("a.json", "{\"shapes\": {\"ns.foo#A\": {\"type\": \"string\"}}, "
+                                            + "\"smithy\": \"" + Model.MODEL_VERSION + "\"}")
+                .assemble()
+                .unwrap();
+
+        assertTrue(model.getShape(ShapeId.from("ns.foo#A")).isPresent());
+    }
+
+    @Test
+    public void lastJsonShapesMemberWins() {
+        String version = "\"smithy\": \"" + Model.MODEL_VERSION + "\"";
+        String a = "\"shapes\": {\"ns.foo#A\": {\"type\": \"string\"}}";
+        String b = "\"shapes\": {\"ns.foo#B\": {\"type\": \"string\"}}";
+        Model model = Model.assembler()
+                .addUnparsedModel("streamed.json", "{" + version + ", " + a + ", " + b + "}")
+                .addUnparsedModel("streamed-last.json", "{" + a + ", " + version + ", " + b + "}")
+                .addUnparsedModel("buffered-last.json", "{" + a + ", " + b + ", " + version + "}")
+                .assemble()
+                .unwrap();
+
+        assertFalse(model.getShape(ShapeId.from("ns.foo#A")).isPresent());
+        assertTrue(model.getShape(ShapeId.from("ns.foo#B")).isPresent());
+    }
 }
@@ -18,12 +18,20 @@ package software.amazon.smithy.model.loader;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ShapeValidator;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
@@ -55,4 +63,41 @@ public class ModelValidatorTest {
         assertThat(result.getValidationEvents().get(0).getMessage(), containsString("client"));
         assertThat(result.getValidationEvents().get(1).getMessage(), containsString("server"));
     }
+
+    @Test
+    public void emitsShapeValidatorEventsInSelectionOrder() {
+        ModelAssembler assembler = new ModelAssembler();
+        for (int i = 0; i < 500; i++) {
+            assembler.addShape(StringShape.builder().id("smithy.example#Shape" + i).build());
+        }
+
+        List<Shape> selected = new ArrayList<>();
+        ValidatedResult<Model> result = assembler
+                .addValidator(new ShapeValidator<Shape>() {
+                    @Override
+                    public Collection<Shape> selectShapes(Model model) {
+                        for (Shape shape : model.toSet()) {
+                            if (shape.getId().getNamespace().equals("smithy.example")) {
+                                selected.add(shape);
+                            }
+                        }
+                        return selected;
+                    }
+
+                    @Override
+                    public List<ValidationEvent> validateShape(Model model, Shape shape) {
+                        return Collections.singletonList(ValidationEvent.builder()
+                                .severity(Severity.NOTE).id("Order").shape(shape).message("").build());
+                    }
+                })
+                .assemble();
+
+        List<Shape> emitted = result.getValidationEvents().stream()
+                .filter(event -> event.getId().equals("Order"))
+                .map(event -> result.unwrap().expectShape(event.getShapeId().get()))
+                .collect(Collectors.toList());
+
+        assertThat(emitted, hasSize(500));
+        assertThat(emitted, equalTo(selected));
+    }
 }
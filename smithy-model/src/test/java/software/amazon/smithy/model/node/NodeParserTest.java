@@ -16,15 +16,21 @@
 package software.amazon.smithy.model.node;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.loader.ModelSyntaxException;
+import software.amazon.smithy.model.node.internal.NodeHandler;
 
 public class NodeParserTest {
     @Test
@@ -216,4 +222,50 @@ public class NodeParserTest {
 
         assertThat(e.getMessage(), startsWith("Error parsing JSON: "));
     }
+
+    @Test
+    public void streamsMembersOfTopLevelObjectMember() {
+        String json = "{\"a\": {\"b\": {\"shapes\": {\"x\": 1}}}, "
+                      + "\"shapes\": {\"x\": {\"y\": [true]}, \"z\": 2}, \"c\": \"shapes\"}";
+        Map<String, Node> streamed = new LinkedHashMap<>();
+        Node result = NodeHandler.parse("foo.json", new StringReader(json), "shapes", parsed -> (key, value) -> {
+            streamed.put(key.getValue(), value);
+        });
+
+        assertThat(streamed.keySet(), contains("x", "z"));
+        assertThat(streamed.get("x"), equalTo(Node.parse("{\"y\": [true]}")));
+        assertThat(streamed.get("z"), equalTo(Node.from(2)));
+        assertThat(Node.printJson(result),
+                   equalTo("{\"a\":{\"b\":{\"shapes\":{\"x\":1}}},\"shapes\":{},\"c\":\"shapes\"}"));
+    }
+
+    @Test
+    public void doesNotStreamMembersThatAreNotObjects() {
+        String json = "{\"shapes\": [{\"x\": 1}]}";
+        Node result = NodeHandler.parse("foo.json", new StringReader(json), "shapes", parsed -> (key, value) -> {
+            throw new AssertionError("Unexpected member " + key);
+        });
+
+        assertThat(result, equalTo(Node.parse(json)));
+    }
+
+    @Test
+    public void onlyStreamsMembersWhenRequested() {
+        String json = "{\"shapes\": {\"x\": 1}, \"smithy\": \"1.0\", "
+                      + "\"shapes\": {\"y\": 2}, \"shapes\": {\"z\": 3}}";
+        List<ObjectNode> preceding = new ArrayList<>();
+        Map<String, Node> streamed = new LinkedHashMap<>();
+        Node result = NodeHandler.parse("foo.json", new StringReader(json), "shapes", parsed -> {
+            preceding.add(parsed);
+            return parsed.getMember("smithy").isPresent() && preceding.size() == 2
+                   ? (key, value) -> streamed.put(key.getValue(), value)
+                   : null;
+        });
+
+        assertThat(preceding.size(), equalTo(3));
+        assertThat(preceding.get(0).isEmpty(), is(true));
+        assertThat(preceding.get(1).getStringMap().keySet(), contains("shapes", "smithy"));
+        assertThat(streamed.keySet(), contains("y"));
+        assertThat(Node.printJson(result), equalTo("{\"shapes\":{\"z\":3},\"smithy\":\"1.0\"}"));
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.ListUtils;
+
+public class SelectorBatchTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(SelectorBatchTest.class.getResource("http-model.smithy"))
+                .addImport(SelectorBatchTest.class.getResource("nested-traits.smithy"))
+                .assemble()
+                .getResult() // ignore built-in errors
+                .get();
+    }
+
+    @Test
+    public void matchesSameShapesAsIndividualSelectors() {
+        List<Selector> selectors = ListUtils.of(
+                Selector.IDENTITY,
+                Selector.parse("structure"),
+                Selector.parse("structure > member"),
+                Selector.parse("structure > member [trait|required]"),
+                Selector.parse("member"),
+                Selector.parse("simpleType"),
+                Selector.parse("simpleType :not([trait|documentation])"),
+                Selector.parse("[trait|http]"),
+                Selector.parse("[trait|http|method = GET]"),
+                Selector.parse("[trait|documentation]"),
+                Selector.parse("[trait|error]"),
+                Selector.parse("[id|namespace = smithy.example]"),
+                Selector.parse("service $operations(~> operation) ${operations} :not([trait|http])"),
+                Selector.parse("operation -[input]-> structure > member"),
+                Selector.parse(":is(string, list)"),
+                new CustomSelector());
+        Map<Selector, Set<Shape>> result = SelectorBatch.of(selectors).select(model);
+
+        assertThat(result.keySet(), contains(selectors.toArray()));
+        for (Selector selector : selectors) {
+            assertThat(selector.toString(), result.get(selector), equalTo(selector.select(model)));
+        }
+    }
+
+    @Test
+    public void providesVariablesToMatches() {
+        Selector selector = Selector.parse("service $operations(~> operation) ${operations}");
+        Map<Shape, Set<Shape>> expected = new HashMap<>();
+        selector.consumeMatches(model, m -> expected.put(m.getShape(), m.get("operations")));
+        Map<Shape, Set<Shape>> actual = new HashMap<>();
+
+        SelectorBatch.of(ListUtils.of(selector, Selector.parse("string"))).consumeMatches(model, (s, m) -> {
+            if (s == selector) {
+                actual.put(m.getShape(), m.get("operations"));
+            }
+        });
+
+        assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    public void evaluatesDuplicateSelectorsOnce() {
+        SelectorBatch batch = SelectorBatch.of(ListUtils.of(Selector.parse("string"), Selector.parse("string")));
+        List<Shape> matches = new ArrayList<>();
+        batch.consumeMatches(model, (s, m) -> matches.add(m.getShape()));
+
+        assertThat(batch.getSelectors(), contains(Selector.parse("string")));
+        assertThat(new HashSet<>(matches).size(), equalTo(matches.size()));
+    }
+
+    private static final class CustomSelector implements Selector {
+        @Override
+        public Stream<Shape> shapes(Model model) {
+            return model.shapes().filter(shape -> shape.getId().equals(ShapeId.from("smithy.example#HasHttp1")));
+        }
+
+        @Override
+        public Stream<ShapeMatch> matches(Model model) {
+            return shapes(model).map(shape -> new ShapeMatch(shape, new HashMap<>()));
+        }
+    }
+}
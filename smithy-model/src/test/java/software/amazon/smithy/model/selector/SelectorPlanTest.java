@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+public class SelectorPlanTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(SelectorPlanTest.class.getResource("selector-plan.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    @ParameterizedTest
+    @MethodSource("selectors")
+    public void plannedSelectorsMatchSameShapes(String expression) {
+        Selector selector = Selector.parse(expression);
+        // Send every shape through the selector without planning.
+        InternalSelector delegate = ((WrappedSelector) selector).getDelegate();
+        Context context = new Context(NeighborProviderIndex.of(model));
+        Set<Shape> expected = new HashSet<>();
+        for (Shape shape : model.toSet()) {
+            delegate.push(context.clearVars(), shape, (ctx, s) -> expected.add(s) || true);
+        }
+
+        assertThat(selector.select(model), equalTo(expected));
+        assertThat(selector.shapes(model).collect(Collectors.toSet()), equalTo(expected));
+    }
+
+    public static Stream<String> selectors() {
+        return Stream.of(
+                "structure",
+                "structure > member",
+                "structure > member [trait|required]",
+                "structure [trait|error]",
+                "structure > member > string",
+                "member > [trait|sensitive]",
+                "simpleType",
+                "number",
+                "collection > member",
+                "operation -[input]-> structure",
+                "operation -[input]-> structure > member [trait|required]",
+                "operation [trait|readonly] -[input, output]-> structure",
+                "service ~> operation",
+                ":is(string, list)",
+                ":is(operation [trait|readonly], [trait|error])",
+                ":is(structure > member, string)",
+                "[id = smithy.example#GetFoo]",
+                "[id = smithy.example#GetFoo, smithy.example#PutFoo] -[input]-> structure",
+                "[id = 'smithy.example#GetFooInput$id']",
+                "[id = GetFoo]",
+                "[id|namespace = smithy.example]",
+                "[id|namespace = smithy.example, smithy.api] string",
+                "[id ^= smithy.example#GetFoo]",
+                "[id ^= 'smithy.example#GetFooInput$']",
+                "[id|namespace ^= smithy]",
+                "[id|namespace ^= smithy, 'smithy.ex']",
+                "[id|namespace ^= 'smithy.example#']",
+                "[trait|documentation] > string",
+                ":not([trait|required]) > string",
+                "structure :test(> member [trait|required])",
+                "$input(operation -[input]-> structure) structure",
+                ":topdown([trait|readonly])");
+    }
+
+    @Test
+    public void usesShapeTypeIndex() {
+        SelectorPlan plan = Selector.parse("structure > member").explain(model);
+
+        assertThat(plan.getStartSet().getDescription(), equalTo("shape type structure"));
+        assertThat(plan.getStartSet().size(), equalTo(model.toSet(StructureShape.class).size()));
+        assertThat(plan.isReversed(), equalTo(false));
+    }
+
+    @Test
+    public void choosesSmallestStartSet() {
+        SelectorPlan plan = Selector.parse("structure [trait|error]").explain(model);
+
+        assertThat(plan.getCandidates(), hasSize(2));
+        assertThat(plan.getStartSet().getDescription(), equalTo("trait smithy.api#error"));
+    }
+
+    @Test
+    public void findsShapesByShapeId() {
+        SelectorPlan plan = Selector.parse("[id = smithy.example#GetFoo] -[input]-> structure").explain(model);
+
+        assertThat(plan.getStartSet().size(), equalTo(1));
+        assertThat(plan.isReversed(), equalTo(false));
+    }
+
+    @Test
+    public void usesNamespaceIndexes() {
+        SelectorPlan namespace = Selector.parse("[id|namespace = smithy.example]").explain(model);
+        SelectorPlan prefix = Selector.parse("[id ^= smithy.example#GetFoo]").explain(model);
+
+        assertThat(namespace.getStartSet().size(), equalTo(model.getShapesInNamespace("smithy.example").size()));
+        assertThat(prefix.getStartSet().getDescription(), equalTo("shape ID prefix [smithy.example#GetFoo]"));
+    }
+
+    @Test
+    public void reversesNeighborTraversals() {
+        Selector selector = Selector.parse("structure > member [trait|required]");
+        SelectorPlan plan = selector.explain(model);
+
+        assertThat(plan.isReversed(), equalTo(true));
+        assertThat(plan.getStartSet().getDescription(), equalTo("trait smithy.api#required after >"));
+        assertThat(plan.toString(), containsString("Evaluated in reverse through `>`"));
+        assertThat(selector.select(model), equalTo(selector.shapes(model).collect(Collectors.toSet())));
+    }
+
+    @Test
+    public void doesNotReverseSelectorsWithVariables() {
+        SelectorPlan plan = Selector.parse("structure $s(*) > member [trait|required]").explain(model);
+
+        assertThat(plan.isReversed(), equalTo(false));
+    }
+
+    @Test
+    public void scansAllShapesWhenNoIndexApplies() {
+        SelectorPlan plan = Selector.parse(":not([trait|required])").explain(model);
+
+        assertThat(plan.getCandidates(), empty());
+        assertThat(plan.getStartSet().getDescription(), equalTo("all shapes"));
+        assertThat(plan.getStartSet().size(), equalTo(plan.getShapeCount()));
+    }
+
+    @Test
+    public void explainsIsFunctions() {
+        SelectorPlan plan = Selector.parse(":is(string, list)").explain(model);
+
+        assertThat(plan.getStartSet().getDescription(), containsString("union of"));
+        assertThat(plan.toString(), not(containsString("reverse")));
+    }
+
+    @Test
+    public void estimatesOverlappingIsFunctionStartSets() {
+        Selector selector = Selector.parse(":is(string, string)");
+        SelectorPlan plan = selector.explain(model);
+        int strings = model.toSet(StringShape.class).size();
+
+        assertThat(plan.getStartSet().size(), equalTo(strings * 2));
+        assertThat(plan.getStartSet().getShapes(), hasSize(strings));
+        assertThat(selector.select(model), equalTo(new HashSet<>(model.toSet(StringShape.class))));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.Trait;
+
+public class BinaryModelSerializerTest {
+    @Test
+    public void roundTripsModels() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-model.json"))
+                .assemble()
+                .unwrap();
+        byte[] bytes = new BinaryModelSerializer().serialize(model);
+        Model other = BinaryModelDeserializer.builder().build().deserialize(bytes);
+
+        assertThat(other, equalTo(model));
+        assertThat(other.getMetadata(), equalTo(model.getMetadata()));
+        for (Shape shape : model.toSet()) {
+            Shape otherShape = other.expectShape(shape.getId());
+            assertThat(otherShape.getSourceLocation(), equalTo(shape.getSourceLocation()));
+            for (Trait trait : shape.getAllTraits().values()) {
+                Trait otherTrait = otherShape.findTrait(trait.toShapeId()).get();
+                assertThat(otherTrait.getClass(), equalTo(trait.getClass()));
+                assertThat(otherTrait.getSourceLocation(), equalTo(trait.getSourceLocation()));
+            }
+        }
+
+        String json = Node.printJson(ModelSerializer.builder().build().serialize(model));
+        assertThat(bytes.length, lessThan(json.getBytes(StandardCharsets.UTF_8).length));
+    }
+
+    @Test
+    public void serializesModelsDeterministically() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-model.json"))
+                .assemble()
+                .unwrap();
+        BinaryModelSerializer serializer = new BinaryModelSerializer();
+        byte[] bytes = serializer.serialize(model);
+        byte[] reserialized = serializer.serialize(BinaryModelDeserializer.builder().build().deserialize(bytes));
+
+        assertThat(Arrays.equals(bytes, serializer.serialize(model)), equalTo(true));
+        assertThat(Arrays.equals(bytes, reserialized), equalTo(true));
+    }
+
+    @Test
+    public void preservesNodeValuesAndUnknownTraits() {
+        SourceLocation location = new SourceLocation("a.smithy", 2, 3);
+        Node metadata = Node.objectNodeBuilder()
+                .sourceLocation(location)
+                .withMember("int", Node.from(-10))
+                .withMember("long", Node.from(Long.MAX_VALUE))
+                .withMember("float", Node.from(1.5f))
+                .withMember("double", Node.from(-2.25))
+                .withMember("bigInteger", Node.from(new BigInteger("123456789012345678901234567890")))
+                .withMember("bigDecimal", Node.from(new BigDecimal("1.00000000000000000000001")))
+                .withMember("array", Node.fromNodes(Node.nullNode(), Node.from(true), Node.from(false)))
+                .withMember("string", Node.from("é中"))
+                .build();
+        ShapeId unknownTrait = ShapeId.from("smithy.example#unknown");
+        StringShape string = StringShape.builder()
+                .id("smithy.example#String")
+                .source(location)
+                .addTrait(new DocumentationTrait("docs", new SourceLocation("b.smithy", 4, 5)))
+                .addTrait(new DynamicTrait(unknownTrait, Node.objectNode()))
+                .build();
+        Model model = Model.builder().putMetadataProperty("values", metadata).addShape(string).build();
+        Model other = BinaryModelDeserializer.builder()
+                .build()
+                .deserialize(new BinaryModelSerializer().serialize(model));
+
+        assertThat(other, equalTo(model));
+        Node otherMetadata = other.getMetadataProperty("values").get();
+        assertThat(otherMetadata.getSourceLocation(), equalTo(location));
+        for (String member : new String[]{"int", "long", "float", "double", "bigInteger", "bigDecimal"}) {
+            Number expected = metadata.expectObjectNode().expectNumberMember(member).getValue();
+            Number actual = otherMetadata.expectObjectNode().expectNumberMember(member).getValue();
+            assertThat(actual, equalTo(expected));
+            assertThat(actual, instanceOf(expected.getClass()));
+        }
+        Shape otherString = other.expectShape(string.getId());
+        assertThat(otherString.findTrait(unknownTrait).get(), instanceOf(DynamicTrait.class));
+        assertThat(otherString.expectTrait(DocumentationTrait.class).getSourceLocation(),
+                   equalTo(new SourceLocation("b.smithy", 4, 5)));
+    }
+
+    @Test
+    public void rejectsInvalidData() {
+        BinaryModelDeserializer deserializer = BinaryModelDeserializer.builder().build();
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-model.json"))
+                .assemble()
+                .unwrap();
+        byte[] bytes = new BinaryModelSerializer().serialize(model);
+
+        assertThrows(IllegalArgumentException.class, () -> deserializer.deserialize(new byte[]{1, 2, 3, 4, 5}));
+        assertThrows(IllegalArgumentException.class,
+                     () -> deserializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+}
@@ -35,6 +35,8 @@ import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.model.traits.StringTrait;
 import software.amazon.smithy.model.traits.Trait;
 
 public class ShapeTest {
@@ -248,4 +250,25 @@ public class ShapeTest {
 
         assertEquals(shapeA, shapeB);
     }
+
+    @Test
+    public void findsTraitsByFinalAndNonFinalClasses() {
+        DocumentationTrait documentation = new DocumentationTrait("docs");
+        SensitiveTrait sensitive = new SensitiveTrait();
+        Shape shape = StringShape.builder()
+                .id("ns.foo#baz")
+                .addTrait(new MyTrait(ShapeId.from("foo.baz#foo"), null))
+                .addTrait(documentation)
+                .addTrait(sensitive)
+                .build();
+
+        assertThat(shape.getTrait(DocumentationTrait.class).get(), equalTo(documentation));
+        assertThat(shape.getTrait(SensitiveTrait.class).get(), equalTo(sensitive));
+        assertThat(shape.getTrait(StringTrait.class).get(), equalTo(documentation));
+        assertTrue(shape.hasTrait(StringTrait.class));
+        assertTrue(shape.hasTrait(SensitiveTrait.class));
+        assertFalse(shape.hasTrait(DeprecatedTrait.class));
+        assertFalse(shape.getTrait(DeprecatedTrait.class).isPresent());
+        assertFalse(StringShape.builder().id("ns.foo#baz").build().hasTrait(SensitiveTrait.class));
+    }
 }
@@ -24,6 +24,8 @@ import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.TraitDefinition;
 
 public class ScrubTraitDefinitionsTest {
 
@@ -108,4 +110,41 @@ public class ScrubTraitDefinitionsTest {
         // Make sure public prelude trait definition shapes were removed.
         assertThat(result.getShape(ShapeId.from("smithy.api#length")), Matchers.is(Optional.empty()));
     }
+
+    @Test
+    public void removesLongChainsOnlyReferencedByTraitDefinitions() {
+        int count = 1000;
+        Model.Builder builder = Model.builder();
+        builder.addShape(StructureShape.builder()
+                .id("ns.foo#myTrait")
+                .addTrait(TraitDefinition.builder().build())
+                .addMember("next", structureId(0))
+                .build());
+        for (int i = 0; i < count; i++) {
+            StructureShape.Builder shape = StructureShape.builder().id(structureId(i));
+            if (i < count - 1) {
+                shape.addMember("next", structureId(i + 1));
+            }
+            // Every structure refers to itself to ensure recursive members don't keep shapes alive.
+            shape.addMember("self", structureId(i));
+            builder.addShape(shape.build());
+        }
+        // A shape that isn't referenced by anything keeps the back half of the chain.
+        builder.addShape(StructureShape.builder()
+                .id("ns.foo#Keep")
+                .addMember("next", structureId(count / 2))
+                .build());
+
+        Model result = ModelTransformer.create().scrubTraitDefinitions(builder.build());
+
+        assertThat(result.getShape(ShapeId.from("ns.foo#myTrait")), Matchers.is(Optional.empty()));
+        assertThat(result.getShape(ShapeId.from("ns.foo#Keep")), Matchers.not(Optional.empty()));
+        for (int i = 0; i < count; i++) {
+            assertThat(result.getShape(structureId(i)).isPresent(), Matchers.is(i >= count / 2));
+        }
+    }
+
+    private static ShapeId structureId(int i) {
+        return ShapeId.from("ns.foo#Structure" + i);
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.JsonTokenHandler;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
+
+public class JsonValueValidatorTest {
+    private static Model MODEL;
+
+    @BeforeAll
+    public static void onlyOnce() {
+        MODEL = Model.assembler()
+                .addImport(NodeValidationVisitorTest.class.getResource("node-validator.json"))
+                .assemble()
+                .unwrap();
+    }
+
+    @AfterAll
+    public static void after() {
+        MODEL = null;
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    public void emitsSameEventsAsNodeValidationVisitor(String target, String value) {
+        Shape shape = MODEL.expectShape(ShapeId.from(target));
+        NodeValidationVisitor visitor = NodeValidationVisitor.builder()
+                .value(Node.parse(value))
+                .model(MODEL)
+                .startingContext("foo")
+                .build();
+        JsonValueValidator validator = JsonValueValidator.builder()
+                .model(MODEL)
+                .shape(shape)
+                .startingContext("foo")
+                .build();
+
+        assertThat(validator.validate(value), equalTo(shape.accept(visitor)));
+    }
+
+    public static Collection<Object[]> data() {
+        List<Object[]> result = NodeValidationVisitorTest.data().stream()
+                .map(testCase -> new Object[] {testCase[0], testCase[1]})
+                .collect(Collectors.toList());
+        result.add(new Object[] {"ns.foo#Structure", "{\"foo\": \"a\", \"bar\": [\"b\", 10], \"baz\": {}}"});
+        result.add(new Object[] {"ns.foo#Structure", "{\"foo\": \"a\", \"bam\": {\"baz\": 1, \"x\": [2]}}"});
+        result.add(new Object[] {"ns.foo#TimestampList", "[\"2000-01-01T00:00:00Z\", \"x\", 1, {}]"});
+        result.add(new Object[] {"ns.foo#TaggedUnion", "{\"foo\": 10, \"baz\": 10}"});
+        result.add(new Object[] {"ns.foo#TaggedUnion", "{\"nope\": 10}"});
+        result.add(new Object[] {"ns.foo#List", "[[\"a\"], {\"b\": 1}, \"c\", null]"});
+        return result;
+    }
+
+    @Test
+    public void validatesWithSameOptionsAsNodeValidationVisitor() {
+        Shape shape = MODEL.expectShape(ShapeId.from("ns.foo#TimestampList"));
+        String value = "[1, \"foo\", null]";
+        NodeValidationVisitor visitor = NodeValidationVisitor.builder()
+                .value(Node.parse(value))
+                .model(MODEL)
+                .eventId("Custom")
+                .eventShapeId(shape.getId())
+                .timestampValidationStrategy(TimestampValidationStrategy.EPOCH_SECONDS)
+                .allowBoxedNull(true)
+                .build();
+        JsonValueValidator validator = JsonValueValidator.builder()
+                .model(MODEL)
+                .shape(shape)
+                .eventId("Custom")
+                .eventShapeId(shape.getId())
+                .timestampValidationStrategy(TimestampValidationStrategy.EPOCH_SECONDS)
+                .allowBoxedNull(true)
+                .build();
+        List<ValidationEvent> events = validator.validate(new StringReader(value));
+
+        assertThat(events, equalTo(shape.accept(visitor)));
+        assertThat(events.get(0).getId(), equalTo("Custom"));
+    }
+
+    @Test
+    public void validatesTokensFromOtherReaders() {
+        JsonValueValidator validator = JsonValueValidator.builder()
+                .model(MODEL)
+                .shape(MODEL.expectShape(ShapeId.from("ns.foo#Structure")))
+                .build();
+        List<ValidationEvent> events = new ArrayList<>();
+        JsonTokenHandler handler = validator.createTokenHandler(events);
+        handler.startObject(SourceLocation.NONE);
+        handler.startMember("foo", SourceLocation.NONE);
+        handler.numberValue(10, SourceLocation.NONE);
+        handler.endMember();
+        handler.endObject();
+
+        assertThat(events.stream().map(ValidationEvent::getMessage).collect(Collectors.toList()), contains(
+                "foo: Expected string value for string shape, `ns.foo#String`; found number value, `10`"));
+        Assertions.assertThrows(IllegalStateException.class, () -> handler.nullValue(SourceLocation.NONE));
+    }
+
+    @Test
+    public void reusesValidatorForManyValues() {
+        JsonValueValidator validator = JsonValueValidator.builder()
+                .model(MODEL)
+                .shape(MODEL.expectShape(ShapeId.from("ns.foo#Structure")))
+                .build();
+
+        assertThat(validator.validate("{\"foo\": \"a\"}"), empty());
+        assertThat(validator.validate("{}"), equalTo(validator.validate("{}")));
+    }
+}
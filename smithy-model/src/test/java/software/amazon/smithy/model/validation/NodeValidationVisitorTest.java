@@ -18,6 +18,7 @@ package software.amazon.smithy.model.validation;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
 import java.util.Arrays;
@@ -32,6 +33,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
 
@@ -343,4 +345,26 @@ public class NodeValidationVisitorTest {
 
         assertThat(events, empty());
     }
+
+    @Test
+    public void reusedVisitorEmitsSameEventsAsNewVisitors() {
+        NodeValidationVisitor reused = NodeValidationVisitor.builder()
+                .value(Node.nullNode())
+                .model(MODEL)
+                .startingContext("foo")
+                .build();
+
+        for (Object[] testCase : data()) {
+            Shape shape = MODEL.expectShape(ShapeId.from((String) testCase[0]));
+            Node value = Node.parse((String) testCase[1]);
+            NodeValidationVisitor visitor = NodeValidationVisitor.builder()
+                    .value(value)
+                    .model(MODEL)
+                    .startingContext("foo")
+                    .build();
+            reused.setValue(value);
+
+            assertThat(shape.accept(reused), equalTo(shape.accept(visitor)));
+        }
+    }
 }
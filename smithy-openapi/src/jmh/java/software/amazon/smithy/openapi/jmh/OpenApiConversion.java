@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.openapi.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.openapi.OpenApiConfig;
+import software.amazon.smithy.openapi.fromsmithy.OpenApiConverter;
+import software.amazon.smithy.openapi.model.OpenApi;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class OpenApiConversion {
+
+    @State(Scope.Benchmark)
+    public static class ConversionState {
+
+        @Param({"2000"})
+        public int operationCount;
+
+        public Model model;
+        public OpenApiConfig config;
+
+        @Setup
+        public void prepare() {
+            model = Model.assembler()
+                    .addUnparsedModel("service.smithy", createModel(operationCount))
+                    .discoverModels(OpenApiConversion.class.getClassLoader())
+                    .assemble()
+                    .unwrap();
+
+            config = new OpenApiConfig();
+            config.setService(ShapeId.from("smithy.example#Service"));
+            config.setKeepUnusedComponents(false);
+        }
+    }
+
+    @Benchmark
+    public OpenApi convert(ConversionState state) {
+        return OpenApiConverter.create().config(state.config).convert(state.model);
+    }
+
+    // Each operation has an input structure and a recursive output structure.
+    // Input structures only have members bound to the URI and query string,
+    // so their schemas are unused after conversion and are removed.
+    private static String createModel(int operationCount) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("namespace smithy.example\n\n")
+                .append("@aws.protocols#restJson1\n")
+                .append("service Service {\n")
+                .append("    version: \"2021-01-01\",\n")
+                .append("    operations: [");
+        for (int i = 0; i < operationCount; i++) {
+            builder.append(i == 0 ? "" : ", ").append("Operation").append(i);
+        }
+        builder.append("]\n}\n\n");
+
+        for (int i = 0; i < operationCount; i++) {
+            builder.append("@readonly\n")
+                    .append("@http(method: \"GET\", uri: \"/operation").append(i).append("/{id}\")\n")
+                    .append("operation Operation").append(i).append(" {\n")
+                    .append("    input: Operation").append(i).append("Input,\n")
+                    .append("    output: Operation").append(i).append("Output\n")
+                    .append("}\n\n")
+                    .append("structure Operation").append(i).append("Input {\n")
+                    .append("    @required\n")
+                    .append("    @httpLabel\n")
+                    .append("    id: String,\n\n")
+                    .append("    @httpQuery(\"filter\")\n")
+                    .append("    filter: String\n")
+                    .append("}\n\n")
+                    .append("structure Operation").append(i).append("Output {\n")
+                    .append("    item: Operation").append(i).append("Item\n")
+                    .append("}\n\n")
+                    .append("structure Operation").append(i).append("Item {\n")
+                    .append("    name: String,\n")
+                    .append("    children: Operation").append(i).append("Children\n")
+                    .append("}\n\n")
+                    .append("list Operation").append(i).append("Children {\n")
+                    .append("    member: Operation").append(i).append("Item\n")
+                    .append("}\n\n");
+        }
+
+        return builder.toString();
+    }
+}
@@ -15,7 +15,10 @@
 
 package software.amazon.smithy.openapi.fromsmithy.mappers;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -23,9 +26,8 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.jsonschema.Schema;
 import software.amazon.smithy.model.node.Node;
-import software.amazon.smithy.model.node.NodeVisitor;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.traits.Trait;
@@ -35,15 +37,16 @@ import software.amazon.smithy.openapi.model.ComponentsObject;
 import software.amazon.smithy.openapi.model.OpenApi;
 import software.amazon.smithy.openapi.model.OperationObject;
 import software.amazon.smithy.openapi.model.PathItem;
-import software.amazon.smithy.utils.SetUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
 
 /**
  * Removes unused components from the OpenAPI model.
  *
  * <p>This plugin will take effect by default, but can be disabled by setting
- * "openapi.keepUnusedComponents" to true. Refs are removed in rounds until
- * a round of removals has no effect.
+ * "openapi.keepUnusedComponents" to true. Schemas are kept only if they can
+ * be reached through "$ref" pointers from parts of the model other than
+ * the schemas themselves, so chains and cycles of schemas that are only
+ * referenced by unused schemas are removed in a single pass.
  *
  * <p>TODO: This plugin currently only supports the removal of schemas and security schemes.
  */
@@ -62,80 +65,74 @@ public final class RemoveUnusedComponents implements OpenApiMapper {
             return openapi;
         }
 
-        OpenApi current;
-        OpenApi result = openapi;
-
-        do {
-            current = result;
-            result = removalRound(context, current);
-        } while (!result.equals(current));
-
+        OpenApi result = removeUnusedSchemas(context, openapi);
         result = removeUnusedSecuritySchemes(result);
         return result;
     }
 
-    private OpenApi removalRound(Context<? extends Trait> context, OpenApi openapi) {
-        // Create a set of every component pointer (currently just schemas).
+    private OpenApi removeUnusedSchemas(Context<? extends Trait> context, OpenApi openapi) {
+        Map<String, Schema> schemas = openapi.getComponents().getSchemas();
+        if (schemas.isEmpty()) {
+            return openapi;
+        }
+
+        // Find the refs of everything but the schemas, which are the roots of the reachable schemas.
+        OpenApi withoutSchemas = openapi.toBuilder()
+                .components(openapi.getComponents().toBuilder().schemas(Collections.emptyMap()).build())
+                .build();
+        Deque<String> pending = new ArrayDeque<>();
+        findRefs(withoutSchemas.toNode(), pending);
+
+        // Walk the refs of each reachable schema, visiting each schema once.
         String schemaPointerPrefix = context.getConfig().getDefinitionPointer() + "/";
-        Set<String> pointers = openapi.getComponents().getSchemas().keySet().stream()
-                .map(key -> schemaPointerPrefix + key)
-                .collect(Collectors.toSet());
+        Set<String> used = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String pointer = pending.pop();
+            if (pointer.startsWith(schemaPointerPrefix)) {
+                String name = pointer.substring(schemaPointerPrefix.length());
+                if (schemas.containsKey(name) && used.add(name)) {
+                    findRefs(schemas.get(name).toNode(), pending);
+                }
+            }
+        }
 
-        // Remove all found "$ref" pointers from the set, leaving only unreferenced.
-        pointers.removeAll(findAllRefs(openapi.toNode().expectObjectNode()));
+        Set<String> unused = new TreeSet<>(schemas.keySet());
+        unused.removeAll(used);
 
-        if (pointers.isEmpty()) {
+        if (unused.isEmpty()) {
             return openapi;
         }
 
-        LOGGER.info(() -> "Removing unused OpenAPI components: " + pointers);
+        LOGGER.info(() -> "Removing unused OpenAPI components: " + unused.stream()
+                .map(name -> schemaPointerPrefix + name)
+                .collect(Collectors.toList()));
 
         ComponentsObject.Builder componentsBuilder = openapi.getComponents().toBuilder();
-        for (String pointer : pointers) {
-            if (pointer.startsWith(schemaPointerPrefix)) {
-                componentsBuilder.removeSchema(pointer.replace(schemaPointerPrefix, ""));
-            } else {
-                throw new UnsupportedOperationException("Unreachable statement for not yet implemented removal");
-            }
+        for (String name : unused) {
+            componentsBuilder.removeSchema(name);
         }
 
         return openapi.toBuilder().components(componentsBuilder.build()).build();
     }
 
-    private Set<String> findAllRefs(ObjectNode node) {
-        return node.accept(new NodeVisitor.Default<Set<String>>() {
-            @Override
-            protected Set<String> getDefault(Node node) {
-                return SetUtils.of();
-            }
-
-            @Override
-            public Set<String> arrayNode(ArrayNode node) {
-                Set<String> result = new HashSet<>();
-                for (Node member : node.getElements()) {
-                    result.addAll(member.accept(this));
+    private static void findRefs(Node node, Collection<String> refs) {
+        if (node.isObjectNode()) {
+            ObjectNode object = node.expectObjectNode();
+            if (object.size() == 1 && object.getMember("$ref").isPresent()) {
+                object.getMember("$ref")
+                        .flatMap(Node::asStringNode)
+                        .map(StringNode::getValue)
+                        .ifPresent(refs::add);
+            } else {
+                for (Node member : object.getMembers().values()) {
+                    findRefs(member, refs);
                 }
-                return result;
             }
-
-            @Override
-            public Set<String> objectNode(ObjectNode node) {
-                Set<String> result = new HashSet<>();
-
-                if (node.size() == 1 && node.getMember("$ref").isPresent()) {
-                    node.getMember("$ref")
-                            .flatMap(Node::asStringNode)
-                            .map(StringNode::getValue)
-                            .ifPresent(result::add);
-                } else {
-                    for (Node member : node.getMembers().values()) {
-                        result.addAll(member.accept(this));
-                    }
-                }
-
-                return result;
+        } else if (node.isArrayNode()) {
+            for (Node element : node.expectArrayNode().getElements()) {
+                findRefs(element, refs);
             }
-        });
+        }
     }
 
     private OpenApi removeUnusedSecuritySchemes(OpenApi openapi) {
@@ -4,7 +4,9 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import software.amazon.smithy.jsonschema.Schema;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.openapi.OpenApiConfig;
 import software.amazon.smithy.openapi.fromsmithy.Context;
@@ -12,6 +14,7 @@ import software.amazon.smithy.openapi.fromsmithy.OpenApiConverter;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiMapper;
 import software.amazon.smithy.openapi.model.OpenApi;
 import software.amazon.smithy.openapi.model.SecurityScheme;
+import software.amazon.smithy.utils.SetUtils;
 
 public class RemoveUnusedComponentsTest {
     private static Model model;
@@ -73,4 +76,41 @@ public class RemoveUnusedComponentsTest {
 
         Assertions.assertFalse(result.getComponents().getSecuritySchemes().keySet().contains("foo"));
     }
+
+    @Test
+    public void removesChainsAndCyclesOfUnusedSchemas() {
+        OpenApiConfig config = new OpenApiConfig();
+        config.setService(ShapeId.from("smithy.example#Small"));
+
+        OpenApi result = OpenApiConverter.create()
+                .config(config)
+                .addOpenApiMapper(new OpenApiMapper() {
+                    @Override
+                    public OpenApi after(Context context, OpenApi openapi) {
+                        return openapi.toBuilder()
+                                .putExtension("x-used", Node.objectNode().withMember("$ref", ref("Used")))
+                                .components(openapi.getComponents().toBuilder()
+                                        .putSchema("Used", refSchema("UsedChild"))
+                                        .putSchema("UsedChild", Schema.builder().type("string").build())
+                                        .putSchema("Chain1", refSchema("Chain2"))
+                                        .putSchema("Chain2", refSchema("Chain3"))
+                                        .putSchema("Chain3", refSchema("UsedChild"))
+                                        .putSchema("Cycle1", refSchema("Cycle2"))
+                                        .putSchema("Cycle2", refSchema("Cycle1"))
+                                        .build())
+                                .build();
+                    }
+                })
+                .convert(model);
+
+        Assertions.assertEquals(SetUtils.of("Used", "UsedChild"), result.getComponents().getSchemas().keySet());
+    }
+
+    private static String ref(String name) {
+        return "#/components/schemas/" + name;
+    }
+
+    private static Schema refSchema(String name) {
+        return Schema.builder().type("object").putProperty("member", Schema.builder().ref(ref(name)).build()).build();
+    }
 }
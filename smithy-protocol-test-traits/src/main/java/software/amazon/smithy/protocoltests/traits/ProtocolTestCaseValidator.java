@@ -83,9 +83,18 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
     public List<ValidationEvent> validate(Model model) {
         OperationIndex operationIndex = OperationIndex.of(model);
 
+        // Reuse a single visitor so that shapes shared across test cases are only compiled once.
+        NodeValidationVisitor validator = NodeValidationVisitor.builder()
+                .model(model)
+                .value(Node.objectNode())
+                .eventId(getName())
+                .timestampValidationStrategy(TimestampValidationStrategy.EPOCH_SECONDS)
+                .allowBoxedNull(true)
+                .build();
+
         List<ValidationEvent> events = new ArrayList<>();
         for (Shape shape : model.getShapesWithTrait(traitClass)) {
-            events.addAll(validateShape(model, operationIndex, shape, shape.expectTrait(traitClass)));
+            events.addAll(validateShape(model, operationIndex, validator, shape, shape.expectTrait(traitClass)));
         }
 
         return events;
@@ -102,6 +111,7 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
     private List<ValidationEvent> validateShape(
             Model model,
             OperationIndex operationIndex,
+            NodeValidationVisitor validator,
             Shape shape,
             T trait
     ) {
@@ -125,16 +135,15 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
                 } else {
                     // Otherwise, validate the params against the shape.
                     Shape vendorParamsShape = model.expectShape(vendorParamsShapeOptional.get());
-                    NodeValidationVisitor vendorParamsValidator = createVisitor(vendorParams, model, shape, i,
-                            ".vendorParams");
-                    events.addAll(vendorParamsShape.accept(vendorParamsValidator));
+                    prepareVisitor(validator, vendorParams, shape, i, ".vendorParams");
+                    events.addAll(vendorParamsShape.accept(validator));
                 }
             }
 
             StructureShape struct = getStructure(shape, operationIndex);
             if (struct != null) {
                 // Validate the params for the test case.
-                NodeValidationVisitor validator = createVisitor(testCase.getParams(), model, shape, i, ".params");
+                prepareVisitor(validator, testCase.getParams(), shape, i, ".params");
                 events.addAll(struct.accept(validator));
             } else if (!testCase.getParams().isEmpty() && isValidatedBy(shape)) {
                 events.add(error(shape, trait, String.format(
@@ -146,22 +155,16 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
         return events;
     }
 
-    private NodeValidationVisitor createVisitor(
+    private void prepareVisitor(
+            NodeValidationVisitor validator,
             ObjectNode value,
-            Model model,
             Shape shape,
             int position,
             String contextSuffix
     ) {
-        return NodeValidationVisitor.builder()
-                .model(model)
-                .eventShapeId(shape.getId())
-                .value(value)
-                .startingContext(traitId + "." + position + contextSuffix)
-                .eventId(getName())
-                .timestampValidationStrategy(TimestampValidationStrategy.EPOCH_SECONDS)
-                .allowBoxedNull(true)
-                .build();
+        validator.setValue(value);
+        validator.setEventShapeId(shape.getId());
+        validator.setStartingContext(traitId + "." + position + contextSuffix);
     }
 
     private List<ValidationEvent> validateMediaType(Shape shape, Trait trait, HttpMessageTestCase test) {
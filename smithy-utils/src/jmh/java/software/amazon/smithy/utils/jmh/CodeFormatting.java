@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.utils.CodeTemplate;
+import software.amazon.smithy.utils.CodeWriter;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class CodeFormatting {
+
+    private static final String RELATIVE = "public $L $L() {";
+    private static final String POSITIONAL = "public $1L $2L() { return $2L; } // $1S";
+    private static final String NAMED = "public $type:L $name:L() {";
+    private static final String ALIGNED = "$L = ${L|};";
+
+    @State(Scope.Benchmark)
+    public static class FormatState {
+
+        public CodeWriter writer;
+        public CodeTemplate relativeTemplate;
+
+        @Setup
+        public void prepare() {
+            writer = new CodeWriter();
+            writer.putContext("type", "String");
+            writer.putContext("name", "getName");
+            relativeTemplate = writer.compile(RELATIVE);
+        }
+    }
+
+    @Benchmark
+    public String formatRelative(FormatState state) {
+        return state.writer.format(RELATIVE, "String", "getName");
+    }
+
+    @Benchmark
+    public String formatPositional(FormatState state) {
+        return state.writer.format(POSITIONAL, "String", "name");
+    }
+
+    @Benchmark
+    public String formatNamed(FormatState state) {
+        return state.writer.format(NAMED);
+    }
+
+    @Benchmark
+    public String formatAligned(FormatState state) {
+        return state.writer.format(ALIGNED, "names", "a,\nb,\nc");
+    }
+
+    @Benchmark
+    public String formatCompiledTemplate(FormatState state) {
+        return state.writer.format(state.relativeTemplate, "String", "getName");
+    }
+
+    // The cost of parsing a format string, which is what every call paid
+    // before format strings were cached.
+    @Benchmark
+    public CodeTemplate compileRelative(FormatState state) {
+        return state.writer.compile(RELATIVE);
+    }
+}
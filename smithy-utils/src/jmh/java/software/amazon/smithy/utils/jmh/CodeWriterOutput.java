@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils.jmh;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.utils.CodeWriter;
+
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class CodeWriterOutput {
+
+    @State(Scope.Benchmark)
+    public static class OutputState {
+
+        @Param({"10000", "200000"})
+        public int methodCount;
+
+        public CodeWriter writer;
+
+        @Setup
+        public void prepare() {
+            writer = generate(methodCount);
+        }
+    }
+
+    @Benchmark
+    public CodeWriter generateFile(OutputState state) {
+        return generate(state.methodCount);
+    }
+
+    @Benchmark
+    public String contentsToString(OutputState state) {
+        return state.writer.toString();
+    }
+
+    @Benchmark
+    public long contentsToWriter(OutputState state) {
+        CountingWriter writer = new CountingWriter();
+        state.writer.writeTo(writer);
+        return writer.count;
+    }
+
+    private static CodeWriter generate(int methodCount) {
+        CodeWriter writer = new CodeWriter().trimBlankLines().trimTrailingSpaces().insertTrailingNewline();
+        writer.onSection("method", text -> writer.write("// Generated\n$L", text));
+        writer.openBlock("public final class Client {", "}", () -> {
+            for (int i = 0; i < methodCount; i++) {
+                int index = i;
+                writer.pushState("method");
+                writer.openBlock("public String method$L(String input) {", "}", index, () -> {
+                    writer.write("String result = input + $S;", index);
+                    writer.write("");
+                    writer.write("");
+                    writer.write("return result;");
+                });
+                writer.popState();
+                writer.write("");
+            }
+        });
+        return writer;
+    }
+
+    private static final class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only character buffer that stores its contents in fixed size
+ * chunks rather than a single contiguous array.
+ *
+ * <p>Growing the buffer never copies previously written chunks, and the
+ * contents can be written to a {@link Writer} directly from the chunks
+ * without first creating a {@code String}. Only the first chunk grows
+ * incrementally so that small buffers (for example, the contents of a
+ * section) remain small. Because every chunk but the last is exactly
+ * {@link #CHUNK_SIZE} characters long, random access is constant time.
+ */
+final class ChunkedBuffer implements CharSequence {
+
+    private static final int CHUNK_SHIFT = 13;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<char[]> chunks = new ArrayList<>();
+    private char[] current;
+    private int length;
+
+    ChunkedBuffer() {
+        current = new char[INITIAL_CAPACITY];
+        chunks.add(current);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+
+        return chunks.get(index >>> CHUNK_SHIFT)[index & CHUNK_MASK];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length);
+    }
+
+    /**
+     * Appends a single character.
+     *
+     * @param c Character to append.
+     * @return Returns the buffer.
+     */
+    ChunkedBuffer append(char c) {
+        int offset = length & CHUNK_MASK;
+        if (offset == 0 && length > 0) {
+            nextChunk();
+        } else if (offset == current.length) {
+            growFirstChunk(offset + 1);
+        }
+
+        current[offset] = c;
+        length++;
+        return this;
+    }
+
+    /**
+     * Appends a range of characters from a string.
+     *
+     * @param value String to copy characters from.
+     * @param start Inclusive start index.
+     * @param end Exclusive end index.
+     * @return Returns the buffer.
+     */
+    ChunkedBuffer append(String value, int start, int end) {
+        while (start < end) {
+            int offset = length & CHUNK_MASK;
+            if (offset == 0 && length > 0) {
+                nextChunk();
+            } else if (offset == current.length) {
+                growFirstChunk(offset + end - start);
+            }
+
+            int count = Math.min(end - start, current.length - offset);
+            value.getChars(start, start + count, current, offset);
+            start += count;
+            length += count;
+        }
+
+        return this;
+    }
+
+    /**
+     * Appends a string.
+     *
+     * @param value String to append.
+     * @return Returns the buffer.
+     */
+    ChunkedBuffer append(String value) {
+        return append(value, 0, value.length());
+    }
+
+    /**
+     * Truncates the buffer to the given length.
+     *
+     * <p>Chunks that are no longer needed are released, but the remaining
+     * contents are never copied.
+     *
+     * @param newLength Length to truncate to.
+     * @throws IllegalArgumentException if the length is greater than the current length.
+     */
+    void setLength(int newLength) {
+        if (newLength < 0 || newLength > length) {
+            throw new IllegalArgumentException("Cannot set buffer length to " + newLength + " from " + length);
+        }
+
+        // Keep the chunk that holds the last remaining character, or the
+        // chunk that the next character would be written to.
+        int keep = newLength == 0 ? 1 : ((newLength - 1) >>> CHUNK_SHIFT) + 1;
+        while (chunks.size() > keep) {
+            chunks.remove(chunks.size() - 1);
+        }
+
+        current = chunks.get(keep - 1);
+        length = newLength;
+    }
+
+    /**
+     * Creates a string from a range of the buffer.
+     *
+     * @param start Inclusive start index.
+     * @param end Exclusive end index.
+     * @return Returns the created string.
+     */
+    String substring(int start, int end) {
+        checkRange(start, end);
+
+        // Ranges that fall within a single chunk don't need to be staged.
+        if (start == end) {
+            return "";
+        } else if (start >>> CHUNK_SHIFT == (end - 1) >>> CHUNK_SHIFT) {
+            return new String(chunks.get(start >>> CHUNK_SHIFT), start & CHUNK_MASK, end - start);
+        }
+
+        char[] result = new char[end - start];
+        int position = 0;
+        while (start < end) {
+            int offset = start & CHUNK_MASK;
+            int count = Math.min(end - start, CHUNK_SIZE - offset);
+            System.arraycopy(chunks.get(start >>> CHUNK_SHIFT), offset, result, position, count);
+            position += count;
+            start += count;
+        }
+
+        return new String(result);
+    }
+
+    /**
+     * Writes a range of the buffer to a writer, one chunk at a time.
+     *
+     * @param writer Writer to write to.
+     * @param start Inclusive start index.
+     * @param end Exclusive end index.
+     * @throws IOException if the writer fails.
+     */
+    void writeTo(Writer writer, int start, int end) throws IOException {
+        checkRange(start, end);
+
+        while (start < end) {
+            int offset = start & CHUNK_MASK;
+            int count = Math.min(end - start, CHUNK_SIZE - offset);
+            writer.write(chunks.get(start >>> CHUNK_SHIFT), offset, count);
+            start += count;
+        }
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range " + start + ".." + end + " for length " + length);
+        }
+    }
+
+    private void nextChunk() {
+        current = new char[CHUNK_SIZE];
+        chunks.add(current);
+    }
+
+    private void growFirstChunk(int minCapacity) {
+        int capacity = Math.min(CHUNK_SIZE, Math.max(minCapacity, current.length << 1));
+        char[] grown = new char[capacity];
+        System.arraycopy(current, 0, grown, 0, length);
+        current = grown;
+        chunks.set(0, current);
+    }
+}
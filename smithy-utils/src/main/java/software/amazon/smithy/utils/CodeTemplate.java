@@ -0,0 +1,493 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link CodeWriter} format string that has been parsed ahead of time.
+ *
+ * <p>Templates are created using {@link CodeWriter#compile} and can be
+ * given as the content of any CodeWriter method that formats content, like
+ * {@link CodeWriter#write} or {@link CodeWriter#format}. Formatting a
+ * template does not need to parse the format string again. Template
+ * arguments, named context values, and formatters are resolved each time
+ * the template is formatted.
+ *
+ * <p>A template always uses the expression start character that was in
+ * use when it was compiled. Templates are immutable and can be shared
+ * across writers and threads.
+ */
+@SmithyUnstableApi
+public final class CodeTemplate {
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-z]+[a-zA-Z0-9_.#$]*$");
+
+    private final String template;
+    private final char expressionStart;
+    private final Part[] parts;
+
+    // The number of relative arguments, or -1 if the template uses positional arguments.
+    private final int relativeArguments;
+
+    private CodeTemplate(String template, char expressionStart, List<Part> parts, int relativeArguments) {
+        this.template = template;
+        this.expressionStart = expressionStart;
+        this.parts = parts.toArray(new Part[0]);
+        this.relativeArguments = relativeArguments;
+    }
+
+    static CodeTemplate compile(char expressionStart, String template) {
+        return new Parser(expressionStart, template).parse();
+    }
+
+    /**
+     * Gets the format string the template was compiled from.
+     *
+     * @return Returns the format string.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the character used to start expressions in the template.
+     *
+     * @return Returns the expression start character.
+     */
+    public char getExpressionStart() {
+        return expressionStart;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    String format(
+            Map<Character, BiFunction<Object, String, String>> formatters,
+            String indent,
+            CodeWriter writer,
+            Object[] args
+    ) {
+        Evaluation evaluation = new Evaluation(this, formatters, indent, writer, args);
+
+        for (Part part : parts) {
+            part.apply(evaluation);
+        }
+
+        if (relativeArguments == -1) {
+            int unused = 0;
+            for (boolean used : evaluation.positionals) {
+                if (!used) {
+                    unused++;
+                }
+            }
+            if (unused > 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Found %d unused positional format arguments: %s", unused, template));
+            }
+        } else if (relativeArguments < args.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Found %d unused relative format arguments: %s", args.length - relativeArguments, template));
+        }
+
+        return evaluation.result.toString();
+    }
+
+    private static void ensureNameIsValid(String template, String name, int position) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid format expression name `%s` at position %d of: %s",
+                    name, position + 1, template));
+        }
+    }
+
+    private interface Part {
+        void apply(Evaluation evaluation);
+    }
+
+    private static final class Literal implements Part {
+        private final String text;
+        private final int lastNewline;
+
+        Literal(String text) {
+            this.text = text;
+            this.lastNewline = Math.max(text.lastIndexOf('\n'), text.lastIndexOf('\r'));
+        }
+
+        @Override
+        public void apply(Evaluation evaluation) {
+            evaluation.result.append(text);
+            if (lastNewline == -1) {
+                evaluation.column += text.length();
+            } else {
+                evaluation.column = text.length() - lastNewline - 1;
+            }
+        }
+    }
+
+    private abstract static class Argument implements Part {
+        private final char formatter;
+        private final String section;
+        private final boolean align;
+
+        Argument(char formatter, String section, boolean align) {
+            this.formatter = formatter;
+            this.section = section;
+            this.align = align;
+        }
+
+        abstract Object getValue(Evaluation evaluation);
+
+        @Override
+        public void apply(Evaluation evaluation) {
+            int startingBraceColumn = evaluation.column;
+            Object value = getValue(evaluation);
+            BiFunction<Object, String, String> function = evaluation.formatters.get(formatter);
+
+            if (function == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Unknown formatter `%s` found in format string: %s", formatter, evaluation.template));
+            }
+
+            String result = function.apply(value, evaluation.indent);
+
+            if (section != null) {
+                CodeWriter writer = evaluation.writer;
+                result = writer.expandSection(section, result, s -> writer.write(s));
+            }
+
+            if (align) {
+                result = align(result, startingBraceColumn);
+            }
+
+            evaluation.append(result);
+        }
+
+        private static String align(String result, int column) {
+            String repeated = StringUtils.repeat(' ', column);
+            StringBuilder aligned = new StringBuilder();
+
+            for (int i = 0; i < result.length(); i++) {
+                char c = result.charAt(i);
+                if (c == '\n') {
+                    aligned.append('\n').append(repeated);
+                } else if (c == '\r') {
+                    aligned.append('\r');
+                    if (i + 1 < result.length() && result.charAt(i + 1) == '\n') {
+                        aligned.append('\n');
+                        i++; // Skip \n
+                    }
+                    aligned.append(repeated);
+                } else {
+                    aligned.append(c);
+                }
+            }
+
+            return aligned.toString();
+        }
+    }
+
+    private static final class NamedArgument extends Argument {
+        private final String name;
+
+        NamedArgument(String name, char formatter, String section, boolean align) {
+            super(formatter, section, align);
+            this.name = name;
+        }
+
+        @Override
+        Object getValue(Evaluation evaluation) {
+            return evaluation.writer.getContext(name);
+        }
+    }
+
+    private static final class PositionalArgument extends Argument {
+        private final int index;
+
+        PositionalArgument(int index, char formatter, String section, boolean align) {
+            super(formatter, section, align);
+            this.index = index;
+        }
+
+        @Override
+        Object getValue(Evaluation evaluation) {
+            if (index < 0 || index >= evaluation.args.length) {
+                throw new IllegalArgumentException(String.format(
+                        "Positional argument index %d out of range of provided %d arguments in "
+                        + "format string: %s", index, evaluation.args.length, evaluation.template));
+            }
+
+            evaluation.positionals[index] = true;
+            return evaluation.args[index];
+        }
+    }
+
+    private static final class RelativeArgument extends Argument {
+        private final int index;
+
+        RelativeArgument(int index, char formatter, String section, boolean align) {
+            super(formatter, section, align);
+            this.index = index;
+        }
+
+        @Override
+        Object getValue(Evaluation evaluation) {
+            if (index >= evaluation.args.length) {
+                throw new IllegalArgumentException(String.format(
+                        "Given %d arguments but attempted to format index %d: %s",
+                        evaluation.args.length, index, evaluation.template));
+            }
+
+            return evaluation.args[index];
+        }
+    }
+
+    private static final class Evaluation {
+        private final StringBuilder result;
+        private final CodeTemplate template;
+        private final Map<Character, BiFunction<Object, String, String>> formatters;
+        private final String indent;
+        private final CodeWriter writer;
+        private final Object[] args;
+        private final boolean[] positionals;
+        private int column;
+
+        Evaluation(
+                CodeTemplate template,
+                Map<Character, BiFunction<Object, String, String>> formatters,
+                String indent,
+                CodeWriter writer,
+                Object[] args
+        ) {
+            this.result = new StringBuilder(template.template.length() + 16);
+            this.template = template;
+            this.formatters = formatters;
+            this.indent = indent;
+            this.writer = writer;
+            this.args = args;
+            this.positionals = new boolean[args.length];
+        }
+
+        void append(String string) {
+            int lastNewline = string.lastIndexOf('\n');
+            if (lastNewline == -1) {
+                lastNewline = string.lastIndexOf('\r');
+            }
+            if (lastNewline == -1) {
+                // if no newline was found, then the column is the length of the string.
+                column = string.length();
+            } else {
+                // Otherwise, it's the length minus the last newline.
+                column = string.length() - lastNewline;
+            }
+            result.append(string);
+        }
+    }
+
+    // Creates an argument once its formatter and suffix have been parsed.
+    @FunctionalInterface
+    private interface ArgumentFactory {
+        Argument create(char formatter, String section, boolean align);
+    }
+
+    /**
+     * Parses a format string into the parts of a template.
+     */
+    private static final class Parser {
+        // TODO: Rewrite the parser to use a custom SimpleParser.
+        private final char expressionStart;
+        private final String expression;
+        private final List<Part> parts = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+        private int position = 0;
+        private int relativeIndex = 0;
+
+        Parser(char expressionStart, String expression) {
+            this.expressionStart = expressionStart;
+            this.expression = expression;
+        }
+
+        CodeTemplate parse() {
+            while (!eof()) {
+                char c = c();
+                position++;
+                if (c == expressionStart) {
+                    parseArgumentWrapper();
+                } else {
+                    literal.append(c);
+                }
+            }
+
+            flushLiteral();
+            return new CodeTemplate(expression, expressionStart, parts, relativeIndex);
+        }
+
+        private char c() {
+            return expression.charAt(position);
+        }
+
+        private boolean eof() {
+            return position >= expression.length();
+        }
+
+        private boolean next() {
+            return ++position < expression.length() - 1;
+        }
+
+        private void flushLiteral() {
+            if (literal.length() > 0) {
+                parts.add(new Literal(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        private void parseArgumentWrapper() {
+            if (eof()) {
+                throw new IllegalArgumentException("Invalid format string: " + expression);
+            }
+
+            char c = c();
+            if (c == expressionStart) {
+                // $$ -> $
+                literal.append(expressionStart);
+                position++;
+            } else if (c == '{') {
+                parseBracedArgument();
+            } else {
+                parseArgument(false);
+            }
+        }
+
+        private void parseBracedArgument() {
+            position++; // Skip "{"
+            parseArgument(true);
+
+            if (eof() || c() != '}') {
+                throw new IllegalArgumentException("Unclosed expression argument: " + expression);
+            }
+
+            position++; // Skip "}"
+        }
+
+        private void parseArgument(boolean braced) {
+            if (eof()) {
+                throw new IllegalArgumentException("Invalid format string: " + expression);
+            }
+
+            flushLiteral();
+            ArgumentFactory factory;
+            char c = c();
+            if (Character.isLowerCase(c)) {
+                factory = parseNamedArgument();
+            } else if (Character.isDigit(c)) {
+                factory = parsePositionalArgument();
+            } else {
+                factory = parseRelativeArgument();
+            }
+
+            char formatter = consumeFormatterIdentifier();
+            String section = parseSection(braced);
+            boolean align = parseAlignment(braced);
+            parts.add(factory.create(formatter, section, align));
+        }
+
+        private ArgumentFactory parseNamedArgument() {
+            // Expand a named context value: "$" key ":" identifier
+            String name = parseNameUntil(':');
+            position++;
+
+            // Consume the character after the colon.
+            if (eof()) {
+                throw new IllegalArgumentException(
+                        "Expected an identifier after the ':' in a named argument: " + expression);
+            }
+
+            return (formatter, section, align) -> new NamedArgument(name, formatter, section, align);
+        }
+
+        private ArgumentFactory parsePositionalArgument() {
+            // Expand a positional argument: "$" 1*digit identifier
+            expectConsistentRelativePositionals(relativeIndex <= 0);
+            relativeIndex = -1;
+            int startPosition = position;
+            while (next() && Character.isDigit(c()));
+            int index = Integer.parseInt(expression.substring(startPosition, position)) - 1;
+            return (formatter, section, align) -> new PositionalArgument(index, formatter, section, align);
+        }
+
+        private ArgumentFactory parseRelativeArgument() {
+            // Expand to a relative argument.
+            expectConsistentRelativePositionals(relativeIndex > -1);
+            int index = relativeIndex++;
+            return (formatter, section, align) -> new RelativeArgument(index, formatter, section, align);
+        }
+
+        private String parseSection(boolean braced) {
+            if (eof() || c() != '@') {
+                return null;
+            } else if (!braced) {
+                throw new IllegalArgumentException("Inline blocks can only be created inside braces: " + expression);
+            }
+
+            position++; // Skip "@"
+            return parseNameUntil('}');
+        }
+
+        private boolean parseAlignment(boolean braced) {
+            // Only look for alignment when inside a brace interpolation.
+            if (braced && !eof() && c() == '|') {
+                position++; // skip '|', which should precede '}'.
+                return true;
+            }
+
+            return false;
+        }
+
+        private char consumeFormatterIdentifier() {
+            if (eof()) {
+                throw new IllegalArgumentException("Expected a formatter identifier: " + expression);
+            }
+
+            char identifier = c();
+            position++;
+            return identifier;
+        }
+
+        private String parseNameUntil(char endToken) {
+            int endIndex = expression.indexOf(endToken, position);
+
+            if (endIndex == -1) {
+                throw new IllegalArgumentException("Invalid named format argument: " + expression);
+            }
+
+            String name = expression.substring(position, endIndex);
+            ensureNameIsValid(expression, name, position);
+            position = endIndex;
+            return name;
+        }
+
+        private void expectConsistentRelativePositionals(boolean expectation) {
+            if (!expectation) {
+                throw new IllegalArgumentException("Cannot mix positional and relative arguments: " + expression);
+            }
+        }
+    }
+}
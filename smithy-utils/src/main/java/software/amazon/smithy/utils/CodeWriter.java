@@ -15,6 +15,10 @@
 
 package software.amazon.smithy.utils;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -25,7 +29,6 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 
 /**
  * Helper class for generating code.
@@ -382,7 +385,6 @@ import java.util.regex.Pattern;
  * }</pre>
  */
 public class CodeWriter {
-    private static final Pattern LINES = Pattern.compile("\\r?\\n");
     private static final Map<Character, BiFunction<Object, String, String>> DEFAULT_FORMATTERS = MapUtils.of(
             'L', (s, i) -> formatLiteral(s),
             'S', (s, i) -> StringUtils.escapeJavaString(formatLiteral(s), i));
@@ -411,7 +413,7 @@ public class CodeWriter {
     public CodeWriter() {
         states.push(new State());
         currentState = states.getFirst();
-        currentState.builder = new StringBuilder();
+        currentState.builder = new ChunkedBuffer();
         DEFAULT_FORMATTERS.forEach(formatter::putFormatter);
     }
 
@@ -520,49 +522,143 @@ public class CodeWriter {
      * configured to always append a newline. A newline is only appended
      * in these cases if the result does not already end with a newline.
      *
+     * <p>This method delegates to {@link #writeTo(Writer)}, so subclasses
+     * that add contents to the generated code should override
+     * {@code writeTo} rather than this method. Subclasses that override
+     * this method must also override {@code writeTo} so that both methods
+     * produce the same contents.
+     *
      * @return Returns the generated code.
+     * @see #writeTo(Writer)
      */
     @Override
     public String toString() {
-        String result = currentState.toString();
-
-        // Trim excessive blank lines.
-        if (trimBlankLines > -1) {
-            StringBuilder builder = new StringBuilder(result.length());
-            String[] lines = LINES.split(result);
-            int blankCount = 0;
-
-            for (String line : lines) {
-                if (!StringUtils.isBlank(line)) {
-                    builder.append(line).append(currentState.newline);
-                    blankCount = 0;
-                } else if (blankCount++ < trimBlankLines) {
-                    builder.append(line).append(currentState.newline);
-                }
+        StringWriter result = new StringWriter(currentState.length() + 1);
+        writeTo(result);
+        return result.toString();
+    }
+
+    /**
+     * Writes the contents of the generated code to the given writer.
+     *
+     * <p>This method writes exactly the same contents that are returned
+     * from {@link #toString()}, but the contents are streamed directly from
+     * the internal buffer of the {@code CodeWriter} without first creating
+     * a string of the entire generated code. Blank line trimming, trailing
+     * space trimming, and trailing newline handling are applied while
+     * writing. The given writer is neither flushed nor closed.
+     *
+     * <p>Subclasses that add contents to the generated code, like a block of
+     * imports, should override this method. Subclasses that override
+     * {@link #toString()} must also override this method so that both
+     * methods produce the same contents.
+     *
+     * @param writer Writer to write the generated code to.
+     * @throws UncheckedIOException if the writer fails.
+     */
+    public void writeTo(Writer writer) {
+        try {
+            ChunkedBuffer buffer = currentState.builder;
+            if (buffer == null) {
+                buffer = new ChunkedBuffer();
             }
 
-            result = builder.toString();
+            if (trimBlankLines > -1) {
+                writeTrimmedLines(buffer, writer);
+            } else {
+                writeContents(buffer, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        if (result.isEmpty()) {
-            return trailingNewline ? String.valueOf(currentState.newline) : "";
-        }
+    private void writeContents(ChunkedBuffer buffer, Writer writer) throws IOException {
+        int end = buffer.length();
 
         // This accounts for cases where the only write on the CodeWriter was
         // an inline write, but the write ended with spaces.
         if (currentState.trimTrailingSpaces) {
-            result = StringUtils.stripEnd(result, " ");
+            while (end > 0 && buffer.charAt(end - 1) == ' ') {
+                end--;
+            }
         }
 
-        if (trailingNewline) {
+        if (end == 0) {
+            if (trailingNewline) {
+                writer.write(currentState.newline);
+            }
+        } else if (trailingNewline) {
             // Add a trailing newline if needed.
-            return result.charAt(result.length() - 1) != currentState.newline ? result + currentState.newline : result;
-        } else if (result.charAt(result.length() - 1) == currentState.newline) {
-            // Strip the trailing newline if present.
-            return result.substring(0, result.length() - 1);
+            buffer.writeTo(writer, 0, end);
+            if (buffer.charAt(end - 1) != currentState.newline) {
+                writer.write(currentState.newline);
+            }
         } else {
-            return result;
+            // Strip the trailing newline if present.
+            if (buffer.charAt(end - 1) == currentState.newline) {
+                end--;
+            }
+            buffer.writeTo(writer, 0, end);
+        }
+    }
+
+    private void writeTrimmedLines(ChunkedBuffer buffer, Writer writer) throws IOException {
+        // Lines are terminated by "\n" or "\r\n". Trailing empty lines are
+        // always removed, but an empty buffer is treated as a single line.
+        int end = buffer.length();
+        while (end > 0 && buffer.charAt(end - 1) == '\n') {
+            end--;
+            if (end > 0 && buffer.charAt(end - 1) == '\r') {
+                end--;
+            }
+        }
+
+        // Each line is written followed by a newline. The newline after the
+        // last written line is only written if a trailing newline is needed.
+        boolean pendingNewline = false;
+        int blankCount = 0;
+        // A buffer that contains only line terminators contains no lines.
+        int lineStart = end == 0 && buffer.length() > 0 ? 1 : 0;
+
+        while (lineStart <= end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buffer.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int nextLine = lineEnd + 1;
+            if (lineEnd < end && lineEnd > lineStart && buffer.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (!isBlank(buffer, lineStart, lineEnd)) {
+                blankCount = 0;
+            } else if (blankCount++ >= trimBlankLines) {
+                lineStart = nextLine;
+                continue;
+            }
+
+            if (pendingNewline) {
+                writer.write(currentState.newline);
+            }
+            buffer.writeTo(writer, lineStart, lineEnd);
+            pendingNewline = true;
+            lineStart = nextLine;
+        }
+
+        if (trailingNewline) {
+            writer.write(currentState.newline);
+        }
+    }
+
+    private static boolean isBlank(CharSequence sequence, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(sequence.charAt(i))) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
@@ -677,19 +773,17 @@ public class CodeWriter {
     }
 
     private String getTrimmedPoppedStateContents(State state) {
-        StringBuilder builder = state.builder;
-        String result = "";
+        ChunkedBuffer builder = state.builder;
 
         // Remove the trailing newline, if present, since it gets added in the
         // final call to writeOptional.
-        if (builder != null && builder.length() > 0) {
-            if (builder.charAt(builder.length() - 1) == currentState.newline) {
-                builder.delete(builder.length() - 1, builder.length());
-            }
-            result = builder.toString();
+        if (builder == null || builder.length() == 0) {
+            return "";
+        } else if (builder.charAt(builder.length() - 1) == currentState.newline) {
+            return builder.substring(0, builder.length() - 1);
+        } else {
+            return builder.toString();
         }
-
-        return result;
     }
 
     /**
@@ -1204,6 +1298,36 @@ public class CodeWriter {
         return formatter.format(currentState.expressionStart, content, currentState.indentText, this, args);
     }
 
+    /**
+     * Compiles a format string into a template that can be formatted
+     * many times without parsing the format string again.
+     *
+     * <p>The returned template can be given as the content of any method
+     * that formats content, like {@link #write}, {@link #writeInline}, and
+     * {@link #format}. The template uses the expression start character of
+     * the current state, even if it is later formatted by a state or writer
+     * that uses a different expression start character.
+     *
+     * <p>Format strings given directly to this writer are compiled and
+     * cached automatically, so compiling a template ahead of time is only
+     * needed to skip the cache lookup or to detect invalid format strings
+     * before they're used.
+     *
+     * <pre>{@code
+     * CodeWriter writer = new CodeWriter();
+     * CodeTemplate template = writer.compile("private $L $L;");
+     * writer.write(template, "String", "name");
+     * writer.write(template, "int", "age");
+     * }</pre>
+     *
+     * @param template Format string to compile.
+     * @return Returns the compiled template.
+     * @throws IllegalArgumentException if the format string is invalid.
+     */
+    public final CodeTemplate compile(String template) {
+        return CodeTemplate.compile(currentState.expressionStart, template);
+    }
+
     /**
      * Writes text to the CodeWriter and appends a newline.
      *
@@ -1334,7 +1458,7 @@ public class CodeWriter {
 
     // Used only by CodeFormatter to expand inline argument sections.
     String expandSection(String sectionName, String defaultContent, Consumer<Object> writerConsumer) {
-        StringBuilder buffer = new StringBuilder();
+        ChunkedBuffer buffer = new ChunkedBuffer();
         pushState(sectionName);
         currentState.isInline = true;
         currentState.builder = buffer;
@@ -1362,8 +1486,8 @@ public class CodeWriter {
          */
         private transient boolean isInline;
 
-        /** This StringBuilder, if null, will only be created lazily when needed. */
-        private StringBuilder builder;
+        /** This buffer, if null, will only be created lazily when needed. */
+        private ChunkedBuffer builder;
 
         /** The context map implements a simple copy on write pattern. */
         private Map<String, Object> context = MapUtils.of();
@@ -1394,6 +1518,10 @@ public class CodeWriter {
             return builder == null ? "" : builder.toString();
         }
 
+        int length() {
+            return builder == null ? 0 : builder.length();
+        }
+
         private void mutateContext() {
             if (!copiedContext) {
                 context = new HashMap<>(context);
@@ -1424,21 +1552,33 @@ public class CodeWriter {
 
         void write(String contents) {
             if (builder == null) {
-                builder = new StringBuilder();
+                builder = new ChunkedBuffer();
             }
 
-            // Write each character, accounting for newlines along the way.
-            for (int i = 0; i < contents.length(); i++) {
-                append(contents.charAt(i));
+            // Write each line of the contents in bulk, accounting for
+            // indentation and newlines along the way.
+            int position = 0;
+            int length = contents.length();
+            while (position < length) {
+                int newlineIndex = contents.indexOf(newline, position);
+                int end = newlineIndex == -1 ? length : newlineIndex;
+
+                if (end > position) {
+                    indentIfNeeded();
+                    builder.append(contents, position, end);
+                }
+
+                if (newlineIndex == -1) {
+                    break;
+                }
+
+                append(newline);
+                position = newlineIndex + 1;
             }
         }
 
         void append(char c) {
-            if (needsIndentation) {
-                builder.append(leadingIndentString);
-                builder.append(newlinePrefix);
-                needsIndentation = false;
-            }
+            indentIfNeeded();
 
             if (c == newline) {
                 // The next appended character will get indentation and a
@@ -1452,6 +1592,14 @@ public class CodeWriter {
             builder.append(c);
         }
 
+        private void indentIfNeeded() {
+            if (needsIndentation) {
+                builder.append(leadingIndentString);
+                builder.append(newlinePrefix);
+                needsIndentation = false;
+            }
+        }
+
         void writeLine(String line) {
             write(line);
 
@@ -1475,7 +1623,7 @@ public class CodeWriter {
             }
 
             if (toRemove > 0) {
-                builder.delete(builder.length() - toRemove, builder.length());
+                builder.setLength(builder.length() - toRemove);
             }
         }
 
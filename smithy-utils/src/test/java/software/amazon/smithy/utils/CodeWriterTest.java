@@ -18,6 +18,7 @@ package software.amazon.smithy.utils;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
+import java.io.StringWriter;
 import java.util.Locale;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
@@ -754,4 +755,110 @@ public class CodeWriterTest {
 
         assertThat(writer.toString(), equalTo("inline addition\n"));
     }
+
+    @Test
+    public void writesCompiledTemplates() {
+        CodeWriter writer = new CodeWriter();
+        writer.putContext("visibility", "private");
+        CodeTemplate template = writer.compile("$visibility:L $L $L;");
+
+        writer.write(template, "String", "name");
+        writer.write(template, "int", "age");
+
+        assertThat(template.getTemplate(), equalTo("$visibility:L $L $L;"));
+        assertThat(writer.toString(), equalTo("private String name;\nprivate int age;\n"));
+    }
+
+    @Test
+    public void compiledTemplatesCanBeUsedWithOtherWriters() {
+        CodeTemplate template = new CodeWriter().compile("Names: ${L|}");
+        CodeWriter writer = new CodeWriter().putFormatter('L', (value, indent) -> value + "!");
+        writer.write(template, "a\nb");
+
+        assertThat(writer.toString(), equalTo("Names: a\n       b!\n"));
+    }
+
+    @Test
+    public void compiledTemplatesRetainTheirExpressionStart() {
+        CodeWriter writer = new CodeWriter();
+        writer.setExpressionStart('#');
+        CodeTemplate template = writer.compile("#L $L");
+        writer.setExpressionStart('$');
+        writer.write(template, "hi");
+
+        assertThat(template.getExpressionStart(), equalTo('#'));
+        assertThat(writer.toString(), equalTo("hi $L\n"));
+    }
+
+    @Test
+    public void failsToCompileInvalidTemplates() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CodeWriter().compile("$L $1L"));
+    }
+
+    @Test
+    public void validatesArgumentsOfCompiledTemplates() {
+        CodeTemplate template = new CodeWriter().compile("$L");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CodeWriter().write(template));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CodeWriter().write(template, "a", "b"));
+    }
+
+    @Test
+    public void writesContentsToWriter() {
+        CodeWriter writer = new CodeWriter().trimBlankLines().trimTrailingSpaces().insertTrailingNewline();
+        writer.write("a  \n\n\n\nb");
+        writer.pushState("section");
+        writer.write("c");
+        writer.popState();
+        StringWriter result = new StringWriter();
+        writer.writeTo(result);
+
+        assertThat(result.toString(), equalTo("a\n\nb\nc\n"));
+        assertThat(result.toString(), equalTo(writer.toString()));
+    }
+
+    @Test
+    public void writesContentsLargerThanBufferChunks() {
+        CodeWriter writer = new CodeWriter().trimBlankLines(0);
+        StringBuilder expected = new StringBuilder();
+        writer.indent();
+        for (int i = 0; i < 5000; i++) {
+            writer.write("line $L\n", i);
+            expected.append("    line ").append(i).append('\n');
+        }
+        StringWriter result = new StringWriter();
+        writer.writeTo(result);
+
+        assertThat(writer.toString(), equalTo(expected.toString()));
+        assertThat(result.toString(), equalTo(expected.toString()));
+    }
+
+    @Test
+    public void trimsBlankLinesWithCarriageReturns() {
+        CodeWriter writer = new CodeWriter().trimBlankLines();
+        writer.writeWithNoFormatting("a\r\n\r\n\r\nb\r\n\r\n");
+
+        assertThat(writer.toString(), equalTo("a\n\nb\n"));
+    }
+
+    @Test
+    public void trimsOutputThatOnlyContainsSpaces() {
+        CodeWriter writer = new CodeWriter().trimTrailingSpaces().insertTrailingNewline(false);
+        writer.writeInline("   ");
+
+        assertThat(writer.toString(), equalTo(""));
+    }
+
+    @Test
+    public void interceptsSectionsLargerThanBufferChunks() {
+        String contents = StringUtils.repeat("abc\n", 5000).trim();
+        CodeWriter writer = new CodeWriter();
+        writer.onSection("big", text -> writer.write(text.toString().toUpperCase(Locale.ENGLISH)));
+        writer.indent();
+        writer.pushState("big");
+        writer.writeWithNoFormatting(contents);
+        writer.popState();
+
+        assertThat(writer.toString(), equalTo(StringUtils.repeat("    ABC\n", 5000)));
+    }
 }
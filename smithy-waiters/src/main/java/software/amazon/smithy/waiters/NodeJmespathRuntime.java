@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.JmespathRuntime;
+import software.amazon.smithy.jmespath.RuntimeType;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.ObjectNode;
+
+/**
+ * A {@link JmespathRuntime} that evaluates JMESPath expressions
+ * against {@link Node} values.
+ */
+public final class NodeJmespathRuntime implements JmespathRuntime<Node> {
+
+    /** Shared instance of the runtime. */
+    public static final NodeJmespathRuntime INSTANCE = new NodeJmespathRuntime();
+
+    private static final NullNode NULL = Node.nullNode();
+    private static final BooleanNode TRUE = Node.from(true);
+    private static final BooleanNode FALSE = Node.from(false);
+
+    private NodeJmespathRuntime() {}
+
+    @Override
+    public RuntimeType typeOf(Node value) {
+        switch (value.getType()) {
+            case OBJECT:
+                return RuntimeType.OBJECT;
+            case ARRAY:
+                return RuntimeType.ARRAY;
+            case STRING:
+                return RuntimeType.STRING;
+            case NUMBER:
+                return RuntimeType.NUMBER;
+            case BOOLEAN:
+                return RuntimeType.BOOLEAN;
+            case NULL:
+                return RuntimeType.NULL;
+            default:
+                throw new JmespathException("Unsupported node type: " + value.getType());
+        }
+    }
+
+    @Override
+    public Node createNull() {
+        return NULL;
+    }
+
+    @Override
+    public Node createBoolean(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    @Override
+    public boolean asBoolean(Node value) {
+        return value.expectBooleanNode().getValue();
+    }
+
+    @Override
+    public Node createString(String value) {
+        return Node.from(value);
+    }
+
+    @Override
+    public String asString(Node value) {
+        return value.expectStringNode().getValue();
+    }
+
+    @Override
+    public Node createNumber(Number value) {
+        return Node.from(value);
+    }
+
+    @Override
+    public Number asNumber(Node value) {
+        return value.expectNumberNode().getValue();
+    }
+
+    @Override
+    public int length(Node value) {
+        return value.isArrayNode() ? value.expectArrayNode().size() : value.expectObjectNode().size();
+    }
+
+    @Override
+    public Node element(Node array, int index) {
+        return array.expectArrayNode().getElements().get(index);
+    }
+
+    @Override
+    public Iterable<Node> elements(Node array) {
+        return array.expectArrayNode().getElements();
+    }
+
+    @Override
+    public Node value(Node object, String key) {
+        Node result = object.expectObjectNode().getStringMap().get(key);
+        return result == null ? NULL : result;
+    }
+
+    @Override
+    public Iterable<String> keys(Node object) {
+        return object.expectObjectNode().getStringMap().keySet();
+    }
+
+    @Override
+    public ArrayBuilder<Node> arrayBuilder() {
+        return new ArrayBuilder<Node>() {
+            private final List<Node> values = new ArrayList<>();
+
+            @Override
+            public void add(Node value) {
+                values.add(value);
+            }
+
+            @Override
+            public Node build() {
+                return new ArrayNode(values, SourceLocation.none());
+            }
+        };
+    }
+
+    @Override
+    public ObjectBuilder<Node> objectBuilder() {
+        return new ObjectBuilder<Node>() {
+            private final ObjectNode.Builder builder = Node.objectNodeBuilder();
+
+            @Override
+            public void put(String key, Node value) {
+                builder.withMember(key, value);
+            }
+
+            @Override
+            public Node build() {
+                return builder.build();
+            }
+        };
+    }
+}
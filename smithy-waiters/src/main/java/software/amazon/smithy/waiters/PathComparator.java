@@ -25,16 +25,52 @@ import software.amazon.smithy.model.node.ToNode;
 public enum PathComparator implements ToNode {
 
     /** Matches if all values in the list matches the expected string. */
-    ALL_STRING_EQUALS("allStringEquals"),
+    ALL_STRING_EQUALS("allStringEquals") {
+        @Override
+        boolean matches(Node result, String expected) {
+            if (!result.isArrayNode() || result.expectArrayNode().isEmpty()) {
+                return false;
+            }
+            for (Node element : result.expectArrayNode().getElements()) {
+                if (!STRING_EQUALS.matches(element, expected)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    },
 
     /** Matches if any value in the list matches the expected string. */
-    ANY_STRING_EQUALS("anyStringEquals"),
+    ANY_STRING_EQUALS("anyStringEquals") {
+        @Override
+        boolean matches(Node result, String expected) {
+            if (!result.isArrayNode()) {
+                return false;
+            }
+            for (Node element : result.expectArrayNode().getElements()) {
+                if (STRING_EQUALS.matches(element, expected)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    },
 
     /** Matches if the return value is a string that is equal to the expected string. */
-    STRING_EQUALS("stringEquals"),
+    STRING_EQUALS("stringEquals") {
+        @Override
+        boolean matches(Node result, String expected) {
+            return result.isStringNode() && result.expectStringNode().getValue().equals(expected);
+        }
+    },
 
     /** Matches if the return value is a boolean that is equal to the string literal 'true' or 'false'. */
-    BOOLEAN_EQUALS("booleanEquals");
+    BOOLEAN_EQUALS("booleanEquals") {
+        @Override
+        boolean matches(Node result, String expected) {
+            return result.isBooleanNode() && String.valueOf(result.expectBooleanNode().getValue()).equals(expected);
+        }
+    };
 
     private final String asString;
 
@@ -59,6 +95,18 @@ public enum PathComparator implements ToNode {
         throw new ExpectationNotMetException("Expected valid path comparator, but found " + value, node);
     }
 
+    /**
+     * Checks if the result of evaluating a path matches the expected value.
+     *
+     * <p>Every comparator implements this method, so the compiler ensures
+     * that new comparators are handled.
+     *
+     * @param result Result of evaluating the path.
+     * @param expected Expected value.
+     * @return Returns true if the result matches.
+     */
+    abstract boolean matches(Node result, String expected);
+
     @Override
     public String toString() {
         return asString;
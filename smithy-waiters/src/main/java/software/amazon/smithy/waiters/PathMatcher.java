@@ -17,6 +17,9 @@ package software.amazon.smithy.waiters;
 
 import java.util.Objects;
 import java.util.Set;
+import software.amazon.smithy.jmespath.CompiledExpression;
+import software.amazon.smithy.jmespath.JmespathException;
+import software.amazon.smithy.jmespath.JmespathExpression;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
@@ -37,6 +40,8 @@ public final class PathMatcher implements ToNode {
     private final String path;
     private final String expected;
     private final PathComparator comparator;
+    private volatile JmespathExpression expression;
+    private volatile CompiledExpression<Node> compiledExpression;
 
     /**
      * @param path The path to execute.
@@ -58,6 +63,50 @@ public final class PathMatcher implements ToNode {
         return path;
     }
 
+    /**
+     * Gets the parsed JMESPath expression of the path.
+     *
+     * <p>The path is parsed once and the result is reused for every
+     * subsequent call.
+     *
+     * @return Returns the parsed expression.
+     * @throws JmespathException if the path is not a valid expression.
+     */
+    public JmespathExpression getExpression() {
+        JmespathExpression result = expression;
+        if (result == null) {
+            result = JmespathExpression.parse(path);
+            expression = result;
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the path against a value and checks if the result
+     * satisfies the comparator and expected value.
+     *
+     * <p>The path is compiled the first time a matcher is evaluated,
+     * and the compiled expression is reused for subsequent evaluations.
+     *
+     * <p>The value is the input or output structure of an operation
+     * depending on the matcher being evaluated. {@code inputOutput}
+     * matchers are evaluated against an object that contains an
+     * {@code input} and {@code output} member.
+     *
+     * @param value Value to evaluate the path against.
+     * @return Returns true if the matcher matches the value.
+     * @throws JmespathException if the path is invalid or fails to evaluate.
+     */
+    public boolean matches(Node value) {
+        CompiledExpression<Node> compiled = compiledExpression;
+        if (compiled == null) {
+            compiled = getExpression().compile(NodeJmespathRuntime.INSTANCE);
+            compiledExpression = compiled;
+        }
+
+        return comparator.matches(compiled.evaluate(value), expected);
+    }
+
     /**
      * Gets the expected return value of each element returned by the
      * path.
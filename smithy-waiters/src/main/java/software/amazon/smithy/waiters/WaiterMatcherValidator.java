@@ -22,7 +22,6 @@ import java.util.Map;
 import java.util.Objects;
 import software.amazon.smithy.jmespath.ExpressionProblem;
 import software.amazon.smithy.jmespath.JmespathException;
-import software.amazon.smithy.jmespath.JmespathExpression;
 import software.amazon.smithy.jmespath.LinterResult;
 import software.amazon.smithy.jmespath.RuntimeType;
 import software.amazon.smithy.jmespath.ast.LiteralExpression;
@@ -124,7 +123,7 @@ final class WaiterMatcherValidator implements Matcher.Visitor<List<ValidationEve
     }
 
     private void validatePathMatcher(LiteralExpression input, PathMatcher pathMatcher) {
-        RuntimeType returnType = validatePath(input, pathMatcher.getPath());
+        RuntimeType returnType = validatePath(input, pathMatcher);
 
         switch (pathMatcher.getComparator()) {
             case BOOLEAN_EQUALS:
@@ -145,10 +144,10 @@ final class WaiterMatcherValidator implements Matcher.Visitor<List<ValidationEve
         }
     }
 
-    private RuntimeType validatePath(LiteralExpression input, String path) {
+    private RuntimeType validatePath(LiteralExpression input, PathMatcher pathMatcher) {
+        String path = pathMatcher.getPath();
         try {
-            JmespathExpression expression = JmespathExpression.parse(path);
-            LinterResult result = expression.lint(input);
+            LinterResult result = pathMatcher.getExpression().lint(input);
             for (ExpressionProblem problem : result.getProblems()) {
                 addJmespathEvent(path, problem);
             }
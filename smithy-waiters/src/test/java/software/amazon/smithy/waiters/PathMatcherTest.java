@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.waiters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.jmespath.JmespathExpression;
+import software.amazon.smithy.model.node.Node;
+
+public class PathMatcherTest {
+
+    private static final Node DATA = Node.parse("{"
+            + "\"Table\": {\"Status\": \"ACTIVE\", \"Ready\": true},"
+            + "\"Instances\": ["
+            + "    {\"State\": \"running\"},"
+            + "    {\"State\": \"pending\"}"
+            + "],"
+            + "\"Running\": [{\"State\": \"running\"}],"
+            + "\"Empty\": []"
+            + "}");
+
+    @ParameterizedTest
+    @MethodSource("matchers")
+    public void evaluatesMatchers(String path, String expected, PathComparator comparator, boolean matches) {
+        PathMatcher matcher = new PathMatcher(path, expected, comparator);
+
+        assertThat(matcher.matches(DATA), is(matches));
+    }
+
+    public static Stream<Arguments> matchers() {
+        return Stream.of(
+                Arguments.of("Table.Status", "ACTIVE", PathComparator.STRING_EQUALS, true),
+                Arguments.of("Table.Status", "DELETING", PathComparator.STRING_EQUALS, false),
+                Arguments.of("Table.Missing", "ACTIVE", PathComparator.STRING_EQUALS, false),
+                Arguments.of("Table.Ready", "true", PathComparator.BOOLEAN_EQUALS, true),
+                Arguments.of("Table.Ready", "false", PathComparator.BOOLEAN_EQUALS, false),
+                Arguments.of("length(Instances) > `1`", "true", PathComparator.BOOLEAN_EQUALS, true),
+                Arguments.of("Instances[].State", "running", PathComparator.ALL_STRING_EQUALS, false),
+                Arguments.of("Running[].State", "running", PathComparator.ALL_STRING_EQUALS, true),
+                Arguments.of("Empty[].State", "running", PathComparator.ALL_STRING_EQUALS, false),
+                Arguments.of("Instances[].State", "pending", PathComparator.ANY_STRING_EQUALS, true),
+                Arguments.of("Instances[].State", "stopped", PathComparator.ANY_STRING_EQUALS, false),
+                Arguments.of("Table.Status", "ACTIVE", PathComparator.ANY_STRING_EQUALS, false)
+        );
+    }
+
+    @Test
+    public void parsesExpressionOnce() {
+        PathMatcher matcher = new PathMatcher("Table.Status", "ACTIVE", PathComparator.STRING_EQUALS);
+        JmespathExpression expression = matcher.getExpression();
+
+        assertThat(matcher.getExpression(), sameInstance(expression));
+        assertThat(expression, equalTo(JmespathExpression.parse("Table.Status")));
+    }
+
+    @Test
+    public void evaluatesAgainstNodes() {
+        Node result = JmespathExpression.parse("{status: Table.Status, states: Instances[*].State}")
+                .evaluate(DATA, NodeJmespathRuntime.INSTANCE);
+
+        Node.assertEquals(result, Node.parse("{\"status\": \"ACTIVE\", \"states\": [\"running\", \"pending\"]}"));
+    }
+}